@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
@@ -25,7 +26,9 @@ import tech.yildirim.insurance.dummy.policy.Policy;
 
 /** Represents a third-party agency that sells policies for the insurance company. */
 @Entity
-@Table(name = "agencies")
+@Table(
+    name = "agencies",
+    indexes = @Index(name = "idx_agencies_updated_at", columnList = "updated_at, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
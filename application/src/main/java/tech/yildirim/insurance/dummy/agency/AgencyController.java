@@ -1,5 +1,6 @@
 package tech.yildirim.insurance.dummy.agency;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,7 +8,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import tech.yildirim.insurance.api.generated.controller.AgenciesApi;
+import tech.yildirim.insurance.api.generated.model.AgencyAnalyticsDto;
+import tech.yildirim.insurance.api.generated.model.AgencyDeltaDto;
 import tech.yildirim.insurance.api.generated.model.AgencyDto;
+import tech.yildirim.insurance.dummy.agency.analytics.AgencyAnalyticsService;
 
 /**
  * REST Controller for managing agencies. Implements the generated {@link AgenciesApi} interface.
@@ -18,6 +22,7 @@ import tech.yildirim.insurance.api.generated.model.AgencyDto;
 public class AgencyController implements AgenciesApi {
 
   private final AgencyService agencyService;
+  private final AgencyAnalyticsService agencyAnalyticsService;
 
   @Override
   public ResponseEntity<AgencyDto> createAgency(AgencyDto agencyDto) {
@@ -51,4 +56,25 @@ public class AgencyController implements AgenciesApi {
               return ResponseEntity.notFound().build();
             });
   }
+
+  @Override
+  public ResponseEntity<AgencyDeltaDto> getAgencyDelta(
+      OffsetDateTime updatedSince, String cursor, Integer limit) {
+    log.info("REST request to read the agency delta");
+    AgencyDeltaDto delta = agencyService.getAgencyDelta(updatedSince, cursor, limit);
+    log.debug(
+        "Returning {} agencies, more available: {}", delta.getItems().size(), delta.getHasMore());
+    return ResponseEntity.ok(delta);
+  }
+
+  @Override
+  public ResponseEntity<AgencyAnalyticsDto> getAgencyAnalytics() {
+    log.info("REST request to get the agency analytics");
+    AgencyAnalyticsDto analytics = agencyAnalyticsService.getAgencyAnalytics();
+    log.debug(
+        "Returning the figures of {} agencies as of {}",
+        analytics.getAgencies().size(),
+        analytics.getSnapshotTakenAt());
+    return ResponseEntity.ok(analytics);
+  }
 }
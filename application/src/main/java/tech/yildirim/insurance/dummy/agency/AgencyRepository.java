@@ -1,7 +1,13 @@
 package tech.yildirim.insurance.dummy.agency;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /** Spring Data JPA repository for the {@link Agency} entity. */
@@ -14,4 +20,32 @@ public interface AgencyRepository extends JpaRepository<Agency, Long> {
    * @return An Optional containing the found agency.
    */
   Optional<Agency> findByAgencyCode(String agencyCode);
+
+  /**
+   * Checks which of the given agencies exist, without loading them.
+   *
+   * @param ids The IDs to check.
+   * @return The IDs of the agencies that exist.
+   */
+  @Query("SELECT a.id FROM Agency a WHERE a.id IN :ids")
+  List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Reads the agencies changed after a keyset position of a delta, over the update time index.
+   *
+   * @param since The update time of the last agency read.
+   * @param afterId The id of that agency, 0 to include all agencies updated at {@code since}.
+   * @param until The exclusive upper bound of the update time, see {@link
+   *     tech.yildirim.insurance.dummy.common.delta.DeltaWindow}.
+   * @param limit The maximum number of agencies.
+   * @return The agencies ordered by update time and id.
+   */
+  @Query(
+      "SELECT a FROM Agency a WHERE a.updatedAt >= :since AND a.updatedAt < :until"
+          + " AND (a.updatedAt > :since OR a.id > :afterId) ORDER BY a.updatedAt, a.id")
+  List<Agency> findUpdatedAfter(
+      @Param("since") ZonedDateTime since,
+      @Param("afterId") long afterId,
+      @Param("until") ZonedDateTime until,
+      Limit limit);
 }
@@ -1,8 +1,11 @@
 package tech.yildirim.insurance.dummy.agency;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
+import tech.yildirim.insurance.api.generated.model.AgencyDeltaDto;
 import tech.yildirim.insurance.api.generated.model.AgencyDto;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
 
 /** Service Interface for managing {@link Agency}. */
 public interface AgencyService {
@@ -29,4 +32,16 @@ public interface AgencyService {
    * @return The created agency DTO.
    */
   AgencyDto createAgency(AgencyDto agencyDto);
+
+  /**
+   * Reads a page of the agency delta: the agencies changed after the cursor position.
+   *
+   * @param updatedSince Where a new sync starts, may be null.
+   * @param cursor The encoded cursor of the previous page, may be null.
+   * @param limit The maximum number of agencies.
+   * @return The page and the cursor to continue with.
+   * @throws InvalidRequestException if both {@code updatedSince} and a cursor, or a malformed
+   *     cursor, are given.
+   */
+  AgencyDeltaDto getAgencyDelta(OffsetDateTime updatedSince, String cursor, int limit);
 }
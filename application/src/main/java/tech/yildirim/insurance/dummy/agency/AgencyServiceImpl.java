@@ -1,13 +1,20 @@
 package tech.yildirim.insurance.dummy.agency;
 
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tech.yildirim.insurance.api.generated.model.AgencyDeltaDto;
 import tech.yildirim.insurance.api.generated.model.AgencyDto;
+import tech.yildirim.insurance.dummy.common.delta.DeltaCursor;
+import tech.yildirim.insurance.dummy.common.delta.DeltaPage;
+import tech.yildirim.insurance.dummy.common.delta.DeltaWindow;
 
 /** Implementation of the {@link AgencyService} interface. */
 @Service
@@ -17,6 +24,7 @@ public class AgencyServiceImpl implements AgencyService {
 
   private final AgencyRepository agencyRepository;
   private final AgencyMapper agencyMapper;
+  private final DeltaWindow deltaWindow;
 
   @Override
   @Transactional(readOnly = true)
@@ -52,4 +60,26 @@ public class AgencyServiceImpl implements AgencyService {
     log.info("Successfully created agency with id {}", savedAgency.getId());
     return agencyMapper.toDto(savedAgency);
   }
+
+  @Override
+  @Transactional(readOnly = true)
+  public AgencyDeltaDto getAgencyDelta(OffsetDateTime updatedSince, String cursor, int limit) {
+    DeltaCursor position = DeltaCursor.start(cursor, updatedSince);
+    log.info("Request to read the agency delta after {}", position);
+    ZonedDateTime until = deltaWindow.settledUntil();
+    DeltaPage<Agency> page =
+        DeltaPage.of(
+            agencyRepository.findUpdatedAfter(
+                position.updatedAt(), position.id(), until, Limit.of(limit + 1)),
+            limit);
+    Agency last = page.last();
+    if (last != null) {
+      position = position.afterUpdate(last.getUpdatedAt(), last.getId());
+    }
+    log.info("Found {} changed agencies", page.rows().size());
+    return new AgencyDeltaDto()
+        .items(agencyMapper.toDtoList(page.rows()))
+        .nextCursor(position.encode())
+        .hasMore(page.hasMore());
+  }
 }
@@ -0,0 +1,69 @@
+package tech.yildirim.insurance.dummy.agency.analytics;
+
+import java.sql.PreparedStatement;
+import java.time.ZonedDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tech.yildirim.insurance.dummy.policy.PolicyStatus;
+
+/**
+ * Reads the policies and claims into an {@link AgencyAnalyticsSnapshot}. Each table is read with
+ * one streamed query of the few columns the analytics need, amounts already converted to cents, so
+ * no entities are created and the lazy {@code Agency.policies} collection is never touched.
+ * Archived policies and claims are included, so archiving does not change the figures.
+ */
+@Component
+@RequiredArgsConstructor
+public class AgencyAnalyticsLoader {
+
+  private static final int FETCH_SIZE = 10_000;
+
+  private static final String POLICY_COLUMNS =
+      "COALESCE(agency_id, 0), status, CAST(premium * 100 AS BIGINT)";
+
+  private static final String SELECT_POLICIES =
+      "SELECT " + POLICY_COLUMNS + " FROM policies"
+          + " UNION ALL SELECT " + POLICY_COLUMNS + " FROM archived_policies";
+
+  /** The policy of a claim in the claims table is never archived, see ArchiveJob. */
+  private static final String SELECT_CLAIMS =
+      "SELECT COALESCE(p.agency_id, 0), CAST(COALESCE(c.paid_amount, 0) * 100 AS BIGINT)"
+          + " FROM claims c JOIN policies p ON p.id = c.policy_id"
+          + " UNION ALL SELECT COALESCE(p.agency_id, ap.agency_id, 0),"
+          + " CAST(COALESCE(a.paid_amount, 0) * 100 AS BIGINT) FROM archived_claims a"
+          + " LEFT JOIN policies p ON p.id = a.policy_id"
+          + " LEFT JOIN archived_policies ap ON ap.id = a.policy_id";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Takes a new snapshot.
+   *
+   * @return The snapshot of all policies and claims.
+   */
+  @Transactional(readOnly = true)
+  public AgencyAnalyticsSnapshot load() {
+    ZonedDateTime takenAt = ZonedDateTime.now();
+    AgencyAnalyticsSnapshot.Builder builder = new AgencyAnalyticsSnapshot.Builder();
+    stream(
+        SELECT_POLICIES,
+        rs ->
+            builder.addPolicy(
+                rs.getLong(1), PolicyStatus.valueOf(rs.getString(2)), rs.getLong(3)));
+    stream(SELECT_CLAIMS, rs -> builder.addClaim(rs.getLong(1), rs.getLong(2)));
+    return builder.build(takenAt);
+  }
+
+  private void stream(String sql, RowCallbackHandler rowHandler) {
+    jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(sql);
+          statement.setFetchSize(FETCH_SIZE);
+          return statement;
+        },
+        rowHandler);
+  }
+}
@@ -0,0 +1,20 @@
+package tech.yildirim.insurance.dummy.agency.analytics;
+
+import tech.yildirim.insurance.api.generated.model.AgencyAnalyticsDto;
+import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+
+/** Service Interface for the agency performance figures. */
+public interface AgencyAnalyticsService {
+
+  /**
+   * Computes the figures of all agencies from the current {@link AgencyAnalyticsSnapshot}, without
+   * reading the policy or claim tables.
+   *
+   * @return The figures and the time of the snapshot they are based on.
+   * @throws ResourceNotFoundException if no snapshot has been taken yet.
+   */
+  AgencyAnalyticsDto getAgencyAnalytics();
+
+  /** Takes a new snapshot of the policies and claims and puts it in use. */
+  void refreshSnapshot();
+}
@@ -0,0 +1,83 @@
+package tech.yildirim.insurance.dummy.agency.analytics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tech.yildirim.insurance.api.generated.model.AgencyAnalyticsDto;
+import tech.yildirim.insurance.api.generated.model.AgencyPerformanceDto;
+import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+
+/**
+ * Implementation of the {@link AgencyAnalyticsService} interface. The snapshot is taken at startup
+ * and then on the {@code insurance.agency.analytics.refresh-cron} schedule, by default at night, so
+ * the analytics read the policy and claim tables outside business hours only. Like the rating
+ * tables, each new snapshot is swapped in with one reference update; reports never lock and always
+ * see a single, complete snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AgencyAnalyticsServiceImpl implements AgencyAnalyticsService {
+
+  private static final int LOSS_RATIO_SCALE = 4;
+
+  private final AgencyAnalyticsLoader agencyAnalyticsLoader;
+  private final AtomicReference<AgencyAnalyticsSnapshot> snapshot = new AtomicReference<>();
+
+  @Override
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${insurance.agency.analytics.refresh-cron:0 30 2 * * *}")
+  public void refreshSnapshot() {
+    long start = System.nanoTime();
+    AgencyAnalyticsSnapshot newSnapshot = agencyAnalyticsLoader.load();
+    snapshot.set(newSnapshot);
+    log.info(
+        "Took the agency analytics snapshot of {} policies and {} claims in {} ms",
+        newSnapshot.policyCount(),
+        newSnapshot.claimCount(),
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  @Override
+  public AgencyAnalyticsDto getAgencyAnalytics() {
+    log.info("Request to get the agency analytics");
+    AgencyAnalyticsSnapshot current = snapshot.get();
+    if (current == null) {
+      throw new ResourceNotFoundException("The agency analytics snapshot has not been taken yet");
+    }
+    return new AgencyAnalyticsDto()
+        .snapshotTakenAt(current.takenAt().toOffsetDateTime())
+        .agencies(current.aggregate().stream().map(this::toDto).toList());
+  }
+
+  private AgencyPerformanceDto toDto(AgencyPerformance performance) {
+    Map<String, Long> policiesByStatus = new LinkedHashMap<>();
+    performance
+        .policiesByStatus()
+        .forEach((status, count) -> policiesByStatus.put(status.name(), count));
+    BigDecimal premiumVolume = BigDecimal.valueOf(performance.premiumCents(), 2);
+    BigDecimal claimsPaid = BigDecimal.valueOf(performance.claimsPaidCents(), 2);
+    return new AgencyPerformanceDto()
+        .agencyId(
+            performance.agencyId() == AgencyAnalyticsSnapshot.DIRECT_SALES
+                ? null
+                : performance.agencyId())
+        .policyCount(performance.policyCount())
+        .policiesByStatus(policiesByStatus)
+        .premiumVolume(premiumVolume)
+        .claimCount(performance.claimCount())
+        .claimsPaid(claimsPaid)
+        .lossRatio(
+            premiumVolume.signum() == 0
+                ? null
+                : claimsPaid.divide(premiumVolume, LOSS_RATIO_SCALE, RoundingMode.HALF_UP));
+  }
+}
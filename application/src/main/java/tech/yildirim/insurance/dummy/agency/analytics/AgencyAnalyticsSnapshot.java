@@ -0,0 +1,231 @@
+package tech.yildirim.insurance.dummy.agency.analytics;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import tech.yildirim.insurance.dummy.policy.PolicyStatus;
+
+/**
+ * An immutable, columnar copy of the policy and claim figures the agency analytics need. Each
+ * column is a primitive array with one entry per policy or claim: the agency as a dense index, the
+ * policy status as its ordinal and the amounts in cents. {@link #aggregate()} scans the columns in
+ * chunks on the common fork-join pool and merges the per-chunk totals, so a report costs a few
+ * sequential array passes and no database access.
+ */
+public final class AgencyAnalyticsSnapshot {
+
+  /** The agency id the policies sold directly are reported under. */
+  public static final long DIRECT_SALES = 0L;
+
+  /** Rows per parallel task; small snapshots are scanned in a single task. */
+  static final int CHUNK_SIZE = 1 << 16;
+
+  private static final PolicyStatus[] STATUSES = PolicyStatus.values();
+
+  private final ZonedDateTime takenAt;
+  private final long[] agencyIds;
+  private final int[] policyAgencies;
+  private final byte[] policyStatuses;
+  private final long[] policyPremiumCents;
+  private final int[] claimAgencies;
+  private final long[] claimPaidCents;
+
+  private AgencyAnalyticsSnapshot(
+      ZonedDateTime takenAt,
+      long[] agencyIds,
+      int[] policyAgencies,
+      byte[] policyStatuses,
+      long[] policyPremiumCents,
+      int[] claimAgencies,
+      long[] claimPaidCents) {
+    this.takenAt = takenAt;
+    this.agencyIds = agencyIds;
+    this.policyAgencies = policyAgencies;
+    this.policyStatuses = policyStatuses;
+    this.policyPremiumCents = policyPremiumCents;
+    this.claimAgencies = claimAgencies;
+    this.claimPaidCents = claimPaidCents;
+  }
+
+  /** When the policies and claims of this snapshot were read. */
+  public ZonedDateTime takenAt() {
+    return takenAt;
+  }
+
+  /** The number of policies in this snapshot. */
+  public int policyCount() {
+    return policyAgencies.length;
+  }
+
+  /** The number of claims in this snapshot. */
+  public int claimCount() {
+    return claimAgencies.length;
+  }
+
+  /**
+   * Computes the figures of every agency.
+   *
+   * @return One entry per agency with policies, ordered by agency id.
+   */
+  public List<AgencyPerformance> aggregate() {
+    int policyChunks = chunks(policyAgencies.length);
+    int claimChunks = chunks(claimAgencies.length);
+    Totals totals =
+        IntStream.range(0, policyChunks + claimChunks)
+            .parallel()
+            .mapToObj(
+                chunk ->
+                    chunk < policyChunks
+                        ? scanPolicies(chunk)
+                        : scanClaims(chunk - policyChunks))
+            .reduce(Totals::merge)
+            .orElseGet(() -> new Totals(agencyIds.length));
+
+    List<AgencyPerformance> figures = new ArrayList<>(agencyIds.length);
+    for (int agency = 0; agency < agencyIds.length; agency++) {
+      Map<PolicyStatus, Long> policiesByStatus = new EnumMap<>(PolicyStatus.class);
+      for (PolicyStatus status : STATUSES) {
+        long count = totals.policyCounts[agency * STATUSES.length + status.ordinal()];
+        if (count > 0) {
+          policiesByStatus.put(status, count);
+        }
+      }
+      figures.add(
+          new AgencyPerformance(
+              agencyIds[agency],
+              policiesByStatus,
+              totals.premiumCents[agency],
+              totals.claimCounts[agency],
+              totals.paidCents[agency]));
+    }
+    figures.sort(Comparator.comparingLong(AgencyPerformance::agencyId));
+    return figures;
+  }
+
+  private Totals scanPolicies(int chunk) {
+    Totals totals = new Totals(agencyIds.length);
+    int end = Math.min(policyAgencies.length, (chunk + 1) * CHUNK_SIZE);
+    for (int row = chunk * CHUNK_SIZE; row < end; row++) {
+      int agency = policyAgencies[row];
+      totals.policyCounts[agency * STATUSES.length + policyStatuses[row]]++;
+      totals.premiumCents[agency] += policyPremiumCents[row];
+    }
+    return totals;
+  }
+
+  private Totals scanClaims(int chunk) {
+    Totals totals = new Totals(agencyIds.length);
+    int end = Math.min(claimAgencies.length, (chunk + 1) * CHUNK_SIZE);
+    for (int row = chunk * CHUNK_SIZE; row < end; row++) {
+      int agency = claimAgencies[row];
+      totals.claimCounts[agency]++;
+      totals.paidCents[agency] += claimPaidCents[row];
+    }
+    return totals;
+  }
+
+  private static int chunks(int rows) {
+    return (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+  }
+
+  /** The sums of one chunk, indexed by dense agency index (and status ordinal). */
+  private static final class Totals {
+
+    private final long[] policyCounts;
+    private final long[] premiumCents;
+    private final long[] claimCounts;
+    private final long[] paidCents;
+
+    private Totals(int agencies) {
+      policyCounts = new long[agencies * STATUSES.length];
+      premiumCents = new long[agencies];
+      claimCounts = new long[agencies];
+      paidCents = new long[agencies];
+    }
+
+    /** Adds the other totals to these; both come from separate tasks and are not reused. */
+    private Totals merge(Totals other) {
+      add(policyCounts, other.policyCounts);
+      add(premiumCents, other.premiumCents);
+      add(claimCounts, other.claimCounts);
+      add(paidCents, other.paidCents);
+      return this;
+    }
+
+    private static void add(long[] target, long[] source) {
+      for (int i = 0; i < target.length; i++) {
+        target[i] += source[i];
+      }
+    }
+  }
+
+  /** Collects the rows of a snapshot into growing primitive columns. Not thread-safe. */
+  static final class Builder {
+
+    private final Map<Long, Integer> agencyIndexes = new HashMap<>();
+    private long[] agencyIds = new long[16];
+    private int[] policyAgencies = new int[1024];
+    private byte[] policyStatuses = new byte[1024];
+    private long[] policyPremiumCents = new long[1024];
+    private int policies;
+    private int[] claimAgencies = new int[1024];
+    private long[] claimPaidCents = new long[1024];
+    private int claims;
+
+    Builder addPolicy(long agencyId, PolicyStatus status, long premiumCents) {
+      if (policies == policyAgencies.length) {
+        int capacity = policies * 2;
+        policyAgencies = Arrays.copyOf(policyAgencies, capacity);
+        policyStatuses = Arrays.copyOf(policyStatuses, capacity);
+        policyPremiumCents = Arrays.copyOf(policyPremiumCents, capacity);
+      }
+      policyAgencies[policies] = agencyIndex(agencyId);
+      policyStatuses[policies] = (byte) status.ordinal();
+      policyPremiumCents[policies] = premiumCents;
+      policies++;
+      return this;
+    }
+
+    Builder addClaim(long agencyId, long paidCents) {
+      if (claims == claimAgencies.length) {
+        int capacity = claims * 2;
+        claimAgencies = Arrays.copyOf(claimAgencies, capacity);
+        claimPaidCents = Arrays.copyOf(claimPaidCents, capacity);
+      }
+      claimAgencies[claims] = agencyIndex(agencyId);
+      claimPaidCents[claims] = paidCents;
+      claims++;
+      return this;
+    }
+
+    AgencyAnalyticsSnapshot build(ZonedDateTime takenAt) {
+      return new AgencyAnalyticsSnapshot(
+          takenAt,
+          Arrays.copyOf(agencyIds, agencyIndexes.size()),
+          Arrays.copyOf(policyAgencies, policies),
+          Arrays.copyOf(policyStatuses, policies),
+          Arrays.copyOf(policyPremiumCents, policies),
+          Arrays.copyOf(claimAgencies, claims),
+          Arrays.copyOf(claimPaidCents, claims));
+    }
+
+    private int agencyIndex(long agencyId) {
+      return agencyIndexes.computeIfAbsent(
+          agencyId,
+          id -> {
+            int index = agencyIndexes.size();
+            if (index == agencyIds.length) {
+              agencyIds = Arrays.copyOf(agencyIds, index * 2);
+            }
+            agencyIds[index] = id;
+            return index;
+          });
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package tech.yildirim.insurance.dummy.agency.analytics;
+
+import java.util.Map;
+import tech.yildirim.insurance.dummy.policy.PolicyStatus;
+
+/**
+ * The figures of one agency, aggregated from an {@link AgencyAnalyticsSnapshot}.
+ *
+ * @param agencyId The agency, {@link AgencyAnalyticsSnapshot#DIRECT_SALES} for direct sales.
+ * @param policiesByStatus The number of policies per status; statuses without policies are absent.
+ * @param premiumCents The sum of the yearly premiums, in cents.
+ * @param claimCount The number of claims on the agency's policies.
+ * @param claimsPaidCents The sum of the paid claim amounts, in cents.
+ */
+public record AgencyPerformance(
+    long agencyId,
+    Map<PolicyStatus, Long> policiesByStatus,
+    long premiumCents,
+    long claimCount,
+    long claimsPaidCents) {
+
+  /** The number of policies over all statuses. */
+  public long policyCount() {
+    return policiesByStatus.values().stream().mapToLong(Long::longValue).sum();
+  }
+}
@@ -0,0 +1,311 @@
+package tech.yildirim.insurance.dummy.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.IntSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.yildirim.insurance.api.generated.model.ClaimDto;
+import tech.yildirim.insurance.dummy.claim.AutoClaim;
+import tech.yildirim.insurance.dummy.claim.Claim;
+import tech.yildirim.insurance.dummy.claim.ClaimMapper;
+import tech.yildirim.insurance.dummy.claim.ClaimRepository;
+import tech.yildirim.insurance.dummy.claim.ClaimStatus;
+import tech.yildirim.insurance.dummy.claim.HealthClaim;
+import tech.yildirim.insurance.dummy.claim.HomeClaim;
+import tech.yildirim.insurance.dummy.claim.duplicate.ClaimDuplicateIndex;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+import tech.yildirim.insurance.dummy.policy.Policy;
+import tech.yildirim.insurance.dummy.policy.PolicyMapper;
+import tech.yildirim.insurance.dummy.policy.PolicyRepository;
+
+/**
+ * Moves records that are no longer worked on from the hot tables to the archive tables: PAID and
+ * REJECTED claims reported before the retention window, then EXPIRED and CANCELLED policies that
+ * ended before it and have no claims left in the claims table. Reads by id fall back to the
+ * archive (see {@link ArchiveReader}), while lists, searches and scans only see the hot tables.
+ *
+ * <p>Records are moved in chunks of {@code chunk-size}. A chunk is locked, copied with a batched
+ * insert and deleted in one transaction, so a record is always in exactly one of the two tables.
+ * Only the node holding the {@value #LEASE_NAME} lease runs the job; it renews the lease after
+ * every chunk. An archived claim keeps counting in the claim report and the agency analytics, and
+ * in the claim history used for rating through the {@link ArchivedClaimCount} of its customer. The
+ * renewal link of an archived policy is dropped, as an ended policy is never renewed again.
+ *
+ * <p>The number of archived records is published as the {@value #ARCHIVED_METRIC} counter, tagged
+ * with {@code record=claim|policy}.
+ */
+@Component
+@Slf4j
+public class ArchiveJob {
+
+  static final String LEASE_NAME = "archive";
+  static final String ARCHIVED_METRIC = "insurance.archive.archived";
+
+  private static final String SELECT_CLAIMS =
+      "SELECT id FROM claims WHERE status IN ('PAID', 'REJECTED') AND date_reported < ?"
+          + " ORDER BY id LIMIT ? FOR UPDATE";
+
+  private static final String INSERT_CLAIM =
+      "INSERT INTO archived_claims (id, claim_type, claim_number, status, date_of_incident,"
+          + " estimated_amount, paid_amount, policy_id, archived_at, payload)"
+          + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String MERGE_CLAIM_COUNT =
+      "MERGE INTO archived_claim_counts a USING (SELECT CAST(? AS BIGINT) AS customer_id,"
+          + " CAST(? AS BIGINT) AS claim_count) c ON a.customer_id = c.customer_id"
+          + " WHEN MATCHED THEN UPDATE SET claim_count = a.claim_count + c.claim_count"
+          + " WHEN NOT MATCHED THEN INSERT (customer_id, claim_count)"
+          + " VALUES (c.customer_id, c.claim_count)";
+
+  private static final String DELETE_CLAIMS = "DELETE FROM claims WHERE id IN (:ids)";
+
+  private static final String DELETE_CLAIM_DETAILS =
+      "DELETE FROM home_claim_details WHERE id IN (:ids)";
+
+  private static final String SELECT_POLICIES =
+      "SELECT p.id FROM policies p WHERE p.status IN ('EXPIRED', 'CANCELLED') AND p.end_date < ?"
+          + " AND NOT EXISTS (SELECT 1 FROM claims c WHERE c.policy_id = p.id)"
+          + " ORDER BY p.id LIMIT ? FOR UPDATE";
+
+  private static final String INSERT_POLICY =
+      "INSERT INTO archived_policies (id, policy_number, status, end_date, premium, customer_id,"
+          + " agency_id, archived_at, payload) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String DELETE_POLICY_RENEWALS =
+      "DELETE FROM policy_renewals WHERE policy_id IN (:ids)";
+
+  private static final String DELETE_POLICIES = "DELETE FROM policies WHERE id IN (:ids)";
+
+  private final ClaimRepository claimRepository;
+  private final ClaimMapper claimMapper;
+  private final ClaimDuplicateIndex claimDuplicateIndex;
+  private final PolicyRepository policyRepository;
+  private final PolicyMapper policyMapper;
+  private final ArchivePayloads archivePayloads;
+  private final JobLeaseManager jobLeaseManager;
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration retention;
+  private final int chunkSize;
+  private final Duration leaseDuration;
+  private final Counter claimCounter;
+  private final Counter policyCounter;
+
+  public ArchiveJob(
+      ClaimRepository claimRepository,
+      ClaimMapper claimMapper,
+      ClaimDuplicateIndex claimDuplicateIndex,
+      PolicyRepository policyRepository,
+      PolicyMapper policyMapper,
+      ArchivePayloads archivePayloads,
+      JobLeaseManager jobLeaseManager,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${insurance.archive.retention:730d}") Duration retention,
+      @Value("${insurance.archive.chunk-size:500}") int chunkSize,
+      @Value("${insurance.archive.lease-duration:10m}") Duration leaseDuration) {
+    this.claimRepository = claimRepository;
+    this.claimMapper = claimMapper;
+    this.claimDuplicateIndex = claimDuplicateIndex;
+    this.policyRepository = policyRepository;
+    this.policyMapper = policyMapper;
+    this.archivePayloads = archivePayloads;
+    this.jobLeaseManager = jobLeaseManager;
+    this.jdbcTemplate = jdbcTemplate;
+    this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.retention = retention;
+    this.chunkSize = chunkSize;
+    this.leaseDuration = leaseDuration;
+    this.claimCounter = archivedCounter(meterRegistry, "claim");
+    this.policyCounter = archivedCounter(meterRegistry, "policy");
+  }
+
+  /** The number of records moved by one run of the job. */
+  public record Result(long claims, long policies) {}
+
+  /** Scheduled entry point, by default at night. */
+  @Scheduled(cron = "${insurance.archive.cron:0 0 4 * * *}")
+  public void run() {
+    runFor(LocalDate.now());
+  }
+
+  /**
+   * Archives the claims and policies that left the retention window before the given date, if
+   * this node gets the lease.
+   *
+   * @param today The date the retention window ends at.
+   * @return The number of archived records, or empty if another node holds the lease.
+   */
+  public Optional<Result> runFor(LocalDate today) {
+    if (!jobLeaseManager.tryAcquire(LEASE_NAME, leaseDuration)) {
+      log.info("Skipping archive run for {}: lease is held by another node", today);
+      return Optional.empty();
+    }
+    try {
+      LocalDate cutoff = today.minusDays(retention.toDays());
+      OffsetDateTime reportedBefore =
+          cutoff.atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+      long claims = archiveInChunks(() -> archiveClaims(reportedBefore), claimCounter);
+      long policies =
+          renewLease() ? archiveInChunks(() -> archivePolicies(cutoff), policyCounter) : 0;
+      log.info(
+          "Archive run for {} archived {} claims and {} policies from before {}",
+          today,
+          claims,
+          policies,
+          cutoff);
+      return Optional.of(new Result(claims, policies));
+    } finally {
+      jobLeaseManager.release(LEASE_NAME);
+    }
+  }
+
+  private int archiveClaims(OffsetDateTime reportedBefore) {
+    Integer archived =
+        transactionTemplate.execute(
+            status -> {
+              List<Long> ids =
+                  jdbcTemplate.queryForList(SELECT_CLAIMS, Long.class, reportedBefore, chunkSize);
+              if (ids.isEmpty()) {
+                return 0;
+              }
+              // Initializes the damaged items of the home claims in the same persistence context
+              claimRepository.findHomeClaimsWithDetails(ids);
+              OffsetDateTime now = OffsetDateTime.now();
+              List<Object[]> rows = new ArrayList<>(ids.size());
+              List<Long> detailIds = new ArrayList<>();
+              // Sorted, so concurrent merges lock the counts of the customers in the same order
+              Map<Long, Long> claimCounts = new TreeMap<>();
+              for (Claim claim : claimRepository.findAllById(ids)) {
+                rows.add(
+                    new Object[] {
+                      claim.getId(),
+                      claimType(claim),
+                      claim.getClaimNumber(),
+                      claim.getStatus().name(),
+                      claim.getDateOfIncident(),
+                      claim.getEstimatedAmount(),
+                      claim.getPaidAmount(),
+                      claim.getPolicy().getId(),
+                      now,
+                      archivePayloads.write(toDto(claim))
+                    });
+                if (claim instanceof HomeClaim homeClaim && homeClaim.getDetails() != null) {
+                  detailIds.add(homeClaim.getDetails().getId());
+                }
+                if (claim.getStatus() != ClaimStatus.REJECTED) {
+                  claimCounts.merge(claim.getPolicy().getCustomer().getId(), 1L, Long::sum);
+                }
+                claimDuplicateIndex.remove(claim);
+              }
+              jdbcTemplate.batchUpdate(INSERT_CLAIM, rows);
+              jdbcTemplate.batchUpdate(
+                  MERGE_CLAIM_COUNT,
+                  claimCounts.entrySet().stream()
+                      .map(count -> new Object[] {count.getKey(), count.getValue()})
+                      .toList());
+              namedParameterJdbcTemplate.update(DELETE_CLAIMS, Map.of("ids", ids));
+              if (!detailIds.isEmpty()) {
+                namedParameterJdbcTemplate.update(DELETE_CLAIM_DETAILS, Map.of("ids", detailIds));
+              }
+              return ids.size();
+            });
+    return archived == null ? 0 : archived;
+  }
+
+  private int archivePolicies(LocalDate endedBefore) {
+    Integer archived =
+        transactionTemplate.execute(
+            status -> {
+              List<Long> ids =
+                  jdbcTemplate.queryForList(SELECT_POLICIES, Long.class, endedBefore, chunkSize);
+              if (ids.isEmpty()) {
+                return 0;
+              }
+              OffsetDateTime now = OffsetDateTime.now();
+              List<Object[]> rows = new ArrayList<>(ids.size());
+              for (Policy policy : policyRepository.findAllById(ids)) {
+                rows.add(
+                    new Object[] {
+                      policy.getId(),
+                      policy.getPolicyNumber(),
+                      policy.getStatus().name(),
+                      policy.getEndDate(),
+                      policy.getPremium(),
+                      policy.getCustomer().getId(),
+                      policy.getAgency() == null ? null : policy.getAgency().getId(),
+                      now,
+                      archivePayloads.write(policyMapper.toDto(policy))
+                    });
+              }
+              jdbcTemplate.batchUpdate(INSERT_POLICY, rows);
+              namedParameterJdbcTemplate.update(DELETE_POLICY_RENEWALS, Map.of("ids", ids));
+              namedParameterJdbcTemplate.update(DELETE_POLICIES, Map.of("ids", ids));
+              return ids.size();
+            });
+    return archived == null ? 0 : archived;
+  }
+
+  private long archiveInChunks(IntSupplier chunk, Counter counter) {
+    long total = 0;
+    int archived;
+    do {
+      archived = chunk.getAsInt();
+      total += archived;
+      counter.increment(archived);
+    } while (archived == chunkSize && renewLease());
+    return total;
+  }
+
+  private boolean renewLease() {
+    if (jobLeaseManager.tryAcquire(LEASE_NAME, leaseDuration)) {
+      return true;
+    }
+    log.warn("Lost the archive lease, leaving the remaining records to its new holder");
+    return false;
+  }
+
+  private ClaimDto toDto(Claim claim) {
+    return switch (claim) {
+      case AutoClaim autoClaim -> claimMapper.toDto(autoClaim);
+      case HomeClaim homeClaim -> claimMapper.toDto(homeClaim);
+      case HealthClaim healthClaim -> claimMapper.toDto(healthClaim);
+      default -> throw new UnsupportedOperationException("Claim type not supported: " + claim);
+    };
+  }
+
+  private static String claimType(Claim claim) {
+    return switch (claim) {
+      case AutoClaim autoClaim -> AutoClaim.CLAIM_TYPE;
+      case HomeClaim homeClaim -> HomeClaim.CLAIM_TYPE;
+      case HealthClaim healthClaim -> HealthClaim.CLAIM_TYPE;
+      default -> throw new UnsupportedOperationException("Claim type not supported: " + claim);
+    };
+  }
+
+  private static Counter archivedCounter(MeterRegistry meterRegistry, String record) {
+    return Counter.builder(ARCHIVED_METRIC)
+        .description("Claims and policies moved to the archive tables")
+        .tag("record", record)
+        .register(meterRegistry);
+  }
+}
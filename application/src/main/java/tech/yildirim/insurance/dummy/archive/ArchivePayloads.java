@@ -0,0 +1,56 @@
+package tech.yildirim.insurance.dummy.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts archived records to and from their stored form: the DTO their endpoint returns, as
+ * gzip-compressed JSON. Storing the DTO rather than the entity keeps an archived record readable
+ * without its associations, which may be gone by the time it is read.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArchivePayloads {
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Serializes and compresses a DTO.
+   *
+   * @param dto The DTO.
+   * @return The gzip-compressed JSON.
+   */
+  public byte[] write(Object dto) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = new GZIPOutputStream(bytes)) {
+      objectMapper.writeValue(out, dto);
+    } catch (IOException e) {
+      throw new IllegalStateException(
+          "Could not serialize the archived " + dto.getClass().getSimpleName(), e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decompresses and deserializes a DTO written by {@link #write}.
+   *
+   * @param payload The gzip-compressed JSON.
+   * @param type The type of the DTO; polymorphic DTOs are read as their subtype.
+   * @return The DTO.
+   */
+  public <T> T read(byte[] payload, Class<T> type) {
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+      return objectMapper.readValue(in, type);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not read an archived " + type.getSimpleName(), e);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package tech.yildirim.insurance.dummy.archive;
+
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tech.yildirim.insurance.api.generated.model.ClaimDto;
+import tech.yildirim.insurance.api.generated.model.PolicyDto;
+
+/**
+ * Looks up archived claims and policies by their id, for the services to fall back to when a
+ * record is not in its hot table. Each lookup reads one row by its primary key.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ArchiveReader {
+
+  private final ArchivedClaimRepository archivedClaimRepository;
+  private final ArchivedPolicyRepository archivedPolicyRepository;
+  private final ArchivePayloads archivePayloads;
+
+  /**
+   * Finds an archived claim.
+   *
+   * @param claimId The ID of the claim.
+   * @return The claim as its endpoint returned it when it was archived, or empty.
+   */
+  public Optional<ClaimDto> findClaim(Long claimId) {
+    return archivedClaimRepository
+        .findById(claimId)
+        .map(
+            archived -> {
+              log.debug("Claim {} was archived at {}", claimId, archived.getArchivedAt());
+              return archivePayloads.read(archived.getPayload(), ClaimDto.class);
+            });
+  }
+
+  /**
+   * Finds an archived policy.
+   *
+   * @param policyId The ID of the policy.
+   * @return The policy as its endpoint returned it when it was archived, or empty.
+   */
+  public Optional<PolicyDto> findPolicy(Long policyId) {
+    return archivedPolicyRepository
+        .findById(policyId)
+        .map(
+            archived -> {
+              log.debug("Policy {} was archived at {}", policyId, archived.getArchivedAt());
+              return archivePayloads.read(archived.getPayload(), PolicyDto.class);
+            });
+  }
+}
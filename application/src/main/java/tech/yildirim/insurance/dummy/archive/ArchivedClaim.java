@@ -0,0 +1,62 @@
+package tech.yildirim.insurance.dummy.archive;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import tech.yildirim.insurance.dummy.claim.ClaimStatus;
+
+/**
+ * A closed claim moved out of the claims table by the {@link ArchiveJob}. Keeps the columns that
+ * reports aggregate, and the claim as its {@code GET} endpoint returned it in {@link #payload}.
+ */
+@Entity
+@Table(
+    name = "archived_claims",
+    indexes = @Index(name = "idx_archived_claims_policy", columnList = "policy_id"))
+@Data
+@NoArgsConstructor
+public class ArchivedClaim {
+
+  /** The id the claim had in the claims table. */
+  @Id private Long id;
+
+  @Column(nullable = false, length = 31)
+  private String claimType;
+
+  @Column(nullable = false)
+  private String claimNumber;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private ClaimStatus status;
+
+  @Column(nullable = false)
+  private LocalDate dateOfIncident;
+
+  @Column(precision = 12, scale = 2)
+  private BigDecimal estimatedAmount;
+
+  @Column(precision = 12, scale = 2)
+  private BigDecimal paidAmount;
+
+  @Column(nullable = false)
+  private Long policyId;
+
+  @Column(nullable = false)
+  private ZonedDateTime archivedAt;
+
+  /** The claim DTO as gzip-compressed JSON, see {@link ArchivePayloads}. */
+  @Lob
+  @Column(nullable = false)
+  private byte[] payload;
+}
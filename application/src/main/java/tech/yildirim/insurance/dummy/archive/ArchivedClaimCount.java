@@ -0,0 +1,24 @@
+package tech.yildirim.insurance.dummy.archive;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The number of archived claims of a customer that were not rejected. Maintained by the {@link
+ * ArchiveJob}, so the claim history used for rating still counts the claims it moved.
+ */
+@Entity
+@Table(name = "archived_claim_counts")
+@Data
+@NoArgsConstructor
+public class ArchivedClaimCount {
+
+  @Id private Long customerId;
+
+  @Column(nullable = false)
+  private Long claimCount;
+}
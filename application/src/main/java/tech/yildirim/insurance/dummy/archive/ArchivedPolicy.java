@@ -0,0 +1,56 @@
+package tech.yildirim.insurance.dummy.archive;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import tech.yildirim.insurance.dummy.policy.PolicyStatus;
+
+/**
+ * An expired or cancelled policy moved out of the policies table by the {@link ArchiveJob}. Keeps
+ * the columns that the agency analytics aggregate, and the policy as {@code GET /policies/{id}}
+ * returned it in {@link #payload}.
+ */
+@Entity
+@Table(name = "archived_policies")
+@Data
+@NoArgsConstructor
+public class ArchivedPolicy {
+
+  /** The id the policy had in the policies table. */
+  @Id private Long id;
+
+  @Column(nullable = false)
+  private String policyNumber;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private PolicyStatus status;
+
+  @Column(nullable = false)
+  private LocalDate endDate;
+
+  @Column(nullable = false, precision = 10, scale = 2)
+  private BigDecimal premium;
+
+  @Column(nullable = false)
+  private Long customerId;
+
+  private Long agencyId;
+
+  @Column(nullable = false)
+  private ZonedDateTime archivedAt;
+
+  /** The policy DTO as gzip-compressed JSON, see {@link ArchivePayloads}. */
+  @Lob
+  @Column(nullable = false)
+  private byte[] payload;
+}
@@ -0,0 +1,8 @@
+package tech.yildirim.insurance.dummy.archive;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/** Spring Data JPA repository for the {@link ArchivedPolicy} entity. */
+@Repository
+public interface ArchivedPolicyRepository extends JpaRepository<ArchivedPolicy, Long> {}
@@ -10,11 +10,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
@@ -24,7 +26,18 @@ import tech.yildirim.insurance.dummy.employee.Employee;
 import tech.yildirim.insurance.dummy.policy.Policy;
 
 @Entity
-@Table(name = "claims")
+@Table(
+    name = "claims",
+    indexes = {
+      @Index(name = "idx_claims_policy_status", columnList = "policy_id, status"),
+      @Index(name = "idx_claims_adjuster_status", columnList = "assigned_adjuster_id, status"),
+      @Index(name = "idx_claims_status", columnList = "status"),
+      @Index(name = "idx_claims_type_status", columnList = "claim_type, status"),
+      @Index(name = "idx_claims_risk_score", columnList = "risk_score DESC, id"),
+      @Index(name = "idx_claims_date_reported", columnList = "date_reported")
+    },
+    uniqueConstraints =
+        @UniqueConstraint(name = "uk_claims_duplicate_key", columnNames = "duplicate_key"))
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "claim_type", discriminatorType = DiscriminatorType.STRING)
 @Data
@@ -53,6 +66,16 @@ public abstract class Claim {
   @Column(precision = 12, scale = 2)
   private BigDecimal paidAmount;
 
+  /** From 0 to 100, see {@link tech.yildirim.insurance.dummy.claim.risk.ClaimRiskFeatures}. */
+  private Integer riskScore;
+
+  /** Identifies the incident; null for duplicates and claims without an identifier. */
+  @Column(length = 64)
+  private String duplicateKey;
+
+  /** The earlier claim for the same incident, if this claim is a likely duplicate. */
+  private Long duplicateOfClaimId;
+
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "policy_id", nullable = false)
   private Policy policy;
@@ -1,9 +1,13 @@
 package tech.yildirim.insurance.dummy.claim;
 
 import java.util.List;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.InheritConfiguration;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+import org.mapstruct.ReportingPolicy;
 import org.mapstruct.factory.Mappers;
 import tech.yildirim.insurance.api.generated.model.AutoClaimDto;
 import tech.yildirim.insurance.api.generated.model.HealthClaimDto;
@@ -46,6 +50,9 @@ public interface ClaimMapper {
   @Mapping(target = "dateReported", ignore = true)
   @Mapping(target = "status", ignore = true)
   @Mapping(target = "paidAmount", ignore = true)
+  @Mapping(target = "riskScore", ignore = true)
+  @Mapping(target = "duplicateKey", ignore = true)
+  @Mapping(target = "duplicateOfClaimId", ignore = true)
   @Mapping(target = "assignedAdjuster", ignore = true)
   void populateAutoClaimFromDto(AutoClaimDto dto, @MappingTarget AutoClaim entity);
 
@@ -66,6 +73,19 @@ public interface ClaimMapper {
   @Mapping(source = "assignedAdjuster.phoneNumber", target = "assignedAdjusterContact")
   HomeClaimDto toDto(HomeClaim homeClaim);
 
+  /**
+   * Maps a {@link HomeClaim} entity to {@link HomeClaimDto} for list views. The damaged items are
+   * left out so that the lazily loaded {@link HomeClaimDetails} are not read for every claim.
+   *
+   * @param homeClaim The source HomeClaim entity.
+   * @return The target HomeClaimDto without damaged items.
+   */
+  @Named("homeClaimListView")
+  @InheritConfiguration(name = "toDto")
+  @Mapping(target = "damagedItems", ignore = true)
+  @Mapping(target = "claimType", ignore = true)
+  HomeClaimDto toListDto(HomeClaim homeClaim);
+
   /** Maps a list of HomeClaim entities to a list of HomeClaimDtos. */
   List<HomeClaimDto> toHomeClaimDtoList(List<HomeClaim> homeClaims);
 
@@ -81,7 +101,11 @@ public interface ClaimMapper {
   @Mapping(target = "dateReported", ignore = true)
   @Mapping(target = "status", ignore = true)
   @Mapping(target = "paidAmount", ignore = true)
+  @Mapping(target = "riskScore", ignore = true)
+  @Mapping(target = "duplicateKey", ignore = true)
+  @Mapping(target = "duplicateOfClaimId", ignore = true)
   @Mapping(target = "assignedAdjuster", ignore = true)
+  @Mapping(target = "details", ignore = true)
   void populateHomeClaimFromDto(HomeClaimDto dto, @MappingTarget HomeClaim entity);
 
   // ========== HealthClaim Mappings ==========
@@ -116,7 +140,41 @@ public interface ClaimMapper {
   @Mapping(target = "dateReported", ignore = true)
   @Mapping(target = "status", ignore = true)
   @Mapping(target = "paidAmount", ignore = true)
+  @Mapping(target = "riskScore", ignore = true)
+  @Mapping(target = "duplicateKey", ignore = true)
+  @Mapping(target = "duplicateOfClaimId", ignore = true)
   @Mapping(target = "assignedAdjuster", ignore = true)
   void populateHealthClaimFromDto(HealthClaimDto dto, @MappingTarget HealthClaim entity);
-}
 
+  // ========== ClaimSummary Mappings ==========
+
+  /**
+   * Maps a {@link ClaimSummary} of an auto claim to {@link AutoClaimDto}. Only the common claim
+   * properties are populated.
+   *
+   * @param summary The source projection.
+   * @return The target AutoClaimDto.
+   */
+  @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE)
+  AutoClaimDto toAutoClaimDto(ClaimSummary summary);
+
+  /**
+   * Maps a {@link ClaimSummary} of a home claim to {@link HomeClaimDto}. Only the common claim
+   * properties are populated.
+   *
+   * @param summary The source projection.
+   * @return The target HomeClaimDto.
+   */
+  @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE)
+  HomeClaimDto toHomeClaimDto(ClaimSummary summary);
+
+  /**
+   * Maps a {@link ClaimSummary} of a health claim to {@link HealthClaimDto}. Only the common claim
+   * properties are populated.
+   *
+   * @param summary The source projection.
+   * @return The target HealthClaimDto.
+   */
+  @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE)
+  HealthClaimDto toHealthClaimDto(ClaimSummary summary);
+}
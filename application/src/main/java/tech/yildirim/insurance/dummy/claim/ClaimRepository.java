@@ -1,8 +1,11 @@
 package tech.yildirim.insurance.dummy.claim;
 
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -18,8 +21,136 @@ public interface ClaimRepository extends JpaRepository<Claim, Long> {
    * @param policyId The ID of the policy.
    * @return A list of claims belonging to the policy.
    */
-  List<Claim> findByPolicyId(Long policyId);
+  // Explicit query: the derived one joins policies and filters on its primary key, which keeps H2
+  // from using the policy_id index and scans all claims.
+  @Query("SELECT c FROM Claim c WHERE c.policy.id = :policyId")
+  List<Claim> findByPolicyId(@Param("policyId") Long policyId);
+
+  /**
+   * Finds the claims of a policy and checks that the policy exists in the same query. The policy is
+   * left joined to its claims, so the result is empty only if the policy does not exist, and
+   * contains a single {@code null} element if the policy has no claims. The assigned adjusters are
+   * fetched with the claims.
+   *
+   * @param policyId The ID of the policy.
+   * @return The policy's claims, a single {@code null} or an empty list, see above.
+   */
+  @Query(
+      "SELECT c FROM Policy p LEFT JOIN Claim c ON c.policy.id = p.id"
+          + " LEFT JOIN FETCH c.assignedAdjuster WHERE p.id = :policyId")
+  List<Claim> findByPolicyIdJoiningPolicy(@Param("policyId") Long policyId);
 
   @Query(value = "SELECT * FROM claims WHERE claim_type = ?1", nativeQuery = true)
   List<Claim> findClaimByClaimType(String claimType);
+
+  /**
+   * Reads the common columns of all claims of one type as {@link ClaimSummary} tuples. Type
+   * specific columns are not selected.
+   *
+   * @param claimType The entity type of the claims, e.g. {@code HomeClaim.class}.
+   * @return The summaries of all claims of that type.
+   */
+  @Query(
+      "SELECT c.id AS id, c.claimNumber AS claimNumber, c.policy.id AS policyId,"
+          + " c.description AS description, c.dateOfIncident AS dateOfIncident,"
+          + " c.dateReported AS dateReported, c.status AS status,"
+          + " c.estimatedAmount AS estimatedAmount, c.paidAmount AS paidAmount,"
+          + " c.assignedAdjuster.id AS assignedAdjusterId FROM Claim c WHERE TYPE(c) = :claimType")
+  List<ClaimSummary> findSummariesByType(@Param("claimType") Class<? extends Claim> claimType);
+
+  /**
+   * Reads the common columns of the claims of a policy as {@link PolicyClaimSummary} tuples, with
+   * the type of the policy. Like {@link #findByPolicyIdJoiningPolicy(Long)}, the policy is left
+   * joined to its claims: the result is empty if the policy does not exist, and a policy without
+   * claims yields a single tuple whose {@code id} is {@code null}.
+   *
+   * @param policyId The ID of the policy.
+   * @return The summaries of the claims belonging to the policy, see above.
+   */
+  @Query(
+      "SELECT c.id AS id, c.claimNumber AS claimNumber, p.id AS policyId,"
+          + " c.description AS description, c.dateOfIncident AS dateOfIncident,"
+          + " c.dateReported AS dateReported, c.status AS status,"
+          + " c.estimatedAmount AS estimatedAmount, c.paidAmount AS paidAmount,"
+          + " c.assignedAdjuster.id AS assignedAdjusterId, p.type AS policyType"
+          + " FROM Policy p LEFT JOIN Claim c ON c.policy.id = p.id WHERE p.id = :policyId")
+  List<PolicyClaimSummary> findSummariesByPolicyIdJoiningPolicy(
+      @Param("policyId") Long policyId);
+
+  /**
+   * Finds the claims of several policies in one query. The assigned adjuster is fetched with the
+   * claims, since the DTOs carry the adjuster's name and contact.
+   *
+   * @param policyIds The IDs of the policies.
+   * @return The claims of those policies, ordered by policy and claim ID.
+   */
+  @Query(
+      "SELECT c FROM Claim c LEFT JOIN FETCH c.assignedAdjuster"
+          + " WHERE c.policy.id IN :policyIds ORDER BY c.policy.id, c.id")
+  List<Claim> findWithAdjusterByPolicyIdIn(@Param("policyIds") Collection<Long> policyIds);
+
+  /**
+   * Loads home claims together with their {@link HomeClaimDetails} in a single query.
+   *
+   * @param ids The IDs of the home claims.
+   * @return The home claims with initialized details.
+   */
+  @Query("SELECT h FROM HomeClaim h LEFT JOIN FETCH h.details WHERE h.id IN :ids")
+  List<HomeClaim> findHomeClaimsWithDetails(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Counts the claims a customer has made on any of their policies that were not rejected,
+   * including the archived ones. Used as the claim history when a new policy is rated.
+   *
+   * @param customerId The ID of the customer.
+   * @return The number of claims.
+   */
+  @Query(
+      "SELECT COUNT(c) + COALESCE((SELECT a.claimCount FROM ArchivedClaimCount a"
+          + " WHERE a.customerId = :customerId), 0)"
+          + " FROM Claim c JOIN c.policy p WHERE p.customer.id = :customerId"
+          + " AND c.status <> tech.yildirim.insurance.dummy.claim.ClaimStatus.REJECTED")
+  long countNotRejectedByCustomerId(@Param("customerId") Long customerId);
+
+  /** Number of claims of a customer, see {@link #countNotRejectedByCustomerIdIn(Collection)}. */
+  interface CustomerClaimCount {
+
+    Long getCustomerId();
+
+    Long getClaimCount();
+  }
+
+  /**
+   * Counts the claims that were not rejected for several customers at once, see {@link
+   * #countNotRejectedByCustomerId(Long)}.
+   *
+   * @param customerIds The IDs of the customers.
+   * @return One count per customer that has such claims; customers without claims are left out.
+   */
+  @Query(
+      "SELECT h.customerId AS customerId, SUM(h.claimCount) AS claimCount FROM ("
+          + "SELECT p.customer.id AS customerId, COUNT(c) AS claimCount FROM Claim c"
+          + " JOIN c.policy p WHERE p.customer.id IN :customerIds"
+          + " AND c.status <> tech.yildirim.insurance.dummy.claim.ClaimStatus.REJECTED"
+          + " GROUP BY p.customer.id"
+          + " UNION ALL SELECT a.customerId AS customerId, a.claimCount AS claimCount"
+          + " FROM ArchivedClaimCount a WHERE a.customerId IN :customerIds) h"
+          + " GROUP BY h.customerId")
+  List<CustomerClaimCount> countNotRejectedByCustomerIdIn(
+      @Param("customerIds") Collection<Long> customerIds);
+
+  /**
+   * Finds the scored claims in the given statuses by descending risk score, over the risk score
+   * index. The assigned adjuster is fetched with the claims.
+   *
+   * @param statuses The statuses of the claims to return.
+   * @param limit The maximum number of claims.
+   * @return The claims, riskiest first.
+   */
+  @Query(
+      "SELECT c FROM Claim c LEFT JOIN FETCH c.assignedAdjuster"
+          + " WHERE c.riskScore IS NOT NULL AND c.status IN :statuses"
+          + " ORDER BY c.riskScore DESC, c.id")
+  List<Claim> findByStatusInOrderByRiskScore(
+      @Param("statuses") Collection<ClaimStatus> statuses, Limit limit);
 }
@@ -1,12 +1,21 @@
 package tech.yildirim.insurance.dummy.claim;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import tech.yildirim.insurance.api.generated.model.ClaimDeletionsDto;
 import tech.yildirim.insurance.api.generated.model.ClaimDto;
+import tech.yildirim.insurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
 
 /** Service Interface for managing {@link Claim}. */
 public interface ClaimService {
 
+  /** Value of the {@code expand} parameter that adds the damaged items to home claim lists. */
+  String EXPAND_DAMAGED_ITEMS = "damagedItems";
+
   /**
    * Submits a new claim for a specific policy.
    *
@@ -17,7 +26,7 @@ public interface ClaimService {
   ClaimDto submitClaim(Long policyId, ClaimDto claimDto);
 
   /**
-   * Finds a claim by its unique ID.
+   * Finds a claim by its unique ID, in the claims table or else in the archive.
    *
    * @param claimId The ID of the claim.
    * @return An Optional containing the found claim, or empty if not found.
@@ -25,13 +34,34 @@ public interface ClaimService {
   Optional<ClaimDto> findClaimById(Long claimId);
 
   /**
-   * Finds all claims associated with a given policy.
+   * Finds all claims associated with a given policy. Home claims are returned without their
+   * damaged items, see {@link #includeDamagedItems(List)}.
    *
    * @param policyId The ID of the policy.
    * @return A list of claim DTOs for that policy.
    */
   List<ClaimDto> findClaimsByPolicyId(Long policyId);
 
+  /**
+   * Finds all claims associated with a given policy for a sparse fieldset. When every requested
+   * field is covered by {@link ClaimSummary}, only the common claim columns are read; otherwise
+   * this behaves like {@link #findClaimsByPolicyId(Long)}.
+   *
+   * @param policyId The ID of the policy.
+   * @param fields The DTO properties the caller asked for, may be null.
+   * @return A list of claim DTOs for that policy.
+   */
+  List<ClaimDto> findClaimsByPolicyId(Long policyId, Collection<String> fields);
+
+  /**
+   * Finds the claims of several policies with a single query, e.g. for an overview of all policies
+   * of a customer. Home claims are returned without their damaged items.
+   *
+   * @param policyIds The IDs of the policies.
+   * @return The claim DTOs grouped by policy ID. Policies without claims have no entry.
+   */
+  Map<Long, List<ClaimDto>> findClaimsByPolicyIds(Collection<Long> policyIds);
+
   /**
    * Assigns an employee to a specific claim.
    *
@@ -59,10 +89,50 @@ public interface ClaimService {
   void deleteClaim(Long claimId);
 
   /**
-   * Retrieves all claims of a specific type.
+   * Retrieves all claims of a specific type. Home claims are returned without their damaged items,
+   * see {@link #includeDamagedItems(List)}.
    *
    * @param claimType The type of claims to retrieve (AUTO, HOME, HEALTH).
    * @return A list of claim DTOs of the specified type.
    */
   List<ClaimDto> getAllClaimsByType(ClaimDto.ClaimTypeEnum claimType);
+
+  /**
+   * Retrieves all claims of a specific type for a sparse fieldset. When every requested field is
+   * covered by {@link ClaimSummary}, the type specific columns are not read.
+   *
+   * @param claimType The type of claims to retrieve (AUTO, HOME, HEALTH).
+   * @param fields The DTO properties the caller asked for, may be null.
+   * @return A list of claim DTOs of the specified type.
+   */
+  List<ClaimDto> getAllClaimsByType(ClaimDto.ClaimTypeEnum claimType, Collection<String> fields);
+
+  /**
+   * Fills in the damaged items of home claims returned by a list method, which leaves them out.
+   * All details are read with one query.
+   *
+   * @param homeClaims The home claims from a list view.
+   * @return The same DTOs, with their damaged items set.
+   */
+  List<HomeClaimDto> includeDamagedItems(List<HomeClaimDto> homeClaims);
+
+  /**
+   * Reads a page of the deleted claims: the tombstones recorded after the cursor position.
+   *
+   * @param deletedSince Where a new sync starts, may be null.
+   * @param cursor The encoded cursor of the previous page, may be null.
+   * @param limit The maximum number of claim ids.
+   * @return The ids of the deleted claims and the cursor to continue with.
+   * @throws InvalidRequestException if both {@code deletedSince} and a cursor, or a malformed
+   *     cursor, are given.
+   */
+  ClaimDeletionsDto getClaimDeletions(OffsetDateTime deletedSince, String cursor, int limit);
+
+  /**
+   * Lists the open (submitted or in-review) claims by descending risk score, for triage.
+   *
+   * @param limit The maximum number of claims.
+   * @return The scored open claims, riskiest first.
+   */
+  List<ClaimDto> getClaimTriage(int limit);
 }
@@ -2,22 +2,48 @@ package tech.yildirim.insurance.dummy.claim;
 
 
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tech.yildirim.insurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.insurance.api.generated.model.ClaimDeletionsDto;
 import tech.yildirim.insurance.api.generated.model.ClaimDto;
 import tech.yildirim.insurance.api.generated.model.ClaimDto.ClaimTypeEnum;
 import tech.yildirim.insurance.api.generated.model.HealthClaimDto;
 import tech.yildirim.insurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.insurance.dummy.archive.ArchiveReader;
+import tech.yildirim.insurance.dummy.claim.duplicate.ClaimDuplicateIndex;
+import tech.yildirim.insurance.dummy.claim.report.ClaimRollupEntry;
+import tech.yildirim.insurance.dummy.claim.report.ClaimRollupWriter;
+import tech.yildirim.insurance.dummy.claim.risk.ClaimRiskScorer;
+import tech.yildirim.insurance.dummy.common.BusinessRuleViolationException;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
 import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+import tech.yildirim.insurance.dummy.common.delta.DeltaCursor;
+import tech.yildirim.insurance.dummy.common.delta.DeltaPage;
+import tech.yildirim.insurance.dummy.common.delta.DeltaWindow;
+import tech.yildirim.insurance.dummy.common.delta.Tombstone;
+import tech.yildirim.insurance.dummy.common.delta.TombstoneRepository;
+import tech.yildirim.insurance.dummy.common.delta.TombstoneType;
+import tech.yildirim.insurance.dummy.common.delta.TombstoneWriter;
 import tech.yildirim.insurance.dummy.employee.Employee;
 import tech.yildirim.insurance.dummy.employee.EmployeeRepository;
 import tech.yildirim.insurance.dummy.employee.EmployeeRole;
+import tech.yildirim.insurance.dummy.outbox.OutboxEventType;
+import tech.yildirim.insurance.dummy.outbox.OutboxWriter;
 import tech.yildirim.insurance.dummy.policy.Policy;
 import tech.yildirim.insurance.dummy.policy.PolicyRepository;
 import tech.yildirim.insurance.dummy.policy.PolicyStatus;
@@ -29,10 +55,22 @@ import tech.yildirim.insurance.dummy.policy.PolicyType;
 @Slf4j
 public class ClaimServiceImpl implements ClaimService {
 
+  /** The claims adjusters still have to decide on. */
+  private static final Set<ClaimStatus> OPEN_STATUSES =
+      EnumSet.of(ClaimStatus.SUBMITTED, ClaimStatus.IN_REVIEW);
+
   private final ClaimRepository claimRepository;
   private final PolicyRepository policyRepository;
   private final ClaimMapper claimMapper;
   private final EmployeeRepository employeeRepository;
+  private final OutboxWriter outboxWriter;
+  private final TombstoneWriter tombstoneWriter;
+  private final TombstoneRepository tombstoneRepository;
+  private final DeltaWindow deltaWindow;
+  private final ClaimRollupWriter claimRollupWriter;
+  private final ClaimRiskScorer claimRiskScorer;
+  private final ClaimDuplicateIndex claimDuplicateIndex;
+  private final ArchiveReader archiveReader;
 
   @Override
   @Transactional
@@ -52,7 +90,7 @@ public class ClaimServiceImpl implements ClaimService {
           "Attempted to submit claim for a non-active policy. PolicyId: {}, Status: {}",
           policyId,
           policy.getStatus());
-      throw new IllegalStateException(
+      throw new BusinessRuleViolationException(
           "Claims can only be submitted for policies with ACTIVE status. Current status: "
               + policy.getStatus());
     }
@@ -77,37 +115,85 @@ public class ClaimServiceImpl implements ClaimService {
     claim.setPolicy(policy);
     claim.setClaimNumber(generateClaimNumber());
     claim.setStatus(ClaimStatus.SUBMITTED);
+    claimDuplicateIndex.check(claim);
+    claim.setRiskScore(claimRiskScorer.scoreNewClaim(claim));
 
     Claim savedClaim = claimRepository.save(claim);
     log.info(
         "Successfully submitted and saved claim with id {} and number {}",
         savedClaim.getId(),
         savedClaim.getClaimNumber());
+    claimRollupWriter.add(savedClaim);
 
     // Return DTO based on claim specific type
-    return toDto(savedClaim);
+    ClaimDto savedClaimDto = toDto(savedClaim);
+    outboxWriter.append(OutboxEventType.CLAIM_SUBMITTED, savedClaim.getId(), savedClaimDto);
+    return savedClaimDto;
   }
 
   @Override
   @Transactional(readOnly = true)
   public Optional<ClaimDto> findClaimById(Long claimId) {
     log.info("Request to find claim with id: {}", claimId);
-    return claimRepository.findById(claimId).map(this::toDto);
+    return claimRepository
+        .findById(claimId)
+        .map(this::toDto)
+        .or(() -> archiveReader.findClaim(claimId));
   }
 
   @Override
   @Transactional(readOnly = true)
   public List<ClaimDto> findClaimsByPolicyId(Long policyId) {
     log.info("Request to find all claims for policyId: {}", policyId);
-    if (!policyRepository.existsById(policyId)) {
+    // One query answers both "does the policy exist" and "which claims does it have"
+    List<Claim> rows = claimRepository.findByPolicyIdJoiningPolicy(policyId);
+    if (rows.isEmpty()) {
       log.warn("Policy with id: {} not found. Cannot retrieve claims.", policyId);
       throw new ResourceNotFoundException("Policy not found with id: " + policyId);
     }
-    List<Claim> claims = claimRepository.findByPolicyId(policyId);
+    List<Claim> claims = rows.stream().filter(Objects::nonNull).toList();
     log.info("Found {} claims for policyId: {}", claims.size(), policyId);
     return toDtoList(claims);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public Map<Long, List<ClaimDto>> findClaimsByPolicyIds(Collection<Long> policyIds) {
+    log.info("Request to find all claims for policyIds: {}", policyIds);
+    if (policyIds.isEmpty()) {
+      return Map.of();
+    }
+    List<Claim> claims = claimRepository.findWithAdjusterByPolicyIdIn(policyIds);
+    log.info("Found {} claims for {} policies", claims.size(), policyIds.size());
+    return toDtoList(claims).stream()
+        .collect(Collectors.groupingBy(ClaimDto::getPolicyId));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<ClaimDto> findClaimsByPolicyId(Long policyId, Collection<String> fields) {
+    if (!ClaimSummary.covers(fields)) {
+      return findClaimsByPolicyId(policyId);
+    }
+    log.info("Request to find all claims for policyId: {} with fields: {}", policyId, fields);
+    List<PolicyClaimSummary> rows = claimRepository.findSummariesByPolicyIdJoiningPolicy(policyId);
+    if (rows.isEmpty()) {
+      log.warn("Policy with id: {} not found. Cannot retrieve claims.", policyId);
+      throw new ResourceNotFoundException("Policy not found with id: " + policyId);
+    }
+    // Claims are always created with the subtype matching the policy type
+    Optional<Class<? extends Claim>> claimClass =
+        claimClassForPolicyType(rows.getFirst().getPolicyType());
+    if (claimClass.isEmpty()) {
+      log.info("Policy type of policyId: {} has no claims", policyId);
+      return List.of();
+    }
+    List<PolicyClaimSummary> summaries =
+        rows.stream().filter(summary -> summary.getId() != null).toList();
+    log.info("Found {} claims for policyId: {}", summaries.size(), policyId);
+    return summaries.stream().map(summary -> toDto(summary, claimClass.get())).toList();
+  }
+
   @Override
   @Transactional
   public ClaimDto assignAdjuster(Long claimId, Long employeeId) {
@@ -135,10 +221,11 @@ public class ClaimServiceImpl implements ClaimService {
           "Attempted to assign an employee who is not a CLAIMS_ADJUSTER. EmployeeId: {}, Role: {}",
           employeeId,
           employee.getRole());
-      throw new IllegalArgumentException(
+      throw new InvalidRequestException(
           "Employee with id " + employeeId + " is not a CLAIMS_ADJUSTER");
     }
 
+    ClaimRollupEntry rollupBefore = claimRollupWriter.snapshot(claim);
     claim.setAssignedAdjuster(employee);
     log.debug("Assigned adjuster {} to claim {}", employee.getId(), claim.getId());
 
@@ -149,7 +236,11 @@ public class ClaimServiceImpl implements ClaimService {
 
     Claim updatedClaim = claimRepository.save(claim);
     log.info("Successfully updated claim {} with assigned adjuster.", updatedClaim.getId());
-    return toDto(updatedClaim);
+    claimRollupWriter.replace(rollupBefore, updatedClaim);
+    ClaimDto updatedClaimDto = toDto(updatedClaim);
+    outboxWriter.append(
+        OutboxEventType.CLAIM_ADJUSTER_ASSIGNED, updatedClaim.getId(), updatedClaimDto);
+    return updatedClaimDto;
   }
 
   @Override
@@ -168,6 +259,7 @@ public class ClaimServiceImpl implements ClaimService {
 
     // Validate that the DTO type matches the existing claim type
     validateDtoMatchesClaimType(claimDto, existingClaim);
+    ClaimRollupEntry rollupBefore = claimRollupWriter.snapshot(existingClaim);
 
     // Update the claim based on its specific type
     switch (existingClaim) {
@@ -180,11 +272,15 @@ public class ClaimServiceImpl implements ClaimService {
       default ->
           throw new UnsupportedOperationException("Claim type not supported: " + existingClaim);
     }
+    claimDuplicateIndex.check(existingClaim);
 
     Claim updatedClaim = claimRepository.save(existingClaim);
     log.info("Successfully updated claim with id: {}", updatedClaim.getId());
+    claimRollupWriter.replace(rollupBefore, updatedClaim);
 
-    return toDto(updatedClaim);
+    ClaimDto updatedClaimDto = toDto(updatedClaim);
+    outboxWriter.append(OutboxEventType.CLAIM_UPDATED, updatedClaim.getId(), updatedClaimDto);
+    return updatedClaimDto;
   }
 
   @Override
@@ -201,7 +297,11 @@ public class ClaimServiceImpl implements ClaimService {
                   return new ResourceNotFoundException("Claim not found with id: " + claimId);
                 });
 
+    claimRollupWriter.remove(existingClaim);
+    claimDuplicateIndex.remove(existingClaim);
     claimRepository.delete(existingClaim);
+    outboxWriter.append(OutboxEventType.CLAIM_DELETED, claimId, Map.of("id", claimId));
+    tombstoneWriter.record(TombstoneType.CLAIM, claimId);
     log.info("Successfully deleted claim with id: {}", claimId);
   }
 
@@ -223,6 +323,47 @@ public class ClaimServiceImpl implements ClaimService {
     return toDtoList(claims);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public List<ClaimDto> getAllClaimsByType(
+      ClaimDto.ClaimTypeEnum claimType, Collection<String> fields) {
+    if (!ClaimSummary.covers(fields)) {
+      return getAllClaimsByType(claimType);
+    }
+    log.info("Request to find all claims of type: {} with fields: {}", claimType, fields);
+
+    Class<? extends Claim> claimClass =
+        switch (claimType) {
+          case ClaimTypeEnum.AUTO_CLAIM_DTO -> AutoClaim.class;
+          case ClaimTypeEnum.HOME_CLAIM_DTO -> HomeClaim.class;
+          case ClaimTypeEnum.HEALTH_CLAIM_DTO -> HealthClaim.class;
+        };
+
+    List<ClaimSummary> summaries = claimRepository.findSummariesByType(claimClass);
+    log.info("Found {} claims of type: {}", summaries.size(), claimType);
+
+    return summaries.stream().map(summary -> toDto(summary, claimClass)).toList();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<HomeClaimDto> includeDamagedItems(List<HomeClaimDto> homeClaims) {
+    if (homeClaims.isEmpty()) {
+      return homeClaims;
+    }
+    List<Long> ids = homeClaims.stream().map(HomeClaimDto::getId).toList();
+    log.debug("Loading damaged items of {} home claims", ids.size());
+    Map<Long, HomeClaim> claimsById =
+        claimRepository.findHomeClaimsWithDetails(ids).stream()
+            .collect(Collectors.toMap(HomeClaim::getId, Function.identity()));
+    homeClaims.forEach(
+        dto -> {
+          HomeClaim homeClaim = claimsById.get(dto.getId());
+          dto.setDamagedItems(homeClaim != null ? homeClaim.getDamagedItems() : null);
+        });
+    return homeClaims;
+  }
+
   /**
    * Helper method to instantiate the correct Claim subclass based on PolicyType. This is the core
    * of our polymorphic handling for claim creation.
@@ -240,12 +381,35 @@ public class ClaimServiceImpl implements ClaimService {
     };
   }
 
+  /**
+   * The claim subtype created for policies of the given type, see {@link
+   * #createClaimShellForPolicyType(PolicyType)}; empty for policy types that take no claims.
+   */
+  private static Optional<Class<? extends Claim>> claimClassForPolicyType(PolicyType policyType) {
+    return switch (policyType) {
+      case AUTO -> Optional.of(AutoClaim.class);
+      case HOME -> Optional.of(HomeClaim.class);
+      case HEALTH -> Optional.of(HealthClaim.class);
+      default -> Optional.empty();
+    };
+  }
+
   /** Generates a simple unique claim number. */
   private String generateClaimNumber() {
     // This is simple but good enough for a dummy service.
     return "CLM-" + UUID.randomUUID().toString().toUpperCase().substring(0, 13);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public List<ClaimDto> getClaimTriage(int limit) {
+    log.info("Request to get the {} riskiest open claims", limit);
+    List<Claim> claims =
+        claimRepository.findByStatusInOrderByRiskScore(OPEN_STATUSES, Limit.of(limit));
+    log.info("Found {} open claims for triage", claims.size());
+    return toDtoList(claims);
+  }
+
   private ClaimDto toDto(Claim claim) {
     return switch (claim) {
       case AutoClaim autoClaim -> claimMapper.toDto(autoClaim);
@@ -255,13 +419,33 @@ public class ClaimServiceImpl implements ClaimService {
     };
   }
 
+  private ClaimDto toDto(ClaimSummary summary, Class<? extends Claim> claimClass) {
+    if (claimClass == AutoClaim.class) {
+      return claimMapper.toAutoClaimDto(summary);
+    }
+    if (claimClass == HomeClaim.class) {
+      return claimMapper.toHomeClaimDto(summary);
+    }
+    if (claimClass == HealthClaim.class) {
+      return claimMapper.toHealthClaimDto(summary);
+    }
+    throw new UnsupportedOperationException("Claim type not supported: " + claimClass);
+  }
+
+  /** Maps claims for list views, leaving out the lazily loaded home claim details. */
   private List<ClaimDto> toDtoList(List<Claim> claims) {
-    return claims.stream().map(this::toDto).toList();
+    return claims.stream()
+        .map(
+            claim ->
+                claim instanceof HomeClaim homeClaim
+                    ? claimMapper.toListDto(homeClaim)
+                    : toDto(claim))
+        .toList();
   }
 
   /**
    * Validates that the given DTO matches the expected type for the policy. Throws an
-   * IllegalArgumentException if there is a mismatch.
+   * InvalidRequestException if there is a mismatch.
    */
   private void validateDtoMatchesPolicyType(ClaimDto claimDto, PolicyType policyType) {
     boolean isValid =
@@ -281,7 +465,7 @@ public class ClaimServiceImpl implements ClaimService {
           "DTO type mismatch. Expected DTO for policy type {}, but got {}",
           policyType,
           claimDto.getClass().getSimpleName());
-      throw new IllegalArgumentException(
+      throw new InvalidRequestException(
           "Policy type "
               + policyType
               + " does not match claim type "
@@ -293,7 +477,7 @@ public class ClaimServiceImpl implements ClaimService {
 
   /**
    * Validates that the given DTO matches the existing claim's type. Throws an
-   * IllegalArgumentException if there is a mismatch.
+   * InvalidRequestException if there is a mismatch.
    */
   private void validateDtoMatchesClaimType(ClaimDto claimDto, Claim claim) {
     boolean isValid =
@@ -313,7 +497,7 @@ public class ClaimServiceImpl implements ClaimService {
           "DTO type mismatch. Expected DTO for claim type {}, but got {}",
           claim.getClass().getSimpleName(),
           claimDto.getClass().getSimpleName());
-      throw new IllegalArgumentException(
+      throw new InvalidRequestException(
           "Claim type "
               + claim.getClass().getSimpleName()
               + " does not match provided DTO type "
@@ -322,4 +506,30 @@ public class ClaimServiceImpl implements ClaimService {
 
     log.debug("DTO validation passed for claim type {}", claim.getClass().getSimpleName());
   }
+
+  @Override
+  @Transactional(readOnly = true)
+  public ClaimDeletionsDto getClaimDeletions(
+      OffsetDateTime deletedSince, String cursor, int limit) {
+    DeltaCursor position = DeltaCursor.start(cursor, deletedSince);
+    log.info("Request to read the claim deletions after {}", position);
+    DeltaPage<Tombstone> deletions =
+        DeltaPage.of(
+            tombstoneRepository.findDeletedAfter(
+                TombstoneType.CLAIM,
+                position.deletedAt(),
+                position.deletionId(),
+                deltaWindow.settledUntil(),
+                Limit.of(limit + 1)),
+            limit);
+    Tombstone last = deletions.last();
+    if (last != null) {
+      position = position.afterDeletion(last.getDeletedAt(), last.getId());
+    }
+    log.info("Found {} deleted claims", deletions.rows().size());
+    return new ClaimDeletionsDto()
+        .deletedIds(deletions.rows().stream().map(Tombstone::getEntityId).toList())
+        .nextCursor(position.encode())
+        .hasMore(deletions.hasMore());
+  }
 }
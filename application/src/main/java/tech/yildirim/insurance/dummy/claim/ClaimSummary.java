@@ -0,0 +1,63 @@
+package tech.yildirim.insurance.dummy.claim;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Closed projection of the columns shared by every {@link Claim} type. Used by list endpoints that
+ * were called with a sparse fieldset, so the type specific columns (most notably the {@code @Lob}
+ * {@link HomeClaim#getDamagedItems() damaged items}) and the adjuster join are not read at all.
+ */
+public interface ClaimSummary {
+
+  /**
+   * DTO property names that can be populated from this projection. The {@code claimType} is
+   * derived from the queried entity type rather than read from a column.
+   */
+  Set<String> FIELDS =
+      Set.of(
+          "id",
+          "claimNumber",
+          "claimType",
+          "policyId",
+          "description",
+          "dateOfIncident",
+          "dateReported",
+          "status",
+          "estimatedAmount",
+          "paidAmount",
+          "assignedAdjusterId");
+
+  Long getId();
+
+  String getClaimNumber();
+
+  Long getPolicyId();
+
+  String getDescription();
+
+  LocalDate getDateOfIncident();
+
+  ZonedDateTime getDateReported();
+
+  ClaimStatus getStatus();
+
+  BigDecimal getEstimatedAmount();
+
+  BigDecimal getPaidAmount();
+
+  Long getAssignedAdjusterId();
+
+  /**
+   * Checks whether a sparse fieldset can be served from this projection alone.
+   *
+   * @param fields The requested DTO property names, may be null.
+   * @return true if fields were requested and all of them are covered by the projection.
+   */
+  static boolean covers(Collection<String> fields) {
+    return fields != null && !fields.isEmpty() && FIELDS.containsAll(fields);
+  }
+}
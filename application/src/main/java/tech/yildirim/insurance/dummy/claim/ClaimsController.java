@@ -1,5 +1,7 @@
 package tech.yildirim.insurance.dummy.claim;
 
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,10 +11,15 @@ import org.springframework.web.bind.annotation.RestController;
 import tech.yildirim.insurance.api.generated.controller.ClaimsApi;
 import tech.yildirim.insurance.api.generated.model.AssignAdjusterRequestDto;
 import tech.yildirim.insurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.insurance.api.generated.model.ClaimDeletionsDto;
 import tech.yildirim.insurance.api.generated.model.ClaimDto;
 import tech.yildirim.insurance.api.generated.model.ClaimDto.ClaimTypeEnum;
+import tech.yildirim.insurance.api.generated.model.ClaimRollupDto;
 import tech.yildirim.insurance.api.generated.model.HealthClaimDto;
 import tech.yildirim.insurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.insurance.dummy.claim.report.ClaimReportService;
+import tech.yildirim.insurance.dummy.common.concurrent.SingleFlight;
+import tech.yildirim.insurance.dummy.common.idempotency.IdempotentRequests;
 
 /**
  * REST Controller for managing auto claims. Implements the generated {@link ClaimsApi} interface.
@@ -23,31 +30,39 @@ import tech.yildirim.insurance.api.generated.model.HomeClaimDto;
 public class ClaimsController implements ClaimsApi {
 
   private final ClaimService claimService;
+  private final ClaimReportService claimReportService;
+  private final IdempotentRequests idempotentRequests;
+  private final SingleFlight singleFlight;
 
   @Override
-  public ResponseEntity<AutoClaimDto> createAutoClaim(AutoClaimDto autoClaimDto) {
+  public ResponseEntity<AutoClaimDto> createAutoClaim(
+      AutoClaimDto autoClaimDto, String idempotencyKey) {
     log.info("REST request to create auto claim for policy {}", autoClaimDto.getPolicyId());
-
-    AutoClaimDto createdClaim =
-        (AutoClaimDto) claimService.submitClaim(autoClaimDto.getPolicyId(), autoClaimDto);
-
-    log.info(
-        "Successfully created auto claim with id {} and number {}",
-        createdClaim.getId(),
-        createdClaim.getClaimNumber());
-
-    return new ResponseEntity<>(createdClaim, HttpStatus.CREATED);
+    return idempotentRequests.execute(
+        "createAutoClaim",
+        idempotencyKey,
+        autoClaimDto,
+        AutoClaimDto.class,
+        () -> {
+          AutoClaimDto createdClaim =
+              (AutoClaimDto) claimService.submitClaim(autoClaimDto.getPolicyId(), autoClaimDto);
+          log.info(
+              "Successfully created auto claim with id {} and number {}",
+              createdClaim.getId(),
+              createdClaim.getClaimNumber());
+          return new ResponseEntity<>(createdClaim, HttpStatus.CREATED);
+        });
   }
 
   @Override
   public ResponseEntity<List<AutoClaimDto>> getAllAutoClaims(
-      Integer page, Integer size, String status) {
+      Integer page, Integer size, String status, List<String> fields) {
     log.info(
         "REST request to get all auto claims - page: {}, size: {}, status: {}", page, size, status);
 
     try {
       // Get all auto claims using the service method
-      List<ClaimDto> claims = claimService.getAllClaimsByType(ClaimTypeEnum.AUTO_CLAIM_DTO);
+      List<ClaimDto> claims = claimService.getAllClaimsByType(ClaimTypeEnum.AUTO_CLAIM_DTO, fields);
 
       // Cast to AutoClaimDto list (polymorphic relationship ensures this is safe)
       List<AutoClaimDto> autoClaims = claims.stream().map(AutoClaimDto.class::cast).toList();
@@ -71,11 +86,11 @@ public class ClaimsController implements ClaimsApi {
   }
 
   @Override
-  public ResponseEntity<AutoClaimDto> getAutoClaimById(Long id) {
+  public ResponseEntity<AutoClaimDto> getAutoClaimById(Long id, List<String> fields) {
     log.info("REST request to get auto claim with id: {}", id);
 
-    return claimService
-        .findClaimById(id)
+    return singleFlight
+        .load("claim", id, () -> claimService.findClaimById(id))
         .map(
             claimDto -> {
               log.info("Found auto claim with id: {}, returning HTTP 200 OK", id);
@@ -155,23 +170,29 @@ public class ClaimsController implements ClaimsApi {
   }
 
   @Override
-  public ResponseEntity<HealthClaimDto> createHealthClaim(HealthClaimDto healthClaimDto) {
+  public ResponseEntity<HealthClaimDto> createHealthClaim(
+      HealthClaimDto healthClaimDto, String idempotencyKey) {
     log.info("REST request to create health claim for policy {}", healthClaimDto.getPolicyId());
-
-    HealthClaimDto createdClaim =
-        (HealthClaimDto) claimService.submitClaim(healthClaimDto.getPolicyId(), healthClaimDto);
-
-    log.info(
-        "Successfully created health claim with id {} and number {}",
-        createdClaim.getId(),
-        createdClaim.getClaimNumber());
-
-    return new ResponseEntity<>(createdClaim, HttpStatus.CREATED);
+    return idempotentRequests.execute(
+        "createHealthClaim",
+        idempotencyKey,
+        healthClaimDto,
+        HealthClaimDto.class,
+        () -> {
+          HealthClaimDto createdClaim =
+              (HealthClaimDto)
+                  claimService.submitClaim(healthClaimDto.getPolicyId(), healthClaimDto);
+          log.info(
+              "Successfully created health claim with id {} and number {}",
+              createdClaim.getId(),
+              createdClaim.getClaimNumber());
+          return new ResponseEntity<>(createdClaim, HttpStatus.CREATED);
+        });
   }
 
   @Override
   public ResponseEntity<List<HealthClaimDto>> getAllHealthClaims(
-      Integer page, Integer size, String status) {
+      Integer page, Integer size, String status, List<String> fields) {
     log.info(
         "REST request to get all health claims - page: {}, size: {}, status: {}",
         page,
@@ -180,7 +201,8 @@ public class ClaimsController implements ClaimsApi {
 
     try {
       // Get all health claims using the service method
-      List<ClaimDto> claims = claimService.getAllClaimsByType(ClaimTypeEnum.HEALTH_CLAIM_DTO);
+      List<ClaimDto> claims =
+          claimService.getAllClaimsByType(ClaimTypeEnum.HEALTH_CLAIM_DTO, fields);
 
       // Cast to HealthClaimDto list (polymorphic relationship ensures this is safe)
       List<HealthClaimDto> healthClaims = claims.stream().map(HealthClaimDto.class::cast).toList();
@@ -204,11 +226,11 @@ public class ClaimsController implements ClaimsApi {
   }
 
   @Override
-  public ResponseEntity<HealthClaimDto> getHealthClaimById(Long id) {
+  public ResponseEntity<HealthClaimDto> getHealthClaimById(Long id, List<String> fields) {
     log.info("REST request to get health claim with id: {}", id);
 
-    return claimService
-        .findClaimById(id)
+    return singleFlight
+        .load("claim", id, () -> claimService.findClaimById(id))
         .map(
             claimDto -> {
               log.info("Found health claim with id: {}, returning HTTP 200 OK", id);
@@ -288,32 +310,40 @@ public class ClaimsController implements ClaimsApi {
   }
 
   @Override
-  public ResponseEntity<HomeClaimDto> createHomeClaim(HomeClaimDto homeClaimDto) {
+  public ResponseEntity<HomeClaimDto> createHomeClaim(
+      HomeClaimDto homeClaimDto, String idempotencyKey) {
     log.info("REST request to create home claim for policy {}", homeClaimDto.getPolicyId());
-
-    HomeClaimDto createdClaim =
-        (HomeClaimDto) claimService.submitClaim(homeClaimDto.getPolicyId(), homeClaimDto);
-
-    log.info(
-        "Successfully created home claim with id {} and number {}",
-        createdClaim.getId(),
-        createdClaim.getClaimNumber());
-
-    return new ResponseEntity<>(createdClaim, HttpStatus.CREATED);
+    return idempotentRequests.execute(
+        "createHomeClaim",
+        idempotencyKey,
+        homeClaimDto,
+        HomeClaimDto.class,
+        () -> {
+          HomeClaimDto createdClaim =
+              (HomeClaimDto) claimService.submitClaim(homeClaimDto.getPolicyId(), homeClaimDto);
+          log.info(
+              "Successfully created home claim with id {} and number {}",
+              createdClaim.getId(),
+              createdClaim.getClaimNumber());
+          return new ResponseEntity<>(createdClaim, HttpStatus.CREATED);
+        });
   }
 
   @Override
   public ResponseEntity<List<HomeClaimDto>> getAllHomeClaims(
-      Integer page, Integer size, String status) {
+      Integer page, Integer size, String status, List<String> fields, List<String> expand) {
     log.info(
         "REST request to get all home claims - page: {}, size: {}, status: {}", page, size, status);
 
     try {
       // Get all home claims using the service method
-      List<ClaimDto> claims = claimService.getAllClaimsByType(ClaimTypeEnum.HOME_CLAIM_DTO);
+      List<ClaimDto> claims = claimService.getAllClaimsByType(ClaimTypeEnum.HOME_CLAIM_DTO, fields);
 
       // Cast to HomeClaimDto list (polymorphic relationship ensures this is safe)
       List<HomeClaimDto> homeClaims = claims.stream().map(HomeClaimDto.class::cast).toList();
+      if (expand != null && expand.contains(ClaimService.EXPAND_DAMAGED_ITEMS)) {
+        homeClaims = claimService.includeDamagedItems(homeClaims);
+      }
 
       // TODO: Implement pagination and status filtering
       // For now, return all home claims without pagination or status filtering
@@ -334,11 +364,11 @@ public class ClaimsController implements ClaimsApi {
   }
 
   @Override
-  public ResponseEntity<HomeClaimDto> getHomeClaimById(Long id) {
+  public ResponseEntity<HomeClaimDto> getHomeClaimById(Long id, List<String> fields) {
     log.info("REST request to get home claim with id: {}", id);
 
-    return claimService
-        .findClaimById(id)
+    return singleFlight
+        .load("claim", id, () -> claimService.findClaimById(id))
         .map(
             claimDto -> {
               log.info("Found home claim with id: {}, returning HTTP 200 OK", id);
@@ -416,4 +446,34 @@ public class ClaimsController implements ClaimsApi {
       return ResponseEntity.notFound().build();
     }
   }
+
+  @Override
+  public ResponseEntity<ClaimDeletionsDto> getClaimDeletions(
+      OffsetDateTime updatedSince, String cursor, Integer limit) {
+    log.info("REST request to read the claim deletions");
+    ClaimDeletionsDto delta = claimService.getClaimDeletions(updatedSince, cursor, limit);
+    log.debug(
+        "Returning {} deleted claims, more available: {}",
+        delta.getDeletedIds().size(),
+        delta.getHasMore());
+    return ResponseEntity.ok(delta);
+  }
+
+  @Override
+  public ResponseEntity<List<ClaimRollupDto>> getClaimReport(String fromMonth, String toMonth) {
+    log.info("REST request to report claims from {} to {}", fromMonth, toMonth);
+    // The contract's pattern has already validated the format of both months
+    List<ClaimRollupDto> report =
+        claimReportService.getClaimReport(YearMonth.parse(fromMonth), YearMonth.parse(toMonth));
+    log.debug("Returning {} claim groups", report.size());
+    return ResponseEntity.ok(report);
+  }
+
+  @Override
+  public ResponseEntity<List<ClaimDto>> getClaimTriage(Integer limit) {
+    log.info("REST request to get the {} riskiest open claims", limit);
+    List<ClaimDto> claims = claimService.getClaimTriage(limit);
+    log.debug("Returning {} claims for triage", claims.size());
+    return ResponseEntity.ok(claims);
+  }
 }
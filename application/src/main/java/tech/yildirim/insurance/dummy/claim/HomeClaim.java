@@ -1,10 +1,14 @@
 package tech.yildirim.insurance.dummy.claim;
 
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Lob;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToOne;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Entity
 @DiscriminatorValue(HomeClaim.CLAIM_TYPE)
@@ -16,6 +20,35 @@ public class HomeClaim extends Claim {
 
   private String typeOfDamage;
 
-  @Lob // For potentially long text
-  private String damagedItems;
+  /** Lazily loaded, so listing home claims does not read the damaged items text. */
+  @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+  @JoinColumn(name = "details_id")
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private HomeClaimDetails details;
+
+  /**
+   * Returns the damaged items. Triggers loading of the {@link HomeClaimDetails} row when it has not
+   * been loaded yet.
+   *
+   * @return The damaged items, or null if none were reported.
+   */
+  public String getDamagedItems() {
+    return details != null ? details.getDamagedItems() : null;
+  }
+
+  /**
+   * Sets the damaged items, creating the {@link HomeClaimDetails} row on first use.
+   *
+   * @param damagedItems The damaged items, may be null.
+   */
+  public void setDamagedItems(String damagedItems) {
+    if (details == null) {
+      if (damagedItems == null) {
+        return;
+      }
+      details = new HomeClaimDetails();
+    }
+    details.setDamagedItems(damagedItems);
+  }
 }
@@ -0,0 +1,26 @@
+package tech.yildirim.insurance.dummy.claim;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Large free text of a {@link HomeClaim}, kept out of the single {@code claims} table so that
+ * loading claim rows never streams it. It is only read when a home claim's details are accessed.
+ */
+@Entity
+@Table(name = "home_claim_details")
+@Data
+public class HomeClaimDetails {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Lob // For potentially long text
+  private String damagedItems;
+}
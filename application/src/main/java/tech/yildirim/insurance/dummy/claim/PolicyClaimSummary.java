@@ -0,0 +1,13 @@
+package tech.yildirim.insurance.dummy.claim;
+
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+/**
+ * A {@link ClaimSummary} read together with the type of its policy. Claims are always created with
+ * the subtype matching the policy type, so the policy type tells which DTO type a summary maps to
+ * without reading the policy separately.
+ */
+public interface PolicyClaimSummary extends ClaimSummary {
+
+  PolicyType getPolicyType();
+}
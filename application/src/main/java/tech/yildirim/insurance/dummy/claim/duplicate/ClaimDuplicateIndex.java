@@ -0,0 +1,198 @@
+package tech.yildirim.insurance.dummy.claim.duplicate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.yildirim.insurance.dummy.claim.Claim;
+import tech.yildirim.insurance.dummy.common.BusinessRuleViolationException;
+
+/**
+ * Detects claims that report an incident that was already claimed, e.g. once through an agency
+ * and once directly. Every claim that is not a duplicate owns its {@link ClaimDuplicateKey} in the
+ * unique {@code claims.duplicate_key} column, and this index holds the same keys in memory, so a
+ * new claim is checked with one hash lookup instead of a search over the claims table.
+ *
+ * <p>The index is per node and loaded at startup. A duplicate submitted on another node since then
+ * is not in the index, but still cannot take the key: the unique column refuses it with a 409
+ * Conflict.
+ */
+@Component
+@Slf4j
+public class ClaimDuplicateIndex {
+
+  private static final int FETCH_SIZE = 10_000;
+
+  private static final String SELECT_KEYS =
+      "SELECT id, duplicate_key FROM claims WHERE duplicate_key IS NOT NULL";
+
+  /** Claims created before the key existed, or by a node without the index. */
+  private static final String SELECT_UNCHECKED =
+      "SELECT id, claim_type, policy_id, date_of_incident, license_plate, accident_location,"
+          + " type_of_damage, procedure_code FROM claims"
+          + " WHERE duplicate_key IS NULL AND duplicate_of_claim_id IS NULL ORDER BY id";
+
+  private static final String UNCHECKED =
+      " AND duplicate_key IS NULL AND duplicate_of_claim_id IS NULL";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final DuplicateClaimAction action;
+  private final Map<String, Long> claimIdsByKey = new ConcurrentHashMap<>();
+
+  public ClaimDuplicateIndex(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      @Value("${insurance.claim.duplicates.action:FLAG}") DuplicateClaimAction action) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.action = action;
+  }
+
+  /**
+   * Checks a claim that is being submitted or updated. A claim that is not a duplicate gets its
+   * key, a duplicate is flagged with the ID of the earlier claim or rejected, depending on {@code
+   * insurance.claim.duplicates.action}. The index follows once the transaction has committed.
+   *
+   * @param claim The claim, with its policy.
+   * @throws BusinessRuleViolationException if the claim is a duplicate and duplicates are rejected.
+   */
+  public void check(Claim claim) {
+    String keyBefore = claim.getDuplicateKey();
+    String key = ClaimDuplicateKey.of(claim);
+    if (key != null && key.equals(keyBefore)) {
+      return;
+    }
+    Long originalId = key == null ? null : claimIdsByKey.get(key);
+    if (originalId != null && !originalId.equals(claim.getId())) {
+      if (action == DuplicateClaimAction.REJECT) {
+        log.warn("Rejecting a duplicate of claim {}", originalId);
+        throw new BusinessRuleViolationException(
+            "The claim is a likely duplicate of claim " + originalId);
+      }
+      log.info("Flagging a claim as a likely duplicate of claim {}", originalId);
+      claim.setDuplicateKey(null);
+      claim.setDuplicateOfClaimId(originalId);
+    } else {
+      claim.setDuplicateKey(key);
+      claim.setDuplicateOfClaimId(null);
+    }
+    afterCommit(
+        () -> {
+          if (keyBefore != null) {
+            claimIdsByKey.remove(keyBefore, claim.getId());
+          }
+          if (claim.getDuplicateKey() != null) {
+            claimIdsByKey.put(claim.getDuplicateKey(), claim.getId());
+          }
+        });
+  }
+
+  /**
+   * Frees the key of a claim that is being deleted, once the transaction has committed.
+   *
+   * @param claim The claim.
+   */
+  public void remove(Claim claim) {
+    String key = claim.getDuplicateKey();
+    if (key != null) {
+      Long claimId = claim.getId();
+      afterCommit(() -> claimIdsByKey.remove(key, claimId));
+    }
+  }
+
+  /**
+   * Loads the keys of all claims, then checks the claims that have not been checked yet and stores
+   * their keys or flags. Claims without an identifier are read again at every startup.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    stream(SELECT_KEYS, rs -> claimIdsByKey.putIfAbsent(rs.getString(2), rs.getLong(1)));
+    List<Object[]> keys = new ArrayList<>();
+    List<Object[]> flags = new ArrayList<>();
+    RowCallbackHandler checkClaim =
+        rs -> {
+          long claimId = rs.getLong(1);
+          String key =
+              ClaimDuplicateKey.of(
+                  rs.getString(2),
+                  rs.getLong(3),
+                  rs.getObject(4, LocalDate.class),
+                  rs.getString(5),
+                  rs.getString(6),
+                  rs.getString(7),
+                  rs.getString(8));
+          if (key != null) {
+            // Claims are read in ID order, so the first report of an incident keeps the key
+            Long originalId = claimIdsByKey.putIfAbsent(key, claimId);
+            if (originalId == null) {
+              keys.add(new Object[] {key, claimId});
+            } else {
+              flags.add(new Object[] {originalId, claimId});
+            }
+          }
+        };
+    stream(SELECT_UNCHECKED, checkClaim);
+    if (!keys.isEmpty() || !flags.isEmpty()) {
+      store(keys, flags);
+    }
+    log.info("Loaded the duplicate keys of {} claims", claimIdsByKey.size());
+  }
+
+  private void store(List<Object[]> keys, List<Object[]> flags) {
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            jdbcTemplate.batchUpdate(
+                "UPDATE claims SET duplicate_key = ? WHERE id = ?" + UNCHECKED, keys);
+            jdbcTemplate.batchUpdate(
+                "UPDATE claims SET duplicate_of_claim_id = ? WHERE id = ?" + UNCHECKED, flags);
+          });
+      log.info(
+          "Checked {} claims for duplicates, {} of them are likely duplicates",
+          keys.size() + flags.size(),
+          flags.size());
+    } catch (DataIntegrityViolationException e) {
+      // A claim submitted meanwhile took one of the keys; the next startup checks them again
+      log.warn("Could not store the duplicate keys of unchecked claims: {}", e.getMessage());
+    }
+  }
+
+  private void stream(String sql, RowCallbackHandler rowHandler) {
+    jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(sql);
+          statement.setFetchSize(FETCH_SIZE);
+          return statement;
+        },
+        rowHandler);
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else {
+      action.run();
+    }
+  }
+}
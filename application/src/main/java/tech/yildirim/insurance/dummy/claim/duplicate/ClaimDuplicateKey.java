@@ -0,0 +1,107 @@
+package tech.yildirim.insurance.dummy.claim.duplicate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import tech.yildirim.insurance.dummy.claim.AutoClaim;
+import tech.yildirim.insurance.dummy.claim.Claim;
+import tech.yildirim.insurance.dummy.claim.HealthClaim;
+import tech.yildirim.insurance.dummy.claim.HomeClaim;
+import tech.yildirim.insurance.dummy.common.Hashes;
+
+/**
+ * Computes the duplicate key of a claim: the SHA-256 hash, in hex, of its policy, incident date
+ * and one normalised identifier of the incident. The identifier is the license plate of an auto
+ * claim (the accident location if there is no plate), the type of damage of a home claim and the
+ * procedure code of a health claim. Two reports of the same incident get the same key, however the
+ * identifier was capitalised, spaced or punctuated.
+ */
+final class ClaimDuplicateKey {
+
+  private ClaimDuplicateKey() {}
+
+  /**
+   * Computes the key of a claim.
+   *
+   * @param claim The claim, with its policy.
+   * @return The key, or null if the claim has no identifier to compare.
+   */
+  static String of(Claim claim) {
+    return switch (claim) {
+      case AutoClaim autoClaim ->
+          of(
+              AutoClaim.CLAIM_TYPE,
+              claim.getPolicy().getId(),
+              claim.getDateOfIncident(),
+              autoClaim.getLicensePlate(),
+              autoClaim.getAccidentLocation(),
+              null,
+              null);
+      case HomeClaim homeClaim ->
+          of(
+              HomeClaim.CLAIM_TYPE,
+              claim.getPolicy().getId(),
+              claim.getDateOfIncident(),
+              null,
+              null,
+              homeClaim.getTypeOfDamage(),
+              null);
+      case HealthClaim healthClaim ->
+          of(
+              HealthClaim.CLAIM_TYPE,
+              claim.getPolicy().getId(),
+              claim.getDateOfIncident(),
+              null,
+              null,
+              null,
+              healthClaim.getProcedureCode());
+      default -> throw new UnsupportedOperationException("Claim type not supported: " + claim);
+    };
+  }
+
+  /**
+   * Computes the key of a claim from its columns; the identifiers of other claim types are ignored.
+   *
+   * @return The key, or null if the claim has no identifier to compare.
+   */
+  static String of(
+      String claimType,
+      long policyId,
+      LocalDate dateOfIncident,
+      String licensePlate,
+      String accidentLocation,
+      String typeOfDamage,
+      String procedureCode) {
+    String identifier =
+        switch (claimType) {
+          case AutoClaim.CLAIM_TYPE -> {
+            String plate = normaliseCode(licensePlate);
+            yield plate.isEmpty() ? normaliseText(accidentLocation) : plate;
+          }
+          case HomeClaim.CLAIM_TYPE -> normaliseText(typeOfDamage);
+          case HealthClaim.CLAIM_TYPE -> normaliseCode(procedureCode);
+          default ->
+              throw new UnsupportedOperationException("Claim type not supported: " + claimType);
+        };
+    if (identifier.isEmpty()) {
+      return null;
+    }
+    return hash(claimType + '|' + policyId + '|' + dateOfIncident + '|' + identifier);
+  }
+
+  /** Keeps the letters and digits of a code, e.g. "ab-123 " becomes "AB123". */
+  private static String normaliseCode(String code) {
+    return code == null ? "" : code.replaceAll("[^\\p{Alnum}]", "").toUpperCase(Locale.ROOT);
+  }
+
+  /** Keeps the words of a text, e.g. "Main St., Exit 4" becomes "main st exit 4". */
+  private static String normaliseText(String text) {
+    return text == null
+        ? ""
+        : text.replaceAll("[^\\p{Alnum}]+", " ").strip().toLowerCase(Locale.ROOT);
+  }
+
+  private static String hash(String value) {
+    return Hashes.sha256Hex(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,9 @@
+package tech.yildirim.insurance.dummy.claim.duplicate;
+
+/** What happens to a claim that looks like a duplicate of an earlier one. */
+public enum DuplicateClaimAction {
+  /** The claim is accepted and points to the earlier claim in {@code duplicateOfClaimId}. */
+  FLAG,
+  /** The claim is refused with a 400 Bad Request. */
+  REJECT
+}
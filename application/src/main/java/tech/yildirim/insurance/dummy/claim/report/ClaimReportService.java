@@ -0,0 +1,21 @@
+package tech.yildirim.insurance.dummy.claim.report;
+
+import java.time.YearMonth;
+import java.util.List;
+import tech.yildirim.insurance.api.generated.model.ClaimRollupDto;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+
+/** Service Interface for the claim reports. */
+public interface ClaimReportService {
+
+  /**
+   * Reports the claims by claim type, status, incident month and agency. Reads the pre-aggregated
+   * {@link ClaimRollup}s, not the claims.
+   *
+   * @param fromMonth The first month to report.
+   * @param toMonth The last month to report.
+   * @return One entry per group that has claims, ordered by month.
+   * @throws InvalidRequestException if {@code toMonth} is before {@code fromMonth}.
+   */
+  List<ClaimRollupDto> getClaimReport(YearMonth fromMonth, YearMonth toMonth);
+}
@@ -0,0 +1,34 @@
+package tech.yildirim.insurance.dummy.claim.report;
+
+import java.time.YearMonth;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.yildirim.insurance.api.generated.model.ClaimRollupDto;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+
+/** Implementation of the {@link ClaimReportService} interface. */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClaimReportServiceImpl implements ClaimReportService {
+
+  private final ClaimRollupRepository claimRollupRepository;
+  private final ClaimRollupMapper claimRollupMapper;
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<ClaimRollupDto> getClaimReport(YearMonth fromMonth, YearMonth toMonth) {
+    log.info("Request to report claims from {} to {}", fromMonth, toMonth);
+    if (toMonth.isBefore(fromMonth)) {
+      throw new InvalidRequestException("toMonth must not be before fromMonth");
+    }
+    List<ClaimRollup> rollups =
+        claimRollupRepository.findByIncidentMonthBetween(
+            fromMonth.atDay(1), toMonth.atDay(1));
+    log.info("Found {} claim groups", rollups.size());
+    return claimRollupMapper.toDtoList(rollups);
+  }
+}
@@ -0,0 +1,39 @@
+package tech.yildirim.insurance.dummy.claim.report;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The number of claims in one group of claim type, status, incident month and agency, with the
+ * sums of their amounts. The rows are maintained by the {@link ClaimRollupWriter} in the
+ * transaction of every claim change, so reports read a handful of rows instead of all claims.
+ */
+@Entity
+@Table(
+    name = "claim_rollups",
+    indexes = @Index(name = "idx_claim_rollups_month", columnList = "incident_month"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimRollup {
+
+  @EmbeddedId private ClaimRollupKey id;
+
+  @Column(nullable = false)
+  private long claimCount;
+
+  /** The sum of the estimated amounts; claims without an estimate count as 0. */
+  @Column(nullable = false, precision = 15, scale = 2)
+  private BigDecimal estimatedAmount;
+
+  /** The sum of the paid amounts; claims without a payment count as 0. */
+  @Column(nullable = false, precision = 15, scale = 2)
+  private BigDecimal paidAmount;
+}
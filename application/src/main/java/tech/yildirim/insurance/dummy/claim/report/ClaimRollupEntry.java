@@ -0,0 +1,59 @@
+package tech.yildirim.insurance.dummy.claim.report;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import tech.yildirim.insurance.dummy.claim.AutoClaim;
+import tech.yildirim.insurance.dummy.claim.Claim;
+import tech.yildirim.insurance.dummy.claim.ClaimStatus;
+import tech.yildirim.insurance.dummy.claim.HealthClaim;
+import tech.yildirim.insurance.dummy.claim.HomeClaim;
+
+/**
+ * What a single claim adds to the rollups: its group and its amounts. Taken before a claim is
+ * changed, so the {@link ClaimRollupWriter} can move the claim from its old group to the new one.
+ *
+ * @param claimType The discriminator value of the claim.
+ * @param status The status of the claim.
+ * @param incidentMonth The first day of the month of the incident.
+ * @param agencyId The agency of the claim's policy, {@link ClaimRollupKey#NO_AGENCY} if none.
+ * @param estimatedAmount The estimated amount, 0 if there is none.
+ * @param paidAmount The paid amount, 0 if there is none.
+ */
+public record ClaimRollupEntry(
+    String claimType,
+    ClaimStatus status,
+    LocalDate incidentMonth,
+    long agencyId,
+    BigDecimal estimatedAmount,
+    BigDecimal paidAmount) {
+
+  static ClaimRollupEntry of(Claim claim) {
+    String claimType =
+        switch (claim) {
+          case AutoClaim autoClaim -> AutoClaim.CLAIM_TYPE;
+          case HomeClaim homeClaim -> HomeClaim.CLAIM_TYPE;
+          case HealthClaim healthClaim -> HealthClaim.CLAIM_TYPE;
+          default -> throw new IllegalArgumentException("Claim type not supported: " + claim);
+        };
+    return new ClaimRollupEntry(
+        claimType,
+        claim.getStatus(),
+        claim.getDateOfIncident().withDayOfMonth(1),
+        claim.getPolicy().getAgency() == null
+            ? ClaimRollupKey.NO_AGENCY
+            : claim.getPolicy().getAgency().getId(),
+        orZero(claim.getEstimatedAmount()),
+        orZero(claim.getPaidAmount()));
+  }
+
+  boolean isSameGroup(ClaimRollupEntry other) {
+    return claimType.equals(other.claimType)
+        && status == other.status
+        && incidentMonth.equals(other.incidentMonth)
+        && agencyId == other.agencyId;
+  }
+
+  private static BigDecimal orZero(BigDecimal amount) {
+    return amount == null ? BigDecimal.ZERO : amount;
+  }
+}
@@ -0,0 +1,39 @@
+package tech.yildirim.insurance.dummy.claim.report;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import tech.yildirim.insurance.dummy.claim.ClaimStatus;
+
+/** The group a {@link ClaimRollup} sums up. */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimRollupKey implements Serializable {
+
+  /** The {@link #agencyId} of claims on policies sold directly, without an agency. */
+  public static final long NO_AGENCY = 0L;
+
+  /** The discriminator value of the claims, e.g. {@code AUTO}. */
+  @Column(nullable = false, length = 31)
+  private String claimType;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private ClaimStatus status;
+
+  /** The first day of the month the incidents happened in. */
+  @Column(nullable = false)
+  private LocalDate incidentMonth;
+
+  /** The agency that sold the policies, {@link #NO_AGENCY} for direct sales. */
+  @Column(nullable = false)
+  private Long agencyId;
+}
@@ -0,0 +1,33 @@
+package tech.yildirim.insurance.dummy.claim.report;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+import tech.yildirim.insurance.api.generated.model.ClaimRollupDto;
+
+/** Mapper for the entity {@link ClaimRollup} and its DTO {@link ClaimRollupDto}. */
+@Mapper(componentModel = "spring")
+public interface ClaimRollupMapper {
+
+  @Mapping(source = "id.claimType", target = "claimType")
+  @Mapping(source = "id.status", target = "status")
+  @Mapping(source = "id.incidentMonth", target = "month", qualifiedByName = "month")
+  @Mapping(source = "id.agencyId", target = "agencyId", qualifiedByName = "agencyId")
+  ClaimRollupDto toDto(ClaimRollup rollup);
+
+  List<ClaimRollupDto> toDtoList(List<ClaimRollup> rollups);
+
+  @Named("month")
+  default String toMonth(LocalDate incidentMonth) {
+    return YearMonth.from(incidentMonth).toString();
+  }
+
+  /** Direct sales are stored with {@link ClaimRollupKey#NO_AGENCY} and reported without agency. */
+  @Named("agencyId")
+  default Long toAgencyId(Long agencyId) {
+    return agencyId == ClaimRollupKey.NO_AGENCY ? null : agencyId;
+  }
+}
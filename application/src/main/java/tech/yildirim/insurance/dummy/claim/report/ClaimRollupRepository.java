@@ -0,0 +1,30 @@
+package tech.yildirim.insurance.dummy.claim.report;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link ClaimRollup} entity. The rollups are written by the
+ * {@link ClaimRollupWriter} only.
+ */
+@Repository
+public interface ClaimRollupRepository extends JpaRepository<ClaimRollup, ClaimRollupKey> {
+
+  /**
+   * Reads the non-empty rollups of a range of incident months, over the month index.
+   *
+   * @param from The first day of the first month.
+   * @param to The first day of the last month.
+   * @return The rollups ordered by month, claim type, status and agency.
+   */
+  @Query(
+      "SELECT r FROM ClaimRollup r WHERE r.id.incidentMonth BETWEEN :from AND :to"
+          + " AND r.claimCount > 0"
+          + " ORDER BY r.id.incidentMonth, r.id.claimType, r.id.status, r.id.agencyId")
+  List<ClaimRollup> findByIncidentMonthBetween(
+      @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,152 @@
+package tech.yildirim.insurance.dummy.claim.report;
+
+import java.math.BigDecimal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tech.yildirim.insurance.dummy.claim.Claim;
+
+/**
+ * Keeps the {@link ClaimRollup}s in step with the claims. Every change is applied as a delta with
+ * a single {@code MERGE} per affected group, in the caller's transaction: the rollups change if and
+ * only if the claim does, and concurrent changes of the same group add up instead of overwriting
+ * each other.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClaimRollupWriter {
+
+  private static final String INCIDENT_MONTH =
+      "CAST(DATE_TRUNC('MONTH', date_of_incident) AS DATE)";
+
+  private static final String MERGE_INTO_ROLLUPS =
+      "MERGE INTO claim_rollups r USING (%s) c"
+          + " ON r.claim_type = c.claim_type AND r.status = c.status"
+          + " AND r.incident_month = c.incident_month AND r.agency_id = c.agency_id"
+          + " WHEN MATCHED THEN UPDATE SET claim_count = r.claim_count + c.claim_count,"
+          + " estimated_amount = r.estimated_amount + c.estimated_amount,"
+          + " paid_amount = r.paid_amount + c.paid_amount"
+          + " WHEN NOT MATCHED THEN INSERT (claim_type, status, incident_month, agency_id,"
+          + " claim_count, estimated_amount, paid_amount) VALUES (c.claim_type, c.status,"
+          + " c.incident_month, c.agency_id, c.claim_count, c.estimated_amount, c.paid_amount)";
+
+  private static final String MERGE_DELTA =
+      MERGE_INTO_ROLLUPS.formatted(
+          "SELECT CAST(? AS VARCHAR(31)) AS claim_type, CAST(? AS VARCHAR(31)) AS status,"
+              + " CAST(? AS DATE) AS incident_month, CAST(? AS BIGINT) AS agency_id,"
+              + " CAST(? AS BIGINT) AS claim_count,"
+              + " CAST(? AS NUMERIC(15, 2)) AS estimated_amount,"
+              + " CAST(? AS NUMERIC(15, 2)) AS paid_amount");
+
+  private static final String CLAIM_COLUMNS =
+      "claim_type, status, date_of_incident, estimated_amount, paid_amount";
+
+  /**
+   * Adds (sign 1) or subtracts (sign -1) all claims of a policy, grouped, to an agency. Archived
+   * claims still count in the rollups, so they move with the policy as well.
+   */
+  private static final String MERGE_CLAIMS_OF_POLICY =
+      MERGE_INTO_ROLLUPS.formatted(
+          "SELECT claim_type, status, " + INCIDENT_MONTH + " AS incident_month,"
+              + " CAST(? AS BIGINT) AS agency_id,"
+              + " CAST(? AS INT) * COUNT(*) AS claim_count,"
+              + " CAST(? AS INT) * COALESCE(SUM(estimated_amount), 0) AS estimated_amount,"
+              + " CAST(? AS INT) * COALESCE(SUM(paid_amount), 0) AS paid_amount"
+              + " FROM (SELECT " + CLAIM_COLUMNS + " FROM claims WHERE policy_id = ?"
+              + " UNION ALL SELECT " + CLAIM_COLUMNS + " FROM archived_claims WHERE policy_id = ?)"
+              + " GROUP BY claim_type, status, " + INCIDENT_MONTH);
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Takes the current contribution of a claim, before it is changed.
+   *
+   * @param claim The claim, with its policy.
+   * @return What the claim currently adds to the rollups.
+   */
+  public ClaimRollupEntry snapshot(Claim claim) {
+    return ClaimRollupEntry.of(claim);
+  }
+
+  /** Counts a new claim. */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void add(Claim claim) {
+    ClaimRollupEntry entry = ClaimRollupEntry.of(claim);
+    merge(entry, 1, entry.estimatedAmount(), entry.paidAmount());
+  }
+
+  /** Stops counting a deleted claim. */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void remove(Claim claim) {
+    ClaimRollupEntry entry = ClaimRollupEntry.of(claim);
+    merge(entry, -1, entry.estimatedAmount().negate(), entry.paidAmount().negate());
+  }
+
+  /**
+   * Applies a change of a claim: moves it to its new group, or adjusts the amounts of its group.
+   *
+   * @param before The {@link #snapshot(Claim) snapshot} taken before the change.
+   * @param claim The changed claim.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void replace(ClaimRollupEntry before, Claim claim) {
+    ClaimRollupEntry after = ClaimRollupEntry.of(claim);
+    if (!before.isSameGroup(after)) {
+      merge(before, -1, before.estimatedAmount().negate(), before.paidAmount().negate());
+      merge(after, 1, after.estimatedAmount(), after.paidAmount());
+      return;
+    }
+    BigDecimal estimatedDelta = after.estimatedAmount().subtract(before.estimatedAmount());
+    BigDecimal paidDelta = after.paidAmount().subtract(before.paidAmount());
+    if (estimatedDelta.signum() != 0 || paidDelta.signum() != 0) {
+      merge(after, 0, estimatedDelta, paidDelta);
+    }
+  }
+
+  /**
+   * Moves all claims of a policy to another agency, after the policy's agency was changed.
+   *
+   * @param policyId The ID of the policy.
+   * @param fromAgencyId The previous agency, {@code null} for a direct sale.
+   * @param toAgencyId The new agency, {@code null} for a direct sale.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void moveClaimsOfPolicy(Long policyId, Long fromAgencyId, Long toAgencyId) {
+    log.debug(
+        "Moving the claims of policy {} from agency {} to {}", policyId, fromAgencyId, toAgencyId);
+    update(MERGE_CLAIMS_OF_POLICY, agencyKey(fromAgencyId), -1, -1, -1, policyId, policyId);
+    update(MERGE_CLAIMS_OF_POLICY, agencyKey(toAgencyId), 1, 1, 1, policyId, policyId);
+  }
+
+  private void merge(
+      ClaimRollupEntry entry, long countDelta, BigDecimal estimatedDelta, BigDecimal paidDelta) {
+    update(
+        MERGE_DELTA,
+        entry.claimType(),
+        entry.status().name(),
+        entry.incidentMonth(),
+        entry.agencyId(),
+        countDelta,
+        estimatedDelta,
+        paidDelta);
+  }
+
+  private void update(String sql, Object... args) {
+    try {
+      jdbcTemplate.update(sql, args);
+    } catch (DuplicateKeyException e) {
+      // A concurrent transaction created the group first; the second attempt updates it
+      log.debug("Claim rollup group was created concurrently, merging again");
+      jdbcTemplate.update(sql, args);
+    }
+  }
+
+  private static long agencyKey(Long agencyId) {
+    return agencyId == null ? ClaimRollupKey.NO_AGENCY : agencyId;
+  }
+}
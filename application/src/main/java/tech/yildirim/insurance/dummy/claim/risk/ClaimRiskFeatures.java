@@ -0,0 +1,45 @@
+package tech.yildirim.insurance.dummy.claim.risk;
+
+import java.math.BigDecimal;
+
+/**
+ * The risk signals of a claim and the score they add up to.
+ *
+ * @param otherPolicyClaims The number of other claims on the same policy within the window.
+ * @param amountToPremium The estimated amount divided by the yearly premium, 0 if either is
+ *     missing.
+ * @param repeatedIdentifiers The number of the claim's identifiers (license plate, VIN, procedure
+ *     code, medical provider) that other claims within the window share.
+ */
+public record ClaimRiskFeatures(
+    int otherPolicyClaims, BigDecimal amountToPremium, int repeatedIdentifiers) {
+
+  /** The highest possible score. */
+  public static final int MAX_SCORE = 100;
+
+  private static final BigDecimal HIGH_RATIO = BigDecimal.valueOf(5);
+  private static final BigDecimal ELEVATED_RATIO = BigDecimal.valueOf(2);
+
+  /**
+   * Adds up the signals: up to 40 points for earlier claims on the policy (10 each), up to 30 for
+   * an estimate at or above the premium (10 from 1x, 20 from 2x, 30 from 5x), and up to 30 for
+   * shared identifiers (15 each).
+   *
+   * @return The risk score from 0 to {@value #MAX_SCORE}.
+   */
+  public int score() {
+    int policyPoints = Math.min(otherPolicyClaims, 4) * 10;
+    int amountPoints;
+    if (amountToPremium.compareTo(HIGH_RATIO) >= 0) {
+      amountPoints = 30;
+    } else if (amountToPremium.compareTo(ELEVATED_RATIO) >= 0) {
+      amountPoints = 20;
+    } else if (amountToPremium.compareTo(BigDecimal.ONE) >= 0) {
+      amountPoints = 10;
+    } else {
+      amountPoints = 0;
+    }
+    int identifierPoints = Math.min(repeatedIdentifiers, 2) * 15;
+    return policyPoints + amountPoints + identifierPoints;
+  }
+}
@@ -0,0 +1,65 @@
+package tech.yildirim.insurance.dummy.claim.risk;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import tech.yildirim.insurance.dummy.claim.AutoClaim;
+import tech.yildirim.insurance.dummy.claim.Claim;
+import tech.yildirim.insurance.dummy.claim.HealthClaim;
+
+/**
+ * The properties of a claim its risk score is computed from. Identifiers that do not apply to the
+ * claim's type are {@code null}.
+ *
+ * @param policyId The policy of the claim.
+ * @param reportedOn The day the claim was reported.
+ * @param estimatedAmount The estimated amount, or {@code null}.
+ * @param premium The yearly premium of the policy.
+ * @param licensePlate The license plate of an auto claim.
+ * @param vehicleVin The vehicle identification number of an auto claim.
+ * @param procedureCode The procedure code of a health claim.
+ * @param medicalProvider The medical provider of a health claim.
+ */
+public record ClaimRiskInput(
+    long policyId,
+    LocalDate reportedOn,
+    BigDecimal estimatedAmount,
+    BigDecimal premium,
+    String licensePlate,
+    String vehicleVin,
+    String procedureCode,
+    String medicalProvider) {
+
+  /**
+   * Takes the input of a claim entity.
+   *
+   * @param claim The claim, with its policy. A claim that has not been saved yet counts as
+   *     reported today.
+   * @return The input.
+   */
+  public static ClaimRiskInput of(Claim claim) {
+    LocalDate reportedOn =
+        claim.getDateReported() == null
+            ? LocalDate.now()
+            : claim.getDateReported().toLocalDate();
+    String licensePlate = null;
+    String vehicleVin = null;
+    String procedureCode = null;
+    String medicalProvider = null;
+    if (claim instanceof AutoClaim autoClaim) {
+      licensePlate = autoClaim.getLicensePlate();
+      vehicleVin = autoClaim.getVehicleVin();
+    } else if (claim instanceof HealthClaim healthClaim) {
+      procedureCode = healthClaim.getProcedureCode();
+      medicalProvider = healthClaim.getMedicalProvider();
+    }
+    return new ClaimRiskInput(
+        claim.getPolicy().getId(),
+        reportedOn,
+        claim.getEstimatedAmount(),
+        claim.getPolicy().getPremium(),
+        licensePlate,
+        vehicleVin,
+        procedureCode,
+        medicalProvider);
+  }
+}
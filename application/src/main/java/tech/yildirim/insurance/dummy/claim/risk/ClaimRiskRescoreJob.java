@@ -0,0 +1,200 @@
+package tech.yildirim.insurance.dummy.claim.risk;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+
+/**
+ * Rebuilds the {@link ClaimRiskScorer}'s signals from the claims table and re-scores the open
+ * claims, so a claim becomes riskier when similar claims are submitted after it. Runs at startup
+ * and on the {@code insurance.claim.risk.rescore-cron} schedule.
+ *
+ * <p>The signals are rebuilt with one streamed read of the claims on every node, as each node
+ * scores the claims submitted to it. Only the claims reported within the window are read, over the
+ * {@code date_reported} index. The scores are then rewritten by the node holding the
+ * {@value #LEASE_NAME} lease only. That node also reads the claims from one window before the
+ * oldest open claim. The open claims are read in chunks of {@code chunk-size} by keyset
+ * pagination, and each chunk's scores are written with one batched update in its own transaction.
+ */
+@Component
+@Slf4j
+public class ClaimRiskRescoreJob {
+
+  static final String LEASE_NAME = "claim-risk-rescore";
+
+  private static final int FETCH_SIZE = 10_000;
+
+  private static final String CLAIM_COLUMNS =
+      "c.policy_id, CAST(c.date_reported AS DATE), c.estimated_amount, p.premium,"
+          + " c.license_plate, c.vehicle_vin, c.procedure_code, c.medical_provider";
+
+  static final String SELECT_CLAIMS_REPORTED_FROM =
+      "SELECT c.id, "
+          + CLAIM_COLUMNS
+          + " FROM claims c JOIN policies p ON p.id = c.policy_id WHERE c.date_reported >= ?";
+
+  private static final String SELECT_OLDEST_OPEN_CLAIM =
+      "SELECT CAST(MIN(date_reported) AS DATE) FROM claims"
+          + " WHERE status IN ('SUBMITTED', 'IN_REVIEW')";
+
+  private static final String SELECT_OPEN_CLAIMS =
+      "SELECT c.id, "
+          + CLAIM_COLUMNS
+          + " FROM claims c JOIN policies p ON p.id = c.policy_id"
+          + " WHERE c.status IN ('SUBMITTED', 'IN_REVIEW') AND c.id > ? ORDER BY c.id LIMIT ?";
+
+  private static final String UPDATE_SCORE = "UPDATE claims SET risk_score = ? WHERE id = ?";
+
+  private final ClaimRiskScorer claimRiskScorer;
+  private final JobLeaseManager jobLeaseManager;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+  private final Duration leaseDuration;
+
+  public ClaimRiskRescoreJob(
+      ClaimRiskScorer claimRiskScorer,
+      JobLeaseManager jobLeaseManager,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      @Value("${insurance.claim.risk.chunk-size:1000}") int chunkSize,
+      @Value("${insurance.claim.risk.lease-duration:10m}") Duration leaseDuration) {
+    this.claimRiskScorer = claimRiskScorer;
+    this.jobLeaseManager = jobLeaseManager;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.chunkSize = chunkSize;
+    this.leaseDuration = leaseDuration;
+  }
+
+  /** A claim to score, read from the claims table. */
+  private record ScoredClaim(long id, ClaimRiskInput input) {}
+
+  /** Scheduled entry point, by default at night, and once at startup. */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${insurance.claim.risk.rescore-cron:0 0 3 * * *}")
+  public void run() {
+    runFor(LocalDate.now());
+  }
+
+  /**
+   * Rebuilds the signals and, if this node gets the lease, re-scores the open claims.
+   *
+   * @param today The day the signals are kept for.
+   * @return The number of re-scored claims, or empty if another node holds the lease.
+   */
+  public Optional<Long> runFor(LocalDate today) {
+    boolean leased = jobLeaseManager.tryAcquire(LEASE_NAME, leaseDuration);
+    ClaimRiskScorer.Rebuild rebuild = claimRiskScorer.startRebuild();
+    try {
+      LocalDate windowStart = claimRiskScorer.windowStart(today);
+      readClaims(rebuild, leased ? rescoreWindowStart(windowStart) : windowStart);
+
+      Optional<Long> rescored = Optional.empty();
+      if (leased) {
+        rescored = Optional.of(rescoreOpenClaims(rebuild.signals()));
+        log.info("Re-scored the risk of {} open claims", rescored.get());
+      } else {
+        log.info("Skipping the claim risk re-score: lease is held by another node");
+      }
+      claimRiskScorer.swap(rebuild, today);
+      return rescored;
+    } finally {
+      claimRiskScorer.endRebuild(rebuild);
+      if (leased) {
+        jobLeaseManager.release(LEASE_NAME);
+      }
+    }
+  }
+
+  /** Counts the claims reported from the given day on in the rebuild. */
+  private void readClaims(ClaimRiskScorer.Rebuild rebuild, LocalDate from) {
+    RowCallbackHandler recordClaim = rs -> rebuild.record(rs.getLong(1), toInput(rs, 2));
+    jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(SELECT_CLAIMS_REPORTED_FROM);
+          statement.setFetchSize(FETCH_SIZE);
+          statement.setObject(1, from.atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime());
+          return statement;
+        },
+        recordClaim);
+  }
+
+  /**
+   * Open claims are re-scored against the claims within the window around them, so an open claim
+   * reported before the window needs the claims of one window before it.
+   */
+  private LocalDate rescoreWindowStart(LocalDate windowStart) {
+    LocalDate oldestOpen = jdbcTemplate.queryForObject(SELECT_OLDEST_OPEN_CLAIM, LocalDate.class);
+    if (oldestOpen == null) {
+      return windowStart;
+    }
+    LocalDate oldestOpenWindowStart = claimRiskScorer.windowStart(oldestOpen);
+    return oldestOpenWindowStart.isBefore(windowStart) ? oldestOpenWindowStart : windowStart;
+  }
+
+  private long rescoreOpenClaims(ClaimRiskSignals rebuilt) {
+    long total = 0;
+    long lastId = 0;
+    int read;
+    do {
+      long afterId = lastId;
+      List<ScoredClaim> chunk =
+          jdbcTemplate.query(
+              SELECT_OPEN_CLAIMS,
+              (rs, rowNum) -> new ScoredClaim(rs.getLong(1), toInput(rs, 2)),
+              afterId,
+              chunkSize);
+      read = chunk.size();
+      if (read == 0) {
+        break;
+      }
+      List<Object[]> scores = new ArrayList<>(read);
+      for (ScoredClaim claim : chunk) {
+        scores.add(new Object[] {claimRiskScorer.rescore(rebuilt, claim.input()), claim.id()});
+      }
+      transactionTemplate.executeWithoutResult(
+          status -> jdbcTemplate.batchUpdate(UPDATE_SCORE, scores));
+      total += read;
+      lastId = chunk.getLast().id();
+    } while (read == chunkSize && renewLease());
+    return total;
+  }
+
+  private boolean renewLease() {
+    if (jobLeaseManager.tryAcquire(LEASE_NAME, leaseDuration)) {
+      return true;
+    }
+    log.warn("Lost the claim risk lease, leaving the remaining claims to its new holder");
+    return false;
+  }
+
+  private static ClaimRiskInput toInput(ResultSet rs, int first) throws SQLException {
+    return new ClaimRiskInput(
+        rs.getLong(first),
+        rs.getObject(first + 1, LocalDate.class),
+        rs.getBigDecimal(first + 2),
+        rs.getBigDecimal(first + 3),
+        rs.getString(first + 4),
+        rs.getString(first + 5),
+        rs.getString(first + 6),
+        rs.getString(first + 7));
+  }
+}
@@ -0,0 +1,137 @@
+package tech.yildirim.insurance.dummy.claim.risk;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tech.yildirim.insurance.dummy.claim.Claim;
+
+/**
+ * Scores the risk of claims from in-memory {@link ClaimRiskSignals}, so scoring a claim costs a
+ * few binary searches instead of aggregate queries over the claims table. The signals are rebuilt
+ * from the claims by the {@link ClaimRiskRescoreJob} and kept up to date with every submitted
+ * claim in between.
+ *
+ * <p>The signals are per node: claims submitted on another node are only counted after the next
+ * rebuild. While a rebuild is running, submitted claims are counted in both the current and the
+ * rebuilt signals, so the claims committed after the rebuild read its rows are not lost by the
+ * {@link #swap}.
+ */
+@Component
+@Slf4j
+public class ClaimRiskScorer {
+
+  private final int windowDays;
+  private final AtomicReference<ClaimRiskSignals> signals =
+      new AtomicReference<>(new ClaimRiskSignals());
+  private final AtomicReference<Rebuild> rebuild = new AtomicReference<>();
+
+  public ClaimRiskScorer(@Value("${insurance.claim.risk.window:90d}") Duration window) {
+    this.windowDays = Math.toIntExact(window.toDays());
+  }
+
+  /**
+   * Scores a claim that is being submitted, and counts it once its transaction has committed.
+   *
+   * @param claim The new claim, with its policy.
+   * @return The risk score.
+   */
+  public int scoreNewClaim(Claim claim) {
+    ClaimRiskInput input = ClaimRiskInput.of(claim);
+    ClaimRiskFeatures features = signals.get().features(input, false, windowDays);
+    log.debug("Risk features of the new claim on policy {}: {}", input.policyId(), features);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              countCommitted(claim.getId(), input);
+            }
+          });
+    } else {
+      countCommitted(claim.getId(), input);
+    }
+    return features.score();
+  }
+
+  /**
+   * Counts a committed claim in the current signals and, while a rebuild is running, in the
+   * rebuilt ones. The rebuild is read first: if it is swapped in between, the current signals are
+   * the rebuilt ones and the claim is counted there once.
+   */
+  private void countCommitted(Long claimId, ClaimRiskInput input) {
+    Rebuild running = rebuild.get();
+    ClaimRiskSignals current = signals.get();
+    if (running != null) {
+      running.record(claimId, input);
+    }
+    if (running == null || current != running.signals()) {
+      current.record(input);
+    }
+  }
+
+  /** The first day of the window of claims that new claims are compared with. */
+  LocalDate windowStart(LocalDate today) {
+    return today.minusDays(windowDays);
+  }
+
+  /**
+   * Starts a rebuild: until it is {@link #swap swapped} in or {@link #endRebuild ended}, every
+   * committed claim is counted in its signals as well.
+   */
+  Rebuild startRebuild() {
+    Rebuild started = new Rebuild();
+    rebuild.set(started);
+    return started;
+  }
+
+  /** Scores a claim that is already counted in the given signals. */
+  int rescore(ClaimRiskSignals rebuilt, ClaimRiskInput input) {
+    return rebuilt.features(input, true, windowDays).score();
+  }
+
+  /**
+   * Puts rebuilt signals in use, keeping only the claims that can still fall into the window of a
+   * new claim.
+   */
+  void swap(Rebuild rebuilt, LocalDate today) {
+    rebuilt.signals().evictBefore(windowStart(today));
+    signals.set(rebuilt.signals());
+    endRebuild(rebuilt);
+    log.info(
+        "Claim risk signals now cover the claims of {} policies", rebuilt.signals().policyCount());
+  }
+
+  /** Stops counting committed claims in a rebuild, e.g. one that failed. */
+  void endRebuild(Rebuild rebuilt) {
+    rebuild.compareAndSet(rebuilt, null);
+  }
+
+  /**
+   * Signals being rebuilt, with the ids of the claims counted in them. A claim committed while the
+   * rebuild reads the claims table may be both read and counted after its commit, and is only
+   * counted once.
+   */
+  static final class Rebuild {
+
+    private final ClaimRiskSignals signals = new ClaimRiskSignals();
+    private final Set<Long> countedIds = new HashSet<>();
+
+    /** Counts a claim, unless it has been counted already. */
+    synchronized void record(Long claimId, ClaimRiskInput input) {
+      if (claimId == null || countedIds.add(claimId)) {
+        signals.record(input);
+      }
+    }
+
+    ClaimRiskSignals signals() {
+      return signals;
+    }
+  }
+}
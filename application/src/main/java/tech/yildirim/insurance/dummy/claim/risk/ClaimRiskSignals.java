@@ -0,0 +1,100 @@
+package tech.yildirim.insurance.dummy.claim.risk;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * The sliding-window counters the risk features are computed from: claims per policy and claims
+ * per license plate, VIN, procedure code and medical provider, by day of reporting.
+ */
+final class ClaimRiskSignals {
+
+  private final SlidingWindowCounter<Long> policies = new SlidingWindowCounter<>();
+  private final SlidingWindowCounter<String> licensePlates = new SlidingWindowCounter<>();
+  private final SlidingWindowCounter<String> vehicleVins = new SlidingWindowCounter<>();
+  private final SlidingWindowCounter<String> procedureCodes = new SlidingWindowCounter<>();
+  private final SlidingWindowCounter<String> medicalProviders = new SlidingWindowCounter<>();
+
+  /** Counts a claim. */
+  void record(ClaimRiskInput input) {
+    LocalDate day = input.reportedOn();
+    policies.record(input.policyId(), day);
+    recordIdentifier(licensePlates, input.licensePlate(), day);
+    recordIdentifier(vehicleVins, input.vehicleVin(), day);
+    recordIdentifier(procedureCodes, input.procedureCode(), day);
+    recordIdentifier(medicalProviders, input.medicalProvider(), day);
+  }
+
+  /**
+   * Computes the features of a claim from the claims reported within {@code windowDays} days
+   * before or after it.
+   *
+   * @param input The claim.
+   * @param counted Whether the claim itself has been recorded, and has to be left out.
+   * @param windowDays The size of the window on either side of the claim's day.
+   * @return The features.
+   */
+  ClaimRiskFeatures features(ClaimRiskInput input, boolean counted, int windowDays) {
+    LocalDate from = input.reportedOn().minusDays(windowDays);
+    LocalDate to = input.reportedOn().plusDays(windowDays);
+    int self = counted ? 1 : 0;
+    int otherPolicyClaims = Math.max(0, policies.count(input.policyId(), from, to) - self);
+    int repeatedIdentifiers =
+        repeated(licensePlates, input.licensePlate(), from, to, self)
+            + repeated(vehicleVins, input.vehicleVin(), from, to, self)
+            + repeated(procedureCodes, input.procedureCode(), from, to, self)
+            + repeated(medicalProviders, input.medicalProvider(), from, to, self);
+    return new ClaimRiskFeatures(otherPolicyClaims, amountToPremium(input), repeatedIdentifiers);
+  }
+
+  /** Drops the claims reported before the given day. */
+  void evictBefore(LocalDate day) {
+    policies.evictBefore(day);
+    licensePlates.evictBefore(day);
+    vehicleVins.evictBefore(day);
+    procedureCodes.evictBefore(day);
+    medicalProviders.evictBefore(day);
+  }
+
+  /** The number of policies with claims in the counters. */
+  int policyCount() {
+    return policies.keyCount();
+  }
+
+  private static void recordIdentifier(
+      SlidingWindowCounter<String> counter, String identifier, LocalDate day) {
+    String key = normalize(identifier);
+    if (key != null) {
+      counter.record(key, day);
+    }
+  }
+
+  private static int repeated(
+      SlidingWindowCounter<String> counter,
+      String identifier,
+      LocalDate from,
+      LocalDate to,
+      int self) {
+    String key = normalize(identifier);
+    return key != null && counter.count(key, from, to) - self > 0 ? 1 : 0;
+  }
+
+  /** Ignores case and surrounding blanks, so "ab-123 " and "AB-123" are the same plate. */
+  private static String normalize(String identifier) {
+    if (identifier == null || identifier.isBlank()) {
+      return null;
+    }
+    return identifier.strip().toUpperCase(Locale.ROOT);
+  }
+
+  private static BigDecimal amountToPremium(ClaimRiskInput input) {
+    if (input.estimatedAmount() == null
+        || input.premium() == null
+        || input.premium().signum() <= 0) {
+      return BigDecimal.ZERO;
+    }
+    return input.estimatedAmount().divide(input.premium(), 4, RoundingMode.HALF_UP);
+  }
+}
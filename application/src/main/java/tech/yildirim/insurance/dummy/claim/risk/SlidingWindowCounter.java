@@ -0,0 +1,97 @@
+package tech.yildirim.insurance.dummy.claim.risk;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts events per key by day, for counting the events of a key within a range of days without
+ * a database query. Each key keeps the sorted days of its events, so a count is two binary
+ * searches. Days older than the window are dropped with {@link #evictBefore(LocalDate)}.
+ *
+ * @param <K> The type of the keys.
+ */
+final class SlidingWindowCounter<K> {
+
+  private final ConcurrentHashMap<K, Days> events = new ConcurrentHashMap<>();
+
+  /** Records an event of the key on the given day. */
+  void record(K key, LocalDate day) {
+    events.compute(
+        key,
+        (k, days) -> {
+          Days updated = days == null ? new Days() : days;
+          updated.add(day.toEpochDay());
+          return updated;
+        });
+  }
+
+  /** Counts the events of the key from the first to the last day, both inclusive. */
+  int count(K key, LocalDate from, LocalDate to) {
+    Days days = events.get(key);
+    return days == null ? 0 : days.count(from.toEpochDay(), to.toEpochDay());
+  }
+
+  /** Drops the events before the given day, and the keys left without events. */
+  void evictBefore(LocalDate day) {
+    long first = day.toEpochDay();
+    for (K key : events.keySet()) {
+      events.computeIfPresent(key, (k, days) -> days.evictBefore(first) ? null : days);
+    }
+  }
+
+  /** The number of keys with events. */
+  int keyCount() {
+    return events.size();
+  }
+
+  /** The sorted days of the events of one key, as epoch days. */
+  private static final class Days {
+
+    private long[] values = new long[2];
+    private int size;
+
+    synchronized void add(long day) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      // Events mostly arrive in order, so the insertion point is usually the end
+      int index = upperBound(day);
+      System.arraycopy(values, index, values, index + 1, size - index);
+      values[index] = day;
+      size++;
+    }
+
+    synchronized int count(long from, long to) {
+      return Math.max(0, upperBound(to) - lowerBound(from));
+    }
+
+    /** Returns whether no events are left. */
+    synchronized boolean evictBefore(long first) {
+      int dropped = lowerBound(first);
+      System.arraycopy(values, dropped, values, 0, size - dropped);
+      size -= dropped;
+      return size == 0;
+    }
+
+    /** The index of the first day not before {@code day}. */
+    private int lowerBound(long day) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (values[middle] < day) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+    /** The index of the first day after {@code day}. */
+    private int upperBound(long day) {
+      return day == Long.MAX_VALUE ? size : lowerBound(day + 1);
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package tech.yildirim.insurance.dummy.common;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base class for exceptions that describe an expected business outcome, such as an unknown id or a
+ * violated business rule, rather than a programming error. These are thrown on normal request
+ * paths, so they neither capture a stack trace nor track suppressed exceptions. The global
+ * exception handler maps every subclass to an error response using its {@link #getStatus()}.
+ */
+@Getter
+public abstract class BusinessException extends RuntimeException {
+
+  private final HttpStatus status;
+
+  protected BusinessException(HttpStatus status, String message) {
+    super(message, null, false, false);
+    this.status = status;
+  }
+}
@@ -0,0 +1,14 @@
+package tech.yildirim.insurance.dummy.common;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when an operation is not allowed in the current state of a resource, e.g. submitting a
+ * claim for a policy that is not active. Translated into a 400 Bad Request response.
+ */
+public class BusinessRuleViolationException extends BusinessException {
+
+  public BusinessRuleViolationException(String message) {
+    super(HttpStatus.BAD_REQUEST, message);
+  }
+}
@@ -0,0 +1,14 @@
+package tech.yildirim.insurance.dummy.common;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a request collides with another one that is still being processed, e.g. a retry
+ * with the same idempotency key. Translated into a 409 Conflict response.
+ */
+public class ConflictException extends BusinessException {
+
+  public ConflictException(String message) {
+    super(HttpStatus.CONFLICT, message);
+  }
+}
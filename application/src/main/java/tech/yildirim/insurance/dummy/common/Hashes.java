@@ -0,0 +1,35 @@
+package tech.yildirim.insurance.dummy.common;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/** SHA-256 hashes of keys, e.g. the duplicate keys of claims. */
+public final class Hashes {
+
+  private Hashes() {}
+
+  /**
+   * Computes the SHA-256 hash of the given bytes.
+   *
+   * @param bytes The bytes to hash.
+   * @return The 32 bytes of the hash.
+   */
+  public static byte[] sha256(byte[] bytes) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(bytes);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * Computes the SHA-256 hash of the given bytes, in lower case hex.
+   *
+   * @param bytes The bytes to hash.
+   * @return The 64 hex digits of the hash.
+   */
+  public static String sha256Hex(byte[] bytes) {
+    return HexFormat.of().formatHex(sha256(bytes));
+  }
+}
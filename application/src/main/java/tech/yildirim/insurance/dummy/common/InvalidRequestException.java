@@ -0,0 +1,14 @@
+package tech.yildirim.insurance.dummy.common;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a request is well-formed but its content does not fit the addressed resource, e.g. a
+ * claim DTO that does not match the policy type. Translated into a 400 Bad Request response.
+ */
+public class InvalidRequestException extends BusinessException {
+
+  public InvalidRequestException(String message) {
+    super(HttpStatus.BAD_REQUEST, message);
+  }
+}
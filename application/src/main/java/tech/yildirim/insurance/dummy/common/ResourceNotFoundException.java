@@ -9,9 +9,9 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  * into a 404 Not Found HTTP response.
  */
 @ResponseStatus(HttpStatus.NOT_FOUND)
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends BusinessException {
 
   public ResourceNotFoundException(String message) {
-    super(message);
+    super(HttpStatus.NOT_FOUND, message);
   }
 }
@@ -0,0 +1,96 @@
+package tech.yildirim.insurance.dummy.common.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces concurrent loads of the same key. The first caller for a key runs the load; callers
+ * that arrive while it is running wait for its result instead of starting their own, so a burst of
+ * reads for one policy or claim costs a single database round trip. Nothing is cached: once the
+ * load has finished, the next caller loads again.
+ *
+ * <p>Callers must invoke this outside of a transaction, so that waiters do not hold a database
+ * connection, and must treat the shared result as read-only. Failures are passed on to all
+ * waiters.
+ *
+ * <p>The number of callers that were served by another caller's load is published as the {@value
+ * #COALESCED_METRIC} counter, tagged with the {@code key} group, e.g. {@code key=policy}.
+ */
+@Component
+@Slf4j
+public class SingleFlight {
+
+  static final String COALESCED_METRIC = "insurance.singleflight.coalesced";
+
+  private final MeterRegistry meterRegistry;
+  private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  private final Map<String, Counter> coalescedCounters = new ConcurrentHashMap<>();
+
+  public SingleFlight(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  private record FlightKey(String group, Object key) {}
+
+  /**
+   * Loads a value, or joins the load of the same key that is already running.
+   *
+   * @param group The kind of key, e.g. {@code policy}; keys of different groups never coalesce.
+   * @param key The key within the group.
+   * @param loader Loads the value; runs on the calling thread of the first caller only.
+   * @return The loaded value, shared by all callers that were coalesced.
+   */
+  @SuppressWarnings("unchecked")
+  public <V> V load(String group, Object key, Supplier<V> loader) {
+    FlightKey flightKey = new FlightKey(group, key);
+    CompletableFuture<Object> flight = new CompletableFuture<>();
+    CompletableFuture<Object> running = inFlight.putIfAbsent(flightKey, flight);
+    if (running != null) {
+      log.debug("Joining the running load of {} {}", group, key);
+      coalescedCounter(group).increment();
+      return (V) await(running);
+    }
+
+    try {
+      V value = loader.get();
+      flight.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(flightKey, flight);
+    }
+  }
+
+  private static Object await(CompletableFuture<Object> running) {
+    try {
+      return running.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private Counter coalescedCounter(String group) {
+    return coalescedCounters.computeIfAbsent(
+        group,
+        name ->
+            Counter.builder(COALESCED_METRIC)
+                .description("Number of reads that waited for a concurrent load of the same key")
+                .tag("key", name)
+                .register(meterRegistry));
+  }
+}
@@ -0,0 +1,93 @@
+package tech.yildirim.insurance.dummy.common.delta;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+
+/**
+ * A position in a delta: the last changed record and the last deletion a client has read. Both are
+ * keyset positions of a timestamp and an id, so a page continues exactly after the previous one,
+ * even if several records share a timestamp. Clients only see the {@link #encode() encoded} form.
+ *
+ * @param updatedAt The update time of the last changed record read.
+ * @param id The id of that record, 0 if none was read at {@code updatedAt} yet.
+ * @param deletedAt The deletion time of the last tombstone read.
+ * @param deletionId The id of that tombstone, 0 if none was read at {@code deletedAt} yet.
+ */
+public record DeltaCursor(
+    ZonedDateTime updatedAt, long id, ZonedDateTime deletedAt, long deletionId) {
+
+  private static final ZonedDateTime BEGINNING = Instant.EPOCH.atZone(ZoneOffset.UTC);
+
+  /**
+   * Determines where a delta request starts.
+   *
+   * @param cursor The encoded cursor of the previous page, or {@code null}.
+   * @param updatedSince The start time of a new sync, or {@code null} to read everything.
+   * @return The position to read after.
+   * @throws InvalidRequestException if both are given or the cursor is malformed.
+   */
+  public static DeltaCursor start(String cursor, OffsetDateTime updatedSince) {
+    if (cursor != null && updatedSince != null) {
+      throw new InvalidRequestException("Pass either a cursor or updatedSince, not both");
+    }
+    if (cursor != null) {
+      return decode(cursor);
+    }
+    ZonedDateTime since =
+        updatedSince == null ? BEGINNING : updatedSince.atZoneSameInstant(ZoneOffset.UTC);
+    return new DeltaCursor(since, 0, since, 0);
+  }
+
+  /** Moves the position past a changed record. */
+  public DeltaCursor afterUpdate(ZonedDateTime updatedAt, long id) {
+    return new DeltaCursor(updatedAt, id, deletedAt, deletionId);
+  }
+
+  /** Moves the position past a tombstone. */
+  public DeltaCursor afterDeletion(ZonedDateTime deletedAt, long deletionId) {
+    return new DeltaCursor(updatedAt, id, deletedAt, deletionId);
+  }
+
+  /** Encodes the position as an opaque, URL-safe string. */
+  public String encode() {
+    String plain =
+        format(updatedAt) + ":" + id + ":" + format(deletedAt) + ":" + deletionId;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(plain.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  static DeltaCursor decode(String cursor) {
+    try {
+      String plain = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+      String[] parts = plain.split(":", -1);
+      if (parts.length != 4) {
+        throw new IllegalArgumentException("Expected four parts");
+      }
+      return new DeltaCursor(
+          parse(parts[0]), Long.parseLong(parts[1]), parse(parts[2]), Long.parseLong(parts[3]));
+    } catch (IllegalArgumentException | DateTimeException e) {
+      throw new InvalidRequestException("Invalid cursor: " + cursor);
+    }
+  }
+
+  private static String format(ZonedDateTime time) {
+    Instant instant = time.toInstant();
+    return instant.getEpochSecond() + "." + instant.getNano();
+  }
+
+  private static ZonedDateTime parse(String time) {
+    String[] parts = time.split("\\.", -1);
+    if (parts.length != 2) {
+      throw new IllegalArgumentException("Expected seconds and nanos");
+    }
+    return Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]))
+        .atZone(ZoneOffset.UTC);
+  }
+}
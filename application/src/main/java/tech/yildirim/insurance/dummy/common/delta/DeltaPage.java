@@ -0,0 +1,32 @@
+package tech.yildirim.insurance.dummy.common.delta;
+
+import java.util.List;
+
+/**
+ * One page of a delta read. The repositories are asked for one row more than the page size; that
+ * row only tells whether there is more, it is not part of the page.
+ *
+ * @param rows The rows of the page.
+ * @param hasMore Whether more rows were available.
+ * @param <T> The type of the rows.
+ */
+public record DeltaPage<T>(List<T> rows, boolean hasMore) {
+
+  /**
+   * Cuts a page from the rows of a read with a limit of {@code limit + 1}.
+   *
+   * @param rows The rows read.
+   * @param limit The page size.
+   * @return The page.
+   */
+  public static <T> DeltaPage<T> of(List<T> rows, int limit) {
+    return rows.size() > limit
+        ? new DeltaPage<>(rows.subList(0, limit), true)
+        : new DeltaPage<>(rows, false);
+  }
+
+  /** The last row of the page, {@code null} if it is empty. */
+  public T last() {
+    return rows.isEmpty() ? null : rows.getLast();
+  }
+}
@@ -0,0 +1,29 @@
+package tech.yildirim.insurance.dummy.common.delta;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits delta reads to changes that are old enough to have committed. The update timestamp of a
+ * record is taken when its transaction flushes, not when it commits, so a change may become
+ * visible after a younger one was already read. A reader that moved its cursor past the younger
+ * change would skip it forever; holding back the changes of the last few seconds closes that
+ * window, as long as no writing transaction takes longer than the settle time.
+ */
+@Component
+public class DeltaWindow {
+
+  private final Duration settleTime;
+
+  public DeltaWindow(@Value("${insurance.delta.settle-time:5s}") Duration settleTime) {
+    this.settleTime = settleTime;
+  }
+
+  /** The exclusive upper bound for the timestamps a delta read may return. */
+  public ZonedDateTime settledUntil() {
+    return ZonedDateTime.now(ZoneOffset.UTC).minus(settleTime);
+  }
+}
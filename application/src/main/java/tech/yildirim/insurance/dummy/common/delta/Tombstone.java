@@ -0,0 +1,51 @@
+package tech.yildirim.insurance.dummy.common.delta;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.ZonedDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Records that a claim or a customer was deleted, so delta readers can remove it from their copy.
+ * Written in the transaction of the delete.
+ */
+@Entity
+@Table(
+    name = "tombstones",
+    indexes = {
+      @Index(
+          name = "idx_tombstones_type_deleted_at",
+          columnList = "entity_type, deleted_at, id")
+    })
+@Data
+@NoArgsConstructor
+public class Tombstone {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private TombstoneType entityType;
+
+  @Column(nullable = false)
+  private Long entityId;
+
+  @Column(nullable = false)
+  private ZonedDateTime deletedAt;
+
+  public Tombstone(TombstoneType entityType, Long entityId, ZonedDateTime deletedAt) {
+    this.entityType = entityType;
+    this.entityId = entityId;
+    this.deletedAt = deletedAt;
+  }
+}
@@ -0,0 +1,35 @@
+package tech.yildirim.insurance.dummy.common.delta;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/** Spring Data JPA repository for the {@link Tombstone} entity. */
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+  /**
+   * Reads the tombstones of one kind after a keyset position, over the type/deletion time index.
+   *
+   * @param entityType The kind of deleted records.
+   * @param since The deletion time of the last tombstone read.
+   * @param afterId The id of that tombstone, 0 to include all tombstones at {@code since}.
+   * @param until The exclusive upper bound of the deletion time, see {@link DeltaWindow}.
+   * @param limit The maximum number of tombstones.
+   * @return The tombstones ordered by deletion time and id.
+   */
+  @Query(
+      "SELECT t FROM Tombstone t WHERE t.entityType = :entityType"
+          + " AND t.deletedAt >= :since AND t.deletedAt < :until"
+          + " AND (t.deletedAt > :since OR t.id > :afterId) ORDER BY t.deletedAt, t.id")
+  List<Tombstone> findDeletedAfter(
+      @Param("entityType") TombstoneType entityType,
+      @Param("since") ZonedDateTime since,
+      @Param("afterId") long afterId,
+      @Param("until") ZonedDateTime until,
+      Limit limit);
+}
@@ -0,0 +1,7 @@
+package tech.yildirim.insurance.dummy.common.delta;
+
+/** The kinds of records a {@link Tombstone} can stand for. */
+public enum TombstoneType {
+  CLAIM,
+  CUSTOMER
+}
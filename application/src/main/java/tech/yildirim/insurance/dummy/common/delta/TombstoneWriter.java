@@ -0,0 +1,36 @@
+package tech.yildirim.insurance.dummy.common.delta;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records deletes as {@link Tombstone}s. The tombstone is written in the caller's transaction, so
+ * it exists if and only if the record is gone.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TombstoneWriter {
+
+  private final TombstoneRepository tombstoneRepository;
+
+  /**
+   * Adds a tombstone for a deleted record.
+   *
+   * @param entityType The kind of the deleted record.
+   * @param entityId The id of the deleted record.
+   * @throws org.springframework.transaction.IllegalTransactionStateException if there is no
+   *     transaction to join.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void record(TombstoneType entityType, Long entityId) {
+    tombstoneRepository.save(
+        new Tombstone(entityType, entityId, ZonedDateTime.now(ZoneOffset.UTC)));
+    log.debug("Recorded tombstone for {} {}", entityType, entityId);
+  }
+}
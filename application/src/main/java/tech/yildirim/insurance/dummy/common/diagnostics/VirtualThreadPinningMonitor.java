@@ -0,0 +1,84 @@
+package tech.yildirim.insurance.dummy.common.diagnostics;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs virtual threads that stay pinned to their carrier thread longer than a threshold. Pinning
+ * happens when a virtual thread blocks inside a {@code synchronized} block or a native frame, which
+ * is common in JDBC drivers and logging appenders and silently caps the request concurrency. Only
+ * active when the application runs on virtual threads.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final int REPORTED_FRAMES = 5;
+
+  private final Duration threshold;
+  private RecordingStream recordingStream;
+
+  public VirtualThreadPinningMonitor(
+      @Value("${insurance.diagnostics.pinning.threshold:20ms}") Duration threshold) {
+    this.threshold = threshold;
+  }
+
+  @Override
+  public synchronized void start() {
+    recordingStream = new RecordingStream();
+    recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    recordingStream.onEvent(PINNED_EVENT, this::logPinnedEvent);
+    recordingStream.startAsync();
+    log.info("Virtual thread pinning monitor started with a threshold of {} ms", threshold.toMillis());
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (recordingStream != null) {
+      recordingStream.close();
+      recordingStream = null;
+    }
+  }
+
+  @Override
+  public synchronized boolean isRunning() {
+    return recordingStream != null;
+  }
+
+  private void logPinnedEvent(RecordedEvent event) {
+    log.warn(
+        "Virtual thread pinned its carrier for {} ms at {}",
+        event.getDuration().toMillis(),
+        describe(event.getStackTrace()));
+  }
+
+  private String describe(RecordedStackTrace stackTrace) {
+    if (stackTrace == null) {
+      return "<no stack trace>";
+    }
+    return stackTrace.getFrames().stream()
+        .limit(REPORTED_FRAMES)
+        .map(VirtualThreadPinningMonitor::describe)
+        .collect(Collectors.joining(" <- "));
+  }
+
+  private static String describe(RecordedFrame frame) {
+    return frame.getMethod().getType().getName()
+        + "."
+        + frame.getMethod().getName()
+        + ":"
+        + frame.getLineNumber();
+  }
+}
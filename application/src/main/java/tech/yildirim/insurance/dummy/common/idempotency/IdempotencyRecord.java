@@ -0,0 +1,46 @@
+package tech.yildirim.insurance.dummy.common.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.ZonedDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A request that was sent with an idempotency key. While it is processed, only the hash of its
+ * body is stored and {@link #expiresAt} is the time another node may take it over; once it has
+ * been processed, its response is stored until {@link #expiresAt}. The rows are read and written
+ * by the {@link IdempotencyStore}.
+ */
+@Entity
+@Table(
+    name = "idempotency_keys",
+    indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+  /** The operation and the client's key, e.g. {@code createPolicy:6f1c...}. */
+  @Id
+  @Column(length = 320)
+  private String requestKey;
+
+  /** The SHA-256 hash of the request body, in hex. */
+  @Column(nullable = false, length = 64)
+  private String requestHash;
+
+  /** The HTTP status of the response; null while the request is processed. */
+  private Integer responseStatus;
+
+  /** The response body as JSON. */
+  @Lob private String responseBody;
+
+  @Column(nullable = false)
+  private ZonedDateTime expiresAt;
+}
@@ -0,0 +1,117 @@
+package tech.yildirim.insurance.dummy.common.idempotency;
+
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reads and writes the {@link IdempotencyRecord}s. The primary key of the table decides which of
+ * several nodes processes a request, so a request is only inserted, never read first and then
+ * written.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyStore {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Registers a request that is about to be processed. Runs in its own transaction, so that other
+   * nodes see the request right away.
+   *
+   * @return Whether the request was registered, false if its key is already taken.
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public boolean tryStart(String requestKey, String requestHash, ZonedDateTime lockedUntil) {
+    try {
+      jdbcTemplate.update(
+          "INSERT INTO idempotency_keys (request_key, request_hash, expires_at) VALUES (?, ?, ?)",
+          requestKey,
+          requestHash,
+          Timestamp.from(lockedUntil.toInstant()));
+      return true;
+    } catch (DuplicateKeyException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Takes over a request whose key has expired, either because its response is too old or because
+   * the node processing it stopped.
+   *
+   * @return Whether the request was taken over, false if another node was faster.
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public boolean tryTakeOver(
+      String requestKey, String requestHash, ZonedDateTime now, ZonedDateTime lockedUntil) {
+    return jdbcTemplate.update(
+            "UPDATE idempotency_keys SET request_hash = ?, response_status = NULL,"
+                + " response_body = NULL, expires_at = ? WHERE request_key = ? AND expires_at <= ?",
+            requestHash,
+            Timestamp.from(lockedUntil.toInstant()),
+            requestKey,
+            Timestamp.from(now.toInstant()))
+        == 1;
+  }
+
+  /** Reads a request. */
+  @Transactional(readOnly = true)
+  public Optional<StoredRequest> find(String requestKey) {
+    return jdbcTemplate
+        .query(
+            "SELECT request_hash, response_status, response_body, expires_at"
+                + " FROM idempotency_keys WHERE request_key = ?",
+            (rs, rowNum) ->
+                new StoredRequest(
+                    rs.getString(1),
+                    rs.getObject(2, Integer.class),
+                    rs.getString(3),
+                    rs.getObject(4, ZonedDateTime.class)),
+            requestKey)
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Stores the response to a request, in the transaction that processed it, so that the response
+   * is stored if and only if the request took effect.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void complete(String requestKey, StoredRequest response) {
+    jdbcTemplate.update(
+        "UPDATE idempotency_keys SET response_status = ?, response_body = ?, expires_at = ?"
+            + " WHERE request_key = ?",
+        response.responseStatus(),
+        response.responseBody(),
+        Timestamp.from(response.expiresAt().toInstant()),
+        requestKey);
+  }
+
+  /** Forgets a request that failed, so that it can be retried with the same key. */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void abandon(String requestKey) {
+    jdbcTemplate.update(
+        "DELETE FROM idempotency_keys WHERE request_key = ? AND response_status IS NULL",
+        requestKey);
+  }
+
+  /** Deletes the expired requests. */
+  @Scheduled(cron = "${insurance.idempotency.purge-cron:0 15 * * * *}")
+  @Transactional
+  public void purgeExpired() {
+    int purged =
+        jdbcTemplate.update(
+            "DELETE FROM idempotency_keys WHERE expires_at <= ?",
+            Timestamp.from(ZonedDateTime.now().toInstant()));
+    log.info("Purged {} expired idempotency keys", purged);
+  }
+}
@@ -0,0 +1,229 @@
+package tech.yildirim.insurance.dummy.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.yildirim.insurance.dummy.common.ConflictException;
+import tech.yildirim.insurance.dummy.common.Hashes;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+
+/**
+ * Processes create requests that carry an {@code Idempotency-Key} header at most once, so that a
+ * client can safely retry a request whose response it did not receive. A retry gets the stored
+ * response of the first request, marked with the {@value #REPLAYED_HEADER} header.
+ *
+ * <p>Completed requests are looked up in a bounded in-memory {@link ReplayCache} first and in the
+ * {@link IdempotencyStore} after that. Concurrent requests with the same key are coalesced: on one
+ * node the later ones wait for the first and share its outcome, across nodes the primary key of
+ * the store lets only one of them through and the others get a 409 Conflict.
+ */
+@Component
+@Slf4j
+public class IdempotentRequests {
+
+  /** Set on responses that were stored for an earlier request with the same key. */
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  private final IdempotencyStore idempotencyStore;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration ttl;
+  private final Duration lockTimeout;
+  private final ReplayCache replayCache;
+  private final Map<String, CompletableFuture<StoredRequest>> inFlight =
+      new ConcurrentHashMap<>();
+
+  public IdempotentRequests(
+      IdempotencyStore idempotencyStore,
+      ObjectMapper objectMapper,
+      PlatformTransactionManager transactionManager,
+      @Value("${insurance.idempotency.ttl:24h}") Duration ttl,
+      @Value("${insurance.idempotency.lock-timeout:1m}") Duration lockTimeout,
+      @Value("${insurance.idempotency.cache-size:10000}") int cacheSize) {
+    this.idempotencyStore = idempotencyStore;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.ttl = ttl;
+    this.lockTimeout = lockTimeout;
+    this.replayCache = new ReplayCache(cacheSize);
+  }
+
+  /**
+   * Processes a request, unless it was already processed.
+   *
+   * @param operation The operation, e.g. {@code createPolicy}; keys are unique per operation.
+   * @param idempotencyKey The client's key, or null to process the request without a key.
+   * @param request The request body, which must be the same whenever the key is reused.
+   * @param responseType The type of the response body, to read a stored response.
+   * @param action Processes the request. It runs in a transaction, which also stores the response.
+   * @return The response of the action, or the stored response of the earlier request.
+   * @throws InvalidRequestException if the key was used for a different request body.
+   * @throws ConflictException if the key is used by a request that is still being processed.
+   */
+  public <T> ResponseEntity<T> execute(
+      String operation,
+      String idempotencyKey,
+      Object request,
+      Class<T> responseType,
+      Supplier<ResponseEntity<T>> action) {
+    if (idempotencyKey == null) {
+      return action.get();
+    }
+    String requestKey = operation + ':' + idempotencyKey;
+    String requestHash = hash(request);
+    StoredRequest cached = replayCache.get(requestKey, ZonedDateTime.now());
+    if (cached != null) {
+      return replay(requestKey, cached, requestHash, responseType);
+    }
+
+    CompletableFuture<StoredRequest> outcome = new CompletableFuture<>();
+    CompletableFuture<StoredRequest> running = inFlight.putIfAbsent(requestKey, outcome);
+    if (running != null) {
+      log.info("Waiting for the concurrent request with idempotency key {}", requestKey);
+      return replay(requestKey, await(requestKey, running), requestHash, responseType);
+    }
+    try {
+      StoredRequest earlier = start(requestKey, requestHash);
+      if (earlier != null) {
+        outcome.complete(earlier);
+        return replay(requestKey, earlier, requestHash, responseType);
+      }
+      StoredRequest[] completed = new StoredRequest[1];
+      ResponseEntity<T> response;
+      try {
+        response =
+            transactionTemplate.execute(
+                status -> {
+                  ResponseEntity<T> result = action.get();
+                  completed[0] =
+                      new StoredRequest(
+                          requestHash,
+                          result.getStatusCode().value(),
+                          toJson(result.getBody()),
+                          ZonedDateTime.now().plus(ttl));
+                  idempotencyStore.complete(requestKey, completed[0]);
+                  return result;
+                });
+      } catch (RuntimeException e) {
+        idempotencyStore.abandon(requestKey);
+        throw e;
+      }
+      replayCache.put(requestKey, completed[0], ZonedDateTime.now());
+      outcome.complete(completed[0]);
+      return response;
+    } catch (RuntimeException e) {
+      outcome.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(requestKey, outcome);
+    }
+  }
+
+  /**
+   * Registers a request in the store.
+   *
+   * @return The earlier request with the same key if it has completed, or null if this request may
+   *     be processed.
+   */
+  private StoredRequest start(String requestKey, String requestHash) {
+    ZonedDateTime now = ZonedDateTime.now();
+    ZonedDateTime lockedUntil = now.plus(lockTimeout);
+    if (idempotencyStore.tryStart(requestKey, requestHash, lockedUntil)) {
+      return null;
+    }
+    StoredRequest earlier = idempotencyStore.find(requestKey).orElse(null);
+    if (earlier == null || earlier.isExpired(now)) {
+      // The earlier request has been purged or is stale and may be replaced
+      if (earlier == null
+          ? idempotencyStore.tryStart(requestKey, requestHash, lockedUntil)
+          : idempotencyStore.tryTakeOver(requestKey, requestHash, now, lockedUntil)) {
+        return null;
+      }
+      throw inProgress(requestKey);
+    }
+    if (!earlier.isCompleted()) {
+      requireSameRequest(earlier, requestHash);
+      throw inProgress(requestKey);
+    }
+    replayCache.put(requestKey, earlier, now);
+    return earlier;
+  }
+
+  private StoredRequest await(String requestKey, CompletableFuture<StoredRequest> running) {
+    try {
+      return running.get(lockTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (TimeoutException e) {
+      throw inProgress(requestKey);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw inProgress(requestKey);
+    }
+  }
+
+  private <T> ResponseEntity<T> replay(
+      String requestKey, StoredRequest stored, String requestHash, Class<T> responseType) {
+    requireSameRequest(stored, requestHash);
+    log.info("Replaying the response to the request with idempotency key {}", requestKey);
+    try {
+      T body =
+          stored.responseBody() == null
+              ? null
+              : objectMapper.readValue(stored.responseBody(), responseType);
+      return ResponseEntity.status(stored.responseStatus())
+          .header(REPLAYED_HEADER, "true")
+          .body(body);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void requireSameRequest(StoredRequest stored, String requestHash) {
+    if (!stored.requestHash().equals(requestHash)) {
+      throw new InvalidRequestException(
+          "The Idempotency-Key was already used for a different request");
+    }
+  }
+
+  private static ConflictException inProgress(String requestKey) {
+    log.warn("The request with idempotency key {} is still being processed", requestKey);
+    return new ConflictException(
+        "A request with the same Idempotency-Key is still being processed");
+  }
+
+  private String toJson(Object body) {
+    try {
+      return body == null ? null : objectMapper.writeValueAsString(body);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** The SHA-256 hash of the request body as JSON, in hex. */
+  String hash(Object request) {
+    try {
+      return Hashes.sha256Hex(objectMapper.writeValueAsBytes(request));
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
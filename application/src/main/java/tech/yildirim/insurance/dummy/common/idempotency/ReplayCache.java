@@ -0,0 +1,59 @@
+package tech.yildirim.insurance.dummy.common.idempotency;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A bounded, thread-safe cache of completed requests, so that retries usually get their response
+ * without reading the database. Entries are evicted in the order they were added, once they have
+ * expired or when the cache is full. Since all responses are kept for the same time, the oldest
+ * entry is also the one that expires first.
+ */
+final class ReplayCache {
+
+  private record Entry(String requestKey, StoredRequest request) {}
+
+  private final int maxSize;
+  private final Map<String, StoredRequest> requests = new ConcurrentHashMap<>();
+  private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+
+  ReplayCache(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Looks up a completed request.
+   *
+   * @return The request, or null if it is not cached or has expired.
+   */
+  StoredRequest get(String requestKey, ZonedDateTime now) {
+    StoredRequest request = requests.get(requestKey);
+    if (request == null || !request.isExpired(now)) {
+      return request;
+    }
+    requests.remove(requestKey, request);
+    return null;
+  }
+
+  /** Adds a completed request, evicting expired entries and, if full, the oldest ones. */
+  void put(String requestKey, StoredRequest request, ZonedDateTime now) {
+    requests.put(requestKey, request);
+    insertionOrder.add(new Entry(requestKey, request));
+    Entry oldest;
+    while ((oldest = insertionOrder.peek()) != null
+        && (requests.size() > maxSize || oldest.request().isExpired(now))) {
+      // Another thread may have polled the same entry; then the next one goes as well
+      Entry evicted = insertionOrder.poll();
+      if (evicted != null) {
+        requests.remove(evicted.requestKey(), evicted.request());
+      }
+    }
+  }
+
+  int size() {
+    return requests.size();
+  }
+}
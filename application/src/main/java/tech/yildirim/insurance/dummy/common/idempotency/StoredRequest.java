@@ -0,0 +1,23 @@
+package tech.yildirim.insurance.dummy.common.idempotency;
+
+import java.time.ZonedDateTime;
+
+/**
+ * The state of a request with an idempotency key, as stored by the {@link IdempotencyStore}.
+ *
+ * @param requestHash The SHA-256 hash of the request body, in hex.
+ * @param responseStatus The HTTP status of the response, null while the request is processed.
+ * @param responseBody The response body as JSON, if there was one.
+ * @param expiresAt When the response is forgotten, or another node may take the request over.
+ */
+record StoredRequest(
+    String requestHash, Integer responseStatus, String responseBody, ZonedDateTime expiresAt) {
+
+  boolean isCompleted() {
+    return responseStatus != null;
+  }
+
+  boolean isExpired(ZonedDateTime now) {
+    return !expiresAt.isAfter(now);
+  }
+}
@@ -0,0 +1,151 @@
+package tech.yildirim.insurance.dummy.common.importing;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+
+/**
+ * Reads CSV files as described in RFC 4180: the first row names the columns, values are separated
+ * by commas, and a value in double quotes may contain commas, line breaks and doubled quotes. Rows
+ * may end with CRLF or LF, and blank lines are skipped. The characters are scanned from a buffer of
+ * its own rather than read one by one from the underlying reader.
+ */
+final class CsvRecordReader implements ImportRecordReader {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+  private final Reader reader;
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private final List<String> header;
+  private int position;
+  private int limit;
+  private long line = 1;
+  private boolean endOfFile;
+
+  CsvRecordReader(Reader reader) throws IOException {
+    this.reader = reader;
+    List<String> names = readRow();
+    if (names == null) {
+      names = List.of();
+    } else if (!names.isEmpty() && names.getFirst().startsWith(String.valueOf(BYTE_ORDER_MARK))) {
+      names.set(0, names.getFirst().substring(1));
+    }
+    this.header = names.stream().map(String::strip).toList();
+  }
+
+  @Override
+  public void requireColumns(Collection<String> names) {
+    List<String> missing = names.stream().filter(name -> !header.contains(name)).toList();
+    if (!missing.isEmpty()) {
+      throw new InvalidRequestException("The CSV header is missing the columns " + missing);
+    }
+  }
+
+  @Override
+  public ImportRecord next() throws IOException {
+    while (true) {
+      long start = line;
+      List<String> values;
+      try {
+        values = readRow();
+      } catch (UnterminatedValueException e) {
+        return ImportRecord.malformed(start, "A quoted value is not closed");
+      }
+      if (values == null) {
+        return null;
+      }
+      if (values.size() == 1 && values.getFirst().isEmpty()) {
+        continue;
+      }
+      if (values.size() != header.size()) {
+        return ImportRecord.malformed(
+            start,
+            "The row has " + values.size() + " values, the header " + header.size() + " columns");
+      }
+      Map<String, String> fields = HashMap.newHashMap(header.size());
+      for (int i = 0; i < header.size(); i++) {
+        fields.put(header.get(i), values.get(i));
+      }
+      return ImportRecord.of(start, fields);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  /** Reads the values of the next row, or returns null at the end of the file. */
+  private List<String> readRow() throws IOException {
+    int c = read();
+    if (c == -1) {
+      return null;
+    }
+    List<String> values = new ArrayList<>();
+    StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+    boolean wasQuoted = false;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          throw new UnterminatedValueException();
+        }
+        if (c == '"') {
+          c = read();
+          if (c != '"') {
+            quoted = false;
+            continue;
+          }
+        } else if (c == '\n') {
+          line++;
+        }
+        value.append((char) c);
+      } else if (c == '"' && value.isEmpty() && !wasQuoted) {
+        quoted = true;
+        wasQuoted = true;
+      } else if (c == ',') {
+        values.add(value.toString());
+        value.setLength(0);
+        wasQuoted = false;
+      } else if (c == '\n' || c == -1) {
+        if (c == '\n') {
+          line++;
+        }
+        values.add(value.toString());
+        return values;
+      } else if (c != '\r') {
+        value.append((char) c);
+      }
+      c = read();
+    }
+  }
+
+  private int read() throws IOException {
+    if (position == limit) {
+      if (endOfFile) {
+        return -1;
+      }
+      limit = reader.read(buffer, 0, buffer.length);
+      position = 0;
+      if (limit <= 0) {
+        limit = 0;
+        endOfFile = true;
+        return -1;
+      }
+    }
+    return buffer[position++];
+  }
+
+  /** A quoted value runs until the end of the file; the rest of the file is lost. */
+  private static final class UnterminatedValueException extends RuntimeException {
+    UnterminatedValueException() {
+      super(null, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package tech.yildirim.insurance.dummy.common.importing;
+
+import java.util.Arrays;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+
+/** The file formats accepted by the bulk import endpoints. */
+public enum ImportFormat {
+  /** Comma-separated values with a header row, see {@link CsvRecordReader}. */
+  CSV,
+  /** One JSON object per line, see {@link NdjsonRecordReader}. */
+  NDJSON;
+
+  /**
+   * Resolves the {@code format} query parameter.
+   *
+   * @param value The name of the format, case-insensitive.
+   * @return The format.
+   * @throws InvalidRequestException if the format is not supported.
+   */
+  public static ImportFormat of(String value) {
+    return Arrays.stream(values())
+        .filter(format -> format.name().equalsIgnoreCase(value))
+        .findFirst()
+        .orElseThrow(() -> new InvalidRequestException("Unsupported import format: " + value));
+  }
+}
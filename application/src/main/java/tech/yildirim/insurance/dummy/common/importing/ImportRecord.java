@@ -0,0 +1,120 @@
+package tech.yildirim.insurance.dummy.common.importing;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+
+/**
+ * One row of an import file: its fields by column (or property) name. The accessors convert a
+ * field and throw an {@link InvalidRequestException} naming it if it cannot be converted, so the
+ * importer can reject the row with that message. A row that could not even be parsed carries the
+ * parse error instead, which every accessor throws.
+ */
+public final class ImportRecord {
+
+  private final long line;
+  private final Map<String, String> fields;
+  private final String error;
+
+  private ImportRecord(long line, Map<String, String> fields, String error) {
+    this.line = line;
+    this.fields = fields;
+    this.error = error;
+  }
+
+  /**
+   * Creates a parsed row.
+   *
+   * @param line The line of the file the row starts on.
+   * @param fields The values by name; blank values may be omitted.
+   */
+  public static ImportRecord of(long line, Map<String, String> fields) {
+    return new ImportRecord(line, fields, null);
+  }
+
+  /**
+   * Creates a row that could not be parsed.
+   *
+   * @param line The line of the file the row starts on.
+   * @param error Why the row could not be parsed.
+   */
+  public static ImportRecord malformed(long line, String error) {
+    return new ImportRecord(line, Map.of(), error);
+  }
+
+  /** The line of the file the row starts on, counting from 1. */
+  public long line() {
+    return line;
+  }
+
+  /**
+   * Reads a text field.
+   *
+   * @param name The column name.
+   * @return The trimmed value, or null if it is missing or blank.
+   */
+  public String text(String name) {
+    if (error != null) {
+      throw new InvalidRequestException(error);
+    }
+    String value = fields.get(name);
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    return value.strip();
+  }
+
+  /**
+   * Reads a text field that must be present.
+   *
+   * @throws InvalidRequestException if the value is missing or blank.
+   */
+  public String requiredText(String name) {
+    String value = text(name);
+    if (value == null) {
+      throw new InvalidRequestException(name + " is required");
+    }
+    return value;
+  }
+
+  /** Reads a whole number, or null if the value is missing. */
+  public Long longValue(String name) {
+    String value = text(name);
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Long.valueOf(value);
+    } catch (NumberFormatException e) {
+      throw new InvalidRequestException(name + " is not a whole number: " + value);
+    }
+  }
+
+  /** Reads a whole number that must be present. */
+  public long requiredLong(String name) {
+    requiredText(name);
+    return longValue(name);
+  }
+
+  /** Reads an ISO date, e.g. {@code 2026-01-31}, that must be present. */
+  public LocalDate requiredDate(String name) {
+    String value = requiredText(name);
+    try {
+      return LocalDate.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new InvalidRequestException(name + " is not a date (yyyy-MM-dd): " + value);
+    }
+  }
+
+  /** Reads the name of an enum constant, case-insensitively, that must be present. */
+  public <E extends Enum<E>> E requiredEnum(String name, Class<E> type) {
+    String value = requiredText(name);
+    for (E constant : type.getEnumConstants()) {
+      if (constant.name().equalsIgnoreCase(value)) {
+        return constant;
+      }
+    }
+    throw new InvalidRequestException(name + " has an unknown value: " + value);
+  }
+}
@@ -0,0 +1,52 @@
+package tech.yildirim.insurance.dummy.common.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Reads an import file row by row, without holding more than the current row in memory, so files
+ * of any size can be imported.
+ */
+public interface ImportRecordReader extends Closeable {
+
+  /**
+   * Opens a reader for a UTF-8 encoded file.
+   *
+   * @param format The format of the file.
+   * @param input The file content; closed with the reader.
+   * @param objectMapper Parses the lines of an NDJSON file.
+   * @return The reader.
+   * @throws IOException if the header row of a CSV file cannot be read.
+   */
+  static ImportRecordReader open(ImportFormat format, InputStream input, ObjectMapper objectMapper)
+      throws IOException {
+    Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+    return switch (format) {
+      case CSV -> new CsvRecordReader(reader);
+      case NDJSON -> new NdjsonRecordReader(reader, objectMapper);
+    };
+  }
+
+  /**
+   * Checks that the file can provide the given fields at all. Only a CSV header can be checked up
+   * front; for NDJSON, missing properties are reported per row.
+   *
+   * @param names The required column names.
+   * @throws tech.yildirim.insurance.dummy.common.InvalidRequestException if a column is missing.
+   */
+  default void requireColumns(Collection<String> names) {}
+
+  /**
+   * Reads the next row.
+   *
+   * @return The row, or null at the end of the file.
+   * @throws IOException if the file cannot be read.
+   */
+  ImportRecord next() throws IOException;
+}
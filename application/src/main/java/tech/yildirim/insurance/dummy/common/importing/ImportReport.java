@@ -0,0 +1,64 @@
+package tech.yildirim.insurance.dummy.common.importing;
+
+import java.util.ArrayList;
+import java.util.List;
+import tech.yildirim.insurance.api.generated.model.ImportErrorDto;
+import tech.yildirim.insurance.api.generated.model.ImportResultDto;
+
+/**
+ * Counts the rows of an import and collects the errors of the rejected ones. Only the first {@code
+ * maxErrors} errors are kept, so a file that is wrong throughout does not produce a response as
+ * large as itself.
+ */
+public final class ImportReport {
+
+  private final int maxErrors;
+  private final List<ImportErrorDto> errors = new ArrayList<>();
+  private long imported;
+  private long rejected;
+
+  /**
+   * Creates an empty report.
+   *
+   * @param maxErrors The maximum number of errors to list.
+   */
+  public ImportReport(int maxErrors) {
+    this.maxErrors = maxErrors;
+  }
+
+  /** Counts rows that were stored. */
+  public void imported(int count) {
+    imported += count;
+  }
+
+  /**
+   * Counts a rejected row.
+   *
+   * @param line The line the row starts on.
+   * @param message Why it was rejected.
+   */
+  public void rejected(long line, String message) {
+    rejected++;
+    if (errors.size() < maxErrors) {
+      errors.add(new ImportErrorDto().line(line).message(message));
+    }
+  }
+
+  public long getImported() {
+    return imported;
+  }
+
+  public long getRejected() {
+    return rejected;
+  }
+
+  /** The outcome, as returned by the import endpoints. */
+  public ImportResultDto toDto() {
+    return new ImportResultDto()
+        .processed(imported + rejected)
+        .imported(imported)
+        .rejected(rejected)
+        .errors(errors)
+        .errorsTruncated(rejected > errors.size());
+  }
+}
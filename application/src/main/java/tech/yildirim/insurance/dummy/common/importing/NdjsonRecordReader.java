@@ -0,0 +1,82 @@
+package tech.yildirim.insurance.dummy.common.importing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads NDJSON files: one JSON object per line. Nested objects are flattened into dotted names,
+ * e.g. {@code {"address": {"city": "Berlin"}}} into {@code address.city}, so rows look the same as
+ * in a CSV file with such a header. Blank lines are skipped, and a line that is not a JSON object
+ * is reported as a malformed row without affecting the following lines.
+ */
+final class NdjsonRecordReader implements ImportRecordReader {
+
+  private static final int MAX_REPORTED_LINE_LENGTH = 100;
+
+  private final BufferedReader reader;
+  private final ObjectMapper objectMapper;
+  private long line;
+
+  NdjsonRecordReader(Reader reader, ObjectMapper objectMapper) {
+    this.reader = new BufferedReader(reader, 64 * 1024);
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public ImportRecord next() throws IOException {
+    String text;
+    do {
+      text = reader.readLine();
+      line++;
+      if (text == null) {
+        return null;
+      }
+    } while (text.isBlank());
+
+    JsonNode node;
+    try {
+      node = objectMapper.readTree(text);
+    } catch (JsonProcessingException e) {
+      return ImportRecord.malformed(line, "The line is not valid JSON: " + abbreviate(text));
+    }
+    if (!node.isObject()) {
+      return ImportRecord.malformed(line, "The line is not a JSON object: " + abbreviate(text));
+    }
+    Map<String, String> fields = new HashMap<>();
+    flatten("", node, fields);
+    return ImportRecord.of(line, fields);
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private static void flatten(String prefix, JsonNode node, Map<String, String> fields) {
+    node.properties()
+        .forEach(
+            property -> {
+              String name = prefix + property.getKey();
+              JsonNode value = property.getValue();
+              if (value.isObject()) {
+                flatten(name + ".", value, fields);
+              } else if (value.isValueNode() && !value.isNull()) {
+                fields.put(name, value.asText());
+              } else if (value.isArray()) {
+                fields.put(name, value.toString());
+              }
+            });
+  }
+
+  private static String abbreviate(String text) {
+    return text.length() <= MAX_REPORTED_LINE_LENGTH
+        ? text
+        : text.substring(0, MAX_REPORTED_LINE_LENGTH) + "...";
+  }
+}
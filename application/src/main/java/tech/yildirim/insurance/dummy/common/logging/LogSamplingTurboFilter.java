@@ -0,0 +1,61 @@
+package tech.yildirim.insurance.dummy.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.Setter;
+import org.slf4j.Marker;
+
+/**
+ * Logback turbo filter that samples high-volume INFO (and lower) log lines. Only events whose
+ * logger name starts with {@link #loggerPrefix} and whose message pattern starts with {@link
+ * #messagePrefix} are sampled; of those, one out of every {@link #sampleRate} is kept per logger.
+ * Every other event, as well as anything at WARN or above, passes through untouched.
+ *
+ * <p>The decision is taken before Logback creates the logging event, so dropped lines cost neither
+ * message formatting nor a slot in the async queue.
+ */
+@Getter
+@Setter
+public class LogSamplingTurboFilter extends TurboFilter {
+
+  private String loggerPrefix = "";
+  private String messagePrefix;
+  private int sampleRate = 1;
+
+  private final Map<String, AtomicLong> countersByLogger = new ConcurrentHashMap<>();
+
+  @Override
+  public void start() {
+    if (messagePrefix == null || messagePrefix.isEmpty()) {
+      addError("No messagePrefix set for sampling filter " + getName());
+      return;
+    }
+    if (sampleRate < 1) {
+      addError("sampleRate must be at least 1 but was " + sampleRate);
+      return;
+    }
+    super.start();
+  }
+
+  @Override
+  public FilterReply decide(
+      Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+    if (!isStarted()
+        || sampleRate == 1
+        || format == null
+        || level.isGreaterOrEqual(Level.WARN)
+        || !format.startsWith(messagePrefix)
+        || !logger.getName().startsWith(loggerPrefix)) {
+      return FilterReply.NEUTRAL;
+    }
+    long sequence =
+        countersByLogger.computeIfAbsent(logger.getName(), name -> new AtomicLong()).getAndIncrement();
+    return sequence % sampleRate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+  }
+}
@@ -0,0 +1,32 @@
+package tech.yildirim.insurance.dummy.common.scheduling;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.ZonedDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The lease of a scheduled job. The node whose {@link #owner} is stored may run the job until
+ * {@link #lockedUntil}; after that any node may take the lease over.
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+  @Id
+  @Column(length = 64)
+  private String name;
+
+  @Column(nullable = false)
+  private String owner;
+
+  @Column(nullable = false)
+  private ZonedDateTime lockedUntil;
+}
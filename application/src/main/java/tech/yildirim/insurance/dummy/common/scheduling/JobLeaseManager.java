@@ -0,0 +1,76 @@
+package tech.yildirim.insurance.dummy.common.scheduling;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Grants time-limited, database-backed leases so that a scheduled job runs on a single node at a
+ * time. A lease that is not released (e.g. because the node died) expires after its duration and
+ * can then be taken over by another node.
+ */
+@Component
+@Slf4j
+public class JobLeaseManager {
+
+  private final JobLeaseRepository jobLeaseRepository;
+
+  /** Identifies this node, e.g. {@code 4711@host-1/3f2a9c1e}. */
+  @Getter private final String owner;
+
+  @Autowired
+  public JobLeaseManager(JobLeaseRepository jobLeaseRepository) {
+    this(
+        jobLeaseRepository,
+        ManagementFactory.getRuntimeMXBean().getName()
+            + "/"
+            + UUID.randomUUID().toString().substring(0, 8));
+  }
+
+  JobLeaseManager(JobLeaseRepository jobLeaseRepository, String owner) {
+    this.jobLeaseRepository = jobLeaseRepository;
+    this.owner = owner;
+  }
+
+  /**
+   * Acquires or renews the lease of a job.
+   *
+   * @param name The name of the job.
+   * @param duration How long the lease is held unless it is renewed or released.
+   * @return true if this node holds the lease for the given duration, false if another node does.
+   */
+  public boolean tryAcquire(String name, Duration duration) {
+    ZonedDateTime now = ZonedDateTime.now();
+    if (jobLeaseRepository.takeOver(name, owner, now, now.plus(duration)) == 1) {
+      return true;
+    }
+    if (jobLeaseRepository.existsById(name)) {
+      log.debug("Lease {} is held by another node", name);
+      return false;
+    }
+    try {
+      jobLeaseRepository.saveAndFlush(new JobLease(name, owner, now.plus(duration)));
+      return true;
+    } catch (DataIntegrityViolationException e) {
+      log.debug("Lease {} was created concurrently by another node", name);
+      return false;
+    }
+  }
+
+  /**
+   * Releases the lease of a job so that the next run does not have to wait for it to expire.
+   *
+   * @param name The name of the job.
+   */
+  public void release(String name) {
+    if (jobLeaseRepository.release(name, owner, ZonedDateTime.now()) == 0) {
+      log.warn("Lease {} was no longer held by {} when releasing it", name, owner);
+    }
+  }
+}
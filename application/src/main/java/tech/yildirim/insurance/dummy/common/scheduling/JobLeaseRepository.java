@@ -0,0 +1,52 @@
+package tech.yildirim.insurance.dummy.common.scheduling;
+
+import java.time.ZonedDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Spring Data JPA repository for the {@link JobLease} entity. */
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+  /**
+   * Takes the lease over if it has expired, or renews it if the owner already holds it. The check
+   * and the update are a single statement, so two nodes can never both succeed.
+   *
+   * @param name The name of the job.
+   * @param owner The ID of the node that wants the lease.
+   * @param now The current time.
+   * @param lockedUntil The new end of the lease.
+   * @return 1 if the owner holds the lease now, 0 otherwise.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE JobLease l SET l.owner = :owner, l.lockedUntil = :lockedUntil"
+          + " WHERE l.name = :name AND (l.lockedUntil < :now OR l.owner = :owner)")
+  int takeOver(
+      @Param("name") String name,
+      @Param("owner") String owner,
+      @Param("now") ZonedDateTime now,
+      @Param("lockedUntil") ZonedDateTime lockedUntil);
+
+  /**
+   * Ends the lease early if the owner holds it.
+   *
+   * @param name The name of the job.
+   * @param owner The ID of the node that holds the lease.
+   * @param now The current time, stored as the new end of the lease.
+   * @return 1 if the lease was released, 0 if the owner did not hold it.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE JobLease l SET l.lockedUntil = :now WHERE l.name = :name AND l.owner = :owner")
+  int release(
+      @Param("name") String name,
+      @Param("owner") String owner,
+      @Param("now") ZonedDateTime now);
+}
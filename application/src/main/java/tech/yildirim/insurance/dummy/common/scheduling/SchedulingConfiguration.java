@@ -0,0 +1,12 @@
+package tech.yildirim.insurance.dummy.common.scheduling;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} jobs. Jobs that must not run on several nodes at once guard their work
+ * with a {@link JobLeaseManager} lease.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {}
@@ -12,7 +12,7 @@ import lombok.NoArgsConstructor;
  * A standardized error response structure for the API.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
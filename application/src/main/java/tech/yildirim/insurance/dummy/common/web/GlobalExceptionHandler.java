@@ -1,6 +1,9 @@
 package tech.yildirim.insurance.dummy.common.web;
 
+import jakarta.validation.ConstraintViolationException;
 import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +14,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import tech.yildirim.insurance.dummy.common.BusinessException;
 import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
 
 /** Centralized exception handling for all @RestController instances. */
@@ -18,6 +22,9 @@ import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
 @Slf4j
 public class GlobalExceptionHandler {
 
+  /** Status and reason phrase of the error responses for business exceptions, built once. */
+  private static final Map<HttpStatus, ErrorResponse> ERROR_TEMPLATES = buildErrorTemplates();
+
   /**
    * Handles validation errors (@Valid).
    *
@@ -48,24 +55,58 @@ public class GlobalExceptionHandler {
   }
 
   /**
-   * Handles ResourceNotFound errors.
+   * Handles violated constraints of path and query parameters, e.g. a value above its maximum.
    *
-   * @return A response entity with a 404 status and structured error message.
+   * @return A response entity with a structured error message, keyed by parameter name.
    */
-  @ExceptionHandler(ResourceNotFoundException.class)
-  public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
-      ResourceNotFoundException ex, WebRequest request) {
+  @ExceptionHandler(ConstraintViolationException.class)
+  public ResponseEntity<ErrorResponse> handleConstraintViolations(
+      ConstraintViolationException ex, WebRequest request) {
+    Map<String, String> errors = new HashMap<>();
+    ex.getConstraintViolations()
+        .forEach(
+            violation -> {
+              // The property path is "<method>.<parameter>"
+              String path = violation.getPropertyPath().toString();
+              errors.put(path.substring(path.lastIndexOf('.') + 1), violation.getMessage());
+            });
+
     String requestPath = request.getDescription(false).replace("uri=", "");
-    log.warn("ResourceNotFoundException for path '{}': {}", requestPath, ex.getMessage());
+    log.warn("Validation failed for request path: '{}'. Details: {}", requestPath, errors);
+
     return new ResponseEntity<>(
         ErrorResponse.builder()
             .timestamp(ZonedDateTime.now())
-            .status(HttpStatus.NOT_FOUND.value())
-            .error(HttpStatus.NOT_FOUND.getReasonPhrase())
+            .status(HttpStatus.BAD_REQUEST.value())
+            .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+            .message("Validation failed for requests.")
+            .details(errors)
+            .path(requestPath)
+            .build(),
+        HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles all {@link BusinessException}s, including {@link ResourceNotFoundException}. These are
+   * expected outcomes on hot paths (unknown ids, rule violations), so the response is derived from
+   * a pre-built template for the exception's status and the event is only logged at debug level.
+   *
+   * @return A response entity with the exception's status and structured error message.
+   */
+  @ExceptionHandler(BusinessException.class)
+  public ResponseEntity<ErrorResponse> handleBusinessException(
+      BusinessException ex, WebRequest request) {
+    String requestPath = request.getDescription(false).replace("uri=", "");
+    log.debug(
+        "{} for path '{}': {}", ex.getClass().getSimpleName(), requestPath, ex.getMessage());
+    return new ResponseEntity<>(
+        errorTemplateFor(ex.getStatus())
+            .toBuilder()
+            .timestamp(ZonedDateTime.now())
             .message(ex.getMessage())
             .path(requestPath)
             .build(),
-        HttpStatus.NOT_FOUND);
+        ex.getStatus());
   }
 
   /**
@@ -90,6 +131,11 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
   }
 
+  /**
+   * Handles illegal argument and state errors that are not modelled as a {@link BusinessException}.
+   *
+   * @return A response entity with a 400 Bad Request status.
+   */
   @ExceptionHandler({IllegalArgumentException.class, IllegalStateException.class})
   public ResponseEntity<ErrorResponse> handleIllegalExceptions(
       RuntimeException ex, WebRequest request) {
@@ -106,4 +152,18 @@ public class GlobalExceptionHandler {
 
     return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
   }
+
+  private static ErrorResponse errorTemplateFor(HttpStatus status) {
+    return ERROR_TEMPLATES.get(status);
+  }
+
+  private static Map<HttpStatus, ErrorResponse> buildErrorTemplates() {
+    Map<HttpStatus, ErrorResponse> templates = new EnumMap<>(HttpStatus.class);
+    for (HttpStatus status : HttpStatus.values()) {
+      templates.put(
+          status,
+          ErrorResponse.builder().status(status.value()).error(status.getReasonPhrase()).build());
+    }
+    return Collections.unmodifiableMap(templates);
+  }
 }
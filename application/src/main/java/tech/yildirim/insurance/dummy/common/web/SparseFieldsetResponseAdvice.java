@@ -0,0 +1,183 @@
+package tech.yildirim.insurance.dummy.common.web;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import tech.yildirim.insurance.api.generated.model.ClaimDto;
+import tech.yildirim.insurance.api.generated.model.PolicyDto;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+
+/**
+ * Applies the {@code fields} query parameter (sparse fieldset) to policy and claim responses. The
+ * body is converted to a JSON tree and every property that was not requested is removed, so the
+ * narrowing works the same for JSON and CBOR. The {@code id} and the {@code claimType}
+ * discriminator are always kept. Unknown property names are rejected with 400 Bad Request.
+ *
+ * <p>The known property names come from the type the endpoint declares, not from the returned
+ * data, so a request is accepted or rejected the same way however many claims of which type are
+ * returned. For an endpoint that returns {@link ClaimDto}, the properties of all claim types are
+ * known.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class SparseFieldsetResponseAdvice implements ResponseBodyAdvice<Object> {
+
+  private static final String FIELDS_PARAMETER = "fields";
+  private static final Set<String> ALWAYS_INCLUDED = Set.of("id", "claimType");
+  private static final List<Class<?>> SPARSE_TYPES = List.of(PolicyDto.class, ClaimDto.class);
+
+  private final ObjectMapper objectMapper;
+  private final Map<Class<?>, Set<String>> propertiesByType = new ConcurrentHashMap<>();
+
+  @Override
+  public boolean supports(
+      MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+  }
+
+  @Override
+  public Object beforeBodyWrite(
+      Object body,
+      MethodParameter returnType,
+      MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request,
+      ServerHttpResponse response) {
+    if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+      return body;
+    }
+    String[] values = servletRequest.getServletRequest().getParameterValues(FIELDS_PARAMETER);
+    Class<?> elementType = sparseElementType(returnType);
+    if (values == null || body == null || elementType == null) {
+      return body;
+    }
+    Set<String> fields = parseFields(values);
+    if (fields.isEmpty()) {
+      return body;
+    }
+    rejectUnknownFields(fields, elementType);
+
+    Set<String> retained = new LinkedHashSet<>(fields);
+    retained.addAll(ALWAYS_INCLUDED);
+    JsonNode tree = toTree(body, elementType);
+    if (tree.isArray()) {
+      tree.forEach(element -> retain(element, retained));
+    } else {
+      retain(tree, retained);
+    }
+    return tree;
+  }
+
+  /**
+   * Converts the body to a tree using its element type, so that polymorphic DTOs inside a list
+   * keep their {@code claimType} type id like they would in a regular response.
+   */
+  private JsonNode toTree(Object body, Class<?> elementType) {
+    JavaType type =
+        body instanceof Collection<?>
+            ? objectMapper.getTypeFactory().constructCollectionType(List.class, elementType)
+            : objectMapper.constructType(elementType);
+    try (TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+      objectMapper.writerFor(type).writeValue(buffer, body);
+      return objectMapper.readTree(buffer.asParser());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not apply sparse fieldset to " + elementType, e);
+    }
+  }
+
+  /**
+   * Returns the DTO type the endpoint declares, unwrapped from {@link HttpEntity} and {@link
+   * Collection}, or {@code null} if it is not a policy or claim type.
+   */
+  private static Class<?> sparseElementType(MethodParameter returnType) {
+    ResolvableType type = ResolvableType.forMethodParameter(returnType);
+    if (HttpEntity.class.isAssignableFrom(type.toClass())) {
+      type = type.as(HttpEntity.class).getGeneric(0);
+    }
+    if (Collection.class.isAssignableFrom(type.toClass())) {
+      type = type.asCollection().getGeneric(0);
+    }
+    Class<?> declared = type.resolve();
+    if (declared == null) {
+      return null;
+    }
+    return SPARSE_TYPES.stream().anyMatch(sparse -> sparse.isAssignableFrom(declared))
+        ? declared
+        : null;
+  }
+
+  private static Set<String> parseFields(String[] values) {
+    return Arrays.stream(values)
+        .flatMap(value -> Arrays.stream(value.split(",")))
+        .map(String::trim)
+        .filter(field -> !field.isEmpty())
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  private void rejectUnknownFields(Set<String> fields, Class<?> elementType) {
+    Set<String> known = propertiesByType.computeIfAbsent(elementType, this::propertiesOf);
+    Set<String> unknown = new TreeSet<>(fields);
+    unknown.removeAll(known);
+    if (!unknown.isEmpty()) {
+      throw new InvalidRequestException(
+          "Unknown fields " + unknown + ". Available fields are " + new TreeSet<>(known));
+    }
+  }
+
+  /** Returns the properties of the type and of the subtypes it declares for Jackson. */
+  private Set<String> propertiesOf(Class<?> type) {
+    Set<String> properties = new LinkedHashSet<>(beanPropertiesOf(type));
+    JsonSubTypes subTypes = type.getDeclaredAnnotation(JsonSubTypes.class);
+    if (subTypes != null) {
+      for (JsonSubTypes.Type subType : subTypes.value()) {
+        if (type.isAssignableFrom(subType.value())) {
+          properties.addAll(beanPropertiesOf(subType.value()));
+        }
+      }
+    }
+    return Set.copyOf(properties);
+  }
+
+  private Set<String> beanPropertiesOf(Class<?> type) {
+    return objectMapper
+        .getSerializationConfig()
+        .introspect(objectMapper.constructType(type))
+        .findProperties()
+        .stream()
+        .map(BeanPropertyDefinition::getName)
+        .collect(Collectors.toUnmodifiableSet());
+  }
+
+  private static void retain(JsonNode node, Set<String> fields) {
+    if (node instanceof ObjectNode objectNode) {
+      objectNode.retain(fields);
+    }
+  }
+}
@@ -6,6 +6,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
@@ -17,7 +20,13 @@ import org.hibernate.annotations.UpdateTimestamp;
 import tech.yildirim.insurance.dummy.common.Address;
 
 @Entity
-@Table(name = "customers")
+@Table(
+    name = "customers",
+    indexes = {
+      @Index(name = "idx_customers_email", columnList = "email"),
+      @Index(name = "idx_customers_email_hash", columnList = "email_hash"),
+      @Index(name = "idx_customers_updated_at", columnList = "updated_at, id")
+    })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,6 +53,9 @@ public class Customer {
   @Column(nullable = false)
   private String email;
 
+  /** The hash of the normalised email, see {@link CustomerEmail}; kept in step with the email. */
+  private Long emailHash;
+
   @CreationTimestamp
   @Column(nullable = false, updatable = false)
   private ZonedDateTime createdAt;
@@ -51,4 +63,10 @@ public class Customer {
   @UpdateTimestamp
   @Column(nullable = false)
   private ZonedDateTime updatedAt;
+
+  @PrePersist
+  @PreUpdate
+  void hashEmail() {
+    emailHash = CustomerEmail.hash(email);
+  }
 }
@@ -1,14 +1,24 @@
 package tech.yildirim.insurance.dummy.customer;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 import tech.yildirim.insurance.api.generated.controller.CustomersApi;
+import tech.yildirim.insurance.api.generated.model.CustomerDeltaDto;
 import tech.yildirim.insurance.api.generated.model.CustomerDto;
+import tech.yildirim.insurance.api.generated.model.CustomerOverviewDto;
+import tech.yildirim.insurance.api.generated.model.ImportResultDto;
 import tech.yildirim.insurance.api.generated.model.PolicyDto;
+import tech.yildirim.insurance.dummy.common.concurrent.SingleFlight;
+import tech.yildirim.insurance.dummy.common.importing.ImportFormat;
+import tech.yildirim.insurance.dummy.customer.importing.CustomerImportService;
 import tech.yildirim.insurance.dummy.policy.PolicyService;
 
 /**
@@ -22,6 +32,8 @@ public class CustomerController implements CustomersApi {
 
   private final CustomerService customerService;
   private final PolicyService policyService;
+  private final SingleFlight singleFlight;
+  private final CustomerImportService customerImportService;
 
   @Override
   public ResponseEntity<CustomerDto> createCustomer(CustomerDto customerDto) {
@@ -62,8 +74,8 @@ public class CustomerController implements CustomersApi {
   @Override
   public ResponseEntity<CustomerDto> getCustomerById(Long id) {
     log.info("REST request to get customer by id: {}", id);
-    return customerService
-        .findCustomerById(id)
+    return singleFlight
+        .load("customer", id, () -> customerService.findCustomerById(id))
         .map(
             customer -> {
               log.info("Found customer with id: {}, returning HTTP 200 OK", id);
@@ -76,6 +88,19 @@ public class CustomerController implements CustomersApi {
             });
   }
 
+  @Override
+  public ResponseEntity<CustomerOverviewDto> getCustomerOverview(Long id) {
+    log.info("REST request to get the overview of customer with id: {}", id);
+    return customerService
+        .getCustomerOverview(id)
+        .map(ResponseEntity::ok)
+        .orElseGet(
+            () -> {
+              log.warn("Customer with id: {} not found, returning HTTP 404 NOT FOUND", id);
+              return ResponseEntity.notFound().build();
+            });
+  }
+
   @Override
   public ResponseEntity<CustomerDto> getCustomerByPolicyNumber(String policyNumber) {
     log.info("REST request to get customer by policy number: {}", policyNumber);
@@ -109,10 +134,35 @@ public class CustomerController implements CustomersApi {
   }
 
   @Override
-  public ResponseEntity<List<PolicyDto>> getPoliciesByCustomerId(Long id) {
+  public ResponseEntity<List<PolicyDto>> getPoliciesByCustomerId(Long id, List<String> fields) {
     log.info("REST request to get policies for customer with id: {}", id);
-    List<PolicyDto> policies = policyService.findPoliciesByCustomerId(id);
+    List<PolicyDto> policies = policyService.findPoliciesByCustomerId(id, fields);
     log.debug("Found {} policies for customer with id: {}", policies.size(), id);
     return ResponseEntity.ok(policies);
   }
+
+  @Override
+  public ResponseEntity<CustomerDeltaDto> getCustomerDelta(
+      OffsetDateTime updatedSince, String cursor, Integer limit) {
+    log.info("REST request to read the customer delta");
+    CustomerDeltaDto delta = customerService.getCustomerDelta(updatedSince, cursor, limit);
+    log.debug(
+        "Returning {} customers, more available: {}", delta.getItems().size(), delta.getHasMore());
+    return ResponseEntity.ok(delta);
+  }
+
+  @Override
+  public ResponseEntity<ImportResultDto> importCustomers(MultipartFile file, String format) {
+    log.info(
+        "REST request to import customers from {} ({} bytes)",
+        file.getOriginalFilename(),
+        file.getSize());
+    ImportFormat importFormat = ImportFormat.of(format);
+    try {
+      return ResponseEntity.ok(
+          customerImportService.importCustomers(importFormat, file.getInputStream()));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read the uploaded file", e);
+    }
+  }
 }
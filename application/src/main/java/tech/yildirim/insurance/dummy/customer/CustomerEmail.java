@@ -0,0 +1,41 @@
+package tech.yildirim.insurance.dummy.customer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import tech.yildirim.insurance.dummy.common.Hashes;
+
+/**
+ * Normalises and hashes customer emails. Two spellings of the same address, e.g. {@code
+ * " Jane.Doe@Example.com"} and {@code "jane.doe@example.com"}, have the same normalised form and
+ * the same hash.
+ */
+public final class CustomerEmail {
+
+  private CustomerEmail() {}
+
+  /**
+   * Normalises an email by removing the surrounding whitespace and converting it to lower case.
+   *
+   * @param email The email as entered.
+   * @return The normalised email, or null if the email is null.
+   */
+  public static String normalise(String email) {
+    return email == null ? null : email.strip().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Computes the hash of an email that is stored in {@code customers.email_hash}: the first eight
+   * bytes of the SHA-256 hash of the normalised email.
+   *
+   * @param email The email, normalised or not.
+   * @return The hash, or null if the email is null.
+   */
+  public static Long hash(String email) {
+    if (email == null) {
+      return null;
+    }
+    byte[] digest = Hashes.sha256(normalise(email).getBytes(StandardCharsets.UTF_8));
+    return ByteBuffer.wrap(digest).getLong();
+  }
+}
@@ -0,0 +1,66 @@
+package tech.yildirim.insurance.dummy.customer;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hashes the emails of the customers that were stored before {@code customers.email_hash} existed.
+ * Customers saved since then are hashed by {@link Customer} itself, and imported ones by the
+ * import.
+ */
+@Component
+@Slf4j
+public class CustomerEmailHashBackfill {
+
+  private static final int CHUNK_SIZE = 1000;
+
+  private static final String SELECT_UNHASHED =
+      "SELECT id, email FROM customers WHERE email_hash IS NULL AND id > ?"
+          + " ORDER BY id FETCH FIRST " + CHUNK_SIZE + " ROWS ONLY";
+
+  /** A customer updated meanwhile already has the hash of its new email. */
+  private static final String UPDATE_HASH =
+      "UPDATE customers SET email_hash = ? WHERE id = ? AND email_hash IS NULL";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  public CustomerEmailHashBackfill(
+      JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /** Hashes the emails of the customers without a hash, one chunk per transaction. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfill() {
+    long lastId = 0;
+    int hashed = 0;
+    while (true) {
+      List<Object[]> hashes = new ArrayList<>(CHUNK_SIZE);
+      jdbcTemplate.query(
+          SELECT_UNHASHED,
+          rs -> {
+            hashes.add(new Object[] {CustomerEmail.hash(rs.getString(2)), rs.getLong(1)});
+          },
+          lastId);
+      if (hashes.isEmpty()) {
+        break;
+      }
+      transactionTemplate.executeWithoutResult(
+          status -> jdbcTemplate.batchUpdate(UPDATE_HASH, hashes));
+      hashed += hashes.size();
+      lastId = (long) hashes.getLast()[1];
+    }
+    if (hashed > 0) {
+      log.info("Hashed the emails of {} customers", hashed);
+    }
+  }
+}
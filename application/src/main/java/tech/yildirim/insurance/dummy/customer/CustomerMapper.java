@@ -36,6 +36,7 @@ public interface CustomerMapper {
   @Mapping(target = "id", ignore = true)
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
+  @Mapping(target = "emailHash", ignore = true)
   Customer toEntity(CustomerDto customerDto);
 
   /**
@@ -56,5 +57,6 @@ public interface CustomerMapper {
   @Mapping(target = "id", ignore = true)
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
+  @Mapping(target = "emailHash", ignore = true)
   void updateCustomerFromDto(CustomerDto dto, @MappingTarget Customer entity);
 }
@@ -1,6 +1,10 @@
 package tech.yildirim.insurance.dummy.customer;
 
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,4 +24,44 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
   @Query(
       "SELECT c FROM Customer c WHERE LOWER(c.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR LOWER(c.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
   List<Customer> searchByName(@Param("name") String name);
+
+  /** The customer properties a premium is rated from, see {@link #findRatingProfiles}. */
+  interface RatingProfile {
+
+    Long getId();
+
+    LocalDate getDateOfBirth();
+
+    String getPostalCode();
+  }
+
+  /**
+   * Reads the rating properties of several customers at once, without loading the customers.
+   *
+   * @param ids The IDs of the customers.
+   * @return One profile per customer that exists.
+   */
+  @Query(
+      "SELECT c.id AS id, c.dateOfBirth AS dateOfBirth, c.address.postalCode AS postalCode"
+          + " FROM Customer c WHERE c.id IN :ids")
+  List<RatingProfile> findRatingProfiles(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Reads the customers changed after a keyset position of a delta, over the update time index.
+   *
+   * @param since The update time of the last customer read.
+   * @param afterId The id of that customer, 0 to include all customers updated at {@code since}.
+   * @param until The exclusive upper bound of the update time, see {@link
+   *     tech.yildirim.insurance.dummy.common.delta.DeltaWindow}.
+   * @param limit The maximum number of customers.
+   * @return The customers ordered by update time and id.
+   */
+  @Query(
+      "SELECT c FROM Customer c WHERE c.updatedAt >= :since AND c.updatedAt < :until"
+          + " AND (c.updatedAt > :since OR c.id > :afterId) ORDER BY c.updatedAt, c.id")
+  List<Customer> findUpdatedAfter(
+      @Param("since") ZonedDateTime since,
+      @Param("afterId") long afterId,
+      @Param("until") ZonedDateTime until,
+      Limit limit);
 }
@@ -1,8 +1,12 @@
 package tech.yildirim.insurance.dummy.customer;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
+import tech.yildirim.insurance.api.generated.model.CustomerDeltaDto;
 import tech.yildirim.insurance.api.generated.model.CustomerDto;
+import tech.yildirim.insurance.api.generated.model.CustomerOverviewDto;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
 
 /**
  * Service Interface for managing {@link Customer}. Defines the business operations for the customer
@@ -41,6 +45,15 @@ public interface CustomerService {
    */
   Optional<CustomerDto> findCustomerByPolicyNumber(String policyNumber);
 
+  /**
+   * Builds the overview of a customer: the customer, all of their policies and all claims on those
+   * policies. Uses at most three queries, independent of the number of policies.
+   *
+   * @param id The ID of the customer.
+   * @return An Optional containing the overview, or empty if the customer does not exist.
+   */
+  Optional<CustomerOverviewDto> getCustomerOverview(Long id);
+
   /**
    * Create a new customer.
    *
@@ -64,4 +77,16 @@ public interface CustomerService {
    * @param id The ID of the customer to delete.
    */
   boolean deleteCustomerById(Long id);
+
+  /**
+   * Reads a page of the customer delta: the customers changed or deleted after the cursor position.
+   *
+   * @param updatedSince Where a new sync starts, may be null.
+   * @param cursor The encoded cursor of the previous page, may be null.
+   * @param limit The maximum number of customers.
+   * @return The page and the cursor to continue with.
+   * @throws InvalidRequestException if both {@code updatedSince} and a cursor, or a malformed
+   *     cursor, are given.
+   */
+  CustomerDeltaDto getCustomerDelta(OffsetDateTime updatedSince, String cursor, int limit);
 }
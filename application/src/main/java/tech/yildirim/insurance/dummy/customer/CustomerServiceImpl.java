@@ -1,12 +1,30 @@
 package tech.yildirim.insurance.dummy.customer;
 
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tech.yildirim.insurance.api.generated.model.ClaimDto;
+import tech.yildirim.insurance.api.generated.model.CustomerDeltaDto;
 import tech.yildirim.insurance.api.generated.model.CustomerDto;
+import tech.yildirim.insurance.api.generated.model.CustomerOverviewDto;
+import tech.yildirim.insurance.api.generated.model.PolicyOverviewDto;
+import tech.yildirim.insurance.dummy.claim.ClaimService;
+import tech.yildirim.insurance.dummy.common.delta.DeltaCursor;
+import tech.yildirim.insurance.dummy.common.delta.DeltaPage;
+import tech.yildirim.insurance.dummy.common.delta.DeltaWindow;
+import tech.yildirim.insurance.dummy.common.delta.Tombstone;
+import tech.yildirim.insurance.dummy.common.delta.TombstoneRepository;
+import tech.yildirim.insurance.dummy.common.delta.TombstoneType;
+import tech.yildirim.insurance.dummy.common.delta.TombstoneWriter;
+import tech.yildirim.insurance.dummy.policy.Policy;
+import tech.yildirim.insurance.dummy.policy.PolicyMapper;
 import tech.yildirim.insurance.dummy.policy.PolicyRepository;
 
 /**
@@ -21,6 +39,11 @@ public class CustomerServiceImpl implements CustomerService {
   private final CustomerRepository customerRepository;
   private final CustomerMapper customerMapper;
   private final PolicyRepository policyRepository;
+  private final PolicyMapper policyMapper;
+  private final ClaimService claimService;
+  private final TombstoneWriter tombstoneWriter;
+  private final TombstoneRepository tombstoneRepository;
+  private final DeltaWindow deltaWindow;
 
   @Override
   public List<CustomerDto> findAllCustomers() {
@@ -54,6 +77,34 @@ public class CustomerServiceImpl implements CustomerService {
         .map(policy -> customerMapper.toDto(policy.getCustomer()));
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<CustomerOverviewDto> getCustomerOverview(Long id) {
+    log.info("Request to build the overview of customer with id: {}", id);
+    Optional<Customer> customer = customerRepository.findById(id);
+    if (customer.isEmpty()) {
+      log.warn("Customer with id: {} not found. Cannot build the overview.", id);
+      return Optional.empty();
+    }
+    List<Policy> policies = policyRepository.findByCustomerId(id);
+    Map<Long, List<ClaimDto>> claimsByPolicyId =
+        claimService.findClaimsByPolicyIds(policies.stream().map(Policy::getId).toList());
+
+    List<PolicyOverviewDto> policyOverviews =
+        policies.stream()
+            .map(
+                policy ->
+                    new PolicyOverviewDto()
+                        .policy(policyMapper.toDto(policy))
+                        .claims(claimsByPolicyId.getOrDefault(policy.getId(), List.of())))
+            .toList();
+    log.info("Built overview of customer {} with {} policies", id, policyOverviews.size());
+    return Optional.of(
+        new CustomerOverviewDto()
+            .customer(customerMapper.toDto(customer.get()))
+            .policies(policyOverviews));
+  }
+
   @Override
   @Transactional
   public CustomerDto createCustomer(CustomerDto customerDto) {
@@ -92,7 +143,47 @@ public class CustomerServiceImpl implements CustomerService {
       return false;
     }
     customerRepository.deleteById(id);
+    tombstoneWriter.record(TombstoneType.CUSTOMER, id);
     log.info("Successfully deleted customer with id: {}", id);
     return true;
   }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CustomerDeltaDto getCustomerDelta(OffsetDateTime updatedSince, String cursor, int limit) {
+    DeltaCursor position = DeltaCursor.start(cursor, updatedSince);
+    log.info("Request to read the customer delta after {}", position);
+    ZonedDateTime until = deltaWindow.settledUntil();
+    DeltaPage<Customer> page =
+        DeltaPage.of(
+            customerRepository.findUpdatedAfter(
+                position.updatedAt(), position.id(), until, Limit.of(limit + 1)),
+            limit);
+    Customer last = page.last();
+    if (last != null) {
+      position = position.afterUpdate(last.getUpdatedAt(), last.getId());
+    }
+    DeltaPage<Tombstone> deletions =
+        DeltaPage.of(
+            tombstoneRepository.findDeletedAfter(
+                TombstoneType.CUSTOMER,
+                position.deletedAt(),
+                position.deletionId(),
+                until,
+                Limit.of(limit + 1)),
+            limit);
+    Tombstone lastDeletion = deletions.last();
+    if (lastDeletion != null) {
+      position = position.afterDeletion(lastDeletion.getDeletedAt(), lastDeletion.getId());
+    }
+    log.info(
+        "Found {} changed and {} deleted customers",
+        page.rows().size(),
+        deletions.rows().size());
+    return new CustomerDeltaDto()
+        .items(customerMapper.toDtoList(page.rows()))
+        .deletedIds(deletions.rows().stream().map(Tombstone::getEntityId).toList())
+        .nextCursor(position.encode())
+        .hasMore(page.hasMore() || deletions.hasMore());
+  }
 }
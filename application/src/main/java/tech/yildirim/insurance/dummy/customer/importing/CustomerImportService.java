@@ -0,0 +1,23 @@
+package tech.yildirim.insurance.dummy.customer.importing;
+
+import java.io.InputStream;
+import tech.yildirim.insurance.api.generated.model.ImportResultDto;
+import tech.yildirim.insurance.dummy.common.importing.ImportFormat;
+
+/** Service Interface for creating customers in bulk from an import file. */
+public interface CustomerImportService {
+
+  /**
+   * Imports the customers of a file. Emails are normalised, and a row is skipped and reported if
+   * its email belongs to an existing customer or to an earlier row of the file, just like a row
+   * with a missing or malformed field. The valid rows are stored in one transaction per chunk, so
+   * the chunks written before a failure stay imported.
+   *
+   * @param format The format of the file.
+   * @param input The UTF-8 encoded file content; it is closed when the import ends.
+   * @return How many rows were imported, and why the others were rejected.
+   * @throws tech.yildirim.insurance.dummy.common.InvalidRequestException if a CSV file lacks a
+   *     required column.
+   */
+  ImportResultDto importCustomers(ImportFormat format, InputStream input);
+}
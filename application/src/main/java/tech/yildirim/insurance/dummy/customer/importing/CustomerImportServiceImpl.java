@@ -0,0 +1,240 @@
+package tech.yildirim.insurance.dummy.customer.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.yildirim.insurance.api.generated.model.ImportResultDto;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+import tech.yildirim.insurance.dummy.common.importing.ImportFormat;
+import tech.yildirim.insurance.dummy.common.importing.ImportRecord;
+import tech.yildirim.insurance.dummy.common.importing.ImportRecordReader;
+import tech.yildirim.insurance.dummy.common.importing.ImportReport;
+import tech.yildirim.insurance.dummy.customer.CustomerEmail;
+
+/**
+ * Implementation of the {@link CustomerImportService} interface.
+ *
+ * <p>The file is read as a stream in chunks of {@code chunk-size} rows. Per chunk, the emails are
+ * normalised and hashed, and the customers that already use one of them are looked up with one
+ * {@code IN} query on the indexed {@code customers.email_hash} column. As the earlier chunks are
+ * committed by then, this also finds the duplicates of rows in earlier chunks; the duplicates
+ * within the chunk are found in memory. The valid rows are written with a batched JDBC insert. Every chunk
+ * is committed in its own transaction and stamped with the time it is written, so the customers of
+ * a long import still show up in {@code GET /customers/delta}.
+ */
+@Service
+@Slf4j
+public class CustomerImportServiceImpl implements CustomerImportService {
+
+  static final List<String> REQUIRED_COLUMNS =
+      List.of("firstName", "lastName", "dateOfBirth", "email");
+
+  /** The length of the text columns of the customers table. */
+  private static final int MAX_TEXT_LENGTH = 255;
+
+  private static final String SELECT_BY_EMAIL_HASH =
+      "SELECT id, email FROM customers WHERE email_hash IN (:hashes)";
+
+  private static final String INSERT_CUSTOMER =
+      "INSERT INTO customers (first_name, last_name, date_of_birth, street_and_house_number,"
+          + " postal_code, city, country, email, email_hash, created_at, updated_at)"
+          + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+  private static final int[] INSERT_CUSTOMER_TYPES = {
+    Types.VARCHAR,
+    Types.VARCHAR,
+    Types.DATE,
+    Types.VARCHAR,
+    Types.VARCHAR,
+    Types.VARCHAR,
+    Types.VARCHAR,
+    Types.VARCHAR,
+    Types.BIGINT,
+    Types.TIMESTAMP_WITH_TIMEZONE,
+    Types.TIMESTAMP_WITH_TIMEZONE
+  };
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final int chunkSize;
+  private final int maxReportedErrors;
+
+  public CustomerImportServiceImpl(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper,
+      @Value("${insurance.customer.import.chunk-size:1000}") int chunkSize,
+      @Value("${insurance.customer.import.max-reported-errors:1000}") int maxReportedErrors) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.objectMapper = objectMapper;
+    this.chunkSize = chunkSize;
+    this.maxReportedErrors = maxReportedErrors;
+  }
+
+  /** A row of the file that passed the field checks, with its normalised email. */
+  private record CustomerRow(
+      String firstName,
+      String lastName,
+      LocalDate dateOfBirth,
+      String streetAndHouseNumber,
+      String postalCode,
+      String city,
+      String country,
+      String email,
+      long emailHash) {
+
+    static CustomerRow of(ImportRecord record) {
+      String email = CustomerEmail.normalise(text(record, "email", true));
+      int at = email.indexOf('@');
+      if (at <= 0
+          || at != email.lastIndexOf('@')
+          || at == email.length() - 1
+          || email.chars().anyMatch(Character::isWhitespace)) {
+        throw new InvalidRequestException("email is not a valid address: " + email);
+      }
+      return new CustomerRow(
+          text(record, "firstName", true),
+          text(record, "lastName", true),
+          record.requiredDate("dateOfBirth"),
+          text(record, "address.streetAndHouseNumber", false),
+          text(record, "address.postalCode", false),
+          text(record, "address.city", false),
+          text(record, "address.country", false),
+          email,
+          CustomerEmail.hash(email));
+    }
+
+    private static String text(ImportRecord record, String name, boolean required) {
+      String value = required ? record.requiredText(name) : record.text(name);
+      if (value != null && value.length() > MAX_TEXT_LENGTH) {
+        throw new InvalidRequestException(
+            name + " is longer than " + MAX_TEXT_LENGTH + " characters");
+      }
+      return value;
+    }
+  }
+
+  @Override
+  public ImportResultDto importCustomers(ImportFormat format, InputStream input) {
+    log.info("Request to import customers from a {} file", format);
+    ImportReport report = new ImportReport(maxReportedErrors);
+    try (ImportRecordReader reader = ImportRecordReader.open(format, input, objectMapper)) {
+      reader.requireColumns(REQUIRED_COLUMNS);
+      List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+      for (ImportRecord record = reader.next(); record != null; record = reader.next()) {
+        chunk.add(record);
+        if (chunk.size() == chunkSize) {
+          transactionTemplate.executeWithoutResult(status -> importChunk(chunk, report));
+          chunk.clear();
+        }
+      }
+      transactionTemplate.executeWithoutResult(status -> importChunk(chunk, report));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read the import file", e);
+    }
+    log.info(
+        "Imported {} customers, rejected {} rows", report.getImported(), report.getRejected());
+    return report.toDto();
+  }
+
+  private void importChunk(List<ImportRecord> records, ImportReport report) {
+    if (records.isEmpty()) {
+      return;
+    }
+    CustomerRow[] rows = new CustomerRow[records.size()];
+    String[] errors = new String[records.size()];
+    Set<Long> hashes = new HashSet<>();
+    for (int i = 0; i < rows.length; i++) {
+      try {
+        rows[i] = CustomerRow.of(records.get(i));
+        hashes.add(rows[i].emailHash());
+      } catch (InvalidRequestException e) {
+        errors[i] = e.getMessage();
+      }
+    }
+    Map<String, Long> existingIds = findCustomerIdsByEmail(hashes);
+
+    Map<String, Long> linesByEmail = new HashMap<>();
+    OffsetDateTime now = OffsetDateTime.now();
+    List<Object[]> inserts = new ArrayList<>(rows.length);
+    for (int i = 0; i < rows.length; i++) {
+      CustomerRow row = rows[i];
+      long line = records.get(i).line();
+      String error = errors[i];
+      if (error == null) {
+        Long existingId = existingIds.get(row.email());
+        Long firstLine = linesByEmail.putIfAbsent(row.email(), line);
+        if (existingId != null) {
+          error = "A customer with this email already exists: " + existingId;
+        } else if (firstLine != null) {
+          error = "The email was already imported from line " + firstLine;
+        }
+      }
+      if (error != null) {
+        report.rejected(line, error);
+        continue;
+      }
+      inserts.add(
+          new Object[] {
+            row.firstName(),
+            row.lastName(),
+            row.dateOfBirth(),
+            row.streetAndHouseNumber(),
+            row.postalCode(),
+            row.city(),
+            row.country(),
+            row.email(),
+            row.emailHash(),
+            now,
+            now
+          });
+    }
+    if (inserts.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(INSERT_CUSTOMER, inserts, INSERT_CUSTOMER_TYPES);
+    report.imported(inserts.size());
+    log.debug("Imported a chunk of {} customers", inserts.size());
+  }
+
+  /**
+   * Looks up the customers whose email has one of the hashes, including the ones imported by the
+   * earlier chunks. Customers that share a hash but not the email are told apart by their email.
+   *
+   * @return The IDs of the customers by their normalised email; the lowest ID if several customers
+   *     use the same email.
+   */
+  private Map<String, Long> findCustomerIdsByEmail(Set<Long> hashes) {
+    Map<String, Long> customerIds = new HashMap<>();
+    if (hashes.isEmpty()) {
+      return customerIds;
+    }
+    namedParameterJdbcTemplate.query(
+        SELECT_BY_EMAIL_HASH,
+        Map.of("hashes", hashes),
+        rs -> {
+          customerIds.merge(CustomerEmail.normalise(rs.getString(2)), rs.getLong(1), Math::min);
+        });
+    return customerIds;
+  }
+}
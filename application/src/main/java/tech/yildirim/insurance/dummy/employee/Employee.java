@@ -7,6 +7,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -19,7 +20,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 /** Represents an employee of the insurance company. */
 @Entity
-@Table(name = "employees")
+@Table(
+    name = "employees",
+    indexes = @Index(name = "idx_employees_updated_at", columnList = "updated_at, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,5 +1,6 @@
 package tech.yildirim.insurance.dummy.employee;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,6 +8,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import tech.yildirim.insurance.api.generated.controller.EmployeesApi;
+import tech.yildirim.insurance.api.generated.model.EmployeeDeltaDto;
 import tech.yildirim.insurance.api.generated.model.EmployeeDto;
 
 /**
@@ -51,4 +53,14 @@ public class EmployeeController implements EmployeesApi {
               return ResponseEntity.notFound().build();
             });
   }
+
+  @Override
+  public ResponseEntity<EmployeeDeltaDto> getEmployeeDelta(
+      OffsetDateTime updatedSince, String cursor, Integer limit) {
+    log.info("REST request to read the employee delta");
+    EmployeeDeltaDto delta = employeeService.getEmployeeDelta(updatedSince, cursor, limit);
+    log.debug(
+        "Returning {} employees, more available: {}", delta.getItems().size(), delta.getHasMore());
+    return ResponseEntity.ok(delta);
+  }
 }
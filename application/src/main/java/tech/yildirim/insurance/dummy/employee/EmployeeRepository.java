@@ -1,7 +1,12 @@
 package tech.yildirim.insurance.dummy.employee;
 
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /** Spring Data JPA repository for the {@link Employee} entity. */
@@ -11,4 +16,23 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
   Optional<Employee> findByEmployeeId(String employeeId);
 
   Optional<Employee> findByEmail(String email);
+
+  /**
+   * Reads the employees changed after a keyset position of a delta, over the update time index.
+   *
+   * @param since The update time of the last employee read.
+   * @param afterId The id of that employee, 0 to include all employees updated at {@code since}.
+   * @param until The exclusive upper bound of the update time, see {@link
+   *     tech.yildirim.insurance.dummy.common.delta.DeltaWindow}.
+   * @param limit The maximum number of employees.
+   * @return The employees ordered by update time and id.
+   */
+  @Query(
+      "SELECT e FROM Employee e WHERE e.updatedAt >= :since AND e.updatedAt < :until"
+          + " AND (e.updatedAt > :since OR e.id > :afterId) ORDER BY e.updatedAt, e.id")
+  List<Employee> findUpdatedAfter(
+      @Param("since") ZonedDateTime since,
+      @Param("afterId") long afterId,
+      @Param("until") ZonedDateTime until,
+      Limit limit);
 }
@@ -1,8 +1,11 @@
 package tech.yildirim.insurance.dummy.employee;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
+import tech.yildirim.insurance.api.generated.model.EmployeeDeltaDto;
 import tech.yildirim.insurance.api.generated.model.EmployeeDto;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
 
 /** Service Interface for managing {@link Employee}. */
 public interface EmployeeService {
@@ -29,4 +32,16 @@ public interface EmployeeService {
    * @return The created employee DTO.
    */
   EmployeeDto createEmployee(EmployeeDto employeeDto);
+
+  /**
+   * Reads a page of the employee delta: the employees changed after the cursor position.
+   *
+   * @param updatedSince Where a new sync starts, may be null.
+   * @param cursor The encoded cursor of the previous page, may be null.
+   * @param limit The maximum number of employees.
+   * @return The page and the cursor to continue with.
+   * @throws InvalidRequestException if both {@code updatedSince} and a cursor, or a malformed
+   *     cursor, are given.
+   */
+  EmployeeDeltaDto getEmployeeDelta(OffsetDateTime updatedSince, String cursor, int limit);
 }
@@ -1,13 +1,20 @@
 package tech.yildirim.insurance.dummy.employee;
 
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tech.yildirim.insurance.api.generated.model.EmployeeDeltaDto;
 import tech.yildirim.insurance.api.generated.model.EmployeeDto;
+import tech.yildirim.insurance.dummy.common.delta.DeltaCursor;
+import tech.yildirim.insurance.dummy.common.delta.DeltaPage;
+import tech.yildirim.insurance.dummy.common.delta.DeltaWindow;
 
 /** Implementation of the {@link EmployeeService} interface. */
 @Service
@@ -17,6 +24,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 
   private final EmployeeRepository employeeRepository;
   private final EmployeeMapper employeeMapper;
+  private final DeltaWindow deltaWindow;
 
   @Override
   @Transactional(readOnly = true)
@@ -65,4 +73,26 @@ public class EmployeeServiceImpl implements EmployeeService {
     log.info("Successfully created employee with id {}", savedEmployee.getId());
     return employeeMapper.toDto(savedEmployee);
   }
+
+  @Override
+  @Transactional(readOnly = true)
+  public EmployeeDeltaDto getEmployeeDelta(OffsetDateTime updatedSince, String cursor, int limit) {
+    DeltaCursor position = DeltaCursor.start(cursor, updatedSince);
+    log.info("Request to read the employee delta after {}", position);
+    ZonedDateTime until = deltaWindow.settledUntil();
+    DeltaPage<Employee> page =
+        DeltaPage.of(
+            employeeRepository.findUpdatedAfter(
+                position.updatedAt(), position.id(), until, Limit.of(limit + 1)),
+            limit);
+    Employee last = page.last();
+    if (last != null) {
+      position = position.afterUpdate(last.getUpdatedAt(), last.getId());
+    }
+    log.info("Found {} changed employees", page.rows().size());
+    return new EmployeeDeltaDto()
+        .items(employeeMapper.toDtoList(page.rows()))
+        .nextCursor(position.encode())
+        .hasMore(page.hasMore());
+  }
 }
@@ -0,0 +1,41 @@
+package tech.yildirim.insurance.dummy.export;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import tech.yildirim.insurance.api.generated.controller.ExportsApi;
+import tech.yildirim.insurance.api.generated.model.ExportRunDto;
+
+/**
+ * REST Controller for the columnar exports of policies and claims. Implements the generated {@link
+ * ExportsApi} interface.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class DataExportController implements ExportsApi {
+
+  private final DataExportService dataExportService;
+
+  @Override
+  public ResponseEntity<ExportRunDto> startDataExport() {
+    log.info("REST request to start an export of policies and claims");
+    ExportRunDto run = dataExportService.startExport();
+    return new ResponseEntity<>(run, HttpStatus.ACCEPTED);
+  }
+
+  @Override
+  public ResponseEntity<ExportRunDto> getDataExport(Long id) {
+    log.info("REST request to get export with id: {}", id);
+    return dataExportService
+        .findExport(id)
+        .map(ResponseEntity::ok)
+        .orElseGet(
+            () -> {
+              log.warn("Export with id: {} not found, returning HTTP 404 NOT FOUND", id);
+              return ResponseEntity.notFound().build();
+            });
+  }
+}
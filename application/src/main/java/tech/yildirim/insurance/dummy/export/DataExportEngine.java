@@ -0,0 +1,236 @@
+package tech.yildirim.insurance.dummy.export;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+import tech.yildirim.insurance.dummy.export.columnar.Column;
+import tech.yildirim.insurance.dummy.export.columnar.ColumnarFileWriter;
+
+/**
+ * Processes {@link ExportRun}s: writes all policies and claims, including the archived ones, to
+ * columnar files (see {@link ColumnarFileWriter}) in the run's directory, one file per entity and
+ * range of {@code range-size} ids.
+ *
+ * <p>The ranges of both entities are exported in parallel on a dedicated pool of {@code
+ * parallelism} threads, each with its own database connection. A range is streamed through a
+ * forward-only cursor and written row group by row group, so memory use does not grow with the
+ * number of rows. A file is written under a temporary name and renamed once it is complete; ranges
+ * without rows get no file. Each file reflects its range at the time it was read, so a file
+ * written later may include changes that an earlier one does not.
+ *
+ * <p>Only one run is processed at a time: callers acquire the {@value #LEASE_NAME} lease before
+ * handing a run over, the engine renews it after each range and releases it when the run ends.
+ */
+@Component
+@Slf4j
+public class DataExportEngine {
+
+  static final String LEASE_NAME = "data-export";
+  static final String FILE_EXTENSION = ".icol";
+
+  private static final int FETCH_SIZE = 10_000;
+  private static final int MAX_FAILURE_REASON_LENGTH = 1000;
+
+  private final ExportRunRepository exportRunRepository;
+  private final JobLeaseManager jobLeaseManager;
+  private final JdbcTemplate jdbcTemplate;
+  private final long rangeSize;
+  private final int rowGroupSize;
+  private final Duration leaseDuration;
+  private final ExecutorService exportPool;
+
+  public DataExportEngine(
+      ExportRunRepository exportRunRepository,
+      JobLeaseManager jobLeaseManager,
+      JdbcTemplate jdbcTemplate,
+      @Value("${insurance.export.range-size:100000}") long rangeSize,
+      @Value("${insurance.export.row-group-size:65536}") int rowGroupSize,
+      @Value("${insurance.export.parallelism:4}") int parallelism,
+      @Value("${insurance.export.lease-duration:30m}") Duration leaseDuration) {
+    this.exportRunRepository = exportRunRepository;
+    this.jobLeaseManager = jobLeaseManager;
+    this.jdbcTemplate = jdbcTemplate;
+    this.rangeSize = rangeSize;
+    this.rowGroupSize = rowGroupSize;
+    this.leaseDuration = leaseDuration;
+    this.exportPool =
+        Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("data-export-"));
+  }
+
+  @PreDestroy
+  void shutdown() {
+    exportPool.shutdownNow();
+  }
+
+  /**
+   * Exports all ranges of all entities, then marks the run COMPLETED with its files, or FAILED if
+   * a range fails or the lease is lost. The caller must hold the {@value #LEASE_NAME} lease; it is
+   * released when this method returns.
+   *
+   * @param runId The id of the run.
+   * @return The run in its final state.
+   * @throws ResourceNotFoundException if the run does not exist.
+   */
+  public ExportRun process(Long runId) {
+    ExportRun run =
+        exportRunRepository
+            .findById(runId)
+            .orElseThrow(() -> new ResourceNotFoundException("Export not found: " + runId));
+    Path directory = Path.of(run.getDirectory());
+    log.info("Processing export {} into {}", runId, directory);
+    List<Future<ExportFile>> ranges = new ArrayList<>();
+    try {
+      Files.createDirectories(directory);
+      for (ExportEntity entity : ExportEntity.values()) {
+        submitRanges(entity, directory, ranges);
+      }
+      List<ExportFile> files = new ArrayList<>();
+      for (Future<ExportFile> range : ranges) {
+        ExportFile file = range.get();
+        if (file != null) {
+          files.add(file);
+        }
+        if (!jobLeaseManager.tryAcquire(LEASE_NAME, leaseDuration)) {
+          ranges.forEach(pending -> pending.cancel(false));
+          return finish(runId, ExportRunStatus.FAILED, "Lost the data export lease", List.of());
+        }
+      }
+      return finish(runId, ExportRunStatus.COMPLETED, null, files);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      ranges.forEach(pending -> pending.cancel(false));
+      return finish(runId, ExportRunStatus.FAILED, "The export was interrupted", List.of());
+    } catch (ExecutionException | IOException | RuntimeException e) {
+      ranges.forEach(pending -> pending.cancel(false));
+      Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+      log.error("Export {} failed", runId, cause);
+      return finish(runId, ExportRunStatus.FAILED, String.valueOf(cause.getMessage()), List.of());
+    } finally {
+      jobLeaseManager.release(LEASE_NAME);
+    }
+  }
+
+  private void submitRanges(ExportEntity entity, Path directory, List<Future<ExportFile>> ranges) {
+    long[] bounds =
+        jdbcTemplate.queryForObject(
+            "SELECT MIN(id), MAX(id) FROM " + entity.table(),
+            (rs, rowNum) -> {
+              long firstId = rs.getLong(1);
+              return rs.wasNull() ? null : new long[] {firstId, rs.getLong(2)};
+            });
+    if (bounds == null) {
+      return;
+    }
+    for (long firstId = bounds[0]; firstId <= bounds[1]; firstId += rangeSize) {
+      long from = firstId;
+      long to = Math.min(bounds[1], firstId + rangeSize - 1);
+      ranges.add(exportPool.submit(() -> exportRange(entity, from, to, directory)));
+    }
+  }
+
+  /**
+   * Writes the rows of an entity with an id in a range to a file.
+   *
+   * @return The file, or null if there are no rows in the range.
+   */
+  ExportFile exportRange(ExportEntity entity, long firstId, long lastId, Path directory)
+      throws IOException {
+    String fileName = entity.table() + "-" + firstId + "-" + lastId + FILE_EXTENSION;
+    Path partFile = directory.resolve(fileName + ".part");
+    long rowCount;
+    try (ColumnarFileWriter writer =
+        new ColumnarFileWriter(Files.newOutputStream(partFile), entity.columns(), rowGroupSize)) {
+      jdbcTemplate.query(
+          connection -> {
+            PreparedStatement statement =
+                connection.prepareStatement(
+                    entity.selectRange(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setLong(1, firstId);
+            statement.setLong(2, lastId);
+            return statement;
+          },
+          rs -> {
+            try {
+              writer.write(readRow(rs, entity.columns()));
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+      rowCount = writer.rowCount();
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(partFile);
+      throw e;
+    }
+    if (rowCount == 0) {
+      Files.delete(partFile);
+      return null;
+    }
+    Path file = directory.resolve(fileName);
+    Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING);
+    log.debug("Exported {} {} with ids {} to {}", rowCount, entity.table(), firstId, lastId);
+    return new ExportFile(entity, fileName, firstId, lastId, rowCount, Files.size(file));
+  }
+
+  private static Object[] readRow(ResultSet rs, List<Column> columns) throws SQLException {
+    Object[] values = new Object[columns.size()];
+    for (int i = 0; i < values.length; i++) {
+      int index = i + 1;
+      values[i] =
+          switch (columns.get(i).type()) {
+            case LONG -> {
+              long value = rs.getLong(index);
+              yield rs.wasNull() ? null : value;
+            }
+            case DECIMAL -> rs.getBigDecimal(index);
+            case DATE -> rs.getObject(index, LocalDate.class);
+            case TIMESTAMP -> rs.getObject(index, OffsetDateTime.class);
+            case STRING, ENUM -> rs.getString(index);
+          };
+    }
+    return values;
+  }
+
+  private ExportRun finish(
+      Long runId, ExportRunStatus status, String failureReason, List<ExportFile> files) {
+    ExportRun run = exportRunRepository.findById(runId).orElseThrow();
+    run.setStatus(status);
+    run.setFailureReason(
+        failureReason == null || failureReason.length() <= MAX_FAILURE_REASON_LENGTH
+            ? failureReason
+            : failureReason.substring(0, MAX_FAILURE_REASON_LENGTH));
+    run.setFiles(new ArrayList<>(files));
+    run.setFinishedAt(ZonedDateTime.now());
+    ExportRun finished = exportRunRepository.save(run);
+    log.info(
+        "Export {} {} with {} files and {} rows",
+        runId,
+        status,
+        files.size(),
+        files.stream().mapToLong(ExportFile::getRowCount).sum());
+    return finished;
+  }
+}
@@ -0,0 +1,26 @@
+package tech.yildirim.insurance.dummy.export;
+
+import java.util.Optional;
+import tech.yildirim.insurance.api.generated.model.ExportRunDto;
+
+/** Service Interface for starting and following {@link ExportRun}s. */
+public interface DataExportService {
+
+  /**
+   * Starts an export of all policies and claims to columnar files in a new directory. The export
+   * is processed in the background.
+   *
+   * @return The started export.
+   * @throws tech.yildirim.insurance.dummy.common.BusinessRuleViolationException if another export
+   *     is in progress.
+   */
+  ExportRunDto startExport();
+
+  /**
+   * Finds an export by its id.
+   *
+   * @param runId The id of the export.
+   * @return An Optional containing the export if found.
+   */
+  Optional<ExportRunDto> findExport(Long runId);
+}
@@ -0,0 +1,77 @@
+package tech.yildirim.insurance.dummy.export;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.yildirim.insurance.api.generated.model.ExportRunDto;
+import tech.yildirim.insurance.dummy.common.BusinessRuleViolationException;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+
+/**
+ * Implementation of the {@link DataExportService} interface. Takes the export lease in the calling
+ * thread, so a second start is rejected right away, and hands the run over to the {@link
+ * DataExportEngine} on the application task executor. Every run writes to its own directory,
+ * {@code export-<id>} below {@code insurance.export.directory}.
+ */
+@Service
+@Slf4j
+public class DataExportServiceImpl implements DataExportService {
+
+  private final ExportRunRepository exportRunRepository;
+  private final ExportRunMapper exportRunMapper;
+  private final DataExportEngine dataExportEngine;
+  private final JobLeaseManager jobLeaseManager;
+  private final TaskExecutor taskExecutor;
+  private final Path directory;
+  private final Duration leaseDuration;
+
+  public DataExportServiceImpl(
+      ExportRunRepository exportRunRepository,
+      ExportRunMapper exportRunMapper,
+      DataExportEngine dataExportEngine,
+      JobLeaseManager jobLeaseManager,
+      @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+      @Value("${insurance.export.directory:./data/exports}") Path directory,
+      @Value("${insurance.export.lease-duration:30m}") Duration leaseDuration) {
+    this.exportRunRepository = exportRunRepository;
+    this.exportRunMapper = exportRunMapper;
+    this.dataExportEngine = dataExportEngine;
+    this.jobLeaseManager = jobLeaseManager;
+    this.taskExecutor = taskExecutor;
+    this.directory = directory.toAbsolutePath().normalize();
+    this.leaseDuration = leaseDuration;
+  }
+
+  @Override
+  public ExportRunDto startExport() {
+    log.info("Request to export policies and claims");
+    if (!jobLeaseManager.tryAcquire(DataExportEngine.LEASE_NAME, leaseDuration)) {
+      log.warn("Rejecting export request: another export is in progress");
+      throw new BusinessRuleViolationException("Another export is in progress");
+    }
+    try {
+      ExportRun run = exportRunRepository.save(new ExportRun(ZonedDateTime.now()));
+      run.setDirectory(directory.resolve("export-" + run.getId()).toString());
+      ExportRun saved = exportRunRepository.save(run);
+      taskExecutor.execute(() -> dataExportEngine.process(saved.getId()));
+      return exportRunMapper.toDto(saved);
+    } catch (RuntimeException e) {
+      jobLeaseManager.release(DataExportEngine.LEASE_NAME);
+      throw e;
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<ExportRunDto> findExport(Long runId) {
+    log.info("Request to find export {}", runId);
+    return exportRunRepository.findById(runId).map(exportRunMapper::toDto);
+  }
+}
@@ -0,0 +1,107 @@
+package tech.yildirim.insurance.dummy.export;
+
+import java.util.List;
+import tech.yildirim.insurance.dummy.claim.AutoClaim;
+import tech.yildirim.insurance.dummy.claim.ClaimStatus;
+import tech.yildirim.insurance.dummy.claim.HealthClaim;
+import tech.yildirim.insurance.dummy.claim.HomeClaim;
+import tech.yildirim.insurance.dummy.export.columnar.Column;
+import tech.yildirim.insurance.dummy.policy.PolicyStatus;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+/**
+ * The entities of an export, with the columns of their files. The columns are named like the
+ * table columns and selected in the same order. Free texts and personal data, such as claim
+ * descriptions, license plates and vehicle numbers, are left out. The records moved by the {@link
+ * tech.yildirim.insurance.dummy.archive.ArchiveJob} are exported as entities of their own, with the
+ * columns their archive tables keep; their payloads are left out as well.
+ */
+public enum ExportEntity {
+  POLICIES(
+      "policies",
+      List.of(
+          Column.longColumn("id"),
+          Column.stringColumn("policy_number"),
+          Column.enumColumn("type", PolicyType.class),
+          Column.enumColumn("status", PolicyStatus.class),
+          Column.dateColumn("start_date"),
+          Column.dateColumn("end_date"),
+          Column.decimalColumn("premium", 2),
+          Column.longColumn("customer_id"),
+          Column.longColumn("agency_id"),
+          Column.timestampColumn("created_at"),
+          Column.timestampColumn("updated_at"))),
+  CLAIMS(
+      "claims",
+      List.of(
+          Column.longColumn("id"),
+          Column.enumColumn(
+              "claim_type",
+              List.of(AutoClaim.CLAIM_TYPE, HomeClaim.CLAIM_TYPE, HealthClaim.CLAIM_TYPE)),
+          Column.stringColumn("claim_number"),
+          Column.enumColumn("status", ClaimStatus.class),
+          Column.dateColumn("date_of_incident"),
+          Column.timestampColumn("date_reported"),
+          Column.decimalColumn("estimated_amount", 2),
+          Column.decimalColumn("paid_amount", 2),
+          Column.longColumn("policy_id"),
+          Column.longColumn("assigned_adjuster_id"),
+          Column.longColumn("risk_score"),
+          Column.longColumn("duplicate_of_claim_id"),
+          Column.stringColumn("type_of_damage"),
+          Column.stringColumn("procedure_code"))),
+  ARCHIVED_POLICIES(
+      "archived_policies",
+      List.of(
+          Column.longColumn("id"),
+          Column.stringColumn("policy_number"),
+          Column.enumColumn("status", PolicyStatus.class),
+          Column.dateColumn("end_date"),
+          Column.decimalColumn("premium", 2),
+          Column.longColumn("customer_id"),
+          Column.longColumn("agency_id"),
+          Column.timestampColumn("archived_at"))),
+  ARCHIVED_CLAIMS(
+      "archived_claims",
+      List.of(
+          Column.longColumn("id"),
+          Column.enumColumn(
+              "claim_type",
+              List.of(AutoClaim.CLAIM_TYPE, HomeClaim.CLAIM_TYPE, HealthClaim.CLAIM_TYPE)),
+          Column.stringColumn("claim_number"),
+          Column.enumColumn("status", ClaimStatus.class),
+          Column.dateColumn("date_of_incident"),
+          Column.decimalColumn("estimated_amount", 2),
+          Column.decimalColumn("paid_amount", 2),
+          Column.longColumn("policy_id"),
+          Column.timestampColumn("archived_at")));
+
+  private final String table;
+  private final List<Column> columns;
+  private final String selectRange;
+
+  ExportEntity(String table, List<Column> columns) {
+    this.table = table;
+    this.columns = columns;
+    this.selectRange =
+        "SELECT "
+            + String.join(", ", columns.stream().map(Column::name).toList())
+            + " FROM "
+            + table
+            + " WHERE id BETWEEN ? AND ? ORDER BY id";
+  }
+
+  /** Returns the table, which is also the prefix of the file names. */
+  public String table() {
+    return table;
+  }
+
+  public List<Column> columns() {
+    return columns;
+  }
+
+  /** Returns the query of the rows with an id between two parameters (inclusive), by id. */
+  String selectRange() {
+    return selectRange;
+  }
+}
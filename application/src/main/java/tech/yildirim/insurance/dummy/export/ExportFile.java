@@ -0,0 +1,36 @@
+package tech.yildirim.insurance.dummy.export;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A file of an {@link ExportRun}: the rows of one entity with an id in a range. */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportFile {
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private ExportEntity entity;
+
+  @Column(nullable = false)
+  private String fileName;
+
+  @Column(nullable = false)
+  private long firstId;
+
+  @Column(nullable = false)
+  private long lastId;
+
+  @Column(nullable = false)
+  private long rowCount;
+
+  @Column(nullable = false)
+  private long sizeBytes;
+}
@@ -0,0 +1,59 @@
+package tech.yildirim.insurance.dummy.export;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.Table;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An export of policies and claims to columnar files in {@link #directory}. The {@link #files} are
+ * recorded once the export has completed.
+ */
+@Entity
+@Table(name = "export_runs")
+@Data
+@NoArgsConstructor
+public class ExportRun {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private ExportRunStatus status;
+
+  @Column(length = 1000)
+  private String directory;
+
+  @ElementCollection
+  @CollectionTable(name = "export_files", joinColumns = @JoinColumn(name = "run_id"))
+  @OrderBy("entity, firstId")
+  private List<ExportFile> files = new ArrayList<>();
+
+  @Column(length = 1000)
+  private String failureReason;
+
+  @Column(nullable = false)
+  private ZonedDateTime startedAt;
+
+  private ZonedDateTime finishedAt;
+
+  public ExportRun(ZonedDateTime startedAt) {
+    this.status = ExportRunStatus.RUNNING;
+    this.startedAt = startedAt;
+  }
+}
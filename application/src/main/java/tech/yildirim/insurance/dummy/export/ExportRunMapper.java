@@ -0,0 +1,32 @@
+package tech.yildirim.insurance.dummy.export;
+
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import org.mapstruct.Mapper;
+import tech.yildirim.insurance.api.generated.model.ExportFileDto;
+import tech.yildirim.insurance.api.generated.model.ExportRunDto;
+
+/** Mapper for the {@link ExportRun} entity and its DTO {@link ExportRunDto}. */
+@Mapper(componentModel = "spring")
+public interface ExportRunMapper {
+
+  /**
+   * Maps an ExportRun entity to its DTO representation.
+   *
+   * @param run The source entity.
+   * @return The target DTO.
+   */
+  ExportRunDto toDto(ExportRun run);
+
+  /**
+   * Maps a file of an export to its DTO representation.
+   *
+   * @param file The source file.
+   * @return The target DTO.
+   */
+  ExportFileDto toDto(ExportFile file);
+
+  default OffsetDateTime toOffsetDateTime(ZonedDateTime dateTime) {
+    return dateTime == null ? null : dateTime.toOffsetDateTime();
+  }
+}
@@ -0,0 +1,8 @@
+package tech.yildirim.insurance.dummy.export;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/** Spring Data JPA repository for the {@link ExportRun} entity. */
+@Repository
+public interface ExportRunRepository extends JpaRepository<ExportRun, Long> {}
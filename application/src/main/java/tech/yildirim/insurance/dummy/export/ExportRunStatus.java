@@ -0,0 +1,8 @@
+package tech.yildirim.insurance.dummy.export;
+
+/** The state of an {@link ExportRun}. */
+public enum ExportRunStatus {
+  RUNNING,
+  COMPLETED,
+  FAILED
+}
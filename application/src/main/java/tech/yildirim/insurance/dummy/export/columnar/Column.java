@@ -0,0 +1,48 @@
+package tech.yildirim.insurance.dummy.export.columnar;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A column of a columnar file.
+ *
+ * @param name The name of the column.
+ * @param type The type of its values.
+ * @param scale The number of fraction digits of a {@link ColumnType#DECIMAL} column, else 0.
+ * @param dictionary The values of an {@link ColumnType#ENUM} column, else empty.
+ */
+public record Column(String name, ColumnType type, int scale, List<String> dictionary) {
+
+  public Column {
+    dictionary = List.copyOf(dictionary);
+  }
+
+  public static Column longColumn(String name) {
+    return new Column(name, ColumnType.LONG, 0, List.of());
+  }
+
+  public static Column decimalColumn(String name, int scale) {
+    return new Column(name, ColumnType.DECIMAL, scale, List.of());
+  }
+
+  public static Column dateColumn(String name) {
+    return new Column(name, ColumnType.DATE, 0, List.of());
+  }
+
+  public static Column timestampColumn(String name) {
+    return new Column(name, ColumnType.TIMESTAMP, 0, List.of());
+  }
+
+  public static Column stringColumn(String name) {
+    return new Column(name, ColumnType.STRING, 0, List.of());
+  }
+
+  public static Column enumColumn(String name, List<String> dictionary) {
+    return new Column(name, ColumnType.ENUM, 0, dictionary);
+  }
+
+  public static Column enumColumn(String name, Class<? extends Enum<?>> enumType) {
+    return enumColumn(
+        name, Arrays.stream(enumType.getEnumConstants()).map(Enum::name).toList());
+  }
+}
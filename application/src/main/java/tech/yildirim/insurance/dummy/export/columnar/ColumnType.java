@@ -0,0 +1,44 @@
+package tech.yildirim.insurance.dummy.export.columnar;
+
+/**
+ * The type of a column of a columnar file and the encoding of its values. The code is stored in
+ * the schema of the file and must not change.
+ */
+public enum ColumnType {
+  /** A 64-bit integer, as the zigzag varint of its difference to the previous value. */
+  LONG(1),
+  /** A decimal with the scale of its column, as the zigzag varint of its unscaled value. */
+  DECIMAL(2),
+  /** A date, as {@link #LONG} of its epoch day. */
+  DATE(3),
+  /** An instant, as {@link #LONG} of its microseconds since the epoch. */
+  TIMESTAMP(4),
+  /** A text, as the varint of its UTF-8 length followed by its UTF-8 bytes. */
+  STRING(5),
+  /** One of the values of the column's dictionary, as the varint of its index. */
+  ENUM(6);
+
+  private final int code;
+
+  ColumnType(int code) {
+    this.code = code;
+  }
+
+  int code() {
+    return code;
+  }
+
+  /** Whether the values are stored as the difference to the previous value of the row group. */
+  boolean isDeltaEncoded() {
+    return this == LONG || this == DATE || this == TIMESTAMP;
+  }
+
+  static ColumnType of(int code) {
+    for (ColumnType type : values()) {
+      if (type.code == code) {
+        return type;
+      }
+    }
+    throw new IllegalArgumentException("Unknown column type: " + code);
+  }
+}
@@ -0,0 +1,196 @@
+package tech.yildirim.insurance.dummy.export.columnar;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a file written by {@link ColumnarFileWriter}. The whole file is held in memory, so this is
+ * meant for checks and small files; analysis tools are expected to bring their own reader.
+ *
+ * <p>Values are decoded to {@link Long}, {@link BigDecimal}, {@link LocalDate}, {@link
+ * OffsetDateTime} in UTC and {@link String}s (also for enums).
+ */
+public final class ColumnarFileReader {
+
+  private static final int TRAILER_LENGTH = Long.BYTES + ColumnarFileWriter.MAGIC.length;
+
+  private final ByteBuffer file;
+  private final List<Column> columns;
+  private final long[] rowGroupOffsets;
+  private final long rowCount;
+
+  private ColumnarFileReader(byte[] bytes) throws IOException {
+    this.file = ByteBuffer.wrap(bytes);
+    int magicLength = ColumnarFileWriter.MAGIC.length;
+    if (bytes.length < magicLength + 1 + TRAILER_LENGTH
+        || !Arrays.equals(bytes, 0, magicLength, ColumnarFileWriter.MAGIC, 0, magicLength)
+        || !Arrays.equals(
+            bytes,
+            bytes.length - magicLength,
+            bytes.length,
+            ColumnarFileWriter.MAGIC,
+            0,
+            magicLength)) {
+      throw new IOException("Not a columnar file");
+    }
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+    in.skipNBytes(ColumnarFileWriter.MAGIC.length);
+    int version = in.readUnsignedByte();
+    if (version != ColumnarFileWriter.VERSION) {
+      throw new IOException("Unsupported columnar file version: " + version);
+    }
+    List<Column> schema = new ArrayList<>();
+    int columnCount = in.readInt();
+    for (int i = 0; i < columnCount; i++) {
+      String name = in.readUTF();
+      ColumnType type = ColumnType.of(in.readUnsignedByte());
+      int scale = in.readUnsignedByte();
+      List<String> dictionary = new ArrayList<>();
+      int dictionarySize = in.readInt();
+      for (int j = 0; j < dictionarySize; j++) {
+        dictionary.add(in.readUTF());
+      }
+      schema.add(new Column(name, type, scale, dictionary));
+    }
+    this.columns = List.copyOf(schema);
+
+    int footerOffset = Math.toIntExact(file.getLong(bytes.length - TRAILER_LENGTH));
+    int rowGroupCount = file.getInt(footerOffset);
+    this.rowGroupOffsets = new long[rowGroupCount];
+    long rows = 0;
+    for (int i = 0; i < rowGroupCount; i++) {
+      int entry = footerOffset + Integer.BYTES + i * (Long.BYTES + Integer.BYTES);
+      rowGroupOffsets[i] = file.getLong(entry);
+      rows += file.getInt(entry + Long.BYTES);
+    }
+    this.rowCount = rows;
+  }
+
+  /**
+   * Reads the schema and footer of a file.
+   *
+   * @param path The file.
+   * @return The reader.
+   * @throws IOException if the file cannot be read or is not a columnar file.
+   */
+  public static ColumnarFileReader open(Path path) throws IOException {
+    return new ColumnarFileReader(Files.readAllBytes(path));
+  }
+
+  public List<Column> columns() {
+    return columns;
+  }
+
+  public long rowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Decodes all rows of the file.
+   *
+   * @return The rows, with their values in the order of the columns.
+   * @throws IOException if a row group is corrupt.
+   */
+  public List<Object[]> rows() throws IOException {
+    List<Object[]> rows = new ArrayList<>(Math.toIntExact(rowCount));
+    Inflater inflater = new Inflater();
+    try {
+      for (long offset : rowGroupOffsets) {
+        readRowGroup(Math.toIntExact(offset), inflater, rows);
+      }
+    } catch (DataFormatException | RuntimeException e) {
+      throw new IOException("Corrupt columnar file: " + e.getMessage(), e);
+    } finally {
+      inflater.end();
+    }
+    return rows;
+  }
+
+  private void readRowGroup(int offset, Inflater inflater, List<Object[]> rows)
+      throws DataFormatException {
+    int position = offset;
+    int groupRowCount = file.getInt(position);
+    position += Integer.BYTES;
+    Object[][] group = new Object[groupRowCount][columns.size()];
+    for (int c = 0; c < columns.size(); c++) {
+      int rawLength = file.getInt(position);
+      int compressedLength = file.getInt(position + Integer.BYTES);
+      position += 2 * Integer.BYTES;
+      byte[] raw = new byte[rawLength];
+      inflater.reset();
+      inflater.setInput(file.array(), position, compressedLength);
+      if (inflater.inflate(raw) != rawLength) {
+        throw new DataFormatException("Column chunk is shorter than declared");
+      }
+      position += compressedLength;
+      decodeChunk(columns.get(c), ByteBuffer.wrap(raw), group, c);
+    }
+    rows.addAll(Arrays.asList(group));
+  }
+
+  private static void decodeChunk(Column column, ByteBuffer raw, Object[][] group, int c) {
+    byte[] nullBitmap = new byte[(int) readVarLong(raw)];
+    raw.get(nullBitmap);
+    BitSet nulls = BitSet.valueOf(nullBitmap);
+    long previous = 0;
+    for (int row = 0; row < group.length; row++) {
+      if (nulls.get(row)) {
+        continue;
+      }
+      if (column.type().isDeltaEncoded()) {
+        previous += unZigZag(readVarLong(raw));
+      }
+      Object value =
+          switch (column.type()) {
+            case LONG -> previous;
+            case DATE -> LocalDate.ofEpochDay(previous);
+            case TIMESTAMP ->
+                OffsetDateTime.ofInstant(
+                    Instant.EPOCH.plus(previous, ChronoUnit.MICROS), ZoneOffset.UTC);
+            case DECIMAL ->
+                new BigDecimal(BigInteger.valueOf(unZigZag(readVarLong(raw))), column.scale());
+            case STRING -> {
+              byte[] utf8 = new byte[(int) readVarLong(raw)];
+              raw.get(utf8);
+              yield new String(utf8, StandardCharsets.UTF_8);
+            }
+            case ENUM -> column.dictionary().get((int) readVarLong(raw));
+          };
+      group[row][c] = value;
+    }
+  }
+
+  private static long readVarLong(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalStateException("Malformed varint");
+  }
+
+  private static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
@@ -0,0 +1,293 @@
+package tech.yildirim.insurance.dummy.export.columnar;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Writes rows to a columnar file, in the spirit of Parquet. The rows are buffered in row groups of
+ * {@code rowGroupSize} rows; each row group stores its values column by column, and each column
+ * chunk is compressed with Deflate. Columns of similar values, e.g. ascending ids or a handful of
+ * statuses, therefore compress well, and a reader can decode just the columns it needs.
+ *
+ * <p>The layout of a file, with big-endian integers and unsigned LEB128 varints:
+ *
+ * <pre>
+ * file      = "ICOL" version:u8 schema rowGroup* footer
+ * schema    = columnCount:i32 (name:utf type:u8 scale:u8 dictionarySize:i32 value:utf*)*
+ * rowGroup  = rowCount:i32 (rawLength:i32 compressedLength:i32 deflated:bytes)*
+ * raw chunk = nullBitmapLength:varint nullBitmap:bytes value*
+ * footer    = rowGroupCount:i32 (offset:i64 rowCount:i32)* footerOffset:i64 "ICOL"
+ * </pre>
+ *
+ * <p>{@code utf} is the modified UTF-8 of {@link java.io.DataOutput#writeUTF}. The null bitmap has
+ * a bit for each row of the group (see {@link BitSet#toByteArray}), and null values are not
+ * written. The values are encoded as described at {@link ColumnType}; delta encoding starts over
+ * with every row group.
+ *
+ * <p>Instances are not thread-safe.
+ */
+public final class ColumnarFileWriter implements Closeable {
+
+  static final byte[] MAGIC = {'I', 'C', 'O', 'L'};
+  static final int VERSION = 1;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final CountingOutputStream counter;
+  private final DataOutputStream out;
+  private final List<Column> columns;
+  private final ColumnChunk[] chunks;
+  private final int rowGroupSize;
+  private final Deflater deflater = new Deflater();
+  private final List<long[]> rowGroups = new ArrayList<>();
+  private int groupRowCount;
+  private long rowCount;
+  private boolean closed;
+
+  /**
+   * Starts a file by writing its header and schema.
+   *
+   * @param output The stream to write to; it is closed with the writer.
+   * @param columns The columns of the file.
+   * @param rowGroupSize The number of rows per row group.
+   * @throws IOException if the header cannot be written.
+   */
+  public ColumnarFileWriter(OutputStream output, List<Column> columns, int rowGroupSize)
+      throws IOException {
+    if (rowGroupSize < 1) {
+      throw new IllegalArgumentException("The row group size must be positive: " + rowGroupSize);
+    }
+    this.counter = new CountingOutputStream(new BufferedOutputStream(output, BUFFER_SIZE));
+    this.out = new DataOutputStream(counter);
+    this.columns = List.copyOf(columns);
+    this.rowGroupSize = rowGroupSize;
+    this.chunks = new ColumnChunk[columns.size()];
+    for (int i = 0; i < chunks.length; i++) {
+      chunks[i] = new ColumnChunk(columns.get(i));
+    }
+    writeHeader();
+  }
+
+  /**
+   * Adds a row. The values are {@link Number}s for {@link ColumnType#LONG} columns, {@link
+   * BigDecimal}s for decimals, {@link LocalDate}s for dates, {@link Instant}s or other instants
+   * such as {@link java.time.OffsetDateTime} for timestamps, and texts for strings and enums. Any
+   * value may be null.
+   *
+   * @param values The values of the row, in the order of the columns.
+   * @throws IOException if a full row group cannot be written.
+   * @throws IllegalArgumentException if the number of values does not match the columns, or a
+   *     value does not fit its column; the rows written after a misfit value would be corrupt.
+   */
+  public void write(Object... values) throws IOException {
+    if (values.length != chunks.length) {
+      throw new IllegalArgumentException(
+          "The row has " + values.length + " values, the file " + chunks.length + " columns");
+    }
+    for (int i = 0; i < chunks.length; i++) {
+      chunks[i].add(values[i]);
+    }
+    groupRowCount++;
+    rowCount++;
+    if (groupRowCount == rowGroupSize) {
+      writeRowGroup();
+    }
+  }
+
+  /** Returns the number of rows added so far. */
+  public long rowCount() {
+    return rowCount;
+  }
+
+  /** Writes the last row group and the footer, and closes the stream. */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      if (groupRowCount > 0) {
+        writeRowGroup();
+      }
+      long footerOffset = counter.count;
+      out.writeInt(rowGroups.size());
+      for (long[] rowGroup : rowGroups) {
+        out.writeLong(rowGroup[0]);
+        out.writeInt((int) rowGroup[1]);
+      }
+      out.writeLong(footerOffset);
+      out.write(MAGIC);
+    } finally {
+      deflater.end();
+      out.close();
+    }
+  }
+
+  private void writeHeader() throws IOException {
+    out.write(MAGIC);
+    out.writeByte(VERSION);
+    out.writeInt(columns.size());
+    for (Column column : columns) {
+      out.writeUTF(column.name());
+      out.writeByte(column.type().code());
+      out.writeByte(column.scale());
+      out.writeInt(column.dictionary().size());
+      for (String value : column.dictionary()) {
+        out.writeUTF(value);
+      }
+    }
+  }
+
+  private void writeRowGroup() throws IOException {
+    rowGroups.add(new long[] {counter.count, groupRowCount});
+    out.writeInt(groupRowCount);
+    byte[] compressed = new byte[BUFFER_SIZE];
+    for (ColumnChunk chunk : chunks) {
+      byte[] raw = chunk.finish();
+      deflater.reset();
+      deflater.setInput(raw);
+      deflater.finish();
+      ByteArrayOutputStream deflated = new ByteArrayOutputStream(raw.length / 4 + 64);
+      while (!deflater.finished()) {
+        deflated.write(compressed, 0, deflater.deflate(compressed));
+      }
+      out.writeInt(raw.length);
+      out.writeInt(deflated.size());
+      deflated.writeTo(out);
+    }
+    groupRowCount = 0;
+  }
+
+  static void writeVarLong(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  /** The encoded values of one column in the current row group. */
+  private static final class ColumnChunk {
+
+    private final Column column;
+    private final Map<String, Integer> dictionaryIndex = new HashMap<>();
+    private final ByteArrayOutputStream values = new ByteArrayOutputStream(BUFFER_SIZE);
+    private final BitSet nulls = new BitSet();
+    private int rows;
+    private long previous;
+
+    ColumnChunk(Column column) {
+      this.column = column;
+      for (int i = 0; i < column.dictionary().size(); i++) {
+        dictionaryIndex.put(column.dictionary().get(i), i);
+      }
+    }
+
+    void add(Object value) {
+      int row = rows++;
+      if (value == null) {
+        nulls.set(row);
+        return;
+      }
+      try {
+        switch (column.type()) {
+          case LONG -> delta(((Number) value).longValue());
+          case DATE -> delta(((LocalDate) value).toEpochDay());
+          case TIMESTAMP -> {
+            Instant instant = Instant.from((TemporalAccessor) value);
+            delta(
+                Math.addExact(
+                    Math.multiplyExact(instant.getEpochSecond(), 1_000_000L),
+                    instant.getNano() / 1000));
+          }
+          case DECIMAL ->
+              writeVarLong(
+                  values,
+                  zigZag(
+                      ((BigDecimal) value)
+                          .setScale(column.scale(), RoundingMode.UNNECESSARY)
+                          .unscaledValue()
+                          .longValueExact()));
+          case STRING -> {
+            byte[] utf8 = value.toString().getBytes(StandardCharsets.UTF_8);
+            writeVarLong(values, utf8.length);
+            values.write(utf8, 0, utf8.length);
+          }
+          case ENUM -> {
+            Integer index = dictionaryIndex.get(value.toString());
+            if (index == null) {
+              throw new IllegalArgumentException("not in the dictionary");
+            }
+            writeVarLong(values, index);
+          }
+        }
+      } catch (ClassCastException | ArithmeticException | IllegalArgumentException e) {
+        throw new IllegalArgumentException(
+            "Value " + value + " does not fit column " + column.name() + ": " + e.getMessage(), e);
+      }
+    }
+
+    private void delta(long value) {
+      writeVarLong(values, zigZag(value - previous));
+      previous = value;
+    }
+
+    /** Returns the raw chunk of the row group and starts the next one. */
+    byte[] finish() {
+      byte[] nullBitmap = nulls.toByteArray();
+      ByteArrayOutputStream raw = new ByteArrayOutputStream(values.size() + nullBitmap.length + 5);
+      writeVarLong(raw, nullBitmap.length);
+      raw.write(nullBitmap, 0, nullBitmap.length);
+      raw.writeBytes(values.toByteArray());
+      values.reset();
+      nulls.clear();
+      rows = 0;
+      previous = 0;
+      return raw.toByteArray();
+    }
+  }
+
+  /** Tracks the offset of the row groups and the footer. */
+  private static final class CountingOutputStream extends FilterOutputStream {
+
+    private long count;
+
+    CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+/** The kind of entity an {@link OutboxEvent} is about. */
+public enum AggregateType {
+  CLAIM,
+  POLICY
+}
@@ -0,0 +1,29 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import tech.yildirim.insurance.api.generated.controller.ChangesApi;
+import tech.yildirim.insurance.api.generated.model.ChangeFeedDto;
+
+/**
+ * REST Controller for the change feed of claims and policies. Implements the generated {@link
+ * ChangesApi} interface.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeFeedController implements ChangesApi {
+
+  private final ChangeFeedService changeFeedService;
+
+  @Override
+  public ResponseEntity<ChangeFeedDto> getChanges(Long since, Integer limit, Integer wait) {
+    log.info("REST request to read the change feed since {}", since);
+    ChangeFeedDto feed = changeFeedService.getChanges(since, limit, Duration.ofSeconds(wait));
+    log.debug("Returning {} changes, next since {}", feed.getEvents().size(), feed.getNextSince());
+    return ResponseEntity.ok(feed);
+  }
+}
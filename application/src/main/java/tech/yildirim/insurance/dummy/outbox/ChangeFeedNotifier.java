@@ -0,0 +1,61 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wakes up long-polling change feed readers when the {@link OutboxRelay} of this node has published
+ * events. Readers remember the {@link #generation()} before they query, so a publication between
+ * their query and their wait is not missed.
+ */
+@Component
+class ChangeFeedNotifier {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition published = lock.newCondition();
+  private long generation;
+
+  /** Counts the publications so far. */
+  long generation() {
+    lock.lock();
+    try {
+      return generation;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Signals that events have been published and committed. */
+  void signalPublished() {
+    lock.lock();
+    try {
+      generation++;
+      published.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Waits until events are published after the given generation, or the timeout has passed.
+   *
+   * @param seenGeneration The {@link #generation()} read before the caller's last query.
+   * @param timeout The maximum time to wait.
+   * @return true if events were published, false on timeout.
+   * @throws InterruptedException if the thread is interrupted while waiting.
+   */
+  boolean awaitPublished(long seenGeneration, Duration timeout) throws InterruptedException {
+    long nanos = timeout.toNanos();
+    lock.lock();
+    try {
+      while (generation == seenGeneration && nanos > 0) {
+        nanos = published.awaitNanos(nanos);
+      }
+      return generation != seenGeneration;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
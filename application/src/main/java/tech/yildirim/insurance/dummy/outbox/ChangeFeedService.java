@@ -0,0 +1,19 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import java.time.Duration;
+import tech.yildirim.insurance.api.generated.model.ChangeFeedDto;
+
+/** Service interface for reading the change feed of claims and policies. */
+public interface ChangeFeedService {
+
+  /**
+   * Reads the events published after a position of the feed, waiting for new ones if there are
+   * none yet.
+   *
+   * @param since The sequence number of the last event the reader has seen, 0 to start over.
+   * @param limit The maximum number of events to return.
+   * @param wait How long to wait for events if there are none; zero returns immediately.
+   * @return The events, oldest first, and the position to continue from.
+   */
+  ChangeFeedDto getChanges(long since, int limit, Duration wait);
+}
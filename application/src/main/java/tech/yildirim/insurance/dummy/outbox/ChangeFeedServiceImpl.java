@@ -0,0 +1,62 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import tech.yildirim.insurance.api.generated.model.ChangeFeedDto;
+
+/**
+ * Implementation of the {@link ChangeFeedService} interface. A long poll holds no transaction or
+ * connection while it waits: it queries, and if nothing is there, waits for the relay of this node
+ * to publish or for {@code poll-interval} to pass (events may also be relayed by another node), and
+ * queries again until the wait time is used up.
+ */
+@Service
+@Slf4j
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final OutboxEventMapper outboxEventMapper;
+  private final ChangeFeedNotifier changeFeedNotifier;
+  private final Duration pollInterval;
+
+  public ChangeFeedServiceImpl(
+      OutboxEventRepository outboxEventRepository,
+      OutboxEventMapper outboxEventMapper,
+      ChangeFeedNotifier changeFeedNotifier,
+      @Value("${insurance.outbox.change-feed.poll-interval:1s}") Duration pollInterval) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.outboxEventMapper = outboxEventMapper;
+    this.changeFeedNotifier = changeFeedNotifier;
+    this.pollInterval = pollInterval;
+  }
+
+  @Override
+  public ChangeFeedDto getChanges(long since, int limit, Duration wait) {
+    log.debug("Request to read the change feed since {} (limit {}, wait {})", since, limit, wait);
+    long deadline = System.nanoTime() + wait.toNanos();
+    while (true) {
+      long seenGeneration = changeFeedNotifier.generation();
+      List<OutboxEvent> events = outboxEventRepository.findPublishedAfter(since, Limit.of(limit));
+      long remaining = deadline - System.nanoTime();
+      if (!events.isEmpty() || remaining <= 0) {
+        return toFeed(since, events);
+      }
+      try {
+        changeFeedNotifier.awaitPublished(
+            seenGeneration, Duration.ofNanos(Math.min(remaining, pollInterval.toNanos())));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return toFeed(since, List.of());
+      }
+    }
+  }
+
+  private ChangeFeedDto toFeed(long since, List<OutboxEvent> events) {
+    long nextSince = events.isEmpty() ? since : events.getLast().getSequence();
+    return new ChangeFeedDto().events(outboxEventMapper.toDtoList(events)).nextSince(nextSince);
+  }
+}
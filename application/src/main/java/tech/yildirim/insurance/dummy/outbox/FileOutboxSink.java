@@ -0,0 +1,71 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tech.yildirim.insurance.api.generated.model.ChangeEventDto;
+
+/**
+ * Appends the published events to a file, one JSON document per line (NDJSON). Each batch is
+ * forced to disk before {@link #publish(List)} returns.
+ */
+@Component
+@ConditionalOnProperty(name = "insurance.outbox.sink.type", havingValue = "file")
+@Slf4j
+public class FileOutboxSink implements OutboxSink {
+
+  private final Path file;
+  private final ObjectMapper objectMapper;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  public FileOutboxSink(
+      @Value("${insurance.outbox.sink.file:./data/outbox-events.ndjson}") Path file,
+      ObjectMapper objectMapper) {
+    this.file = file;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void publish(List<ChangeEventDto> events) {
+    StringBuilder lines = new StringBuilder();
+    for (ChangeEventDto event : events) {
+      try {
+        lines.append(objectMapper.writeValueAsString(event)).append('\n');
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+    lock.lock();
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      try (FileChannel channel =
+          FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(false);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not append events to " + file, e);
+    } finally {
+      lock.unlock();
+    }
+    log.debug("Appended {} events to {}", events.size(), file);
+  }
+}
@@ -0,0 +1,56 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tech.yildirim.insurance.api.generated.model.ChangeEventDto;
+
+/**
+ * Keeps the most recently published events in memory, for tests and local development. The oldest
+ * events are dropped once {@code insurance.outbox.sink.in-memory-capacity} is reached.
+ */
+@Component
+@ConditionalOnProperty(
+    name = "insurance.outbox.sink.type",
+    havingValue = "in-memory",
+    matchIfMissing = true)
+public class InMemoryOutboxSink implements OutboxSink {
+
+  private final int capacity;
+  private final Deque<ChangeEventDto> events = new ArrayDeque<>();
+  private final ReentrantLock lock = new ReentrantLock();
+
+  public InMemoryOutboxSink(
+      @Value("${insurance.outbox.sink.in-memory-capacity:10000}") int capacity) {
+    this.capacity = capacity;
+  }
+
+  @Override
+  public void publish(List<ChangeEventDto> batch) {
+    lock.lock();
+    try {
+      for (ChangeEventDto event : batch) {
+        if (events.size() == capacity) {
+          events.removeFirst();
+        }
+        events.addLast(event);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** The retained events, oldest first. */
+  public List<ChangeEventDto> events() {
+    lock.lock();
+    try {
+      return List.copyOf(events);
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.ZonedDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A change to a claim or a policy, written to the outbox in the transaction of the change. The
+ * {@link #sequence} stays empty until the {@link OutboxRelay} has published the event; from then on
+ * it is the event's position in the change feed.
+ */
+@Entity
+@Table(
+    name = "outbox_events",
+    indexes = {
+      @Index(name = "uk_outbox_events_sequence", columnList = "sequence", unique = true)
+    })
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  private Long sequence;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private AggregateType aggregateType;
+
+  @Column(nullable = false)
+  private Long aggregateId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private OutboxEventType eventType;
+
+  /** The changed entity as JSON, in the representation of its endpoint. */
+  @Lob
+  @Column(nullable = false)
+  private String payload;
+
+  @Column(nullable = false)
+  private ZonedDateTime occurredAt;
+
+  private ZonedDateTime publishedAt;
+
+  public OutboxEvent(
+      OutboxEventType eventType, Long aggregateId, String payload, ZonedDateTime occurredAt) {
+    this.aggregateType = eventType.getAggregateType();
+    this.eventType = eventType;
+    this.aggregateId = aggregateId;
+    this.payload = payload;
+    this.occurredAt = occurredAt;
+  }
+}
@@ -0,0 +1,50 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+import tech.yildirim.insurance.api.generated.model.ChangeEventDto;
+
+/** Mapper for the {@link OutboxEvent} entity and its DTO {@link ChangeEventDto}. */
+@Mapper(componentModel = "spring")
+public interface OutboxEventMapper {
+
+  /** Only parses JSON into a tree, so it needs none of the application's modules. */
+  ObjectMapper PAYLOAD_READER = new ObjectMapper();
+
+  /**
+   * Maps an OutboxEvent entity to its DTO representation.
+   *
+   * @param event The source entity.
+   * @return The target DTO.
+   */
+  @Mapping(target = "payload", source = "payload", qualifiedByName = "payload")
+  ChangeEventDto toDto(OutboxEvent event);
+
+  /**
+   * Maps a list of OutboxEvent entities to a list of DTOs.
+   *
+   * @param events The list of source entities.
+   * @return The list of target DTOs.
+   */
+  List<ChangeEventDto> toDtoList(List<OutboxEvent> events);
+
+  default OffsetDateTime toOffsetDateTime(ZonedDateTime dateTime) {
+    return dateTime == null ? null : dateTime.toOffsetDateTime();
+  }
+
+  /** Embeds the stored JSON as a tree, so that it is rendered as an object and not a string. */
+  @Named("payload")
+  default Object toPayload(String payload) {
+    try {
+      return PAYLOAD_READER.readTree(payload);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Stored outbox payload is not valid JSON", e);
+    }
+  }
+}
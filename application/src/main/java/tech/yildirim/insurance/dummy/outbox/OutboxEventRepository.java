@@ -0,0 +1,36 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/** Spring Data JPA repository for the {@link OutboxEvent} entity. */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+  /**
+   * Reads the oldest events that have not been published yet.
+   *
+   * @param limit The maximum number of events.
+   * @return Up to {@code limit} unpublished events in the order they were written.
+   */
+  @Query("SELECT e FROM OutboxEvent e WHERE e.sequence IS NULL ORDER BY e.id")
+  List<OutboxEvent> findUnpublished(Limit limit);
+
+  /**
+   * Reads the published events after a position of the change feed.
+   *
+   * @param since The sequence number of the last event the reader has seen, 0 to start over.
+   * @param limit The maximum number of events.
+   * @return Up to {@code limit} events in sequence order.
+   */
+  @Query("SELECT e FROM OutboxEvent e WHERE e.sequence > :since ORDER BY e.sequence")
+  List<OutboxEvent> findPublishedAfter(@Param("since") long since, Limit limit);
+
+  /** The sequence number of the last published event, 0 if nothing has been published yet. */
+  @Query("SELECT COALESCE(MAX(e.sequence), 0) FROM OutboxEvent e")
+  long findLastSequence();
+}
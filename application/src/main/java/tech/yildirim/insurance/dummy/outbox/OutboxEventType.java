@@ -0,0 +1,18 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** The changes recorded in the outbox, each belonging to one {@link AggregateType}. */
+@Getter
+@RequiredArgsConstructor
+public enum OutboxEventType {
+  CLAIM_SUBMITTED(AggregateType.CLAIM),
+  CLAIM_ADJUSTER_ASSIGNED(AggregateType.CLAIM),
+  CLAIM_UPDATED(AggregateType.CLAIM),
+  CLAIM_DELETED(AggregateType.CLAIM),
+  POLICY_CREATED(AggregateType.POLICY),
+  POLICY_UPDATED(AggregateType.POLICY);
+
+  private final AggregateType aggregateType;
+}
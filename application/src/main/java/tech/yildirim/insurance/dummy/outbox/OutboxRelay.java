@@ -0,0 +1,123 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+
+/**
+ * Drains the outbox: publishes unpublished events to the {@link OutboxSink} in batches of {@code
+ * batch-size}, in the order they were written, and assigns them the next sequence numbers of the
+ * change feed. Each batch is one transaction, so a batch is either published and numbered, or
+ * retried on the next run.
+ *
+ * <p>Only the node holding the {@value #LEASE_NAME} lease relays. It keeps the lease between runs
+ * and renews it on each run, so a single node numbers the events and the feed has no gaps. When the
+ * node stops, another one takes over once the lease has expired.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+  static final String LEASE_NAME = "outbox-relay";
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final OutboxEventMapper outboxEventMapper;
+  private final OutboxSink outboxSink;
+  private final ChangeFeedNotifier changeFeedNotifier;
+  private final JobLeaseManager jobLeaseManager;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final Duration leaseDuration;
+
+  public OutboxRelay(
+      OutboxEventRepository outboxEventRepository,
+      OutboxEventMapper outboxEventMapper,
+      OutboxSink outboxSink,
+      ChangeFeedNotifier changeFeedNotifier,
+      JobLeaseManager jobLeaseManager,
+      PlatformTransactionManager transactionManager,
+      @Value("${insurance.outbox.relay.batch-size:500}") int batchSize,
+      @Value("${insurance.outbox.relay.lease-duration:30s}") Duration leaseDuration) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.outboxEventMapper = outboxEventMapper;
+    this.outboxSink = outboxSink;
+    this.changeFeedNotifier = changeFeedNotifier;
+    this.jobLeaseManager = jobLeaseManager;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.leaseDuration = leaseDuration;
+  }
+
+  /** Scheduled entry point, by default every second. */
+  @Scheduled(cron = "${insurance.outbox.relay.cron:* * * * * *}")
+  public void run() {
+    try {
+      relayPending();
+    } catch (RuntimeException e) {
+      log.error("Outbox relay failed, the batch is retried on the next run", e);
+    }
+  }
+
+  /**
+   * Publishes all pending events, if this node gets the lease.
+   *
+   * @return The number of published events.
+   */
+  public long relayPending() {
+    if (!jobLeaseManager.tryAcquire(LEASE_NAME, leaseDuration)) {
+      log.debug("Skipping outbox relay: lease is held by another node");
+      return 0;
+    }
+    long total = 0;
+    Integer published;
+    do {
+      published = transactionTemplate.execute(tx -> relayBatch());
+      if (published == null || published == 0) {
+        break;
+      }
+      total += published;
+      changeFeedNotifier.signalPublished();
+    } while (published == batchSize && jobLeaseManager.tryAcquire(LEASE_NAME, leaseDuration));
+    if (total > 0) {
+      log.info("Outbox relay published {} events", total);
+    }
+    return total;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    jobLeaseManager.release(LEASE_NAME);
+  }
+
+  /**
+   * Numbers and publishes the next batch of unpublished events. Runs in the caller's transaction;
+   * the numbers are flushed before the batch is published, so a conflict fails the batch early.
+   *
+   * @return The number of events in the batch.
+   */
+  private int relayBatch() {
+    List<OutboxEvent> events = outboxEventRepository.findUnpublished(Limit.of(batchSize));
+    if (events.isEmpty()) {
+      return 0;
+    }
+    long sequence = outboxEventRepository.findLastSequence();
+    ZonedDateTime now = ZonedDateTime.now();
+    for (OutboxEvent event : events) {
+      event.setSequence(++sequence);
+      event.setPublishedAt(now);
+    }
+    outboxEventRepository.flush();
+    outboxSink.publish(outboxEventMapper.toDtoList(events));
+    log.debug("Published outbox events up to sequence {}", sequence);
+    return events.size();
+  }
+}
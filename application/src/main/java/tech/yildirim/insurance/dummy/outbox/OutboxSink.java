@@ -0,0 +1,22 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import java.util.List;
+import tech.yildirim.insurance.api.generated.model.ChangeEventDto;
+
+/**
+ * Where the {@link OutboxRelay} delivers events, e.g. a message broker. The implementation is
+ * selected with {@code insurance.outbox.sink.type}.
+ *
+ * <p>Delivery is at least once: a batch is published before the relay commits its sequence
+ * numbers, so a batch whose commit fails is published again, with the same sequence numbers.
+ */
+public interface OutboxSink {
+
+  /**
+   * Publishes a batch of events. The call must only return once the events are stored durably by
+   * the sink; an exception makes the relay retry the batch.
+   *
+   * @param events The events in sequence order.
+   */
+  void publish(List<ChangeEventDto> events);
+}
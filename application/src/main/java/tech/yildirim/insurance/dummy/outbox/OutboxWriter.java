@@ -0,0 +1,45 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.ZonedDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records claim and policy changes in the outbox. The event is written in the caller's transaction,
+ * so it is committed if and only if the change itself is; there is no window in which downstream
+ * systems could miss a change or see one that was rolled back.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxWriter {
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Adds an event to the outbox.
+   *
+   * @param eventType The kind of change.
+   * @param aggregateId The id of the changed claim or policy.
+   * @param payload The changed claim or policy, serialized to JSON as its endpoint returns it.
+   * @throws org.springframework.transaction.IllegalTransactionStateException if there is no
+   *     transaction to join.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void append(OutboxEventType eventType, Long aggregateId, Object payload) {
+    String json;
+    try {
+      json = objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize the " + eventType + " event", e);
+    }
+    outboxEventRepository.save(new OutboxEvent(eventType, aggregateId, json, ZonedDateTime.now()));
+    log.debug("Recorded {} event for {} {}", eventType, eventType.getAggregateType(), aggregateId);
+  }
+}
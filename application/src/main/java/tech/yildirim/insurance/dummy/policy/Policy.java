@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -24,7 +25,15 @@ import tech.yildirim.insurance.dummy.customer.Customer;
 
 /** Represents an insurance policy in the system. Each policy is linked to a single customer. */
 @Entity
-@Table(name = "policies")
+@Table(
+    name = "policies",
+    indexes = {
+      @Index(name = "idx_policies_customer_status", columnList = "customer_id, status"),
+      @Index(name = "idx_policies_agency_status", columnList = "agency_id, status"),
+      @Index(name = "idx_policies_status_end_date", columnList = "status, end_date"),
+      @Index(name = "idx_policies_status_start_date", columnList = "status, start_date"),
+      @Index(name = "idx_policies_updated_at", columnList = "updated_at, id")
+    })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,20 +1,37 @@
 package tech.yildirim.insurance.dummy.policy;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 import tech.yildirim.insurance.api.generated.controller.PoliciesApi;
 import tech.yildirim.insurance.api.generated.model.AutoClaimDto;
 import tech.yildirim.insurance.api.generated.model.ClaimDto;
 import tech.yildirim.insurance.api.generated.model.HealthClaimDto;
 import tech.yildirim.insurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.insurance.api.generated.model.ImportResultDto;
 import tech.yildirim.insurance.api.generated.model.PolicyConditionsDto;
+import tech.yildirim.insurance.api.generated.model.PolicyDeltaDto;
 import tech.yildirim.insurance.api.generated.model.PolicyDto;
+import tech.yildirim.insurance.api.generated.model.PremiumQuoteDto;
+import tech.yildirim.insurance.api.generated.model.PremiumQuoteRequestDto;
+import tech.yildirim.insurance.api.generated.model.RatingTablesDto;
+import tech.yildirim.insurance.api.generated.model.RenewalRequestDto;
+import tech.yildirim.insurance.api.generated.model.RenewalRunDto;
 import tech.yildirim.insurance.dummy.claim.ClaimService;
+import tech.yildirim.insurance.dummy.common.concurrent.SingleFlight;
+import tech.yildirim.insurance.dummy.common.idempotency.IdempotentRequests;
+import tech.yildirim.insurance.dummy.common.importing.ImportFormat;
 import tech.yildirim.insurance.dummy.policy.condition.PolicyConditionsService;
+import tech.yildirim.insurance.dummy.policy.importing.PolicyImportService;
+import tech.yildirim.insurance.dummy.policy.rating.RatingService;
+import tech.yildirim.insurance.dummy.policy.renewal.PolicyRenewalService;
 
 /**
  * REST Controller for managing policies. Implements the generated {@link PoliciesApi} interface.
@@ -27,31 +44,43 @@ public class PolicyController implements PoliciesApi {
   private final PolicyService policyService;
   private final PolicyConditionsService policyConditionsService;
   private final ClaimService claimService;
+  private final PolicyRenewalService policyRenewalService;
+  private final RatingService ratingService;
+  private final PolicyImportService policyImportService;
+  private final IdempotentRequests idempotentRequests;
+  private final SingleFlight singleFlight;
 
   @Override
-  public ResponseEntity<PolicyDto> createPolicy(PolicyDto policyDto) {
+  public ResponseEntity<PolicyDto> createPolicy(PolicyDto policyDto, String idempotencyKey) {
     log.info("REST request to create policy for customerId {}", policyDto.getCustomerId());
-    PolicyDto createdPolicy = policyService.createPolicy(policyDto);
-    log.info(
-        "Successfully created policy with id {} and number {}",
-        createdPolicy.getId(),
-        createdPolicy.getPolicyNumber());
-    return new ResponseEntity<>(createdPolicy, HttpStatus.CREATED);
+    return idempotentRequests.execute(
+        "createPolicy",
+        idempotencyKey,
+        policyDto,
+        PolicyDto.class,
+        () -> {
+          PolicyDto createdPolicy = policyService.createPolicy(policyDto);
+          log.info(
+              "Successfully created policy with id {} and number {}",
+              createdPolicy.getId(),
+              createdPolicy.getPolicyNumber());
+          return new ResponseEntity<>(createdPolicy, HttpStatus.CREATED);
+        });
   }
 
   @Override
-  public ResponseEntity<List<PolicyDto>> getAllPolicies() {
+  public ResponseEntity<List<PolicyDto>> getAllPolicies(List<String> fields) {
     log.info("REST request to get all policies");
-    List<PolicyDto> policies = policyService.findAllPolicies();
+    List<PolicyDto> policies = policyService.findAllPolicies(fields);
     log.debug("Returning {} policies", policies.size());
     return ResponseEntity.ok(policies);
   }
 
   @Override
-  public ResponseEntity<PolicyDto> getPolicyById(Long id) {
+  public ResponseEntity<PolicyDto> getPolicyById(Long id, List<String> fields) {
     log.info("REST request to get policy with id: {}", id);
-    return policyService
-        .findPolicyById(id)
+    return singleFlight
+        .load("policy", id, () -> policyService.findPolicyById(id))
         .map(
             policy -> {
               log.info("Found policy with id: {}, returning HTTP 200 OK", id);
@@ -97,10 +126,10 @@ public class PolicyController implements PoliciesApi {
 
   @Override
   public ResponseEntity<List<AutoClaimDto>> getAutoClaimsByPolicyId(
-      Long policyId, Integer page, Integer size, String status) {
+      Long policyId, Integer page, Integer size, String status, List<String> fields) {
     log.info("REST request to get auto claims for policy id: {}", policyId);
 
-    List<ClaimDto> allClaims = claimService.findClaimsByPolicyId(policyId);
+    List<ClaimDto> allClaims = claimService.findClaimsByPolicyId(policyId, fields);
     List<AutoClaimDto> autoClaims =
         allClaims.stream()
             .filter(AutoClaimDto.class::isInstance)
@@ -113,15 +142,23 @@ public class PolicyController implements PoliciesApi {
 
   @Override
   public ResponseEntity<List<HomeClaimDto>> getHomeClaimsByPolicyId(
-      Long policyId, Integer page, Integer size, String status) {
+      Long policyId,
+      Integer page,
+      Integer size,
+      String status,
+      List<String> fields,
+      List<String> expand) {
     log.info("REST request to get home claims for policy id: {}", policyId);
 
-    List<ClaimDto> allClaims = claimService.findClaimsByPolicyId(policyId);
+    List<ClaimDto> allClaims = claimService.findClaimsByPolicyId(policyId, fields);
     List<HomeClaimDto> homeClaims =
         allClaims.stream()
             .filter(HomeClaimDto.class::isInstance)
             .map(HomeClaimDto.class::cast)
             .toList();
+    if (expand != null && expand.contains(ClaimService.EXPAND_DAMAGED_ITEMS)) {
+      homeClaims = claimService.includeDamagedItems(homeClaims);
+    }
 
     log.debug("Found {} home claims for policy id: {}", homeClaims.size(), policyId);
     return ResponseEntity.ok(homeClaims);
@@ -129,10 +166,10 @@ public class PolicyController implements PoliciesApi {
 
   @Override
   public ResponseEntity<List<HealthClaimDto>> getHealthClaimsByPolicyId(
-      Long policyId, Integer page, Integer size, String status) {
+      Long policyId, Integer page, Integer size, String status, List<String> fields) {
     log.info("REST request to get health claims for policy id: {}", policyId);
 
-    List<ClaimDto> allClaims = claimService.findClaimsByPolicyId(policyId);
+    List<ClaimDto> allClaims = claimService.findClaimsByPolicyId(policyId, fields);
     List<HealthClaimDto> healthClaims =
         allClaims.stream()
             .filter(HealthClaimDto.class::isInstance)
@@ -156,4 +193,74 @@ public class PolicyController implements PoliciesApi {
         policyConditionsService.updatePolicyConditions(policyConditionsDto);
     return ResponseEntity.ok(updatedConditions);
   }
+
+  @Override
+  public ResponseEntity<RatingTablesDto> getRatingTables() {
+    return ResponseEntity.ok(ratingService.getRatingTables());
+  }
+
+  @Override
+  public ResponseEntity<RatingTablesDto> updateRatingTables(RatingTablesDto ratingTablesDto) {
+    log.info("REST request to update the rating tables");
+    return ResponseEntity.ok(ratingService.updateRatingTables(ratingTablesDto));
+  }
+
+  @Override
+  public ResponseEntity<List<PremiumQuoteDto>> quotePremiums(
+      List<PremiumQuoteRequestDto> premiumQuoteRequestDto) {
+    log.info("REST request to quote {} premiums", premiumQuoteRequestDto.size());
+    return ResponseEntity.ok(ratingService.quotePremiums(premiumQuoteRequestDto));
+  }
+
+  @Override
+  public ResponseEntity<ImportResultDto> importPolicies(MultipartFile file, String format) {
+    log.info(
+        "REST request to import policies from {} ({} bytes)",
+        file.getOriginalFilename(),
+        file.getSize());
+    ImportFormat importFormat = ImportFormat.of(format);
+    try {
+      return ResponseEntity.ok(
+          policyImportService.importPolicies(importFormat, file.getInputStream()));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read the uploaded file", e);
+    }
+  }
+
+  @Override
+  public ResponseEntity<RenewalRunDto> startPolicyRenewal(RenewalRequestDto renewalRequestDto) {
+    log.info("REST request to start a policy renewal run");
+    RenewalRunDto run = policyRenewalService.startRenewal(renewalRequestDto);
+    return new ResponseEntity<>(run, HttpStatus.ACCEPTED);
+  }
+
+  @Override
+  public ResponseEntity<RenewalRunDto> getPolicyRenewal(Long id) {
+    log.info("REST request to get renewal run with id: {}", id);
+    return policyRenewalService
+        .findRenewalRun(id)
+        .map(ResponseEntity::ok)
+        .orElseGet(
+            () -> {
+              log.warn("Renewal run with id: {} not found, returning HTTP 404 NOT FOUND", id);
+              return ResponseEntity.notFound().build();
+            });
+  }
+
+  @Override
+  public ResponseEntity<RenewalRunDto> resumePolicyRenewal(Long id) {
+    log.info("REST request to resume renewal run with id: {}", id);
+    RenewalRunDto run = policyRenewalService.resumeRenewal(id);
+    return new ResponseEntity<>(run, HttpStatus.ACCEPTED);
+  }
+
+  @Override
+  public ResponseEntity<PolicyDeltaDto> getPolicyDelta(
+      OffsetDateTime updatedSince, String cursor, Integer limit) {
+    log.info("REST request to read the policy delta");
+    PolicyDeltaDto delta = policyService.getPolicyDelta(updatedSince, cursor, limit);
+    log.debug(
+        "Returning {} policies, more available: {}", delta.getItems().size(), delta.getHasMore());
+    return ResponseEntity.ok(delta);
+  }
 }
@@ -47,8 +47,25 @@ public interface PolicyMapper {
    */
   List<PolicyDto> toDtoList(List<Policy> policies);
 
+  /**
+   * Maps a {@link PolicySummary} projection to a PolicyDto.
+   *
+   * @param summary The source projection.
+   * @return The target DTO.
+   */
+  PolicyDto summaryToDto(PolicySummary summary);
+
+  /**
+   * Maps a list of PolicySummary projections to a list of PolicyDtos.
+   *
+   * @param summaries The list of projections.
+   * @return The list of DTOs.
+   */
+  List<PolicyDto> summariesToDtoList(List<PolicySummary> summaries);
+
   /**
    * Updates an existing Policy entity from a PolicyDto, ignoring relationship and managed fields.
+   * The premium is ignored as well, since it is computed by the rating engine.
    *
    * @param dto The source DTO.
    * @param entity The target entity to update.
@@ -56,6 +73,7 @@ public interface PolicyMapper {
   @Mapping(target = "id", ignore = true)
   @Mapping(target = "policyNumber", ignore = true)
   @Mapping(target = "customer", ignore = true)
+  @Mapping(target = "premium", ignore = true)
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
   void updatePolicyFromDto(PolicyDto dto, @MappingTarget Policy entity);
@@ -0,0 +1,22 @@
+package tech.yildirim.insurance.dummy.policy;
+
+import java.util.UUID;
+
+/**
+ * Generates simple unique policy numbers. In a real-world scenario, this could be a more complex
+ * sequential number generator.
+ */
+public final class PolicyNumberGenerator {
+
+  private PolicyNumberGenerator() {}
+
+  /**
+   * Generates a new policy number, e.g. {@code POL-A81BC2A-43A9}. Safe to call from any thread.
+   *
+   * @return A unique policy number string.
+   */
+  public static String next() {
+    String randomPart = UUID.randomUUID().toString().substring(0, 13);
+    return "POL-" + randomPart.toUpperCase();
+  }
+}
@@ -1,22 +1,43 @@
 package tech.yildirim.insurance.dummy.policy;
 
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /** Spring Data JPA repository for the {@link Policy} entity. */
 @Repository
 public interface PolicyRepository extends JpaRepository<Policy, Long> {
 
   /**
-   * Finds all policies associated with a given customer ID. Spring Data JPA will automatically
-   * generate the query for this method.
+   * Finds all policies associated with a given customer ID. The query filters on the foreign key
+   * column; the derived query would join customers and scan all policies.
    *
    * @param customerId The ID of the customer.
    * @return A list of policies belonging to the customer.
    */
-  List<Policy> findByCustomerId(Long customerId);
+  @Query("SELECT p FROM Policy p WHERE p.customer.id = :customerId")
+  List<Policy> findByCustomerId(@Param("customerId") Long customerId);
+
+  /**
+   * Finds the policies of a customer and checks that the customer exists in the same query. The
+   * customer is left joined to its policies, so the result is empty only if the customer does not
+   * exist, and contains a single {@code null} element if the customer has no policies.
+   *
+   * @param customerId The ID of the customer.
+   * @return The customer's policies, a single {@code null} or an empty list, see above.
+   */
+  @Query(
+      "SELECT p FROM Customer c LEFT JOIN Policy p ON p.customer.id = c.id"
+          + " WHERE c.id = :customerId")
+  List<Policy> findByCustomerIdJoiningCustomer(@Param("customerId") Long customerId);
 
   /**
    * Finds a policy by its unique policy number.
@@ -24,4 +45,90 @@ public interface PolicyRepository extends JpaRepository<Policy, Long> {
    * @return An Optional containing the found policy.
    */
   Optional<Policy> findByPolicyNumber(String policyNumber);
+
+  /**
+   * Reads all policies as {@link PolicySummary} tuples. The customer and agency ids are taken from
+   * the foreign key columns, so neither table is joined.
+   *
+   * @return The summaries of all policies.
+   */
+  @Query(
+      "SELECT p.id AS id, p.policyNumber AS policyNumber, p.startDate AS startDate,"
+          + " p.endDate AS endDate, p.type AS type, p.status AS status, p.premium AS premium,"
+          + " p.customer.id AS customerId, p.agency.id AS agencyId FROM Policy p")
+  List<PolicySummary> findAllSummaries();
+
+  /**
+   * Reads the policies of a customer as {@link PolicySummary} tuples. Like {@link
+   * #findByCustomerIdJoiningCustomer(Long)}, the customer is left joined to its policies: the
+   * result is empty if the customer does not exist, and a customer without policies yields a
+   * single tuple whose {@code id} is {@code null}.
+   *
+   * @param customerId The ID of the customer.
+   * @return The summaries of the customer's policies, see above.
+   */
+  @Query(
+      "SELECT p.id AS id, p.policyNumber AS policyNumber, p.startDate AS startDate,"
+          + " p.endDate AS endDate, p.type AS type, p.status AS status, p.premium AS premium,"
+          + " p.customer.id AS customerId, p.agency.id AS agencyId"
+          + " FROM Customer c LEFT JOIN Policy p ON p.customer.id = c.id"
+          + " WHERE c.id = :customerId")
+  List<PolicySummary> findSummariesByCustomerIdJoiningCustomer(
+      @Param("customerId") Long customerId);
+
+  /**
+   * Expires up to {@code limit} active or pending policies whose end date lies before the given
+   * date. Runs as one set-based statement over the status/end date index and commits on its own,
+   * so repeated calls work through any backlog in bounded chunks.
+   *
+   * @param today The current date.
+   * @param limit The maximum number of policies to update.
+   * @return The number of expired policies.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "UPDATE policies SET status = 'EXPIRED', updated_at = CURRENT_TIMESTAMP"
+              + " WHERE status IN ('ACTIVE', 'PENDING') AND end_date < :today"
+              + " FETCH FIRST :limit ROWS ONLY",
+      nativeQuery = true)
+  int expirePolicies(@Param("today") LocalDate today, @Param("limit") int limit);
+
+  /**
+   * Activates up to {@code limit} pending policies whose term has started and not yet ended. Runs
+   * as one set-based statement over the status/start date index and commits on its own.
+   *
+   * @param today The current date.
+   * @param limit The maximum number of policies to update.
+   * @return The number of activated policies.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "UPDATE policies SET status = 'ACTIVE', updated_at = CURRENT_TIMESTAMP"
+              + " WHERE status = 'PENDING' AND start_date <= :today AND end_date >= :today"
+              + " FETCH FIRST :limit ROWS ONLY",
+      nativeQuery = true)
+  int activatePolicies(@Param("today") LocalDate today, @Param("limit") int limit);
+
+  /**
+   * Reads the policies changed after a keyset position of a delta, over the update time index.
+   *
+   * @param since The update time of the last policy read.
+   * @param afterId The id of that policy, 0 to include all policies updated at {@code since}.
+   * @param until The exclusive upper bound of the update time, see {@link
+   *     tech.yildirim.insurance.dummy.common.delta.DeltaWindow}.
+   * @param limit The maximum number of policies.
+   * @return The policies ordered by update time and id.
+   */
+  @Query(
+      "SELECT p FROM Policy p WHERE p.updatedAt >= :since AND p.updatedAt < :until"
+          + " AND (p.updatedAt > :since OR p.id > :afterId) ORDER BY p.updatedAt, p.id")
+  List<Policy> findUpdatedAfter(
+      @Param("since") ZonedDateTime since,
+      @Param("afterId") long afterId,
+      @Param("until") ZonedDateTime until,
+      Limit limit);
 }
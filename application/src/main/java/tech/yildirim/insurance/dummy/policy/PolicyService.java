@@ -1,8 +1,12 @@
 package tech.yildirim.insurance.dummy.policy;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import tech.yildirim.insurance.api.generated.model.PolicyDeltaDto;
 import tech.yildirim.insurance.api.generated.model.PolicyDto;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
 import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
 
 /** Service Interface for managing {@link Policy}. */
@@ -17,7 +21,7 @@ public interface PolicyService {
   PolicyDto createPolicy(PolicyDto policyDto);
 
   /**
-   * Finds a policy by its ID.
+   * Finds a policy by its ID, in the policies table or else in the archive.
    *
    * @param id The ID of the policy.
    * @return An Optional containing the found policy, or empty if not found.
@@ -39,6 +43,16 @@ public interface PolicyService {
    */
   List<PolicyDto> findAllPolicies();
 
+  /**
+   * Retrieves all policies for a sparse fieldset. When every requested field is covered by {@link
+   * PolicySummary}, only those columns are read; otherwise this behaves like {@link
+   * #findAllPolicies()}.
+   *
+   * @param fields The DTO properties the caller asked for, may be null.
+   * @return A list of all policies.
+   */
+  List<PolicyDto> findAllPolicies(Collection<String> fields);
+
   /**
    * Updates an existing policy.
    *
@@ -56,4 +70,27 @@ public interface PolicyService {
    * @throws ResourceNotFoundException if the customer does not exist.
    */
   List<PolicyDto> findPoliciesByCustomerId(Long customerId);
+
+  /**
+   * Finds all policies for a given customer, reading only the {@link PolicySummary} columns when
+   * they cover the requested sparse fieldset.
+   *
+   * @param customerId The ID of the customer.
+   * @param fields The DTO properties the caller asked for, may be null.
+   * @return A list of policy DTOs.
+   * @throws ResourceNotFoundException if the customer does not exist.
+   */
+  List<PolicyDto> findPoliciesByCustomerId(Long customerId, Collection<String> fields);
+
+  /**
+   * Reads a page of the policy delta: the policies changed after the cursor position.
+   *
+   * @param updatedSince Where a new sync starts, may be null.
+   * @param cursor The encoded cursor of the previous page, may be null.
+   * @param limit The maximum number of policies.
+   * @return The page and the cursor to continue with.
+   * @throws InvalidRequestException if both {@code updatedSince} and a cursor, or a malformed
+   *     cursor, are given.
+   */
+  PolicyDeltaDto getPolicyDelta(OffsetDateTime updatedSince, String cursor, int limit);
 }
@@ -1,18 +1,31 @@
 package tech.yildirim.insurance.dummy.policy;
 
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tech.yildirim.insurance.api.generated.model.PolicyDeltaDto;
 import tech.yildirim.insurance.api.generated.model.PolicyDto;
 import tech.yildirim.insurance.dummy.agency.Agency;
 import tech.yildirim.insurance.dummy.agency.AgencyRepository;
+import tech.yildirim.insurance.dummy.archive.ArchiveReader;
+import tech.yildirim.insurance.dummy.claim.report.ClaimRollupWriter;
 import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+import tech.yildirim.insurance.dummy.common.delta.DeltaCursor;
+import tech.yildirim.insurance.dummy.common.delta.DeltaPage;
+import tech.yildirim.insurance.dummy.common.delta.DeltaWindow;
 import tech.yildirim.insurance.dummy.customer.Customer;
 import tech.yildirim.insurance.dummy.customer.CustomerRepository;
+import tech.yildirim.insurance.dummy.outbox.OutboxEventType;
+import tech.yildirim.insurance.dummy.outbox.OutboxWriter;
+import tech.yildirim.insurance.dummy.policy.rating.RatingService;
 
 /** Implementation of the {@link PolicyService} interface. */
 @Service
@@ -24,6 +37,11 @@ public class PolicyServiceImpl implements PolicyService {
   private final CustomerRepository customerRepository;
   private final PolicyMapper policyMapper;
   private final AgencyRepository agencyRepository;
+  private final RatingService ratingService;
+  private final OutboxWriter outboxWriter;
+  private final DeltaWindow deltaWindow;
+  private final ClaimRollupWriter claimRollupWriter;
+  private final ArchiveReader archiveReader;
 
   @Override
   @Transactional
@@ -44,6 +62,8 @@ public class PolicyServiceImpl implements PolicyService {
     policy.setCustomer(customer);
     policy.setPolicyNumber(generatePolicyNumber());
     policy.setStatus(PolicyStatus.PENDING);
+    // The premium is rated from the customer's risk; a premium sent by the client is ignored
+    policy.setPremium(ratingService.ratePolicy(policy.getType(), customer, policy.getStartDate()));
 
     if (policyDto.getAgencyId() != null) {
       log.debug("Policy creation includes agencyId: {}", policyDto.getAgencyId());
@@ -66,14 +86,19 @@ public class PolicyServiceImpl implements PolicyService {
         "Successfully created policy with id {} and number {}",
         savedPolicy.getId(),
         savedPolicy.getPolicyNumber());
-    return policyMapper.toDto(savedPolicy);
+    PolicyDto savedPolicyDto = policyMapper.toDto(savedPolicy);
+    outboxWriter.append(OutboxEventType.POLICY_CREATED, savedPolicy.getId(), savedPolicyDto);
+    return savedPolicyDto;
   }
 
   @Override
   @Transactional(readOnly = true)
   public Optional<PolicyDto> findPolicyById(Long id) {
     log.info("Request to find policy by id: {}", id);
-    return policyRepository.findById(id).map(policyMapper::toDto);
+    return policyRepository
+        .findById(id)
+        .map(policyMapper::toDto)
+        .or(() -> archiveReader.findPolicy(id));
   }
 
   @Override
@@ -92,6 +117,18 @@ public class PolicyServiceImpl implements PolicyService {
     return policyMapper.toDtoList(policies);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public List<PolicyDto> findAllPolicies(Collection<String> fields) {
+    if (!PolicySummary.covers(fields)) {
+      return findAllPolicies();
+    }
+    log.info("Request to find all policies with fields: {}", fields);
+    List<PolicySummary> summaries = policyRepository.findAllSummaries();
+    log.info("Found {} policies", summaries.size());
+    return policyMapper.summariesToDtoList(summaries);
+  }
+
   @Override
   @Transactional
   public Optional<PolicyDto> updatePolicy(Long id, PolicyDto policyDto) {
@@ -101,6 +138,7 @@ public class PolicyServiceImpl implements PolicyService {
         .map(
             existingPolicy -> {
               log.debug("Found policy with id {}, proceeding with update.", id);
+              Long previousAgencyId = agencyIdOf(existingPolicy);
               policyMapper.updatePolicyFromDto(policyDto, existingPolicy);
               if (policyDto.getAgencyId() != null) {
                 log.debug("Updating policy with agencyId: {}", policyDto.getAgencyId());
@@ -121,34 +159,86 @@ public class PolicyServiceImpl implements PolicyService {
                 existingPolicy.setAgency(null);
               }
               policyRepository.save(existingPolicy);
+              Long agencyId = agencyIdOf(existingPolicy);
+              if (!Objects.equals(previousAgencyId, agencyId)) {
+                // The claim report counts claims per agency, so they move along with the policy
+                claimRollupWriter.moveClaimsOfPolicy(id, previousAgencyId, agencyId);
+              }
               log.info("Successfully updated policy with id: {}", id);
-              return policyMapper.toDto(existingPolicy);
+              PolicyDto updatedPolicyDto = policyMapper.toDto(existingPolicy);
+              outboxWriter.append(OutboxEventType.POLICY_UPDATED, id, updatedPolicyDto);
+              return updatedPolicyDto;
             });
   }
 
   @Override
   public List<PolicyDto> findPoliciesByCustomerId(Long customerId) {
     log.info("Request to find policies for customer id: {}", customerId);
-    if (!customerRepository.existsById(customerId)) {
+    // One query answers both "does the customer exist" and "which policies does it have"
+    List<Policy> rows = policyRepository.findByCustomerIdJoiningCustomer(customerId);
+    if (rows.isEmpty()) {
       log.warn("Cannot find policies. Customer with id: {} not found.", customerId);
       throw new ResourceNotFoundException("Customer not found with id: " + customerId);
     }
-    List<Policy> policies = policyRepository.findByCustomerId(customerId);
+    List<Policy> policies = rows.stream().filter(Objects::nonNull).toList();
     log.info("Found {} policies for customer id: {}", policies.size(), customerId);
     return policyMapper.toDtoList(policies);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public List<PolicyDto> findPoliciesByCustomerId(Long customerId, Collection<String> fields) {
+    if (!PolicySummary.covers(fields)) {
+      return findPoliciesByCustomerId(customerId);
+    }
+    log.info("Request to find policies for customer id: {} with fields: {}", customerId, fields);
+    List<PolicySummary> rows =
+        policyRepository.findSummariesByCustomerIdJoiningCustomer(customerId);
+    if (rows.isEmpty()) {
+      log.warn("Cannot find policies. Customer with id: {} not found.", customerId);
+      throw new ResourceNotFoundException("Customer not found with id: " + customerId);
+    }
+    List<PolicySummary> summaries =
+        rows.stream().filter(summary -> summary.getId() != null).toList();
+    log.info("Found {} policies for customer id: {}", summaries.size(), customerId);
+    return policyMapper.summariesToDtoList(summaries);
+  }
+
   /**
-   * Generates a simple unique policy number. In a real-world scenario, this could be a more complex
-   * sequential number generator.
+   * Generates a simple unique policy number, see {@link PolicyNumberGenerator}.
    *
    * @return A unique policy number string.
    */
   private String generatePolicyNumber() {
-    // Example: POL-A81BC2A-43A9
-    String randomPart = UUID.randomUUID().toString().substring(0, 13);
-    String policyNumber = "POL-" + randomPart.toUpperCase();
+    String policyNumber = PolicyNumberGenerator.next();
     log.debug("Generated new policy number: {}", policyNumber);
     return policyNumber;
   }
+
+  /** Returns the ID of the policy's agency, or {@code null} for a policy sold directly. */
+  private static Long agencyIdOf(Policy policy) {
+    return policy.getAgency() == null ? null : policy.getAgency().getId();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public PolicyDeltaDto getPolicyDelta(OffsetDateTime updatedSince, String cursor, int limit) {
+    DeltaCursor position = DeltaCursor.start(cursor, updatedSince);
+    log.info("Request to read the policy delta after {}", position);
+    ZonedDateTime until = deltaWindow.settledUntil();
+    DeltaPage<Policy> page =
+        DeltaPage.of(
+            policyRepository.findUpdatedAfter(
+                position.updatedAt(), position.id(), until, Limit.of(limit + 1)),
+            limit);
+    Policy last = page.last();
+    if (last != null) {
+      position = position.afterUpdate(last.getUpdatedAt(), last.getId());
+    }
+    log.info("Found {} changed policies", page.rows().size());
+    return new PolicyDeltaDto()
+        .items(policyMapper.toDtoList(page.rows()))
+        .nextCursor(position.encode())
+        .hasMore(page.hasMore());
+  }
 }
@@ -0,0 +1,55 @@
+package tech.yildirim.insurance.dummy.policy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Closed projection of the {@link Policy} columns exposed by the API. Used by list endpoints that
+ * were called with a sparse fieldset, so the rows are read as plain tuples instead of managed
+ * entities with lazy customer and agency proxies.
+ */
+public interface PolicySummary {
+
+  /** DTO property names that can be populated from this projection. */
+  Set<String> FIELDS =
+      Set.of(
+          "id",
+          "policyNumber",
+          "startDate",
+          "endDate",
+          "type",
+          "status",
+          "premium",
+          "customerId",
+          "agencyId");
+
+  Long getId();
+
+  String getPolicyNumber();
+
+  LocalDate getStartDate();
+
+  LocalDate getEndDate();
+
+  PolicyType getType();
+
+  PolicyStatus getStatus();
+
+  BigDecimal getPremium();
+
+  Long getCustomerId();
+
+  Long getAgencyId();
+
+  /**
+   * Checks whether a sparse fieldset can be served from this projection alone.
+   *
+   * @param fields The requested DTO property names, may be null.
+   * @return true if fields were requested and all of them are covered by the projection.
+   */
+  static boolean covers(Collection<String> fields) {
+    return fields != null && !fields.isEmpty() && FIELDS.containsAll(fields);
+  }
+}
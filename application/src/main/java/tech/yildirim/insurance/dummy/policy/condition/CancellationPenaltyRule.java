@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import lombok.AllArgsConstructor;
@@ -12,7 +13,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "cancellation_penalty_rules")
+@Table(
+    name = "cancellation_penalty_rules",
+    indexes = @Index(name = "idx_penalty_rules_conditions", columnList = "policy_conditions_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
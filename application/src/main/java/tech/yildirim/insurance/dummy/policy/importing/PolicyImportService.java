@@ -0,0 +1,23 @@
+package tech.yildirim.insurance.dummy.policy.importing;
+
+import java.io.InputStream;
+import tech.yildirim.insurance.api.generated.model.ImportResultDto;
+import tech.yildirim.insurance.dummy.common.importing.ImportFormat;
+
+/** Service Interface for creating policies in bulk from an import file. */
+public interface PolicyImportService {
+
+  /**
+   * Imports the policies of a file. Every row is validated and priced like a policy created through
+   * {@link tech.yildirim.insurance.dummy.policy.PolicyService#createPolicy}; rows that cannot be
+   * imported are skipped and reported. The valid rows are stored in one transaction per chunk, so
+   * the chunks written before a failure stay imported.
+   *
+   * @param format The format of the file.
+   * @param input The UTF-8 encoded file content; it is closed when the import ends.
+   * @return How many rows were imported, and why the others were rejected.
+   * @throws tech.yildirim.insurance.dummy.common.InvalidRequestException if a CSV file lacks a
+   *     required column.
+   */
+  ImportResultDto importPolicies(ImportFormat format, InputStream input);
+}
@@ -0,0 +1,285 @@
+package tech.yildirim.insurance.dummy.policy.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.yildirim.insurance.api.generated.model.ImportResultDto;
+import tech.yildirim.insurance.dummy.agency.AgencyRepository;
+import tech.yildirim.insurance.dummy.claim.ClaimRepository;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+import tech.yildirim.insurance.dummy.common.importing.ImportFormat;
+import tech.yildirim.insurance.dummy.common.importing.ImportRecord;
+import tech.yildirim.insurance.dummy.common.importing.ImportRecordReader;
+import tech.yildirim.insurance.dummy.common.importing.ImportReport;
+import tech.yildirim.insurance.dummy.customer.CustomerRepository;
+import tech.yildirim.insurance.dummy.policy.PolicyNumberGenerator;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+import tech.yildirim.insurance.dummy.policy.rating.RatingEngine;
+import tech.yildirim.insurance.dummy.policy.rating.RatingRequest;
+
+/**
+ * Implementation of the {@link PolicyImportService} interface.
+ *
+ * <p>The file is read as a stream in chunks of {@code chunk-size} rows. Per chunk, the customers
+ * and agencies that have not been seen before are looked up with one {@code IN} query each (plus
+ * one grouped query for the customers' claim counts) and kept in memory for the following chunks,
+ * the premiums are priced as one batch by the {@link RatingEngine}, and the valid rows are written
+ * with a batched JDBC insert. Every chunk is committed in its own transaction and stamped with the
+ * time it is written, so a long import neither holds one transaction open for the whole file nor
+ * stamps its rows with a time the delta cursors have already passed when they become visible.
+ * Imported policies are not recorded in the outbox, just like renewed ones; consumers pick them up
+ * through {@code GET /policies/delta}.
+ */
+@Service
+@Slf4j
+public class PolicyImportServiceImpl implements PolicyImportService {
+
+  static final List<String> REQUIRED_COLUMNS =
+      List.of("customerId", "type", "startDate", "endDate");
+
+  /** Above this many remembered customers, the lookups start over rather than grow further. */
+  private static final int MAX_REMEMBERED_CUSTOMERS = 100_000;
+
+  private static final String INSERT_POLICY =
+      "INSERT INTO policies (policy_number, start_date, end_date, type, status, premium,"
+          + " customer_id, agency_id, created_at, updated_at)"
+          + " VALUES (?, ?, ?, ?, 'PENDING', ?, ?, ?, ?, ?)";
+  private static final int[] INSERT_POLICY_TYPES = {
+    Types.VARCHAR,
+    Types.DATE,
+    Types.DATE,
+    Types.VARCHAR,
+    Types.NUMERIC,
+    Types.BIGINT,
+    Types.BIGINT,
+    Types.TIMESTAMP_WITH_TIMEZONE,
+    Types.TIMESTAMP_WITH_TIMEZONE
+  };
+
+  private final CustomerRepository customerRepository;
+  private final AgencyRepository agencyRepository;
+  private final ClaimRepository claimRepository;
+  private final RatingEngine ratingEngine;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final int chunkSize;
+  private final int maxReportedErrors;
+
+  public PolicyImportServiceImpl(
+      CustomerRepository customerRepository,
+      AgencyRepository agencyRepository,
+      ClaimRepository claimRepository,
+      RatingEngine ratingEngine,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper,
+      @Value("${insurance.policy.import.chunk-size:1000}") int chunkSize,
+      @Value("${insurance.policy.import.max-reported-errors:1000}") int maxReportedErrors) {
+    this.customerRepository = customerRepository;
+    this.agencyRepository = agencyRepository;
+    this.claimRepository = claimRepository;
+    this.ratingEngine = ratingEngine;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.objectMapper = objectMapper;
+    this.chunkSize = chunkSize;
+    this.maxReportedErrors = maxReportedErrors;
+  }
+
+  /** A row of the file that passed the field checks. */
+  private record PolicyRow(
+      long customerId, Long agencyId, PolicyType type, LocalDate startDate, LocalDate endDate) {
+
+    static PolicyRow of(ImportRecord record) {
+      PolicyRow row =
+          new PolicyRow(
+              record.requiredLong("customerId"),
+              record.longValue("agencyId"),
+              record.requiredEnum("type", PolicyType.class),
+              record.requiredDate("startDate"),
+              record.requiredDate("endDate"));
+      if (row.endDate().isBefore(row.startDate())) {
+        throw new InvalidRequestException("endDate must not be before startDate");
+      }
+      return row;
+    }
+  }
+
+  /** What the rating engine needs to know about a customer. */
+  private record RatedCustomer(LocalDate dateOfBirth, String postalCode, int claimCount) {}
+
+  /** The customers and agencies looked up so far, including the ones that do not exist. */
+  private static final class References {
+    private final Map<Long, RatedCustomer> customers = new HashMap<>();
+    private final Set<Long> missingCustomers = new HashSet<>();
+    private final Set<Long> agencies = new HashSet<>();
+    private final Set<Long> missingAgencies = new HashSet<>();
+  }
+
+  @Override
+  public ImportResultDto importPolicies(ImportFormat format, InputStream input) {
+    log.info("Request to import policies from a {} file", format);
+    ImportReport report = new ImportReport(maxReportedErrors);
+    References references = new References();
+    try (ImportRecordReader reader = ImportRecordReader.open(format, input, objectMapper)) {
+      reader.requireColumns(REQUIRED_COLUMNS);
+      List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+      for (ImportRecord record = reader.next(); record != null; record = reader.next()) {
+        chunk.add(record);
+        if (chunk.size() == chunkSize) {
+          transactionTemplate.executeWithoutResult(
+              status -> importChunk(chunk, references, report));
+          chunk.clear();
+        }
+      }
+      transactionTemplate.executeWithoutResult(status -> importChunk(chunk, references, report));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read the import file", e);
+    }
+    log.info(
+        "Imported {} policies, rejected {} rows", report.getImported(), report.getRejected());
+    return report.toDto();
+  }
+
+  private void importChunk(List<ImportRecord> records, References references, ImportReport report) {
+    if (records.isEmpty()) {
+      return;
+    }
+    PolicyRow[] rows = new PolicyRow[records.size()];
+    String[] errors = new String[records.size()];
+    for (int i = 0; i < rows.length; i++) {
+      try {
+        rows[i] = PolicyRow.of(records.get(i));
+      } catch (InvalidRequestException e) {
+        errors[i] = e.getMessage();
+      }
+    }
+    lookUpReferences(rows, references);
+
+    List<PolicyRow> valid = new ArrayList<>(rows.length);
+    List<RatingRequest> ratingRequests = new ArrayList<>(rows.length);
+    for (int i = 0; i < rows.length; i++) {
+      PolicyRow row = rows[i];
+      String error = errors[i] != null ? errors[i] : checkReferences(row, references);
+      if (error != null) {
+        report.rejected(records.get(i).line(), error);
+        continue;
+      }
+      RatedCustomer customer = references.customers.get(row.customerId());
+      valid.add(row);
+      ratingRequests.add(
+          new RatingRequest(
+              row.type(),
+              customer.dateOfBirth(),
+              customer.postalCode(),
+              customer.claimCount(),
+              row.startDate()));
+    }
+    if (valid.isEmpty()) {
+      return;
+    }
+
+    List<BigDecimal> premiums = ratingEngine.quote(ratingRequests);
+    OffsetDateTime now = OffsetDateTime.now();
+    List<Object[]> inserts = new ArrayList<>(valid.size());
+    for (int i = 0; i < valid.size(); i++) {
+      PolicyRow row = valid.get(i);
+      inserts.add(
+          new Object[] {
+            PolicyNumberGenerator.next(),
+            row.startDate(),
+            row.endDate(),
+            row.type().name(),
+            premiums.get(i),
+            row.customerId(),
+            row.agencyId(),
+            now,
+            now
+          });
+    }
+    jdbcTemplate.batchUpdate(INSERT_POLICY, inserts, INSERT_POLICY_TYPES);
+    report.imported(valid.size());
+    log.debug("Imported a chunk of {} policies", valid.size());
+  }
+
+  /** Looks up the customers and agencies of the rows that have not been looked up before. */
+  private void lookUpReferences(PolicyRow[] rows, References references) {
+    if (references.customers.size() > MAX_REMEMBERED_CUSTOMERS) {
+      references.customers.clear();
+      references.missingCustomers.clear();
+    }
+    Set<Long> customerIds = new LinkedHashSet<>();
+    Set<Long> agencyIds = new LinkedHashSet<>();
+    for (PolicyRow row : rows) {
+      if (row == null) {
+        continue;
+      }
+      if (!references.customers.containsKey(row.customerId())
+          && !references.missingCustomers.contains(row.customerId())) {
+        customerIds.add(row.customerId());
+      }
+      if (row.agencyId() != null
+          && !references.agencies.contains(row.agencyId())
+          && !references.missingAgencies.contains(row.agencyId())) {
+        agencyIds.add(row.agencyId());
+      }
+    }
+
+    if (!customerIds.isEmpty()) {
+      Map<Long, Long> claimCounts = new HashMap<>();
+      claimRepository
+          .countNotRejectedByCustomerIdIn(customerIds)
+          .forEach(count -> claimCounts.put(count.getCustomerId(), count.getClaimCount()));
+      customerRepository
+          .findRatingProfiles(customerIds)
+          .forEach(
+              profile ->
+                  references.customers.put(
+                      profile.getId(),
+                      new RatedCustomer(
+                          profile.getDateOfBirth(),
+                          profile.getPostalCode(),
+                          (int)
+                              Math.min(
+                                  claimCounts.getOrDefault(profile.getId(), 0L),
+                                  Integer.MAX_VALUE))));
+      customerIds.removeIf(references.customers::containsKey);
+      references.missingCustomers.addAll(customerIds);
+    }
+    if (!agencyIds.isEmpty()) {
+      List<Long> existing = agencyRepository.findExistingIds(agencyIds);
+      references.agencies.addAll(existing);
+      existing.forEach(agencyIds::remove);
+      references.missingAgencies.addAll(agencyIds);
+    }
+  }
+
+  private static String checkReferences(PolicyRow row, References references) {
+    if (!references.customers.containsKey(row.customerId())) {
+      return "Customer not found with id: " + row.customerId();
+    }
+    if (row.agencyId() != null && !references.agencies.contains(row.agencyId())) {
+      return "Agency not found with id: " + row.agencyId();
+    }
+    return null;
+  }
+}
@@ -0,0 +1,119 @@
+package tech.yildirim.insurance.dummy.policy.lifecycle;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.function.IntSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+import tech.yildirim.insurance.dummy.policy.PolicyRepository;
+
+/**
+ * Moves policies through their lifecycle by date: active and pending policies whose end date has
+ * passed become EXPIRED, and pending policies whose term has started become ACTIVE. Without it a
+ * lapsed policy would keep accepting claims.
+ *
+ * <p>Each transition is a set-based {@code UPDATE} of at most {@code chunk-size} rows that commits
+ * on its own, repeated until a chunk comes back short, so a large backlog never holds long locks.
+ * Only the node holding the {@value #LEASE_NAME} lease runs the job. The updates only touch rows
+ * that still need the transition, so a run that overlaps after a lost lease does no harm.
+ *
+ * <p>The number of transitions is published as the {@value #TRANSITIONS_METRIC} counter, tagged
+ * with {@code transition=expired|activated}.
+ */
+@Component
+@Slf4j
+public class PolicyLifecycleJob {
+
+  static final String LEASE_NAME = "policy-lifecycle";
+  static final String TRANSITIONS_METRIC = "insurance.policy.lifecycle.transitions";
+
+  private final PolicyRepository policyRepository;
+  private final JobLeaseManager jobLeaseManager;
+  private final int chunkSize;
+  private final Duration leaseDuration;
+  private final Counter expiredCounter;
+  private final Counter activatedCounter;
+
+  public PolicyLifecycleJob(
+      PolicyRepository policyRepository,
+      JobLeaseManager jobLeaseManager,
+      MeterRegistry meterRegistry,
+      @Value("${insurance.policy.lifecycle.chunk-size:500}") int chunkSize,
+      @Value("${insurance.policy.lifecycle.lease-duration:10m}") Duration leaseDuration) {
+    this.policyRepository = policyRepository;
+    this.jobLeaseManager = jobLeaseManager;
+    this.chunkSize = chunkSize;
+    this.leaseDuration = leaseDuration;
+    this.expiredCounter = transitionCounter(meterRegistry, "expired");
+    this.activatedCounter = transitionCounter(meterRegistry, "activated");
+  }
+
+  /** The number of policies moved by one run of the job. */
+  public record Result(long expired, long activated) {}
+
+  /** Scheduled entry point, by default shortly after midnight. */
+  @Scheduled(cron = "${insurance.policy.lifecycle.cron:0 5 0 * * *}")
+  public void run() {
+    runFor(LocalDate.now());
+  }
+
+  /**
+   * Applies all transitions that are due at the given date, if this node gets the lease.
+   *
+   * @param today The date to evaluate start and end dates against.
+   * @return The number of transitions, or empty if another node holds the lease.
+   */
+  public Optional<Result> runFor(LocalDate today) {
+    if (!jobLeaseManager.tryAcquire(LEASE_NAME, leaseDuration)) {
+      log.info("Skipping policy lifecycle run for {}: lease is held by another node", today);
+      return Optional.empty();
+    }
+    try {
+      long expired =
+          applyInChunks(() -> policyRepository.expirePolicies(today, chunkSize), expiredCounter);
+      long activated =
+          applyInChunks(
+              () -> policyRepository.activatePolicies(today, chunkSize), activatedCounter);
+      log.info(
+          "Policy lifecycle run for {} expired {} and activated {} policies",
+          today,
+          expired,
+          activated);
+      return Optional.of(new Result(expired, activated));
+    } finally {
+      jobLeaseManager.release(LEASE_NAME);
+    }
+  }
+
+  private long applyInChunks(IntSupplier chunk, Counter counter) {
+    long total = 0;
+    int updated;
+    do {
+      updated = chunk.getAsInt();
+      total += updated;
+      counter.increment(updated);
+    } while (updated == chunkSize && renewLease());
+    return total;
+  }
+
+  private boolean renewLease() {
+    if (jobLeaseManager.tryAcquire(LEASE_NAME, leaseDuration)) {
+      return true;
+    }
+    log.warn("Lost the policy lifecycle lease, leaving the remaining policies to its new holder");
+    return false;
+  }
+
+  private static Counter transitionCounter(MeterRegistry meterRegistry, String transition) {
+    return Counter.builder(TRANSITIONS_METRIC)
+        .description("Policies moved to a new status by the lifecycle job")
+        .tag("transition", transition)
+        .register(meterRegistry);
+  }
+}
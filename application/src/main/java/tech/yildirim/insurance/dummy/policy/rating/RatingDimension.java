@@ -0,0 +1,13 @@
+package tech.yildirim.insurance.dummy.policy.rating;
+
+/** The rating tables a premium is computed from, see {@link RatingTables}. */
+public enum RatingDimension {
+  /** Yearly base premium, keyed by policy type. */
+  BASE_PREMIUM,
+  /** Factor keyed by the first age of an age band. */
+  AGE,
+  /** Factor keyed by a one- or two-digit postal code prefix. */
+  REGION,
+  /** Factor keyed by the number of claims that were not rejected. */
+  CLAIMS
+}
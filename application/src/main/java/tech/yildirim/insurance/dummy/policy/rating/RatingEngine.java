@@ -0,0 +1,79 @@
+package tech.yildirim.insurance.dummy.policy.rating;
+
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prices risks with the current {@link RatingTables}. The compiled tables are immutable and held in
+ * an {@link AtomicReference}, so an update swaps them in one step: pricing never locks, and every
+ * quote (and every batch) sees either the old or the new tables, never a mix of both.
+ */
+@Component
+public class RatingEngine {
+
+  private final AtomicReference<RatingTables> tables = new AtomicReference<>();
+
+  /**
+   * Replaces the rating tables for all following quotes.
+   *
+   * @param newTables The compiled tables.
+   */
+  public void swap(RatingTables newTables) {
+    tables.set(newTables);
+  }
+
+  /**
+   * Returns the rating tables in use.
+   *
+   * @return The current tables, or empty if none have been loaded.
+   */
+  public Optional<RatingTables> currentTables() {
+    return Optional.ofNullable(tables.get());
+  }
+
+  /**
+   * Prices a single risk.
+   *
+   * @param request The risk.
+   * @return The yearly premium, rounded to cents.
+   * @throws IllegalStateException if no rating tables have been loaded.
+   */
+  public BigDecimal quote(RatingRequest request) {
+    return BigDecimal.valueOf(premiumCents(current(), request), 2);
+  }
+
+  /**
+   * Prices a batch of risks. All of them are priced with the same version of the tables, even if
+   * the tables are replaced while the batch is running.
+   *
+   * @param requests The risks.
+   * @return The yearly premiums, rounded to cents, in request order.
+   * @throws IllegalStateException if no rating tables have been loaded.
+   */
+  public List<BigDecimal> quote(List<RatingRequest> requests) {
+    RatingTables snapshot = current();
+    List<BigDecimal> premiums = new ArrayList<>(requests.size());
+    for (RatingRequest request : requests) {
+      premiums.add(BigDecimal.valueOf(premiumCents(snapshot, request), 2));
+    }
+    return premiums;
+  }
+
+  private RatingTables current() {
+    RatingTables current = tables.get();
+    if (current == null) {
+      throw new IllegalStateException("The rating tables have not been loaded");
+    }
+    return current;
+  }
+
+  private static long premiumCents(RatingTables tables, RatingRequest request) {
+    int age = (int) ChronoUnit.YEARS.between(request.dateOfBirth(), request.effectiveDate());
+    return tables.premiumCents(request.type(), age, request.postalCode(), request.claimCount());
+  }
+}
@@ -0,0 +1,43 @@
+package tech.yildirim.insurance.dummy.policy.rating;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One entry of a rating table, e.g. the factor of the age band starting at 25. */
+@Entity
+@Table(
+    name = "rating_factors",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_rating_factors_dimension_band",
+            columnNames = {"dimension", "band"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingFactor {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private RatingDimension dimension;
+
+  @Column(nullable = false, length = 32)
+  private String band;
+
+  @Column(nullable = false, precision = 12, scale = 4)
+  private BigDecimal factor;
+}
@@ -0,0 +1,8 @@
+package tech.yildirim.insurance.dummy.policy.rating;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/** Spring Data JPA repository for the {@link RatingFactor} entity. */
+@Repository
+public interface RatingFactorRepository extends JpaRepository<RatingFactor, Long> {}
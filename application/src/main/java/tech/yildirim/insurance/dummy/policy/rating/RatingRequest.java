@@ -0,0 +1,20 @@
+package tech.yildirim.insurance.dummy.policy.rating;
+
+import java.time.LocalDate;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+/**
+ * A risk to be priced by the {@link RatingEngine}.
+ *
+ * @param type The type of the policy.
+ * @param dateOfBirth The customer's date of birth.
+ * @param postalCode The postal code of the customer's address, may be null.
+ * @param claimCount The number of claims the customer has made that were not rejected.
+ * @param effectiveDate The date the policy starts, which determines the customer's age.
+ */
+public record RatingRequest(
+    PolicyType type,
+    LocalDate dateOfBirth,
+    String postalCode,
+    int claimCount,
+    LocalDate effectiveDate) {}
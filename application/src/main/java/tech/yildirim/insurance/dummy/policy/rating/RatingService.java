@@ -0,0 +1,53 @@
+package tech.yildirim.insurance.dummy.policy.rating;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import tech.yildirim.insurance.api.generated.model.PremiumQuoteDto;
+import tech.yildirim.insurance.api.generated.model.PremiumQuoteRequestDto;
+import tech.yildirim.insurance.api.generated.model.RatingTablesDto;
+import tech.yildirim.insurance.dummy.customer.Customer;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+/** Service Interface for premium rating and the rating tables. */
+public interface RatingService {
+
+  /**
+   * Retrieves the rating tables in use.
+   *
+   * @return The current rating tables.
+   * @throws tech.yildirim.insurance.dummy.common.ResourceNotFoundException if no rating tables
+   *     have been configured.
+   */
+  RatingTablesDto getRatingTables();
+
+  /**
+   * Validates and stores a complete new set of rating tables. They are used for all quotes once
+   * the update has been committed.
+   *
+   * @param ratingTablesDto The new rating tables.
+   * @return The stored rating tables.
+   * @throws tech.yildirim.insurance.dummy.common.InvalidRequestException if the tables are
+   *     incomplete or invalid.
+   */
+  RatingTablesDto updateRatingTables(RatingTablesDto ratingTablesDto);
+
+  /**
+   * Quotes premiums for a batch of risks, all priced with the same version of the tables.
+   *
+   * @param requests The risks.
+   * @return One quote per risk, in request order.
+   */
+  List<PremiumQuoteDto> quotePremiums(List<PremiumQuoteRequestDto> requests);
+
+  /**
+   * Computes the premium of a new policy from the customer's age and postal code and the claims
+   * they have made so far.
+   *
+   * @param type The type of the policy.
+   * @param customer The customer the policy is for.
+   * @param startDate The start date of the policy.
+   * @return The yearly premium, rounded to cents.
+   */
+  BigDecimal ratePolicy(PolicyType type, Customer customer, LocalDate startDate);
+}
@@ -0,0 +1,161 @@
+package tech.yildirim.insurance.dummy.policy.rating;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tech.yildirim.insurance.api.generated.model.PremiumQuoteDto;
+import tech.yildirim.insurance.api.generated.model.PremiumQuoteRequestDto;
+import tech.yildirim.insurance.api.generated.model.RatingTablesDto;
+import tech.yildirim.insurance.dummy.claim.ClaimRepository;
+import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+import tech.yildirim.insurance.dummy.customer.Customer;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+/**
+ * Implementation of the {@link RatingService} interface. The rating tables are stored as {@link
+ * RatingFactor} rows and compiled into the {@link RatingEngine} at startup and after each update.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RatingServiceImpl implements RatingService {
+
+  private final RatingFactorRepository ratingFactorRepository;
+  private final RatingEngine ratingEngine;
+  private final ClaimRepository claimRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  /** Compiles the stored rating tables into the engine once the application has started. */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void loadRatingTables() {
+    List<RatingFactor> factors = ratingFactorRepository.findAll();
+    if (factors.isEmpty()) {
+      log.warn("No rating tables are configured, premiums cannot be computed until they are");
+      return;
+    }
+    ratingEngine.swap(RatingTables.compile(toDefinition(factors)));
+    log.info("Loaded {} rating factors", factors.size());
+  }
+
+  @Override
+  public RatingTablesDto getRatingTables() {
+    log.info("Request to get the rating tables");
+    return ratingEngine
+        .currentTables()
+        .map(tables -> toDto(tables.definition()))
+        .orElseThrow(() -> new ResourceNotFoundException("No rating tables are configured"));
+  }
+
+  @Override
+  @Transactional
+  public RatingTablesDto updateRatingTables(RatingTablesDto ratingTablesDto) {
+    log.info("Request to update the rating tables");
+    RatingTables tables = RatingTables.compile(fromDto(ratingTablesDto));
+
+    List<RatingFactor> factors = new ArrayList<>();
+    tables
+        .definition()
+        .forEach(
+            (dimension, entries) ->
+                entries.forEach(
+                    (band, factor) ->
+                        factors.add(new RatingFactor(null, dimension, band, factor))));
+    ratingFactorRepository.deleteAllInBatch();
+    ratingFactorRepository.saveAll(factors);
+    eventPublisher.publishEvent(new RatingTablesUpdatedEvent(tables));
+    log.info("Stored {} rating factors", factors.size());
+    return toDto(tables.definition());
+  }
+
+  /** Puts updated tables in use, but only once they have been committed. */
+  @TransactionalEventListener
+  public void onRatingTablesUpdated(RatingTablesUpdatedEvent event) {
+    ratingEngine.swap(event.tables());
+  }
+
+  @Override
+  public List<PremiumQuoteDto> quotePremiums(List<PremiumQuoteRequestDto> requests) {
+    log.info("Request to quote {} premiums", requests.size());
+    LocalDate today = LocalDate.now();
+    List<RatingRequest> ratingRequests =
+        requests.stream()
+            .map(
+                request ->
+                    new RatingRequest(
+                        PolicyType.valueOf(request.getType().getValue()),
+                        request.getDateOfBirth(),
+                        request.getPostalCode(),
+                        request.getClaimCount() == null ? 0 : request.getClaimCount(),
+                        request.getEffectiveDate() == null ? today : request.getEffectiveDate()))
+            .toList();
+    return ratingEngine.quote(ratingRequests).stream()
+        .map(premium -> new PremiumQuoteDto().premium(premium))
+        .toList();
+  }
+
+  @Override
+  public BigDecimal ratePolicy(PolicyType type, Customer customer, LocalDate startDate) {
+    long claimCount = claimRepository.countNotRejectedByCustomerId(customer.getId());
+    String postalCode =
+        customer.getAddress() == null ? null : customer.getAddress().getPostalCode();
+    BigDecimal premium =
+        ratingEngine.quote(
+            new RatingRequest(
+                type,
+                customer.getDateOfBirth(),
+                postalCode,
+                (int) Math.min(claimCount, Integer.MAX_VALUE),
+                startDate));
+    log.debug(
+        "Rated {} policy for customer {} with {} claims at {}",
+        type,
+        customer.getId(),
+        claimCount,
+        premium);
+    return premium;
+  }
+
+  private static Map<RatingDimension, Map<String, BigDecimal>> toDefinition(
+      List<RatingFactor> factors) {
+    Map<RatingDimension, Map<String, BigDecimal>> definition =
+        new EnumMap<>(RatingDimension.class);
+    factors.forEach(
+        factor ->
+            definition
+                .computeIfAbsent(factor.getDimension(), dimension -> new HashMap<>())
+                .put(factor.getBand(), factor.getFactor()));
+    return definition;
+  }
+
+  private static Map<RatingDimension, Map<String, BigDecimal>> fromDto(RatingTablesDto dto) {
+    Map<RatingDimension, Map<String, BigDecimal>> definition =
+        new EnumMap<>(RatingDimension.class);
+    definition.put(RatingDimension.BASE_PREMIUM, dto.getBasePremiums());
+    definition.put(RatingDimension.AGE, dto.getAgeFactors());
+    definition.put(RatingDimension.REGION, dto.getRegionFactors());
+    definition.put(RatingDimension.CLAIMS, dto.getClaimFactors());
+    return definition;
+  }
+
+  private static RatingTablesDto toDto(Map<RatingDimension, Map<String, BigDecimal>> definition) {
+    return new RatingTablesDto()
+        .basePremiums(new LinkedHashMap<>(definition.get(RatingDimension.BASE_PREMIUM)))
+        .ageFactors(new LinkedHashMap<>(definition.get(RatingDimension.AGE)))
+        .regionFactors(new LinkedHashMap<>(definition.get(RatingDimension.REGION)))
+        .claimFactors(new LinkedHashMap<>(definition.get(RatingDimension.CLAIMS)));
+  }
+}
@@ -0,0 +1,186 @@
+package tech.yildirim.insurance.dummy.policy.rating;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+/**
+ * An immutable, compiled version of the rating tables. {@link #compile(Map)} validates the table
+ * entries once and expands them into primitive lookup arrays, indexed by policy type ordinal, age
+ * in years, two-digit postal region and claim count. Pricing a risk is then four array reads and
+ * three multiplications, without parsing, map lookups or allocation.
+ */
+public final class RatingTables {
+
+  /** Ages are clamped to this value. */
+  static final int MAX_AGE = 120;
+
+  private static final int REGIONS = 100;
+
+  private final double[] basePremiums;
+  private final double[] ageFactors;
+  private final double[] regionFactors;
+  private final double[] claimFactors;
+  private final Map<RatingDimension, Map<String, BigDecimal>> definition;
+
+  private RatingTables(
+      double[] basePremiums,
+      double[] ageFactors,
+      double[] regionFactors,
+      double[] claimFactors,
+      Map<RatingDimension, Map<String, BigDecimal>> definition) {
+    this.basePremiums = basePremiums;
+    this.ageFactors = ageFactors;
+    this.regionFactors = regionFactors;
+    this.claimFactors = claimFactors;
+    this.definition = definition;
+  }
+
+  /**
+   * Validates and compiles a set of rating tables.
+   *
+   * @param definition The entries of each table, keyed by band, see {@link RatingDimension}.
+   * @return The compiled tables.
+   * @throws InvalidRequestException if a policy type has no base premium, a band is malformed or a
+   *     value is not positive.
+   */
+  public static RatingTables compile(Map<RatingDimension, Map<String, BigDecimal>> definition) {
+    Map<RatingDimension, Map<String, BigDecimal>> copy = new EnumMap<>(RatingDimension.class);
+    for (RatingDimension dimension : RatingDimension.values()) {
+      Map<String, BigDecimal> entries = definition.getOrDefault(dimension, Map.of());
+      entries.forEach((band, value) -> requirePositive(dimension, band, value));
+      copy.put(dimension, Collections.unmodifiableMap(sorted(dimension, entries)));
+    }
+    return new RatingTables(
+        compileBasePremiums(copy.get(RatingDimension.BASE_PREMIUM)),
+        compileAgeFactors(copy.get(RatingDimension.AGE)),
+        compileRegionFactors(copy.get(RatingDimension.REGION)),
+        compileClaimFactors(copy.get(RatingDimension.CLAIMS)),
+        Collections.unmodifiableMap(copy));
+  }
+
+  /**
+   * Computes a yearly premium.
+   *
+   * @param type The type of the policy.
+   * @param age The customer's age in years.
+   * @param postalCode The customer's postal code; unknown or malformed codes get a factor of 1.
+   * @param claimCount The number of claims the customer has made that were not rejected.
+   * @return The premium in cents.
+   */
+  public long premiumCents(PolicyType type, int age, String postalCode, int claimCount) {
+    double premium =
+        basePremiums[type.ordinal()]
+            * ageFactors[Math.clamp(age, 0, MAX_AGE)]
+            * regionFactor(postalCode)
+            * claimFactors[Math.clamp(claimCount, 0, claimFactors.length - 1)];
+    return Math.round(premium * 100);
+  }
+
+  /** The validated table entries these tables were compiled from, sorted by band. */
+  public Map<RatingDimension, Map<String, BigDecimal>> definition() {
+    return definition;
+  }
+
+  private double regionFactor(String postalCode) {
+    if (postalCode == null || postalCode.length() < 2) {
+      return 1.0;
+    }
+    int first = postalCode.charAt(0) - '0';
+    int second = postalCode.charAt(1) - '0';
+    if (first < 0 || first > 9 || second < 0 || second > 9) {
+      return 1.0;
+    }
+    return regionFactors[first * 10 + second];
+  }
+
+  private static double[] compileBasePremiums(Map<String, BigDecimal> entries) {
+    double[] basePremiums = new double[PolicyType.values().length];
+    for (PolicyType type : PolicyType.values()) {
+      BigDecimal basePremium = entries.get(type.name());
+      if (basePremium == null) {
+        throw new InvalidRequestException("Missing base premium for policy type " + type);
+      }
+      basePremiums[type.ordinal()] = basePremium.doubleValue();
+    }
+    return basePremiums;
+  }
+
+  private static double[] compileAgeFactors(Map<String, BigDecimal> entries) {
+    double[] ageFactors = new double[MAX_AGE + 1];
+    Arrays.fill(ageFactors, 1.0);
+    // Entries are sorted by age, so each band overwrites the ages from its start onwards
+    entries.forEach(
+        (band, factor) ->
+            Arrays.fill(ageFactors, Integer.parseInt(band), MAX_AGE + 1, factor.doubleValue()));
+    return ageFactors;
+  }
+
+  private static double[] compileRegionFactors(Map<String, BigDecimal> entries) {
+    double[] regionFactors = new double[REGIONS];
+    Arrays.fill(regionFactors, 1.0);
+    // Entries are sorted by prefix, so "8" is applied before it is refined by "80"
+    entries.forEach(
+        (band, factor) -> {
+          int prefix = Integer.parseInt(band);
+          if (band.length() == 1) {
+            Arrays.fill(regionFactors, prefix * 10, prefix * 10 + 10, factor.doubleValue());
+          } else {
+            regionFactors[prefix] = factor.doubleValue();
+          }
+        });
+    return regionFactors;
+  }
+
+  private static double[] compileClaimFactors(Map<String, BigDecimal> entries) {
+    int maxCount = entries.keySet().stream().mapToInt(Integer::parseInt).max().orElse(0);
+    double[] claimFactors = new double[maxCount + 1];
+    Arrays.fill(claimFactors, 1.0);
+    entries.forEach(
+        (band, factor) ->
+            Arrays.fill(claimFactors, Integer.parseInt(band), maxCount + 1, factor.doubleValue()));
+    return claimFactors;
+  }
+
+  /** Checks the band format and returns the entries in lookup order. */
+  private static Map<String, BigDecimal> sorted(
+      RatingDimension dimension, Map<String, BigDecimal> entries) {
+    Comparator<String> order =
+        dimension == RatingDimension.AGE || dimension == RatingDimension.CLAIMS
+            ? Comparator.comparingInt(Integer::parseInt)
+            : Comparator.naturalOrder();
+    Map<String, BigDecimal> sorted = new TreeMap<>(order);
+    entries.forEach(
+        (band, value) -> {
+          if (!isValidBand(dimension, band)) {
+            throw new InvalidRequestException("Invalid " + dimension + " band: " + band);
+          }
+          sorted.put(band, value);
+        });
+    return new LinkedHashMap<>(sorted);
+  }
+
+  private static boolean isValidBand(RatingDimension dimension, String band) {
+    return switch (dimension) {
+      case REGION -> band.matches("\\d{1,2}");
+      case AGE -> band.matches("\\d{1,3}") && Integer.parseInt(band) <= MAX_AGE;
+      case CLAIMS -> band.matches("\\d{1,2}");
+      case BASE_PREMIUM ->
+          Arrays.stream(PolicyType.values()).anyMatch(type -> type.name().equals(band));
+    };
+  }
+
+  private static void requirePositive(RatingDimension dimension, String band, BigDecimal value) {
+    if (value == null || value.signum() <= 0) {
+      throw new InvalidRequestException(
+          "The " + dimension + " entry for " + band + " must be positive");
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package tech.yildirim.insurance.dummy.policy.rating;
+
+/**
+ * Published when new rating tables have been stored. They are put in use once the storing
+ * transaction commits.
+ *
+ * @param tables The compiled new tables.
+ */
+record RatingTablesUpdatedEvent(RatingTables tables) {}
@@ -0,0 +1,38 @@
+package tech.yildirim.insurance.dummy.policy.renewal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Records that a policy has been renewed, by which run and into which follow-up policy. Rows are
+ * written by the {@link PolicyRenewalEngine} with batched JDBC inserts; the entity exists for
+ * lookups and for the schema.
+ */
+@Entity
+@Table(
+    name = "policy_renewals",
+    indexes = @Index(name = "idx_policy_renewals_run", columnList = "run_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyRenewal {
+
+  /** The renewed (expiring) policy; at most one renewal per policy. */
+  @Id private Long policyId;
+
+  @Column(nullable = false)
+  private Long runId;
+
+  @Column(nullable = false)
+  private String renewedPolicyNumber;
+
+  @Column(nullable = false, precision = 10, scale = 2)
+  private BigDecimal renewedPremium;
+}
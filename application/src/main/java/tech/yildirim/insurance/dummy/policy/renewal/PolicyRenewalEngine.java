@@ -0,0 +1,293 @@
+package tech.yildirim.insurance.dummy.policy.renewal;
+
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+import tech.yildirim.insurance.dummy.policy.PolicyNumberGenerator;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+import tech.yildirim.insurance.dummy.policy.condition.PolicyConditions;
+import tech.yildirim.insurance.dummy.policy.condition.PolicyConditionsRepository;
+
+/**
+ * Processes {@link RenewalRun}s: renews every active policy ending within the run's window with a
+ * PENDING follow-up policy that starts the day after it ends, runs for the same term and is priced
+ * by the {@link RenewalPricer}. The lifecycle job activates it once its term starts.
+ *
+ * <p>Candidates are read in chunks of {@code chunk-size} by keyset pagination. Per chunk, the claim
+ * history is read in one grouped query, the premiums are computed in parallel on a dedicated
+ * fork-join pool (one partition per worker), and the follow-up policies, the {@link PolicyRenewal}
+ * links and the new checkpoint are written in a single transaction with batched JDBC inserts. A
+ * failed or interrupted run therefore resumes exactly after its last committed chunk.
+ *
+ * <p>Only one run is processed at a time: callers acquire the {@value #LEASE_NAME} lease before
+ * handing a run over, the engine renews it after each chunk and releases it when the run ends.
+ */
+@Component
+@Slf4j
+public class PolicyRenewalEngine {
+
+  static final String LEASE_NAME = "policy-renewal";
+
+  private static final Long CONDITIONS_ID = 1L;
+  private static final int MAX_FAILURE_REASON_LENGTH = 1000;
+
+  private static final String INSERT_POLICY =
+      "INSERT INTO policies (policy_number, start_date, end_date, type, status, premium,"
+          + " customer_id, agency_id, created_at, updated_at)"
+          + " VALUES (?, ?, ?, ?, 'PENDING', ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+  private static final int[] INSERT_POLICY_TYPES = {
+    Types.VARCHAR, Types.DATE, Types.DATE, Types.VARCHAR, Types.NUMERIC, Types.BIGINT, Types.BIGINT
+  };
+
+  private static final String INSERT_RENEWAL =
+      "INSERT INTO policy_renewals (policy_id, run_id, renewed_policy_number, renewed_premium)"
+          + " VALUES (?, ?, ?, ?)";
+  private static final int[] INSERT_RENEWAL_TYPES = {
+    Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.NUMERIC
+  };
+
+  private final RenewalRunRepository renewalRunRepository;
+  private final PolicyRenewalRepository policyRenewalRepository;
+  private final PolicyConditionsRepository policyConditionsRepository;
+  private final RenewalPricer renewalPricer;
+  private final JobLeaseManager jobLeaseManager;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+  private final Duration leaseDuration;
+  private final ForkJoinPool pricingPool;
+
+  public PolicyRenewalEngine(
+      RenewalRunRepository renewalRunRepository,
+      PolicyRenewalRepository policyRenewalRepository,
+      PolicyConditionsRepository policyConditionsRepository,
+      RenewalPricer renewalPricer,
+      JobLeaseManager jobLeaseManager,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      @Value("${insurance.policy.renewal.chunk-size:1000}") int chunkSize,
+      @Value("${insurance.policy.renewal.parallelism:0}") int parallelism,
+      @Value("${insurance.policy.renewal.lease-duration:10m}") Duration leaseDuration) {
+    this.renewalRunRepository = renewalRunRepository;
+    this.policyRenewalRepository = policyRenewalRepository;
+    this.policyConditionsRepository = policyConditionsRepository;
+    this.renewalPricer = renewalPricer;
+    this.jobLeaseManager = jobLeaseManager;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.chunkSize = chunkSize;
+    this.leaseDuration = leaseDuration;
+    this.pricingPool =
+        new ForkJoinPool(
+            parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+  }
+
+  /** A follow-up policy, ready to be inserted. */
+  record RenewedPolicy(
+      Long expiringPolicyId,
+      String policyNumber,
+      LocalDate startDate,
+      LocalDate endDate,
+      PolicyType type,
+      BigDecimal premium,
+      Long customerId,
+      Long agencyId) {}
+
+  @PreDestroy
+  void shutdown() {
+    pricingPool.shutdown();
+  }
+
+  /**
+   * Processes a run from its checkpoint until no candidates are left, then marks it COMPLETED, or
+   * FAILED if a chunk fails or the lease is lost. The caller must hold the {@value #LEASE_NAME}
+   * lease; it is released when this method returns.
+   *
+   * @param runId The id of the run.
+   * @return The run in its final state.
+   * @throws ResourceNotFoundException if the run does not exist.
+   */
+  public RenewalRun process(Long runId) {
+    RenewalRun run =
+        renewalRunRepository
+            .findById(runId)
+            .orElseThrow(() -> new ResourceNotFoundException("Renewal run not found: " + runId));
+    log.info(
+        "Processing renewal run {} for policies ending {} to {} after policy id {}",
+        runId,
+        run.getExpiringFrom(),
+        run.getExpiringTo(),
+        run.getLastPolicyId());
+    try {
+      BigDecimal noClaimBonus = findNoClaimBonus();
+      while (true) {
+        Integer candidates = transactionTemplate.execute(tx -> renewChunk(runId, noClaimBonus));
+        if (candidates == null || candidates < chunkSize) {
+          return finish(runId, RenewalRunStatus.COMPLETED, null);
+        }
+        if (!jobLeaseManager.tryAcquire(LEASE_NAME, leaseDuration)) {
+          return finish(runId, RenewalRunStatus.FAILED, "Lost the policy renewal lease");
+        }
+      }
+    } catch (RuntimeException e) {
+      log.error("Renewal run {} failed, it can be resumed from its checkpoint", runId, e);
+      return finish(runId, RenewalRunStatus.FAILED, e.getMessage());
+    } finally {
+      jobLeaseManager.release(LEASE_NAME);
+    }
+  }
+
+  /**
+   * Renews the next chunk of candidates after the checkpoint and moves the checkpoint past them.
+   * Runs in the caller's transaction.
+   *
+   * @return The number of candidates in the chunk.
+   */
+  int renewChunk(Long runId, BigDecimal noClaimBonus) {
+    RenewalRun run = renewalRunRepository.findById(runId).orElseThrow();
+    List<RenewalCandidate> candidates =
+        policyRenewalRepository.findCandidates(
+            run.getExpiringFrom(),
+            run.getExpiringTo(),
+            run.getLastPolicyId(),
+            Limit.of(chunkSize));
+    if (candidates.isEmpty()) {
+      return 0;
+    }
+    List<Long> policyIds = candidates.stream().map(RenewalCandidate::getId).toList();
+    Map<Long, Long> claimCounts =
+        policyRenewalRepository.countClaimsByPolicyIdIn(policyIds).stream()
+            .collect(
+                Collectors.toMap(
+                    PolicyRenewalRepository.PolicyClaimCount::getPolicyId,
+                    PolicyRenewalRepository.PolicyClaimCount::getClaimCount));
+
+    List<RenewedPolicy> renewed = priceInParallel(candidates, claimCounts, noClaimBonus);
+    insertBatch(runId, renewed);
+
+    run.setLastPolicyId(policyIds.getLast());
+    run.setRenewedCount(run.getRenewedCount() + renewed.size());
+    log.debug(
+        "Renewal run {} renewed {} policies up to policy id {}",
+        runId,
+        renewed.size(),
+        run.getLastPolicyId());
+    return candidates.size();
+  }
+
+  private List<RenewedPolicy> priceInParallel(
+      List<RenewalCandidate> candidates, Map<Long, Long> claimCounts, BigDecimal noClaimBonus) {
+    int partitionSize =
+        Math.max(1, Math.ceilDiv(candidates.size(), pricingPool.getParallelism()));
+    List<ForkJoinTask<List<RenewedPolicy>>> partitions = new ArrayList<>();
+    for (int from = 0; from < candidates.size(); from += partitionSize) {
+      List<RenewalCandidate> partition =
+          candidates.subList(from, Math.min(from + partitionSize, candidates.size()));
+      partitions.add(
+          pricingPool.submit(
+              () ->
+                  partition.stream()
+                      .map(
+                          candidate ->
+                              renew(
+                                  candidate,
+                                  claimCounts.getOrDefault(candidate.getId(), 0L),
+                                  noClaimBonus))
+                      .toList()));
+    }
+    List<RenewedPolicy> renewed = new ArrayList<>(candidates.size());
+    partitions.forEach(partition -> renewed.addAll(partition.join()));
+    return renewed;
+  }
+
+  private RenewedPolicy renew(RenewalCandidate candidate, long claimCount, BigDecimal bonus) {
+    LocalDate startDate = candidate.getEndDate().plusDays(1);
+    Period term = Period.between(candidate.getStartDate(), candidate.getEndDate());
+    return new RenewedPolicy(
+        candidate.getId(),
+        PolicyNumberGenerator.next(),
+        startDate,
+        startDate.plus(term),
+        candidate.getType(),
+        renewalPricer.price(candidate.getPremium(), claimCount, bonus),
+        candidate.getCustomerId(),
+        candidate.getAgencyId());
+  }
+
+  private void insertBatch(Long runId, List<RenewedPolicy> renewed) {
+    jdbcTemplate.batchUpdate(
+        INSERT_POLICY,
+        renewed.stream()
+            .map(
+                policy ->
+                    new Object[] {
+                      policy.policyNumber(),
+                      policy.startDate(),
+                      policy.endDate(),
+                      policy.type().name(),
+                      policy.premium(),
+                      policy.customerId(),
+                      policy.agencyId()
+                    })
+            .toList(),
+        INSERT_POLICY_TYPES);
+    jdbcTemplate.batchUpdate(
+        INSERT_RENEWAL,
+        renewed.stream()
+            .map(
+                policy ->
+                    new Object[] {
+                      policy.expiringPolicyId(), runId, policy.policyNumber(), policy.premium()
+                    })
+            .toList(),
+        INSERT_RENEWAL_TYPES);
+  }
+
+  private BigDecimal findNoClaimBonus() {
+    return policyConditionsRepository
+        .findById(CONDITIONS_ID)
+        .map(PolicyConditions::getNoClaimBonusPercentage)
+        .orElseThrow(
+            () ->
+                new IllegalStateException(
+                    "Critical error: PolicyConditions with ID "
+                        + CONDITIONS_ID
+                        + " not found in the database."));
+  }
+
+  private RenewalRun finish(Long runId, RenewalRunStatus status, String failureReason) {
+    RenewalRun run = renewalRunRepository.findById(runId).orElseThrow();
+    run.setStatus(status);
+    run.setFailureReason(
+        failureReason == null || failureReason.length() <= MAX_FAILURE_REASON_LENGTH
+            ? failureReason
+            : failureReason.substring(0, MAX_FAILURE_REASON_LENGTH));
+    run.setFinishedAt(ZonedDateTime.now());
+    RenewalRun finished = renewalRunRepository.save(run);
+    log.info(
+        "Renewal run {} {} after renewing {} policies",
+        runId,
+        status,
+        finished.getRenewedCount());
+    return finished;
+  }
+}
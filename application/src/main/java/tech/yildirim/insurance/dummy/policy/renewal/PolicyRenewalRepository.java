@@ -0,0 +1,65 @@
+package tech.yildirim.insurance.dummy.policy.renewal;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link PolicyRenewal} entity, together with the reads of the
+ * renewal pipeline.
+ */
+@Repository
+public interface PolicyRenewalRepository extends JpaRepository<PolicyRenewal, Long> {
+
+  /** Number of claims filed on a policy, see {@link #countClaimsByPolicyIdIn(Collection)}. */
+  interface PolicyClaimCount {
+
+    Long getPolicyId();
+
+    Long getClaimCount();
+  }
+
+  /**
+   * Reads the next chunk of active policies ending within the window that have not been renewed
+   * yet, in id order. Paging by {@code id > afterId} (keyset pagination) keeps every chunk as cheap
+   * as the first one, and {@code afterId} doubles as the restart checkpoint.
+   *
+   * @param expiringFrom First end date (inclusive).
+   * @param expiringTo Last end date (inclusive).
+   * @param afterId The id of the last policy of the previous chunk, 0 for the first chunk.
+   * @param limit The chunk size.
+   * @return Up to {@code limit} candidates.
+   */
+  @Query(
+      "SELECT p.id AS id, p.type AS type, p.premium AS premium, p.startDate AS startDate,"
+          + " p.endDate AS endDate, p.customer.id AS customerId, p.agency.id AS agencyId"
+          + " FROM Policy p"
+          + " WHERE p.status = tech.yildirim.insurance.dummy.policy.PolicyStatus.ACTIVE"
+          + " AND p.endDate BETWEEN :expiringFrom AND :expiringTo AND p.id > :afterId"
+          + " AND NOT EXISTS (SELECT 1 FROM PolicyRenewal r WHERE r.policyId = p.id)"
+          + " ORDER BY p.id")
+  List<RenewalCandidate> findCandidates(
+      @Param("expiringFrom") LocalDate expiringFrom,
+      @Param("expiringTo") LocalDate expiringTo,
+      @Param("afterId") long afterId,
+      Limit limit);
+
+  /**
+   * Counts the claims of the given policies that were not rejected, in a single grouped query.
+   * Policies without such claims have no row.
+   *
+   * @param policyIds The ids of the policies.
+   * @return One count per policy with at least one claim.
+   */
+  @Query(
+      "SELECT c.policy.id AS policyId, COUNT(c) AS claimCount FROM Claim c"
+          + " WHERE c.policy.id IN :policyIds"
+          + " AND c.status <> tech.yildirim.insurance.dummy.claim.ClaimStatus.REJECTED"
+          + " GROUP BY c.policy.id")
+  List<PolicyClaimCount> countClaimsByPolicyIdIn(@Param("policyIds") Collection<Long> policyIds);
+}
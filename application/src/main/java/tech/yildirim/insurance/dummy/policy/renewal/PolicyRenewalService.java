@@ -0,0 +1,41 @@
+package tech.yildirim.insurance.dummy.policy.renewal;
+
+import java.util.Optional;
+import tech.yildirim.insurance.api.generated.model.RenewalRequestDto;
+import tech.yildirim.insurance.api.generated.model.RenewalRunDto;
+
+/** Service Interface for starting and following {@link RenewalRun}s. */
+public interface PolicyRenewalService {
+
+  /**
+   * Starts a renewal run for the policies ending within the requested window. The run is processed
+   * in the background.
+   *
+   * @param request The window of policy end dates.
+   * @return The started run.
+   * @throws tech.yildirim.insurance.dummy.common.InvalidRequestException if the window is empty.
+   * @throws tech.yildirim.insurance.dummy.common.BusinessRuleViolationException if another run is
+   *     in progress.
+   */
+  RenewalRunDto startRenewal(RenewalRequestDto request);
+
+  /**
+   * Resumes a failed or interrupted run from its checkpoint in the background.
+   *
+   * @param runId The id of the run.
+   * @return The resumed run.
+   * @throws tech.yildirim.insurance.dummy.common.ResourceNotFoundException if the run does not
+   *     exist.
+   * @throws tech.yildirim.insurance.dummy.common.BusinessRuleViolationException if the run has
+   *     completed or a run is in progress.
+   */
+  RenewalRunDto resumeRenewal(Long runId);
+
+  /**
+   * Finds a renewal run by its id.
+   *
+   * @param runId The id of the run.
+   * @return An Optional containing the run if found.
+   */
+  Optional<RenewalRunDto> findRenewalRun(Long runId);
+}
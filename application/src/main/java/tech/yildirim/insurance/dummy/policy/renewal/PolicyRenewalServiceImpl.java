@@ -0,0 +1,107 @@
+package tech.yildirim.insurance.dummy.policy.renewal;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.yildirim.insurance.api.generated.model.RenewalRequestDto;
+import tech.yildirim.insurance.api.generated.model.RenewalRunDto;
+import tech.yildirim.insurance.dummy.common.BusinessRuleViolationException;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+
+/**
+ * Implementation of the {@link PolicyRenewalService} interface. Takes the renewal lease in the
+ * calling thread, so a second start is rejected right away, and hands the run over to the {@link
+ * PolicyRenewalEngine} on the application task executor.
+ */
+@Service
+@Slf4j
+public class PolicyRenewalServiceImpl implements PolicyRenewalService {
+
+  private final RenewalRunRepository renewalRunRepository;
+  private final RenewalRunMapper renewalRunMapper;
+  private final PolicyRenewalEngine policyRenewalEngine;
+  private final JobLeaseManager jobLeaseManager;
+  private final TaskExecutor taskExecutor;
+  private final Duration leaseDuration;
+
+  public PolicyRenewalServiceImpl(
+      RenewalRunRepository renewalRunRepository,
+      RenewalRunMapper renewalRunMapper,
+      PolicyRenewalEngine policyRenewalEngine,
+      JobLeaseManager jobLeaseManager,
+      @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+      @Value("${insurance.policy.renewal.lease-duration:10m}") Duration leaseDuration) {
+    this.renewalRunRepository = renewalRunRepository;
+    this.renewalRunMapper = renewalRunMapper;
+    this.policyRenewalEngine = policyRenewalEngine;
+    this.jobLeaseManager = jobLeaseManager;
+    this.taskExecutor = taskExecutor;
+    this.leaseDuration = leaseDuration;
+  }
+
+  @Override
+  public RenewalRunDto startRenewal(RenewalRequestDto request) {
+    log.info(
+        "Request to renew policies ending {} to {}",
+        request.getExpiringFrom(),
+        request.getExpiringTo());
+    if (request.getExpiringFrom().isAfter(request.getExpiringTo())) {
+      throw new InvalidRequestException("expiringFrom must not be after expiringTo");
+    }
+    acquireLease();
+    RenewalRun run =
+        new RenewalRun(request.getExpiringFrom(), request.getExpiringTo(), ZonedDateTime.now());
+    return handOver(run);
+  }
+
+  @Override
+  public RenewalRunDto resumeRenewal(Long runId) {
+    log.info("Request to resume renewal run {}", runId);
+    RenewalRun run =
+        renewalRunRepository
+            .findById(runId)
+            .orElseThrow(() -> new ResourceNotFoundException("Renewal run not found: " + runId));
+    if (run.getStatus() == RenewalRunStatus.COMPLETED) {
+      throw new BusinessRuleViolationException("Renewal run " + runId + " has already completed");
+    }
+    acquireLease();
+    run.setStatus(RenewalRunStatus.RUNNING);
+    run.setFailureReason(null);
+    run.setFinishedAt(null);
+    return handOver(run);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<RenewalRunDto> findRenewalRun(Long runId) {
+    log.info("Request to find renewal run {}", runId);
+    return renewalRunRepository.findById(runId).map(renewalRunMapper::toDto);
+  }
+
+  private void acquireLease() {
+    if (!jobLeaseManager.tryAcquire(PolicyRenewalEngine.LEASE_NAME, leaseDuration)) {
+      log.warn("Rejecting renewal request: another renewal run is in progress");
+      throw new BusinessRuleViolationException("Another renewal run is in progress");
+    }
+  }
+
+  /** Saves the run and submits it to the engine, which releases the lease when it is done. */
+  private RenewalRunDto handOver(RenewalRun run) {
+    try {
+      RenewalRun saved = renewalRunRepository.save(run);
+      taskExecutor.execute(() -> policyRenewalEngine.process(saved.getId()));
+      return renewalRunMapper.toDto(saved);
+    } catch (RuntimeException e) {
+      jobLeaseManager.release(PolicyRenewalEngine.LEASE_NAME);
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package tech.yildirim.insurance.dummy.policy.renewal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+/** Closed projection of the columns of an expiring policy that its renewal is built from. */
+public interface RenewalCandidate {
+
+  Long getId();
+
+  PolicyType getType();
+
+  BigDecimal getPremium();
+
+  LocalDate getStartDate();
+
+  LocalDate getEndDate();
+
+  Long getCustomerId();
+
+  Long getAgencyId();
+}
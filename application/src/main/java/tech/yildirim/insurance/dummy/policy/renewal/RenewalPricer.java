@@ -0,0 +1,44 @@
+package tech.yildirim.insurance.dummy.policy.renewal;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prices the follow-up term of a policy from its current premium and its claim history. A policy
+ * without claims earns the no-claim bonus of the policy conditions; every claim adds a surcharge,
+ * up to a cap, so a single bad year cannot multiply the premium.
+ */
+@Component
+public class RenewalPricer {
+
+  private final BigDecimal claimSurcharge;
+  private final int maxSurchargedClaims;
+
+  public RenewalPricer(
+      @Value("${insurance.policy.renewal.claim-surcharge:0.10}") BigDecimal claimSurcharge,
+      @Value("${insurance.policy.renewal.max-surcharged-claims:3}") int maxSurchargedClaims) {
+    this.claimSurcharge = claimSurcharge;
+    this.maxSurchargedClaims = maxSurchargedClaims;
+  }
+
+  /**
+   * Computes the premium of the follow-up term.
+   *
+   * @param premium The premium of the expiring term.
+   * @param claimCount The number of claims on the expiring term that were not rejected.
+   * @param noClaimBonus The discount for a term without claims, e.g. 0.05 for 5%.
+   * @return The new premium, rounded to cents.
+   */
+  public BigDecimal price(BigDecimal premium, long claimCount, BigDecimal noClaimBonus) {
+    BigDecimal factor;
+    if (claimCount == 0) {
+      factor = BigDecimal.ONE.subtract(noClaimBonus);
+    } else {
+      long surchargedClaims = Math.min(claimCount, maxSurchargedClaims);
+      factor = BigDecimal.ONE.add(claimSurcharge.multiply(BigDecimal.valueOf(surchargedClaims)));
+    }
+    return premium.multiply(factor).setScale(2, RoundingMode.HALF_UP);
+  }
+}
@@ -0,0 +1,60 @@
+package tech.yildirim.insurance.dummy.policy.renewal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A run of the policy renewal pipeline over the policies ending within a date window. {@link
+ * #lastPolicyId} is the checkpoint: all candidates up to and including it have been processed.
+ */
+@Entity
+@Table(name = "renewal_runs")
+@Data
+@NoArgsConstructor
+public class RenewalRun {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private LocalDate expiringFrom;
+
+  @Column(nullable = false)
+  private LocalDate expiringTo;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private RenewalRunStatus status;
+
+  @Column(nullable = false)
+  private long lastPolicyId;
+
+  @Column(nullable = false)
+  private long renewedCount;
+
+  @Column(length = 1000)
+  private String failureReason;
+
+  @Column(nullable = false)
+  private ZonedDateTime startedAt;
+
+  private ZonedDateTime finishedAt;
+
+  public RenewalRun(LocalDate expiringFrom, LocalDate expiringTo, ZonedDateTime startedAt) {
+    this.expiringFrom = expiringFrom;
+    this.expiringTo = expiringTo;
+    this.status = RenewalRunStatus.RUNNING;
+    this.startedAt = startedAt;
+  }
+}
@@ -0,0 +1,23 @@
+package tech.yildirim.insurance.dummy.policy.renewal;
+
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import org.mapstruct.Mapper;
+import tech.yildirim.insurance.api.generated.model.RenewalRunDto;
+
+/** Mapper for the {@link RenewalRun} entity and its DTO {@link RenewalRunDto}. */
+@Mapper(componentModel = "spring")
+public interface RenewalRunMapper {
+
+  /**
+   * Maps a RenewalRun entity to its DTO representation.
+   *
+   * @param run The source entity.
+   * @return The target DTO.
+   */
+  RenewalRunDto toDto(RenewalRun run);
+
+  default OffsetDateTime toOffsetDateTime(ZonedDateTime dateTime) {
+    return dateTime == null ? null : dateTime.toOffsetDateTime();
+  }
+}
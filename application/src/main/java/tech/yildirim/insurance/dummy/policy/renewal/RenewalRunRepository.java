@@ -0,0 +1,8 @@
+package tech.yildirim.insurance.dummy.policy.renewal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/** Spring Data JPA repository for the {@link RenewalRun} entity. */
+@Repository
+public interface RenewalRunRepository extends JpaRepository<RenewalRun, Long> {}
@@ -0,0 +1,8 @@
+package tech.yildirim.insurance.dummy.policy.renewal;
+
+/** The state of a {@link RenewalRun}. */
+public enum RenewalRunStatus {
+  RUNNING,
+  COMPLETED,
+  FAILED
+}
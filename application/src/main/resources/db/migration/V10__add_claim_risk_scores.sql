@@ -0,0 +1,12 @@
+-- =================================================================================
+--  CLAIM RISK SCORES
+-- =================================================================================
+--  Every claim gets a risk score from 0 to 100 when it is submitted, and the open
+--  claims are re-scored by a nightly job. Adjusters work through the open claims by
+--  descending score, read over the (risk_score DESC, id) index. Claims that have not
+--  been scored yet have no score and are scored by the first run of the job.
+-- =================================================================================
+
+ALTER TABLE claims ADD COLUMN risk_score INT;
+
+CREATE INDEX idx_claims_risk_score ON claims (risk_score DESC, id);
@@ -0,0 +1,15 @@
+-- =================================================================================
+--  CLAIM DUPLICATE KEYS
+-- =================================================================================
+--  duplicate_key is the SHA-256 hash of a claim's policy, incident date and normalised
+--  identifier (license plate or accident location, type of damage, procedure code),
+--  see ClaimDuplicateKey. Only the first report of an incident owns its key; later
+--  reports are flagged with duplicate_of_claim_id instead. The unique constraint keeps
+--  two nodes from both accepting the same incident as new. Existing claims are checked
+--  by the application at startup, as the key is computed in Java.
+-- =================================================================================
+
+ALTER TABLE claims ADD COLUMN duplicate_key VARCHAR(64);
+ALTER TABLE claims ADD COLUMN duplicate_of_claim_id BIGINT;
+
+ALTER TABLE claims ADD CONSTRAINT uk_claims_duplicate_key UNIQUE (duplicate_key);
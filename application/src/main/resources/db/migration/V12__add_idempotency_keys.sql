@@ -0,0 +1,20 @@
+-- =================================================================================
+--  IDEMPOTENCY KEYS
+-- =================================================================================
+--  One row per create request that was sent with an Idempotency-Key header, keyed by
+--  operation and key. The row is inserted before the request is processed, so only
+--  one node processes it, and completed with the response in the same transaction
+--  as the request itself. Retries with the same key get the stored response. Rows
+--  are purged once expires_at has passed.
+-- =================================================================================
+
+CREATE TABLE idempotency_keys (
+    request_key     VARCHAR(320)                NOT NULL,
+    request_hash    VARCHAR(64)                 NOT NULL,
+    response_status INT,
+    response_body   CLOB,
+    expires_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (request_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
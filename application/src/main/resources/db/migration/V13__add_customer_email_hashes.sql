@@ -0,0 +1,15 @@
+-- =================================================================================
+--  CUSTOMER EMAIL HASHES
+-- =================================================================================
+--  email_hash is a 64-bit hash of a customer's normalised email (trimmed, lower
+--  case), see CustomerEmail. The bulk import looks up the emails of a whole chunk
+--  of rows by their hash, which keeps the index small and the lookups fast; rows
+--  with the same hash are compared by email. The column is not unique: different
+--  emails may share a hash, and existing data may hold the same email twice.
+--  Existing customers are hashed by the application at startup, as the hash is
+--  computed in Java.
+-- =================================================================================
+
+ALTER TABLE customers ADD COLUMN email_hash BIGINT;
+
+CREATE INDEX idx_customers_email_hash ON customers (email_hash);
@@ -0,0 +1,28 @@
+-- =================================================================================
+--  EXPORT RUNS
+-- =================================================================================
+--  export_runs holds one row per columnar export of policies and claims, with the
+--  directory its files are written to. export_files lists the files of a completed
+--  export: one per entity and id range, with its row count and size.
+-- =================================================================================
+
+CREATE TABLE export_runs (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    status         ENUM ('COMPLETED', 'FAILED', 'RUNNING')   NOT NULL,
+    directory      VARCHAR(1000),
+    failure_reason VARCHAR(1000),
+    started_at     TIMESTAMP(6) WITH TIME ZONE               NOT NULL,
+    finished_at    TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE export_files (
+    run_id     BIGINT                        NOT NULL,
+    entity     ENUM ('CLAIMS', 'POLICIES')   NOT NULL,
+    file_name  VARCHAR(255)                  NOT NULL,
+    first_id   BIGINT                        NOT NULL,
+    last_id    BIGINT                        NOT NULL,
+    row_count  BIGINT                        NOT NULL,
+    size_bytes BIGINT                        NOT NULL,
+    CONSTRAINT fk_export_files_run FOREIGN KEY (run_id) REFERENCES export_runs
+);
@@ -0,0 +1,41 @@
+-- =================================================================================
+--  ARCHIVE
+-- =================================================================================
+--  Closed claims and ended policies past the retention window are moved here by the
+--  ArchiveJob, so the hot claims and policies tables only hold what is still worked
+--  on. Each row keeps the columns the reports and the agency analytics aggregate, and
+--  the record as its endpoint returned it, as gzip-compressed JSON. Archived records
+--  are read-only and only looked up by id.
+--
+--  There are no foreign keys: an archived claim may belong to a policy that is still
+--  in the hot table, and its policy may be archived later.
+-- =================================================================================
+
+CREATE TABLE archived_claims (
+    id               BIGINT                      NOT NULL,
+    claim_type       VARCHAR(31)                 NOT NULL,
+    claim_number     VARCHAR(255)                NOT NULL,
+    status           ENUM ('APPROVED', 'IN_REVIEW', 'PAID', 'REJECTED', 'SUBMITTED') NOT NULL,
+    date_of_incident DATE                        NOT NULL,
+    estimated_amount NUMERIC(12, 2),
+    paid_amount      NUMERIC(12, 2),
+    policy_id        BIGINT                      NOT NULL,
+    archived_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    payload          BLOB                        NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_archived_claims_policy ON archived_claims (policy_id);
+
+CREATE TABLE archived_policies (
+    id            BIGINT                                      NOT NULL,
+    policy_number VARCHAR(255)                                NOT NULL,
+    status        ENUM ('ACTIVE', 'CANCELLED', 'EXPIRED', 'PENDING') NOT NULL,
+    end_date      DATE                                        NOT NULL,
+    premium       NUMERIC(10, 2)                              NOT NULL,
+    customer_id   BIGINT                                      NOT NULL,
+    agency_id     BIGINT,
+    archived_at   TIMESTAMP(6) WITH TIME ZONE                 NOT NULL,
+    payload       BLOB                                        NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,9 @@
+-- =================================================================================
+--  CLAIM REPORTING DATE INDEX
+-- =================================================================================
+--  The claim risk signals only count the claims reported within the window, so
+--  their nightly rebuild reads the claims by reporting date instead of scanning
+--  the whole table.
+-- =================================================================================
+
+CREATE INDEX idx_claims_date_reported ON claims (date_reported);
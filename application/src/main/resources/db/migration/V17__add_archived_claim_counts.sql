@@ -0,0 +1,14 @@
+-- =================================================================================
+--  ARCHIVED CLAIM COUNTS
+-- =================================================================================
+--  The number of archived claims per customer that were not rejected, kept up to date
+--  by the ArchiveJob in the transaction that moves the claims. The claim history of a
+--  customer is rated from the claims table plus this count, so archiving a claim does
+--  not change the premium of the customer's next policy.
+-- =================================================================================
+
+CREATE TABLE archived_claim_counts (
+    customer_id BIGINT NOT NULL,
+    claim_count BIGINT NOT NULL,
+    PRIMARY KEY (customer_id)
+);
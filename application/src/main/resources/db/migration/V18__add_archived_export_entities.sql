@@ -0,0 +1,9 @@
+-- =================================================================================
+--  ARCHIVED EXPORT ENTITIES
+-- =================================================================================
+--  Exports also write the archived claims and policies, each to files of their own,
+--  so export_files takes their entities as well.
+-- =================================================================================
+
+ALTER TABLE export_files ALTER COLUMN entity
+    ENUM ('ARCHIVED_CLAIMS', 'ARCHIVED_POLICIES', 'CLAIMS', 'POLICIES') NOT NULL;
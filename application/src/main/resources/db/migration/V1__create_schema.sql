@@ -0,0 +1,122 @@
+-- =================================================================================
+--  INITIAL SCHEMA
+-- =================================================================================
+--  Matches the JPA mappings; Hibernate only validates it (ddl-auto: validate).
+--  Every later schema change gets its own versioned migration.
+-- =================================================================================
+
+CREATE TABLE customers (
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    first_name              VARCHAR(255)                NOT NULL,
+    last_name               VARCHAR(255)                NOT NULL,
+    date_of_birth           DATE                        NOT NULL,
+    street_and_house_number VARCHAR(255),
+    postal_code             VARCHAR(255),
+    city                    VARCHAR(255),
+    country                 VARCHAR(255),
+    password                VARCHAR(255),
+    email                   VARCHAR(255)                NOT NULL,
+    created_at              TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at              TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE employees (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    employee_id  VARCHAR(255)                NOT NULL UNIQUE,
+    first_name   VARCHAR(255)                NOT NULL,
+    last_name    VARCHAR(255)                NOT NULL,
+    email        VARCHAR(255)                NOT NULL UNIQUE,
+    password     VARCHAR(255)                NOT NULL,
+    phone_number VARCHAR(255)                NOT NULL,
+    role         ENUM ('ADMIN', 'CLAIMS_ADJUSTER', 'CUSTOMER_SUPPORT', 'MANAGER', 'UNDERWRITER')
+                                             NOT NULL,
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE agencies (
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    agency_code             VARCHAR(255)                NOT NULL UNIQUE,
+    name                    VARCHAR(255)                NOT NULL,
+    contact_person          VARCHAR(255)                NOT NULL,
+    contact_email           VARCHAR(255)                NOT NULL,
+    contact_phone           VARCHAR(255),
+    street_and_house_number VARCHAR(255),
+    postal_code             VARCHAR(255),
+    city                    VARCHAR(255),
+    country                 VARCHAR(255),
+    created_at              TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at              TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE policy_conditions (
+    id                        BIGINT       NOT NULL,
+    free_cancellation_days    INTEGER      NOT NULL,
+    no_claim_bonus_percentage NUMERIC(5, 4) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE cancellation_penalty_rules (
+    id                         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    months_remaining_threshold INTEGER       NOT NULL,
+    penalty_percentage         NUMERIC(5, 4) NOT NULL,
+    policy_conditions_id       BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_penalty_rules_policy_conditions
+        FOREIGN KEY (policy_conditions_id) REFERENCES policy_conditions
+);
+
+CREATE TABLE policies (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    policy_number VARCHAR(255)                                NOT NULL UNIQUE,
+    start_date    DATE                                        NOT NULL,
+    end_date      DATE                                        NOT NULL,
+    type          ENUM ('AUTO', 'HEALTH', 'HOME', 'LIABILITY')  NOT NULL,
+    status        ENUM ('ACTIVE', 'CANCELLED', 'EXPIRED', 'PENDING') NOT NULL,
+    premium       NUMERIC(10, 2)                              NOT NULL,
+    customer_id   BIGINT                                      NOT NULL,
+    agency_id     BIGINT,
+    created_at    TIMESTAMP(6) WITH TIME ZONE                 NOT NULL,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE                 NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_policies_customer FOREIGN KEY (customer_id) REFERENCES customers,
+    CONSTRAINT fk_policies_agency FOREIGN KEY (agency_id) REFERENCES agencies
+);
+
+CREATE TABLE home_claim_details (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    damaged_items CLOB,
+    PRIMARY KEY (id)
+);
+
+-- Single table for all claim types, discriminated by claim_type
+CREATE TABLE claims (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    claim_type           VARCHAR(31)                 NOT NULL,
+    claim_number         VARCHAR(255)                NOT NULL UNIQUE,
+    description          VARCHAR(255)                NOT NULL,
+    date_of_incident     DATE                        NOT NULL,
+    status               ENUM ('APPROVED', 'IN_REVIEW', 'PAID', 'REJECTED', 'SUBMITTED') NOT NULL,
+    estimated_amount     NUMERIC(12, 2),
+    paid_amount          NUMERIC(12, 2),
+    policy_id            BIGINT                      NOT NULL,
+    assigned_adjuster_id BIGINT,
+    date_reported        TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    -- AUTO
+    license_plate        VARCHAR(255),
+    vehicle_vin          VARCHAR(255),
+    accident_location    VARCHAR(255),
+    -- HOME
+    type_of_damage       VARCHAR(255),
+    details_id           BIGINT UNIQUE,
+    -- HEALTH
+    medical_provider     VARCHAR(255),
+    procedure_code       VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_claims_policy FOREIGN KEY (policy_id) REFERENCES policies,
+    CONSTRAINT fk_claims_adjuster FOREIGN KEY (assigned_adjuster_id) REFERENCES employees,
+    CONSTRAINT fk_claims_home_details FOREIGN KEY (details_id) REFERENCES home_claim_details
+);
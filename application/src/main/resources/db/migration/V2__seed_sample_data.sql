@@ -1,13 +1,16 @@
 -- =================================================================================
 --  COMPREHENSIVE SEED DATA FOR DUMMY INSURANCE API
 -- =================================================================================
+--  Applied once per database by Flyway. The in-memory default profile gets it on every
+--  boot; the persistent profile only on the first boot against an empty database file.
+-- =================================================================================
 --  Order of insertion:
 --  1. Customers
 --  2. Employees
 --  3. Agencies
 --  4. Policy Conditions & Rules
 --  5. Policies
---  6. Claims
+--  6. Claims (home claim details first, they are referenced by the claims)
 -- =================================================================================
 
 
@@ -103,25 +106,29 @@ VALUES
 -- A submitted Auto Claim for Policy 104 (Erika's expired car policy)
 INSERT INTO claims (id, claim_number, description, date_of_incident, status, estimated_amount,
                     paid_amount, policy_id, assigned_adjuster_id, date_reported, claim_type,
-                    license_plate, vehicle_vin, accident_location, type_of_damage, damaged_items,
+                    license_plate, vehicle_vin, accident_location, type_of_damage, details_id,
                     medical_provider, procedure_code)
 VALUES (1001, 'CLM-2024-A001', 'Parkschaden am hinteren Stoßfänger.', '2024-11-20', 'SUBMITTED',
         750.00, NULL, 104, NULL, '2024-11-21 10:00:00', 'AUTO', 'M-XY-4321', 'VIN123XYZ...',
         'Supermarkt Parkplatz', NULL, NULL, NULL, NULL);
 
+-- Damaged items of the home claim below, stored apart from the claims table
+INSERT INTO home_claim_details (id, damaged_items)
+VALUES (1, 'Kellerwände, Boden, einige Möbel');
+
 -- An "In Review" Home Claim for Policy 102 (Max's active home policy), assigned to an adjuster
 INSERT INTO claims (id, claim_number, description, date_of_incident, status, estimated_amount,
                     paid_amount, policy_id, assigned_adjuster_id, date_reported, claim_type,
-                    license_plate, vehicle_vin, accident_location, type_of_damage, damaged_items,
+                    license_plate, vehicle_vin, accident_location, type_of_damage, details_id,
                     medical_provider, procedure_code)
 VALUES (1002, 'CLM-2025-H001', 'Wasserschaden im Keller durch Rohrbruch.', '2025-06-10',
         'IN_REVIEW', 2500.00, NULL, 102, 11, '2025-06-11 14:30:00', 'HOME', NULL, NULL, NULL,
-        'WATER', 'Kellerwände, Boden, einige Möbel', NULL, NULL);
+        'WATER', 1, NULL, NULL);
 
 -- A "Paid" Health Claim for Policy 103 (Erika's active health policy), assigned and resolved
 INSERT INTO claims (id, claim_number, description, date_of_incident, status, estimated_amount,
                     paid_amount, policy_id, assigned_adjuster_id, date_reported, claim_type,
-                    license_plate, vehicle_vin, accident_location, type_of_damage, damaged_items,
+                    license_plate, vehicle_vin, accident_location, type_of_damage, details_id,
                     medical_provider, procedure_code)
 VALUES (1003, 'CLM-2025-M001', 'Zahnärztliche Behandlung: Zahnkrone.', '2025-04-05', 'PAID', 800.00,
         720.00, 103, 12, '2025-04-08 09:00:00', 'HEALTH', NULL, NULL, NULL, NULL, NULL,
@@ -130,7 +137,7 @@ VALUES (1003, 'CLM-2025-M001', 'Zahnärztliche Behandlung: Zahnkrone.', '2025-04
 -- A "Rejected" Auto Claim for Policy 104
 INSERT INTO claims (id, claim_number, description, date_of_incident, status, estimated_amount,
                     paid_amount, policy_id, assigned_adjuster_id, date_reported, claim_type,
-                    license_plate, vehicle_vin, accident_location, type_of_damage, damaged_items,
+                    license_plate, vehicle_vin, accident_location, type_of_damage, details_id,
                     medical_provider, procedure_code)
 VALUES (1004, 'CLM-2024-A002', 'Kratzer an der Tür, Ursache unklar.', '2024-12-01', 'REJECTED',
         400.00, NULL, 104, 11, '2024-12-02 11:20:00', 'AUTO', 'M-XY-4321', 'VIN123XYZ...',
@@ -152,4 +159,6 @@ ALTER TABLE cancellation_penalty_rules
 ALTER TABLE policies
     ALTER COLUMN id RESTART WITH (SELECT MAX(id) + 1 FROM policies);
 ALTER TABLE claims
-    ALTER COLUMN id RESTART WITH (SELECT MAX(id) + 1 FROM claims);
\ No newline at end of file
+    ALTER COLUMN id RESTART WITH (SELECT MAX(id) + 1 FROM claims);
+ALTER TABLE home_claim_details
+    ALTER COLUMN id RESTART WITH (SELECT MAX(id) + 1 FROM home_claim_details);
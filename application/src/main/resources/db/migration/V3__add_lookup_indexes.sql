@@ -0,0 +1,21 @@
+-- =================================================================================
+--  LOOKUP INDEXES
+-- =================================================================================
+--  One index per foreign key and per column the repositories filter on. Composite
+--  indexes lead with the foreign key, so the same index serves "all claims of a
+--  policy" and "open claims of a policy". Keep in sync with @Table(indexes) on the
+--  entities, which build the same indexes for the create-drop test schema.
+-- =================================================================================
+
+CREATE INDEX idx_customers_email ON customers (email);
+
+CREATE INDEX idx_policies_customer_status ON policies (customer_id, status);
+CREATE INDEX idx_policies_agency_status ON policies (agency_id, status);
+CREATE INDEX idx_policies_status_end_date ON policies (status, end_date);
+
+CREATE INDEX idx_claims_policy_status ON claims (policy_id, status);
+CREATE INDEX idx_claims_adjuster_status ON claims (assigned_adjuster_id, status);
+CREATE INDEX idx_claims_status ON claims (status);
+CREATE INDEX idx_claims_type_status ON claims (claim_type, status);
+
+CREATE INDEX idx_penalty_rules_conditions ON cancellation_penalty_rules (policy_conditions_id);
@@ -0,0 +1,17 @@
+-- =================================================================================
+--  SCHEDULED JOB LEASES
+-- =================================================================================
+--  One row per scheduled job. A node may run the job only while it holds the lease,
+--  i.e. its owner id is stored and locked_until lies in the future, so a job runs on
+--  a single node at a time. Rows are created on first use.
+-- =================================================================================
+
+CREATE TABLE job_leases (
+    name         VARCHAR(64)                 NOT NULL,
+    owner        VARCHAR(255)                NOT NULL,
+    locked_until TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (name)
+);
+
+-- Pending policies due for activation (the policy lifecycle job)
+CREATE INDEX idx_policies_status_start_date ON policies (status, start_date);
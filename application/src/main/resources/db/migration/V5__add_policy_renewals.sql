@@ -0,0 +1,35 @@
+-- =================================================================================
+--  POLICY RENEWAL RUNS
+-- =================================================================================
+--  renewal_runs holds one row per run with its checkpoint: the id of the last policy
+--  whose chunk was committed. A resumed run continues after it.
+--
+--  policy_renewals links each renewed policy to its run and its follow-up policy. It
+--  is written in the same transaction as the follow-up policies and the checkpoint,
+--  and its primary key guarantees that a policy is renewed at most once.
+-- =================================================================================
+
+CREATE TABLE renewal_runs (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    expiring_from  DATE                                      NOT NULL,
+    expiring_to    DATE                                      NOT NULL,
+    status         ENUM ('COMPLETED', 'FAILED', 'RUNNING')   NOT NULL,
+    last_policy_id BIGINT                                    NOT NULL,
+    renewed_count  BIGINT                                    NOT NULL,
+    failure_reason VARCHAR(1000),
+    started_at     TIMESTAMP(6) WITH TIME ZONE               NOT NULL,
+    finished_at    TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE policy_renewals (
+    policy_id             BIGINT         NOT NULL,
+    run_id                BIGINT         NOT NULL,
+    renewed_policy_number VARCHAR(255)   NOT NULL,
+    renewed_premium       NUMERIC(10, 2) NOT NULL,
+    PRIMARY KEY (policy_id),
+    CONSTRAINT fk_policy_renewals_policy FOREIGN KEY (policy_id) REFERENCES policies,
+    CONSTRAINT fk_policy_renewals_run FOREIGN KEY (run_id) REFERENCES renewal_runs
+);
+
+CREATE INDEX idx_policy_renewals_run ON policy_renewals (run_id);
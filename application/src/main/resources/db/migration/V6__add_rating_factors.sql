@@ -0,0 +1,45 @@
+-- =================================================================================
+--  PREMIUM RATING TABLES
+-- =================================================================================
+--  One row per entry of a rating table. A premium is the BASE_PREMIUM of the policy
+--  type multiplied by the AGE factor (band = first age of the band), the REGION
+--  factor (band = one- or two-digit postal code prefix) and the CLAIMS factor (band =
+--  number of claims that were not rejected). The rows are compiled into lookup arrays
+--  at startup and whenever the tables are replaced through the API.
+-- =================================================================================
+
+CREATE TABLE rating_factors (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    dimension ENUM ('AGE', 'BASE_PREMIUM', 'CLAIMS', 'REGION') NOT NULL,
+    band      VARCHAR(32)                                     NOT NULL,
+    factor    NUMERIC(12, 4)                                  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_rating_factors_dimension_band UNIQUE (dimension, band)
+);
+
+INSERT INTO rating_factors (dimension, band, factor)
+VALUES ('BASE_PREMIUM', 'AUTO', 450.00),
+       ('BASE_PREMIUM', 'HOME', 300.00),
+       ('BASE_PREMIUM', 'HEALTH', 900.00),
+       ('BASE_PREMIUM', 'LIABILITY', 80.00),
+       ('AGE', '18', 1.6000),
+       ('AGE', '25', 1.2000),
+       ('AGE', '30', 1.0000),
+       ('AGE', '60', 1.1500),
+       ('AGE', '70', 1.3500),
+       ('REGION', '0', 0.9500),
+       ('REGION', '1', 1.1000),
+       ('REGION', '10', 1.2000),
+       ('REGION', '2', 1.0500),
+       ('REGION', '3', 0.9500),
+       ('REGION', '4', 1.0000),
+       ('REGION', '5', 1.0000),
+       ('REGION', '6', 1.0500),
+       ('REGION', '7', 1.0000),
+       ('REGION', '8', 1.1500),
+       ('REGION', '80', 1.2500),
+       ('REGION', '9', 0.9500),
+       ('CLAIMS', '0', 1.0000),
+       ('CLAIMS', '1', 1.1500),
+       ('CLAIMS', '2', 1.3500),
+       ('CLAIMS', '3', 1.6000);
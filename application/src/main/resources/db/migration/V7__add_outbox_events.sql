@@ -0,0 +1,24 @@
+-- =================================================================================
+--  EVENT OUTBOX
+-- =================================================================================
+--  One row per claim or policy change, inserted in the same transaction as the change
+--  itself. The outbox relay publishes the rows in id order and only then assigns their
+--  sequence number, in one transaction per batch, so the change feed (sequence > since)
+--  never shows a gap that a slower transaction fills in later.
+-- =================================================================================
+
+CREATE TABLE outbox_events (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    sequence       BIGINT,
+    aggregate_type ENUM ('CLAIM', 'POLICY')                  NOT NULL,
+    aggregate_id   BIGINT                                    NOT NULL,
+    event_type     ENUM ('CLAIM_ADJUSTER_ASSIGNED', 'CLAIM_DELETED', 'CLAIM_SUBMITTED',
+                         'CLAIM_UPDATED', 'POLICY_CREATED', 'POLICY_UPDATED') NOT NULL,
+    payload        CHARACTER LARGE OBJECT                    NOT NULL,
+    occurred_at    TIMESTAMP(6) WITH TIME ZONE               NOT NULL,
+    published_at   TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (id)
+);
+
+-- Unpublished events (sequence IS NULL) and the change feed (sequence > since)
+CREATE UNIQUE INDEX uk_outbox_events_sequence ON outbox_events (sequence);
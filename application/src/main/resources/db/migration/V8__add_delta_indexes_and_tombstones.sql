@@ -0,0 +1,25 @@
+-- =================================================================================
+--  DELTA READS
+-- =================================================================================
+--  The delta endpoints page through the records changed after a cursor, ordered by
+--  (updated_at, id). The composite indexes serve that range read and its order, so a
+--  delta costs the size of the change, not of the table.
+--
+--  Deleted claims and customers leave a tombstone, written in the transaction of the
+--  delete, so delta readers learn about deletes as well.
+-- =================================================================================
+
+CREATE INDEX idx_customers_updated_at ON customers (updated_at, id);
+CREATE INDEX idx_policies_updated_at ON policies (updated_at, id);
+CREATE INDEX idx_agencies_updated_at ON agencies (updated_at, id);
+CREATE INDEX idx_employees_updated_at ON employees (updated_at, id);
+
+CREATE TABLE tombstones (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    entity_type ENUM ('CLAIM', 'CUSTOMER')  NOT NULL,
+    entity_id   BIGINT                      NOT NULL,
+    deleted_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_tombstones_type_deleted_at ON tombstones (entity_type, deleted_at, id);
@@ -0,0 +1,36 @@
+-- =================================================================================
+--  CLAIM ROLLUPS
+-- =================================================================================
+--  One row per (claim type, status, incident month, agency) with the number of claims
+--  and the sums of their amounts. The rows are updated with a delta in the transaction
+--  of every claim change, so the claim report reads a few rows per month instead of
+--  scanning the claims. Agency 0 stands for policies sold directly.
+-- =================================================================================
+
+CREATE TABLE claim_rollups (
+    claim_type       VARCHAR(31)    NOT NULL,
+    status           ENUM ('APPROVED', 'IN_REVIEW', 'PAID', 'REJECTED', 'SUBMITTED') NOT NULL,
+    incident_month   DATE           NOT NULL,
+    agency_id        BIGINT         NOT NULL,
+    claim_count      BIGINT         NOT NULL,
+    estimated_amount NUMERIC(15, 2) NOT NULL,
+    paid_amount      NUMERIC(15, 2) NOT NULL,
+    PRIMARY KEY (claim_type, status, incident_month, agency_id)
+);
+
+CREATE INDEX idx_claim_rollups_month ON claim_rollups (incident_month);
+
+-- Backfill from the existing claims
+INSERT INTO claim_rollups (claim_type, status, incident_month, agency_id, claim_count,
+                           estimated_amount, paid_amount)
+SELECT c.claim_type,
+       c.status,
+       CAST(DATE_TRUNC('MONTH', c.date_of_incident) AS DATE),
+       COALESCE(p.agency_id, 0),
+       COUNT(*),
+       COALESCE(SUM(c.estimated_amount), 0),
+       COALESCE(SUM(c.paid_amount), 0)
+FROM claims c
+         JOIN policies p ON p.id = c.policy_id
+GROUP BY c.claim_type, c.status, CAST(DATE_TRUNC('MONTH', c.date_of_incident) AS DATE),
+         COALESCE(p.agency_id, 0);
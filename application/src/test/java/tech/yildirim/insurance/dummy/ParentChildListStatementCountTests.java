@@ -0,0 +1,99 @@
+package tech.yildirim.insurance.dummy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tech.yildirim.insurance.api.generated.model.ClaimDto;
+import tech.yildirim.insurance.api.generated.model.PolicyDto;
+import tech.yildirim.insurance.dummy.claim.ClaimService;
+import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+import tech.yildirim.insurance.dummy.policy.PolicyService;
+
+/**
+ * Counts the JDBC statements of the "children of a parent" list reads against the sample data.
+ * Each read, including the check that the parent exists, must take a single statement; before the
+ * left-join queries it took an {@code existsById} plus the list query (plus one select per
+ * assigned adjuster for claims).
+ */
+// The outbox relay is disabled, its polling statements would be counted as well
+@SpringBootTest(
+    properties = {
+      "spring.jpa.properties.hibernate.generate_statistics=true",
+      "insurance.outbox.relay.cron=-"
+    })
+@DisplayName("Parent/Child List Statement Count Tests")
+class ParentChildListStatementCountTests {
+
+  @Autowired private ClaimService claimService;
+
+  @Autowired private PolicyService policyService;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  @DisplayName("Should read the claims of a policy, with their adjusters, in one statement")
+  void findClaimsByPolicyId_shouldUseOneStatement() {
+    // When: The claims of policy 104 (two auto claims, one of them assigned) are read
+    List<ClaimDto> claims = claimService.findClaimsByPolicyId(104L);
+
+    // Then: One statement returned the claims and the adjuster
+    assertThat(claims).extracting(ClaimDto::getId).containsExactlyInAnyOrder(1001L, 1004L);
+    assertThat(claims).extracting(ClaimDto::getAssignedAdjusterName).contains("Jürgen Weber");
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should tell a policy without claims from a missing one with one statement each")
+  void findClaimsByPolicyId_withoutClaimsOrPolicy_shouldUseOneStatement() {
+    // When & Then: Policy 101 exists but has no claims
+    assertThat(claimService.findClaimsByPolicyId(101L)).isEmpty();
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+    // When & Then: Policy 999 does not exist
+    assertThrows(ResourceNotFoundException.class, () -> claimService.findClaimsByPolicyId(999L));
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should read the policies of a customer in one statement")
+  void findPoliciesByCustomerId_shouldUseOneStatement() {
+    // When: The policies of customer 1 are read, in full and as a sparse fieldset
+    List<PolicyDto> policies = policyService.findPoliciesByCustomerId(1L);
+    List<PolicyDto> summaries = policyService.findPoliciesByCustomerId(1L, List.of("status"));
+
+    // Then: Each read took one statement
+    assertThat(policies).extracting(PolicyDto::getId).containsExactlyInAnyOrder(101L, 102L);
+    assertThat(summaries).extracting(PolicyDto::getId).containsExactlyInAnyOrder(101L, 102L);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should tell a customer without policies from a missing one with one statement each")
+  void findPoliciesByCustomerId_withoutPoliciesOrCustomer_shouldUseOneStatement() {
+    // When & Then: Customer 3 exists but has no policies
+    assertThat(policyService.findPoliciesByCustomerId(3L)).isEmpty();
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+    // When & Then: Customer 999 does not exist
+    assertThrows(
+        ResourceNotFoundException.class, () -> policyService.findPoliciesByCustomerId(999L));
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+}
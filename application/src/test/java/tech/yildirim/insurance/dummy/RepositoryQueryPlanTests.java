@@ -0,0 +1,230 @@
+package tech.yildirim.insurance.dummy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tech.yildirim.insurance.dummy.agency.AgencyRepository;
+import tech.yildirim.insurance.dummy.archive.ArchivedClaimRepository;
+import tech.yildirim.insurance.dummy.archive.ArchivedPolicyRepository;
+import tech.yildirim.insurance.dummy.claim.ClaimRepository;
+import tech.yildirim.insurance.dummy.claim.ClaimStatus;
+import tech.yildirim.insurance.dummy.claim.HomeClaim;
+import tech.yildirim.insurance.dummy.claim.report.ClaimRollupRepository;
+import tech.yildirim.insurance.dummy.common.delta.TombstoneRepository;
+import tech.yildirim.insurance.dummy.common.delta.TombstoneType;
+import tech.yildirim.insurance.dummy.customer.CustomerRepository;
+import tech.yildirim.insurance.dummy.employee.EmployeeRepository;
+import tech.yildirim.insurance.dummy.outbox.OutboxEventRepository;
+import tech.yildirim.insurance.dummy.policy.PolicyRepository;
+import tech.yildirim.insurance.dummy.policy.condition.PolicyConditionsRepository;
+import tech.yildirim.insurance.dummy.policy.renewal.PolicyRenewalRepository;
+
+/**
+ * Runs every lookup query of the repositories, and the bulk updates of the scheduled jobs, against
+ * the Flyway-migrated schema and checks the H2 query plan of each SQL statement Hibernate issues,
+ * including the secondary selects of eager associations. A statement that has to scan a whole table
+ * fails the test.
+ *
+ * <p>{@code findAll}-style reads and {@link CustomerRepository#searchByName(String)} (a substring
+ * search with a leading wildcard) read every row by design and are not listed here.
+ */
+@DataJpaTest(
+    properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "tech.yildirim.insurance.dummy.RepositoryQueryPlanTests$CapturingStatementInspector")
+@DisplayName("Repository Query Plan Tests")
+class RepositoryQueryPlanTests {
+
+  private static final String TABLE_SCAN = ".tableScan";
+
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private AgencyRepository agencyRepository;
+  @Autowired private ArchivedClaimRepository archivedClaimRepository;
+  @Autowired private ArchivedPolicyRepository archivedPolicyRepository;
+  @Autowired private ClaimRepository claimRepository;
+  @Autowired private ClaimRollupRepository claimRollupRepository;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private EmployeeRepository employeeRepository;
+  @Autowired private OutboxEventRepository outboxEventRepository;
+  @Autowired private PolicyRepository policyRepository;
+  @Autowired private PolicyConditionsRepository policyConditionsRepository;
+  @Autowired private PolicyRenewalRepository policyRenewalRepository;
+  @Autowired private TombstoneRepository tombstoneRepository;
+
+  /** Records the SQL of every statement Hibernate prepares. */
+  public static class CapturingStatementInspector implements StatementInspector {
+
+    static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+      STATEMENTS.add(sql);
+      return sql;
+    }
+  }
+
+  @Test
+  @DisplayName("Should use an index for every statement of the repository lookups")
+  void repositoryLookups_shouldNotScanWholeTables() {
+    // Given: The lookup queries of all repositories
+    Map<String, Runnable> lookups = new LinkedHashMap<>();
+    lookups.put("AgencyRepository.findByAgencyCode", () -> agencyRepository.findByAgencyCode("X"));
+    lookups.put("ClaimRepository.findById", () -> claimRepository.findById(1L));
+    lookups.put("ClaimRepository.findByPolicyId", () -> claimRepository.findByPolicyId(101L));
+    lookups.put(
+        "ClaimRepository.findByPolicyIdJoiningPolicy",
+        () -> claimRepository.findByPolicyIdJoiningPolicy(104L));
+    lookups.put(
+        "ClaimRepository.findClaimByClaimType", () -> claimRepository.findClaimByClaimType("HOME"));
+    lookups.put(
+        "ClaimRepository.findSummariesByType",
+        () -> claimRepository.findSummariesByType(HomeClaim.class));
+    lookups.put(
+        "ClaimRepository.findSummariesByPolicyIdJoiningPolicy",
+        () -> claimRepository.findSummariesByPolicyIdJoiningPolicy(101L));
+    lookups.put(
+        "ClaimRepository.findWithAdjusterByPolicyIdIn",
+        () -> claimRepository.findWithAdjusterByPolicyIdIn(List.of(103L, 104L)));
+    lookups.put(
+        "ClaimRepository.countNotRejectedByCustomerId",
+        () -> claimRepository.countNotRejectedByCustomerId(2L));
+    lookups.put(
+        "ClaimRepository.findHomeClaimsWithDetails",
+        () -> claimRepository.findHomeClaimsWithDetails(List.of(1L, 2L)));
+    lookups.put("CustomerRepository.findById", () -> customerRepository.findById(1L));
+    lookups.put(
+        "EmployeeRepository.findByEmployeeId", () -> employeeRepository.findByEmployeeId("X"));
+    lookups.put("EmployeeRepository.findByEmail", () -> employeeRepository.findByEmail("x@y.z"));
+    lookups.put("PolicyRepository.findById", () -> policyRepository.findById(101L));
+    lookups.put("PolicyRepository.findByCustomerId", () -> policyRepository.findByCustomerId(1L));
+    lookups.put(
+        "PolicyRepository.findByPolicyNumber", () -> policyRepository.findByPolicyNumber("X"));
+    lookups.put(
+        "PolicyRepository.findByCustomerIdJoiningCustomer",
+        () -> policyRepository.findByCustomerIdJoiningCustomer(1L));
+    lookups.put(
+        "PolicyRepository.findSummariesByCustomerIdJoiningCustomer",
+        () -> policyRepository.findSummariesByCustomerIdJoiningCustomer(1L));
+    lookups.put(
+        "PolicyRepository.expirePolicies",
+        () -> policyRepository.expirePolicies(LocalDate.now(), 100));
+    lookups.put(
+        "PolicyRepository.activatePolicies",
+        () -> policyRepository.activatePolicies(LocalDate.now(), 100));
+    lookups.put(
+        "PolicyConditionsRepository.findById", () -> policyConditionsRepository.findById(1L));
+    lookups.put(
+        "PolicyRenewalRepository.findCandidates",
+        () ->
+            policyRenewalRepository.findCandidates(
+                LocalDate.now(), LocalDate.now().plusMonths(1), 0L, Limit.of(100)));
+    lookups.put(
+        "PolicyRenewalRepository.countClaimsByPolicyIdIn",
+        () -> policyRenewalRepository.countClaimsByPolicyIdIn(List.of(103L, 104L)));
+    lookups.put(
+        "OutboxEventRepository.findUnpublished",
+        () -> outboxEventRepository.findUnpublished(Limit.of(100)));
+    lookups.put(
+        "OutboxEventRepository.findPublishedAfter",
+        () -> outboxEventRepository.findPublishedAfter(0L, Limit.of(100)));
+    lookups.put(
+        "OutboxEventRepository.findLastSequence", () -> outboxEventRepository.findLastSequence());
+    ZonedDateTime since = ZonedDateTime.now().minusDays(1);
+    ZonedDateTime until = ZonedDateTime.now();
+    lookups.put(
+        "CustomerRepository.findUpdatedAfter",
+        () -> customerRepository.findUpdatedAfter(since, 0L, until, Limit.of(100)));
+    lookups.put(
+        "PolicyRepository.findUpdatedAfter",
+        () -> policyRepository.findUpdatedAfter(since, 0L, until, Limit.of(100)));
+    lookups.put(
+        "AgencyRepository.findUpdatedAfter",
+        () -> agencyRepository.findUpdatedAfter(since, 0L, until, Limit.of(100)));
+    lookups.put(
+        "EmployeeRepository.findUpdatedAfter",
+        () -> employeeRepository.findUpdatedAfter(since, 0L, until, Limit.of(100)));
+    lookups.put(
+        "TombstoneRepository.findDeletedAfter",
+        () ->
+            tombstoneRepository.findDeletedAfter(
+                TombstoneType.CUSTOMER, since, 0L, until, Limit.of(100)));
+    lookups.put(
+        "ClaimRepository.findByStatusInOrderByRiskScore",
+        () ->
+            claimRepository.findByStatusInOrderByRiskScore(
+                List.of(ClaimStatus.SUBMITTED, ClaimStatus.IN_REVIEW), Limit.of(50)));
+    lookups.put(
+        "ClaimRollupRepository.findByIncidentMonthBetween",
+        () ->
+            claimRollupRepository.findByIncidentMonthBetween(
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 1)));
+    lookups.put(
+        "CustomerRepository.findRatingProfiles",
+        () -> customerRepository.findRatingProfiles(List.of(1L, 2L)));
+    lookups.put(
+        "AgencyRepository.findExistingIds", () -> agencyRepository.findExistingIds(List.of(1L)));
+    lookups.put(
+        "ClaimRepository.countNotRejectedByCustomerIdIn",
+        () -> claimRepository.countNotRejectedByCustomerIdIn(List.of(1L, 2L)));
+    lookups.put(
+        "ArchivedClaimRepository.findById", () -> archivedClaimRepository.findById(1L));
+    lookups.put(
+        "ArchivedPolicyRepository.findById", () -> archivedPolicyRepository.findById(101L));
+
+    // When: Each lookup is executed and the plan of every statement it issued is explained
+    List<String> tableScans = new ArrayList<>();
+    lookups.forEach(
+        (name, lookup) -> {
+          entityManager.clear();
+          CapturingStatementInspector.STATEMENTS.clear();
+          lookup.run();
+          assertThat(CapturingStatementInspector.STATEMENTS).as(name).isNotEmpty();
+          for (String sql : CapturingStatementInspector.STATEMENTS) {
+            String plan = explain(sql);
+            if (plan.contains(TABLE_SCAN)) {
+              tableScans.add(name + " -> " + plan);
+            }
+          }
+        });
+
+    // Then: No statement should need a full table scan
+    assertThat(tableScans).isEmpty();
+  }
+
+  /** Explains a statement with all of its parameters bound to NULL; H2 plans on prepare. */
+  private String explain(String sql) {
+    return jdbcTemplate.execute(
+        (Connection connection) -> {
+          try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+              statement.setNull(i, Types.NULL);
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+              plan.next();
+              return plan.getString(1);
+            }
+          }
+        });
+  }
+}
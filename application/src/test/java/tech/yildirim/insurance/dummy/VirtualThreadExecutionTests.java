@@ -0,0 +1,44 @@
+package tech.yildirim.insurance.dummy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import tech.yildirim.insurance.dummy.common.diagnostics.VirtualThreadPinningMonitor;
+
+@SpringBootTest
+@ActiveProfiles({"test", "virtual-threads"})
+@DisplayName("Virtual Thread Execution Mode Tests")
+class VirtualThreadExecutionTests {
+
+  @Autowired private AsyncTaskExecutor applicationTaskExecutor;
+
+  @Autowired private ApplicationContext applicationContext;
+
+  @Test
+  @DisplayName("Should run application tasks on virtual threads when the profile is active")
+  void applicationTaskExecutor_shouldUseVirtualThreads() throws Exception {
+    // Given: A task that reports the kind of thread it runs on
+    CompletableFuture<Boolean> runsOnVirtualThread = new CompletableFuture<>();
+
+    // When: The task is submitted to the executor used by @Async
+    applicationTaskExecutor.execute(
+        () -> runsOnVirtualThread.complete(Thread.currentThread().isVirtual()));
+
+    // Then: It should have been executed by a virtual thread
+    assertThat(runsOnVirtualThread.get(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should start the pinning monitor when running on virtual threads")
+  void pinningMonitor_shouldBeRunning() {
+    assertThat(applicationContext.getBean(VirtualThreadPinningMonitor.class).isRunning()).isTrue();
+  }
+}
@@ -2,12 +2,19 @@ package tech.yildirim.insurance.dummy.agency;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -18,7 +25,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import tech.yildirim.insurance.api.generated.model.AddressDto;
+import tech.yildirim.insurance.api.generated.model.AgencyAnalyticsDto;
 import tech.yildirim.insurance.api.generated.model.AgencyDto;
+import tech.yildirim.insurance.api.generated.model.AgencyPerformanceDto;
+import tech.yildirim.insurance.dummy.agency.analytics.AgencyAnalyticsService;
+import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
 
 @WebMvcTest(AgencyController.class)
 @DisplayName("Agency Controller Web Layer Tests")
@@ -26,6 +37,7 @@ class AgencyControllerTest {
 
   @Autowired private MockMvc mockMvc;
   @Autowired private AgencyService agencyService;
+  @Autowired private AgencyAnalyticsService agencyAnalyticsService;
   @Autowired private ObjectMapper objectMapper;
 
   @TestConfiguration
@@ -34,6 +46,11 @@ class AgencyControllerTest {
     public AgencyService agencyService() {
       return Mockito.mock(AgencyService.class);
     }
+
+    @Bean
+    public AgencyAnalyticsService agencyAnalyticsService() {
+      return Mockito.mock(AgencyAnalyticsService.class);
+    }
   }
 
   @Test
@@ -68,4 +85,44 @@ class AgencyControllerTest {
         .andExpect(status().isCreated())
         .andExpect(jsonPath("$.id", is(1)));
   }
+
+  @Test
+  @DisplayName("GET /agencies/analytics - Should return the figures of the snapshot")
+  void getAgencyAnalytics_shouldReturnFigures() throws Exception {
+    // Given: The service computes the figures of one agency
+    AgencyAnalyticsDto analytics =
+        new AgencyAnalyticsDto()
+            .snapshotTakenAt(OffsetDateTime.parse("2026-01-01T02:30:00Z"))
+            .agencies(
+                List.of(
+                    new AgencyPerformanceDto()
+                        .agencyId(1L)
+                        .policyCount(2L)
+                        .policiesByStatus(Map.of("ACTIVE", 2L))
+                        .premiumVolume(new BigDecimal("1000.00"))
+                        .claimCount(1L)
+                        .claimsPaid(new BigDecimal("250.00"))
+                        .lossRatio(new BigDecimal("0.2500"))));
+    doReturn(analytics).when(agencyAnalyticsService).getAgencyAnalytics();
+
+    // When & Then: The figures are returned as is
+    mockMvc
+        .perform(get("/agencies/analytics"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.agencies[0].agencyId", is(1)))
+        .andExpect(jsonPath("$.agencies[0].policiesByStatus.ACTIVE", is(2)))
+        .andExpect(jsonPath("$.agencies[0].lossRatio", is(0.25)));
+  }
+
+  @Test
+  @DisplayName("GET /agencies/analytics - Should return 404 before the first snapshot")
+  void getAgencyAnalytics_withoutSnapshot_shouldReturn404() throws Exception {
+    // Given: No snapshot has been taken yet
+    doThrow(new ResourceNotFoundException("The agency analytics snapshot has not been taken"))
+        .when(agencyAnalyticsService)
+        .getAgencyAnalytics();
+
+    // When & Then
+    mockMvc.perform(get("/agencies/analytics")).andExpect(status().isNotFound());
+  }
 }
@@ -0,0 +1,103 @@
+package tech.yildirim.insurance.dummy.agency.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tech.yildirim.insurance.dummy.agency.Agency;
+import tech.yildirim.insurance.dummy.claim.AutoClaim;
+import tech.yildirim.insurance.dummy.claim.ClaimStatus;
+import tech.yildirim.insurance.dummy.common.Address;
+import tech.yildirim.insurance.dummy.customer.Customer;
+import tech.yildirim.insurance.dummy.policy.Policy;
+import tech.yildirim.insurance.dummy.policy.PolicyStatus;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Agency Analytics Loader Integration Tests")
+class AgencyAnalyticsLoaderTest {
+
+  @Autowired private TestEntityManager testEntityManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  @DisplayName("Should read every policy and claim into the snapshot, amounts in cents")
+  void load_shouldSnapshotPoliciesAndClaims() {
+    // Given: A policy of an agency with a paid claim and a policy sold directly
+    Address address = new Address();
+    address.setStreetAndHouseNumber("Musterstrasse 1");
+    address.setCity("Musterstadt");
+    address.setPostalCode("65000");
+    address.setCountry("Germany");
+    Customer customer = new Customer();
+    customer.setFirstName("Ana");
+    customer.setLastName("Lytics");
+    customer.setDateOfBirth(LocalDate.of(1980, 1, 1));
+    customer.setPassword("secret");
+    customer.setEmail("ana.lytics@example.com");
+    customer.setAddress(address);
+    testEntityManager.persist(customer);
+    Agency agency = new Agency();
+    agency.setAgencyCode("AG-ANA");
+    agency.setName("Analytics Agency");
+    agency.setContactPerson("Agnes Agent");
+    agency.setContactEmail("agnes@example.com");
+    testEntityManager.persist(agency);
+    Policy agencyPolicy = persistPolicy("P-ANA-1", customer, agency, "480.50");
+    persistPolicy("P-ANA-2", customer, null, "99.99");
+    AutoClaim claim = new AutoClaim();
+    claim.setClaimNumber("CLM-ANA-1");
+    claim.setDescription("Fender bender");
+    claim.setLicensePlate("F-AB-123");
+    claim.setDateOfIncident(LocalDate.of(2025, 6, 1));
+    claim.setStatus(ClaimStatus.PAID);
+    claim.setPaidAmount(new BigDecimal("120.25"));
+    claim.setPolicy(agencyPolicy);
+    testEntityManager.persistAndFlush(claim);
+
+    // When: A snapshot is taken
+    AgencyAnalyticsSnapshot snapshot = new AgencyAnalyticsLoader(jdbcTemplate).load();
+
+    // Then: It holds both policies and the claim, grouped by their agency
+    assertThat(snapshot.policyCount()).isEqualTo(2);
+    assertThat(snapshot.claimCount()).isEqualTo(1);
+    List<AgencyPerformance> figures = snapshot.aggregate();
+    assertThat(figures)
+        .containsExactly(
+            new AgencyPerformance(
+                AgencyAnalyticsSnapshot.DIRECT_SALES,
+                Map.of(PolicyStatus.ACTIVE, 1L),
+                9_999,
+                0,
+                0),
+            new AgencyPerformance(
+                agency.getId(), Map.of(PolicyStatus.ACTIVE, 1L), 48_050, 1, 12_025));
+  }
+
+  private Policy persistPolicy(
+      String number, Customer customer, Agency policyAgency, String premium) {
+    return testEntityManager.persist(
+        new Policy(
+            null,
+            number,
+            LocalDate.of(2025, 1, 1),
+            LocalDate.of(2025, 12, 31),
+            PolicyType.AUTO,
+            PolicyStatus.ACTIVE,
+            new BigDecimal(premium),
+            customer,
+            policyAgency,
+            null,
+            null));
+  }
+}
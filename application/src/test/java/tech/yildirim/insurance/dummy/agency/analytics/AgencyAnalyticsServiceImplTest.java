@@ -0,0 +1,64 @@
+package tech.yildirim.insurance.dummy.agency.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tech.yildirim.insurance.api.generated.model.AgencyAnalyticsDto;
+import tech.yildirim.insurance.api.generated.model.AgencyPerformanceDto;
+import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+import tech.yildirim.insurance.dummy.policy.PolicyStatus;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Agency Analytics Service Unit Tests")
+class AgencyAnalyticsServiceImplTest {
+
+  @Mock private AgencyAnalyticsLoader agencyAnalyticsLoader;
+
+  @InjectMocks private AgencyAnalyticsServiceImpl agencyAnalyticsService;
+
+  @Test
+  @DisplayName("Should report the figures of the latest snapshot with loss ratios")
+  void getAgencyAnalytics_shouldMapFigures() {
+    // Given: A snapshot with an agency and a direct sale without premium
+    ZonedDateTime takenAt = ZonedDateTime.parse("2026-01-01T02:30:00Z");
+    when(agencyAnalyticsLoader.load())
+        .thenReturn(
+            new AgencyAnalyticsSnapshot.Builder()
+                .addPolicy(7L, PolicyStatus.ACTIVE, 120_000)
+                .addClaim(7L, 30_000)
+                .addPolicy(AgencyAnalyticsSnapshot.DIRECT_SALES, PolicyStatus.CANCELLED, 0)
+                .build(takenAt));
+    agencyAnalyticsService.refreshSnapshot();
+
+    // When: The analytics are requested
+    AgencyAnalyticsDto analytics = agencyAnalyticsService.getAgencyAnalytics();
+
+    // Then: Amounts are in currency units and direct sales have no agency id
+    assertThat(analytics.getSnapshotTakenAt()).isEqualTo(takenAt.toOffsetDateTime());
+    AgencyPerformanceDto direct = analytics.getAgencies().get(0);
+    assertThat(direct.getAgencyId()).isNull();
+    assertThat(direct.getLossRatio()).isNull();
+    AgencyPerformanceDto agency = analytics.getAgencies().get(1);
+    assertThat(agency.getAgencyId()).isEqualTo(7L);
+    assertThat(agency.getPoliciesByStatus()).containsEntry("ACTIVE", 1L);
+    assertThat(agency.getPremiumVolume()).isEqualByComparingTo("1200.00");
+    assertThat(agency.getClaimsPaid()).isEqualByComparingTo("300.00");
+    assertThat(agency.getLossRatio()).isEqualByComparingTo("0.25");
+  }
+
+  @Test
+  @DisplayName("Should report missing analytics before the first snapshot")
+  void getAgencyAnalytics_withoutSnapshot_shouldThrow() {
+    // When & Then
+    assertThatThrownBy(() -> agencyAnalyticsService.getAgencyAnalytics())
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+}
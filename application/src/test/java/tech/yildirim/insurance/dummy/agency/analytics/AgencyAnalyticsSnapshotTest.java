@@ -0,0 +1,85 @@
+package tech.yildirim.insurance.dummy.agency.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.yildirim.insurance.dummy.policy.PolicyStatus;
+
+@DisplayName("Agency Analytics Snapshot Unit Tests")
+class AgencyAnalyticsSnapshotTest {
+
+  private static final ZonedDateTime TAKEN_AT = ZonedDateTime.parse("2026-01-01T02:30:00Z");
+
+  @Test
+  @DisplayName("Should sum policies, premiums and paid claims per agency")
+  void aggregate_shouldSumPerAgency() {
+    // Given: Policies of an agency and of direct sales, with claims on both
+    AgencyAnalyticsSnapshot snapshot =
+        new AgencyAnalyticsSnapshot.Builder()
+            .addPolicy(7L, PolicyStatus.ACTIVE, 50_000)
+            .addPolicy(AgencyAnalyticsSnapshot.DIRECT_SALES, PolicyStatus.PENDING, 20_000)
+            .addPolicy(7L, PolicyStatus.EXPIRED, 30_000)
+            .addPolicy(7L, PolicyStatus.ACTIVE, 20_000)
+            .addClaim(7L, 25_000)
+            .addClaim(7L, 0)
+            .addClaim(AgencyAnalyticsSnapshot.DIRECT_SALES, 1_000)
+            .build(TAKEN_AT);
+
+    // When: The figures are aggregated
+    List<AgencyPerformance> figures = snapshot.aggregate();
+
+    // Then: Direct sales come first, then the agency
+    assertThat(figures)
+        .containsExactly(
+            new AgencyPerformance(
+                AgencyAnalyticsSnapshot.DIRECT_SALES,
+                Map.of(PolicyStatus.PENDING, 1L),
+                20_000,
+                1,
+                1_000),
+            new AgencyPerformance(
+                7L,
+                Map.of(PolicyStatus.ACTIVE, 2L, PolicyStatus.EXPIRED, 1L),
+                100_000,
+                2,
+                25_000));
+    assertThat(figures.get(1).policyCount()).isEqualTo(3);
+    assertThat(snapshot.takenAt()).isEqualTo(TAKEN_AT);
+  }
+
+  @Test
+  @DisplayName("Should give the same totals when the scan is split over many chunks")
+  void aggregate_overManyChunks_shouldMergePartialTotals() {
+    // Given: More rows than fit in a few chunks, spread over three agencies
+    int rows = AgencyAnalyticsSnapshot.CHUNK_SIZE * 3 + 17;
+    AgencyAnalyticsSnapshot.Builder builder = new AgencyAnalyticsSnapshot.Builder();
+    for (int row = 0; row < rows; row++) {
+      builder.addPolicy(row % 3, PolicyStatus.values()[row % 4], 100);
+      builder.addClaim(row % 3, 10);
+    }
+    AgencyAnalyticsSnapshot snapshot = builder.build(TAKEN_AT);
+
+    // When: The figures are aggregated
+    List<AgencyPerformance> figures = snapshot.aggregate();
+
+    // Then: Every row is counted exactly once
+    assertThat(snapshot.policyCount()).isEqualTo(rows);
+    assertThat(figures).hasSize(3);
+    assertThat(figures.stream().mapToLong(AgencyPerformance::policyCount).sum()).isEqualTo(rows);
+    assertThat(figures.stream().mapToLong(AgencyPerformance::premiumCents).sum())
+        .isEqualTo(rows * 100L);
+    assertThat(figures.stream().mapToLong(AgencyPerformance::claimsPaidCents).sum())
+        .isEqualTo(rows * 10L);
+  }
+
+  @Test
+  @DisplayName("Should aggregate an empty snapshot to no figures")
+  void aggregate_whenEmpty_shouldReturnNothing() {
+    // When & Then
+    assertThat(new AgencyAnalyticsSnapshot.Builder().build(TAKEN_AT).aggregate()).isEmpty();
+  }
+}
@@ -0,0 +1,269 @@
+package tech.yildirim.insurance.dummy.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.yildirim.insurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.insurance.api.generated.model.ClaimDto;
+import tech.yildirim.insurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.insurance.api.generated.model.PolicyDto;
+import tech.yildirim.insurance.dummy.agency.Agency;
+import tech.yildirim.insurance.dummy.agency.analytics.AgencyAnalyticsLoader;
+import tech.yildirim.insurance.dummy.agency.analytics.AgencyPerformance;
+import tech.yildirim.insurance.dummy.claim.AutoClaim;
+import tech.yildirim.insurance.dummy.claim.Claim;
+import tech.yildirim.insurance.dummy.claim.ClaimMapper;
+import tech.yildirim.insurance.dummy.claim.ClaimRepository;
+import tech.yildirim.insurance.dummy.claim.ClaimRepository.CustomerClaimCount;
+import tech.yildirim.insurance.dummy.claim.ClaimStatus;
+import tech.yildirim.insurance.dummy.claim.HomeClaim;
+import tech.yildirim.insurance.dummy.claim.duplicate.ClaimDuplicateIndex;
+import tech.yildirim.insurance.dummy.claim.duplicate.DuplicateClaimAction;
+import tech.yildirim.insurance.dummy.claim.report.ClaimRollupWriter;
+import tech.yildirim.insurance.dummy.common.Address;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseRepository;
+import tech.yildirim.insurance.dummy.customer.Customer;
+import tech.yildirim.insurance.dummy.policy.Policy;
+import tech.yildirim.insurance.dummy.policy.PolicyMapper;
+import tech.yildirim.insurance.dummy.policy.PolicyRepository;
+import tech.yildirim.insurance.dummy.policy.PolicyStatus;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Archive Job Integration Tests")
+class ArchiveJobTest {
+
+  /** Claims are reported now, so the retention window of two years ends in the future. */
+  private static final LocalDate TODAY = LocalDate.now().plusYears(3);
+
+  @Autowired private TestEntityManager testEntityManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private ClaimRepository claimRepository;
+  @Autowired private PolicyRepository policyRepository;
+  @Autowired private ArchivedClaimRepository archivedClaimRepository;
+  @Autowired private ArchivedPolicyRepository archivedPolicyRepository;
+  @Autowired private JobLeaseRepository jobLeaseRepository;
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private ArchiveJob job;
+  private ArchiveReader archiveReader;
+  private Customer customer;
+  private Agency agency;
+
+  @BeforeEach
+  void setUp() {
+    // A chunk size of one makes every run take several chunks
+    ArchivePayloads archivePayloads =
+        new ArchivePayloads(new ObjectMapper().findAndRegisterModules());
+    job =
+        new ArchiveJob(
+            claimRepository,
+            Mappers.getMapper(ClaimMapper.class),
+            new ClaimDuplicateIndex(jdbcTemplate, transactionManager, DuplicateClaimAction.FLAG),
+            policyRepository,
+            Mappers.getMapper(PolicyMapper.class),
+            archivePayloads,
+            new JobLeaseManager(jobLeaseRepository),
+            jdbcTemplate,
+            transactionManager,
+            meterRegistry,
+            Duration.ofDays(730),
+            1,
+            Duration.ofMinutes(1));
+    archiveReader =
+        new ArchiveReader(archivedClaimRepository, archivedPolicyRepository, archivePayloads);
+
+    Address address = new Address();
+    address.setStreetAndHouseNumber("Musterstrasse 1");
+    address.setCity("Musterstadt");
+    address.setPostalCode("65000");
+    address.setCountry("Germany");
+    customer = new Customer();
+    customer.setFirstName("Archie");
+    customer.setLastName("Ved");
+    customer.setDateOfBirth(LocalDate.of(1980, 1, 1));
+    customer.setPassword("secret");
+    customer.setEmail("archie.ved@example.com");
+    customer.setAddress(address);
+    testEntityManager.persist(customer);
+    agency = new Agency();
+    agency.setAgencyCode("AG-ARC");
+    agency.setName("Archive Agency");
+    agency.setContactPerson("Agnes Agent");
+    agency.setContactEmail("agnes@example.com");
+    testEntityManager.persist(agency);
+  }
+
+  @Test
+  @DisplayName("Should move closed claims and ended policies without claims to the archive")
+  void runFor_shouldArchiveClosedClaimsAndEndedPolicies() {
+    // Given: Policies and claims inside and outside of the retention window
+    Policy ended = persistPolicy("P-ARC-1", PolicyStatus.EXPIRED, TODAY.minusYears(3), agency);
+    Policy endedWithOpenClaim =
+        persistPolicy("P-ARC-2", PolicyStatus.CANCELLED, TODAY.minusYears(3), null);
+    Policy active = persistPolicy("P-ARC-3", PolicyStatus.ACTIVE, TODAY.plusYears(1), null);
+    Policy recentlyEnded =
+        persistPolicy("P-ARC-4", PolicyStatus.EXPIRED, TODAY.minusDays(10), null);
+    AutoClaim paid = persistAutoClaim("CLM-ARC-1", ended, ClaimStatus.PAID, "120.25");
+    AutoClaim open = persistAutoClaim("CLM-ARC-2", endedWithOpenClaim, ClaimStatus.IN_REVIEW, null);
+    HomeClaim rejected = new HomeClaim();
+    rejected.setClaimNumber("CLM-ARC-3");
+    rejected.setDescription("Burst pipe");
+    rejected.setTypeOfDamage("Water");
+    rejected.setDamagedItems("Sofa, TV");
+    rejected.setDateOfIncident(LocalDate.of(2025, 2, 1));
+    rejected.setStatus(ClaimStatus.REJECTED);
+    rejected.setPolicy(active);
+    testEntityManager.persist(rejected);
+    testEntityManager.flush();
+
+    // When: The job runs
+    Optional<ArchiveJob.Result> result = job.runFor(TODAY);
+
+    // Then: The closed claims, then the ended policy left without claims were moved
+    assertThat(result).contains(new ArchiveJob.Result(2, 1));
+    testEntityManager.clear();
+    assertThat(claimRepository.existsById(paid.getId())).isFalse();
+    assertThat(claimRepository.existsById(rejected.getId())).isFalse();
+    assertThat(claimRepository.existsById(open.getId())).isTrue();
+    assertThat(policyRepository.existsById(ended.getId())).isFalse();
+    assertThat(policyRepository.existsById(endedWithOpenClaim.getId())).isTrue();
+    assertThat(policyRepository.existsById(active.getId())).isTrue();
+    assertThat(policyRepository.existsById(recentlyEnded.getId())).isTrue();
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM home_claim_details", Long.class))
+        .isZero();
+
+    // And: The archived records read as their endpoints returned them
+    ClaimDto archivedPaid = archiveReader.findClaim(paid.getId()).orElseThrow();
+    assertThat(archivedPaid).isInstanceOf(AutoClaimDto.class);
+    assertThat(archivedPaid.getClaimNumber()).isEqualTo("CLM-ARC-1");
+    assertThat(((AutoClaimDto) archivedPaid).getLicensePlate()).isEqualTo("F-AR-1");
+    ClaimDto archivedRejected = archiveReader.findClaim(rejected.getId()).orElseThrow();
+    assertThat(((HomeClaimDto) archivedRejected).getDamagedItems()).isEqualTo("Sofa, TV");
+    assertThat(archiveReader.findPolicy(ended.getId()))
+        .get()
+        .extracting(PolicyDto::getPolicyNumber, PolicyDto::getAgencyId)
+        .containsExactly("P-ARC-1", agency.getId());
+    assertThat(archiveReader.findClaim(open.getId())).isEmpty();
+
+    // And: The archived records are published as metrics
+    assertThat(archived("claim")).isEqualTo(2.0);
+    assertThat(archived("policy")).isEqualTo(1.0);
+
+    // And: A second run finds nothing left to do
+    assertThat(job.runFor(TODAY)).contains(new ArchiveJob.Result(0, 0));
+  }
+
+  @Test
+  @DisplayName("Should keep archived claims in the analytics and move them with their policy")
+  void runFor_shouldKeepArchivedClaimsCounted() {
+    // Given: A paid claim on a policy sold directly, counted in the rollups
+    Policy policy = persistPolicy("P-ARC-5", PolicyStatus.ACTIVE, TODAY.plusYears(1), null);
+    Claim claim = persistAutoClaim("CLM-ARC-5", policy, ClaimStatus.PAID, "120.25");
+    ClaimRollupWriter claimRollupWriter = new ClaimRollupWriter(jdbcTemplate);
+    claimRollupWriter.add(claim);
+    testEntityManager.flush();
+    AgencyAnalyticsLoader loader = new AgencyAnalyticsLoader(jdbcTemplate);
+    var figuresBefore = loader.load().aggregate();
+
+    // When: The claim is archived
+    assertThat(job.runFor(TODAY)).contains(new ArchiveJob.Result(1, 0));
+
+    // Then: The analytics are unchanged
+    assertThat(loader.load().aggregate()).isEqualTo(figuresBefore);
+
+    // And: When the policy is handed over to the agency, the archived claim moves with it
+    policy.setAgency(agency);
+    testEntityManager.flush();
+    claimRollupWriter.moveClaimsOfPolicy(policy.getId(), null, agency.getId());
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT SUM(claim_count) FROM claim_rollups WHERE agency_id = ?",
+                Long.class,
+                agency.getId()))
+        .isEqualTo(1L);
+    assertThat(loader.load().aggregate())
+        .contains(
+            new AgencyPerformance(
+                agency.getId(), Map.of(PolicyStatus.ACTIVE, 1L), 1_000, 1, 12_025));
+  }
+
+  @Test
+  @DisplayName("Should keep archived claims that were not rejected in the claim history")
+  void runFor_shouldKeepClaimHistoryOfCustomer() {
+    // Given: Two paid and a rejected claim to archive, and an open claim staying in the hot table
+    Policy policy = persistPolicy("P-ARC-6", PolicyStatus.ACTIVE, TODAY.plusYears(1), null);
+    persistAutoClaim("CLM-ARC-6", policy, ClaimStatus.PAID, "120.25");
+    persistAutoClaim("CLM-ARC-7", policy, ClaimStatus.PAID, "80.00");
+    persistAutoClaim("CLM-ARC-8", policy, ClaimStatus.REJECTED, null);
+    persistAutoClaim("CLM-ARC-9", policy, ClaimStatus.IN_REVIEW, null);
+    testEntityManager.flush();
+    assertThat(claimRepository.countNotRejectedByCustomerId(customer.getId())).isEqualTo(3);
+
+    // When: The closed claims are archived, one per chunk
+    assertThat(job.runFor(TODAY)).contains(new ArchiveJob.Result(3, 0));
+
+    // Then: The claim history of the customer is unchanged
+    testEntityManager.clear();
+    assertThat(claimRepository.countNotRejectedByCustomerId(customer.getId())).isEqualTo(3);
+    assertThat(claimRepository.countNotRejectedByCustomerIdIn(List.of(customer.getId())))
+        .extracting(CustomerClaimCount::getCustomerId, CustomerClaimCount::getClaimCount)
+        .containsExactly(tuple(customer.getId(), 3L));
+  }
+
+  private Policy persistPolicy(
+      String number, PolicyStatus status, LocalDate endDate, Agency policyAgency) {
+    return testEntityManager.persist(
+        new Policy(
+            null,
+            number,
+            endDate.minusYears(1),
+            endDate,
+            PolicyType.AUTO,
+            status,
+            BigDecimal.TEN,
+            customer,
+            policyAgency,
+            null,
+            null));
+  }
+
+  private AutoClaim persistAutoClaim(
+      String number, Policy policy, ClaimStatus status, String paidAmount) {
+    AutoClaim claim = new AutoClaim();
+    claim.setClaimNumber(number);
+    claim.setDescription("Fender bender");
+    claim.setLicensePlate("F-AR-" + number.substring(number.length() - 1));
+    claim.setDateOfIncident(LocalDate.of(2025, 6, 1));
+    claim.setStatus(status);
+    claim.setPaidAmount(paidAmount == null ? null : new BigDecimal(paidAmount));
+    claim.setPolicy(policy);
+    return testEntityManager.persist(claim);
+  }
+
+  private double archived(String record) {
+    return meterRegistry.get(ArchiveJob.ARCHIVED_METRIC).tag("record", record).counter().count();
+  }
+}
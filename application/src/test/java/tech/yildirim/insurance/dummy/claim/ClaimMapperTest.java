@@ -183,6 +183,27 @@ class ClaimMapperTest {
         .isEqualTo("Living room carpet, kitchen cabinets, basement walls");
   }
 
+  @Test
+  @DisplayName("Should leave out damaged items when mapping a HomeClaim for a list view")
+  void shouldMapHomeClaimToListDtoWithoutDamagedItems() {
+    // Given: A HomeClaim entity with damaged items
+    HomeClaim homeClaim = new HomeClaim();
+    homeClaim.setId(4L);
+    homeClaim.setPolicy(testPolicy);
+    homeClaim.setAssignedAdjuster(testEmployee);
+    homeClaim.setTypeOfDamage("Storm damage");
+    homeClaim.setDamagedItems("Roof, windows");
+
+    // When: Mapping it for a list view
+    HomeClaimDto claimDto = claimMapper.toListDto(homeClaim);
+
+    // Then: Everything but the damaged items is mapped
+    assertThat(claimDto.getPolicyId()).isEqualTo(201L);
+    assertThat(claimDto.getAssignedAdjusterName()).isEqualTo("John Adjuster");
+    assertThat(claimDto.getTypeOfDamage()).isEqualTo("Storm damage");
+    assertThat(claimDto.getDamagedItems()).isNull();
+  }
+
   @Test
   @DisplayName("Should correctly map HomeClaim entity to ClaimDto with null adjuster")
   void shouldMapHomeClaimEntityToDtoWithNullAdjuster() {
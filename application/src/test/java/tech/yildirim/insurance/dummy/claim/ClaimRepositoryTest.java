@@ -1,11 +1,13 @@
 package tech.yildirim.insurance.dummy.claim;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -48,6 +50,7 @@ class ClaimRepositoryTest {
             "pass",
             "test.user@example.com",
             null,
+            null,
             null);
     testEntityManager.persist(customer);
 
@@ -158,6 +161,42 @@ class ClaimRepositoryTest {
     assertThat(claimsForHomePolicy.getFirst().getClaimNumber()).isEqualTo("CLM-H1");
   }
 
+  @Test
+  @DisplayName("Should tell a missing policy apart from a policy without claims in one query")
+  void shouldFindClaimsByPolicyIdJoiningPolicy() {
+    // Given: One claim on the auto policy and none on the home policy
+    AutoClaim claim = new AutoClaim();
+    claim.setClaimNumber("CLM-J1");
+    claim.setDescription("Desc J1");
+    claim.setLicensePlate("F-AB-789");
+    claim.setDateOfIncident(LocalDate.now());
+    claim.setStatus(ClaimStatus.SUBMITTED);
+    claim.setPolicy(autoPolicy);
+    testEntityManager.persist(claim);
+    testEntityManager.flush();
+    testEntityManager.clear();
+
+    // When & Then: A policy with claims returns exactly its claims
+    assertThat(claimRepository.findByPolicyIdJoiningPolicy(autoPolicy.getId()))
+        .extracting(Claim::getClaimNumber)
+        .containsExactly("CLM-J1");
+
+    // And: A policy without claims returns a single null element, or a single empty summary
+    assertThat(claimRepository.findByPolicyIdJoiningPolicy(homePolicy.getId()))
+        .containsExactly((Claim) null);
+    assertThat(claimRepository.findSummariesByPolicyIdJoiningPolicy(homePolicy.getId()))
+        .singleElement()
+        .satisfies(
+            summary -> {
+              assertThat(summary.getId()).isNull();
+              assertThat(summary.getPolicyType()).isEqualTo(PolicyType.HOME);
+            });
+
+    // And: An unknown policy returns nothing
+    assertThat(claimRepository.findByPolicyIdJoiningPolicy(-1L)).isEmpty();
+    assertThat(claimRepository.findSummariesByPolicyIdJoiningPolicy(-1L)).isEmpty();
+  }
+
   // ==================== FIND CLAIMS BY TYPE TESTS ====================
 
   @Test
@@ -491,4 +530,78 @@ class ClaimRepositoryTest {
     List<Claim> mixedCaseResults = claimRepository.findClaimByClaimType("Auto");
     assertThat(mixedCaseResults).isEmpty(); // Should be case-sensitive
   }
+
+  @Test
+  @DisplayName("Should read only the common columns of one claim type as summaries")
+  void shouldFindSummariesByType() {
+    // Given: One auto and one home claim with damaged items
+    AutoClaim autoClaim = new AutoClaim();
+    autoClaim.setClaimNumber("CLM-AUTO-002");
+    autoClaim.setDescription("Parking damage");
+    autoClaim.setLicensePlate("F-AUTO-002");
+    autoClaim.setDateOfIncident(LocalDate.now());
+    autoClaim.setStatus(ClaimStatus.SUBMITTED);
+    autoClaim.setPolicy(autoPolicy);
+
+    HomeClaim homeClaim = new HomeClaim();
+    homeClaim.setClaimNumber("CLM-HOME-002");
+    homeClaim.setDescription("Burst pipe");
+    homeClaim.setDateOfIncident(LocalDate.now());
+    homeClaim.setStatus(ClaimStatus.IN_REVIEW);
+    homeClaim.setEstimatedAmount(new BigDecimal("980.50"));
+    homeClaim.setDamagedItems("Kitchen floor, washing machine");
+    homeClaim.setPolicy(homePolicy);
+
+    testEntityManager.persist(autoClaim);
+    testEntityManager.persist(homeClaim);
+    testEntityManager.flush();
+    testEntityManager.clear();
+
+    // When: Reading the home claim summaries
+    List<ClaimSummary> summaries = claimRepository.findSummariesByType(HomeClaim.class);
+
+    // Then: Only the home claim is returned with its common columns and foreign keys
+    assertThat(summaries).hasSize(1);
+    ClaimSummary summary = summaries.getFirst();
+    assertThat(summary.getClaimNumber()).isEqualTo("CLM-HOME-002");
+    assertThat(summary.getStatus()).isEqualTo(ClaimStatus.IN_REVIEW);
+    assertThat(summary.getEstimatedAmount()).isEqualByComparingTo("980.50");
+    assertThat(summary.getPolicyId()).isEqualTo(homePolicy.getId());
+    assertThat(summary.getAssignedAdjusterId()).isNull();
+    assertThat(claimRepository.findSummariesByPolicyIdJoiningPolicy(autoPolicy.getId()))
+        .extracting(ClaimSummary::getClaimNumber, PolicyClaimSummary::getPolicyType)
+        .containsExactly(tuple("CLM-AUTO-002", PolicyType.AUTO));
+  }
+
+  @Test
+  @DisplayName("Should load home claim details lazily and only on request")
+  void shouldLoadHomeClaimDetailsLazily() {
+    // Given: A home claim with damaged items
+    HomeClaim homeClaim = new HomeClaim();
+    homeClaim.setClaimNumber("CLM-HOME-003");
+    homeClaim.setDescription("Hail damage");
+    homeClaim.setDateOfIncident(LocalDate.now());
+    homeClaim.setStatus(ClaimStatus.SUBMITTED);
+    homeClaim.setDamagedItems("Roof tiles, skylight");
+    homeClaim.setPolicy(homePolicy);
+    testEntityManager.persist(homeClaim);
+    testEntityManager.flush();
+    testEntityManager.clear();
+
+    // When: Listing home claims
+    HomeClaim listed = (HomeClaim) claimRepository.findClaimByClaimType("HOME").getFirst();
+
+    // Then: The details row has not been read
+    assertThat(Hibernate.isInitialized(listed.getDetails())).isFalse();
+    testEntityManager.clear();
+
+    // When: Loading the claim with its details
+    List<HomeClaim> withDetails =
+        claimRepository.findHomeClaimsWithDetails(List.of(listed.getId()));
+
+    // Then: The details are fetched in the same query
+    assertThat(withDetails).hasSize(1);
+    assertThat(Hibernate.isInitialized(withDetails.getFirst().getDetails())).isTrue();
+    assertThat(withDetails.getFirst().getDamagedItems()).isEqualTo("Roof tiles, skylight");
+  }
 }
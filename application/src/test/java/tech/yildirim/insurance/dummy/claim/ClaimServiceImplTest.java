@@ -4,14 +4,20 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,15 +27,29 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import tech.yildirim.insurance.api.generated.model.AutoClaimDto;
 import tech.yildirim.insurance.api.generated.model.ClaimDto;
 import tech.yildirim.insurance.api.generated.model.ClaimDto.ClaimTypeEnum;
 import tech.yildirim.insurance.api.generated.model.HealthClaimDto;
 import tech.yildirim.insurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.insurance.dummy.archive.ArchiveReader;
+import tech.yildirim.insurance.dummy.claim.duplicate.ClaimDuplicateIndex;
+import tech.yildirim.insurance.dummy.claim.report.ClaimRollupEntry;
+import tech.yildirim.insurance.dummy.claim.report.ClaimRollupWriter;
+import tech.yildirim.insurance.dummy.claim.risk.ClaimRiskScorer;
+import tech.yildirim.insurance.dummy.common.BusinessRuleViolationException;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
 import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+import tech.yildirim.insurance.dummy.common.delta.DeltaWindow;
+import tech.yildirim.insurance.dummy.common.delta.TombstoneRepository;
+import tech.yildirim.insurance.dummy.common.delta.TombstoneType;
+import tech.yildirim.insurance.dummy.common.delta.TombstoneWriter;
 import tech.yildirim.insurance.dummy.employee.Employee;
 import tech.yildirim.insurance.dummy.employee.EmployeeRepository;
 import tech.yildirim.insurance.dummy.employee.EmployeeRole;
+import tech.yildirim.insurance.dummy.outbox.OutboxEventType;
+import tech.yildirim.insurance.dummy.outbox.OutboxWriter;
 import tech.yildirim.insurance.dummy.policy.Policy;
 import tech.yildirim.insurance.dummy.policy.PolicyRepository;
 import tech.yildirim.insurance.dummy.policy.PolicyStatus;
@@ -43,6 +63,14 @@ class ClaimServiceImplTest {
   @Mock private PolicyRepository policyRepository;
   @Mock private ClaimMapper claimMapper;
   @Mock private EmployeeRepository employeeRepository;
+  @Mock private OutboxWriter outboxWriter;
+  @Mock private TombstoneWriter tombstoneWriter;
+  @Mock private TombstoneRepository tombstoneRepository;
+  @Mock private DeltaWindow deltaWindow;
+  @Mock private ClaimRollupWriter claimRollupWriter;
+  @Mock private ClaimRiskScorer claimRiskScorer;
+  @Mock private ClaimDuplicateIndex claimDuplicateIndex;
+  @Mock private ArchiveReader archiveReader;
 
   @InjectMocks private ClaimServiceImpl claimService;
 
@@ -69,6 +97,7 @@ class ClaimServiceImplTest {
     when(claimRepository.save(any(Claim.class)))
         .thenAnswer(invocation -> invocation.getArgument(0));
     when(claimMapper.toDto(any(AutoClaim.class))).thenReturn(autoClaimDto);
+    when(claimRiskScorer.scoreNewClaim(any(AutoClaim.class))).thenReturn(35);
     doAnswer(
             invocation -> {
               Mappers.getMapper(ClaimMapper.class)
@@ -96,7 +125,15 @@ class ClaimServiceImplTest {
     assertThat(autoClaim.getLicensePlate()).isEqualTo("ABC123");
     assertThat(autoClaim.getVehicleVin()).isEqualTo("1HGBH41JXMN109186");
     assertThat(autoClaim.getAccidentLocation()).isEqualTo("Highway 101, Mile 45");
+    assertThat(autoClaim.getRiskScore()).isEqualTo(35);
     assertThat(result).isEqualTo(autoClaimDto);
+
+    // And: The new claim is recorded in the outbox and counted in the rollups
+    verify(outboxWriter).append(eq(OutboxEventType.CLAIM_SUBMITTED), any(), eq(autoClaimDto));
+    verify(claimRollupWriter).add(capturedClaim);
+
+    // And: It was checked for duplicates
+    verify(claimDuplicateIndex).check(capturedClaim);
   }
 
   @Test
@@ -303,7 +340,7 @@ class ClaimServiceImplTest {
   // ==================== VALIDATION TESTS ====================
 
   @Test
-  @DisplayName("Should throw IllegalArgumentException when AUTO DTO submitted for HOME policy")
+  @DisplayName("Should throw InvalidRequestException when AUTO DTO submitted for HOME policy")
   void submitClaim_withMismatchedDtoAndPolicy_shouldThrowException() {
     // Given: HOME policy but AUTO claim DTO
     long policyId = 1L;
@@ -319,16 +356,16 @@ class ClaimServiceImplTest {
     when(policyRepository.findById(policyId)).thenReturn(Optional.of(homePolicy));
 
     // When & Then
-    IllegalArgumentException exception =
+    InvalidRequestException exception =
         assertThrows(
-            IllegalArgumentException.class, () -> claimService.submitClaim(policyId, autoClaimDto));
+            InvalidRequestException.class, () -> claimService.submitClaim(policyId, autoClaimDto));
 
     assertThat(exception.getMessage()).contains("Policy type HOME does not match claim type");
     verify(claimRepository, never()).save(any());
   }
 
   @Test
-  @DisplayName("Should throw IllegalArgumentException when HOME DTO submitted for HEALTH policy")
+  @DisplayName("Should throw InvalidRequestException when HOME DTO submitted for HEALTH policy")
   void submitClaim_withHomeClaimDtoForHealthPolicy_shouldThrowException() {
     // Given: HEALTH policy but HOME claim DTO
     long policyId = 1L;
@@ -343,15 +380,15 @@ class ClaimServiceImplTest {
     when(policyRepository.findById(policyId)).thenReturn(Optional.of(healthPolicy));
 
     // When & Then
-    IllegalArgumentException exception =
+    InvalidRequestException exception =
         assertThrows(
-            IllegalArgumentException.class, () -> claimService.submitClaim(policyId, homeClaimDto));
+            InvalidRequestException.class, () -> claimService.submitClaim(policyId, homeClaimDto));
 
     assertThat(exception.getMessage()).contains("Policy type HEALTH does not match claim type");
   }
 
   @Test
-  @DisplayName("Should throw IllegalArgumentException when HEALTH DTO submitted for AUTO policy")
+  @DisplayName("Should throw InvalidRequestException when HEALTH DTO submitted for AUTO policy")
   void submitClaim_withHealthClaimDtoForAutoPolicy_shouldThrowException() {
     // Given: AUTO policy but HEALTH claim DTO
     long policyId = 1L;
@@ -366,9 +403,9 @@ class ClaimServiceImplTest {
     when(policyRepository.findById(policyId)).thenReturn(Optional.of(autoPolicy));
 
     // When & Then
-    IllegalArgumentException exception =
+    InvalidRequestException exception =
         assertThrows(
-            IllegalArgumentException.class,
+            InvalidRequestException.class,
             () -> claimService.submitClaim(policyId, healthClaimDto));
 
     assertThat(exception.getMessage()).contains("Policy type AUTO does not match claim type");
@@ -377,7 +414,8 @@ class ClaimServiceImplTest {
   // ==================== EXISTING TESTS (Policy Status & Error Cases) ====================
 
   @Test
-  @DisplayName("Should throw IllegalStateException when submitting a claim for an INACTIVE policy")
+  @DisplayName(
+      "Should throw BusinessRuleViolationException when submitting a claim for an INACTIVE policy")
   void submitClaim_forInactivePolicy_shouldThrowException() {
     // Given: A PENDING (not ACTIVE) policy
     long policyId = 3L;
@@ -393,9 +431,10 @@ class ClaimServiceImplTest {
     when(policyRepository.findById(policyId)).thenReturn(Optional.of(pendingPolicy));
 
     // When & Then: Assert that the correct exception is thrown
-    IllegalStateException exception =
+    BusinessRuleViolationException exception =
         assertThrows(
-            IllegalStateException.class, () -> claimService.submitClaim(policyId, inputDto));
+            BusinessRuleViolationException.class,
+            () -> claimService.submitClaim(policyId, inputDto));
 
     assertThat(exception.getMessage())
         .contains("Claims can only be submitted for policies with ACTIVE status");
@@ -443,10 +482,20 @@ class ClaimServiceImplTest {
     adjuster.setLastName("Doe");
     adjuster.setPhoneNumber("555-1234");
 
+    ClaimRollupEntry rollupBefore =
+        new ClaimRollupEntry(
+            AutoClaim.CLAIM_TYPE,
+            ClaimStatus.SUBMITTED,
+            LocalDate.of(2025, 6, 1),
+            0L,
+            BigDecimal.ZERO,
+            BigDecimal.ZERO);
+
     when(claimRepository.findById(claimId)).thenReturn(Optional.of(existingClaim));
     when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(adjuster));
     when(claimRepository.save(any(Claim.class))).thenReturn(existingClaim);
     when(claimMapper.toDto(any(AutoClaim.class))).thenReturn(new AutoClaimDto());
+    when(claimRollupWriter.snapshot(existingClaim)).thenReturn(rollupBefore);
 
     // When: The assignAdjuster method is called
     claimService.assignAdjuster(claimId, employeeId);
@@ -458,6 +507,9 @@ class ClaimServiceImplTest {
 
     assertThat(savedClaim.getAssignedAdjuster()).isEqualTo(adjuster);
     assertThat(savedClaim.getStatus()).isEqualTo(ClaimStatus.IN_REVIEW);
+
+    // And: The claim moves from its SUBMITTED rollup to the IN_REVIEW one
+    verify(claimRollupWriter).replace(rollupBefore, existingClaim);
   }
 
   @Test
@@ -483,7 +535,7 @@ class ClaimServiceImplTest {
 
   @Test
   @DisplayName(
-      "Should throw IllegalArgumentException when assigned employee is not a CLAIMS_ADJUSTER")
+      "Should throw InvalidRequestException when assigned employee is not a CLAIMS_ADJUSTER")
   void assignAdjuster_whenEmployeeHasWrongRole_shouldThrowException() {
     // Given: An employee with the MANAGER role
     AutoClaim existingClaim = new AutoClaim();
@@ -494,8 +546,8 @@ class ClaimServiceImplTest {
     when(employeeRepository.findById(10L)).thenReturn(Optional.of(manager));
 
     // When & Then
-    IllegalArgumentException exception =
-        assertThrows(IllegalArgumentException.class, () -> claimService.assignAdjuster(1L, 10L));
+    InvalidRequestException exception =
+        assertThrows(InvalidRequestException.class, () -> claimService.assignAdjuster(1L, 10L));
 
     assertThat(exception.getMessage()).contains("is not a CLAIMS_ADJUSTER");
   }
@@ -552,6 +604,9 @@ class ClaimServiceImplTest {
     assertThat(updatedAutoClaim.getVehicleVin()).isEqualTo("NEW_VIN");
     assertThat(updatedAutoClaim.getAccidentLocation()).isEqualTo("Updated location");
     assertThat(result).isEqualTo(updateDto);
+
+    // And: The new plate was checked for duplicates
+    verify(claimDuplicateIndex).check(savedClaim);
   }
 
   @Test
@@ -672,7 +727,7 @@ class ClaimServiceImplTest {
 
   @Test
   @DisplayName(
-      "Should throw IllegalArgumentException when DTO type doesn't match existing claim type")
+      "Should throw InvalidRequestException when DTO type doesn't match existing claim type")
   void updateClaim_withMismatchedDtoType_shouldThrowException() {
     // Given: Existing AutoClaim but trying to update with HomeClaimDto
     long claimId = 1L;
@@ -685,9 +740,9 @@ class ClaimServiceImplTest {
     when(claimRepository.findById(claimId)).thenReturn(Optional.of(existingAutoClaim));
 
     // When & Then
-    IllegalArgumentException exception =
+    InvalidRequestException exception =
         assertThrows(
-            IllegalArgumentException.class, () -> claimService.updateClaim(claimId, homeClaimDto));
+            InvalidRequestException.class, () -> claimService.updateClaim(claimId, homeClaimDto));
 
     assertThat(exception.getMessage())
         .contains("Claim type AutoClaim does not match provided DTO type HomeClaimDto");
@@ -696,7 +751,7 @@ class ClaimServiceImplTest {
 
   @Test
   @DisplayName(
-      "Should throw IllegalArgumentException when trying to update AutoClaim with HomeClaimDto")
+      "Should throw InvalidRequestException when trying to update AutoClaim with HomeClaimDto")
   void updateClaim_autoClaimWithHomeDto_shouldThrowException() {
     // Given: Existing AutoClaim
     long claimId = 1L;
@@ -708,9 +763,9 @@ class ClaimServiceImplTest {
     when(claimRepository.findById(claimId)).thenReturn(Optional.of(existingClaim));
 
     // When & Then
-    IllegalArgumentException exception =
+    InvalidRequestException exception =
         assertThrows(
-            IllegalArgumentException.class, () -> claimService.updateClaim(claimId, wrongDto));
+            InvalidRequestException.class, () -> claimService.updateClaim(claimId, wrongDto));
 
     assertThat(exception.getMessage())
         .contains("AutoClaim does not match provided DTO type HomeClaimDto");
@@ -718,7 +773,7 @@ class ClaimServiceImplTest {
 
   @Test
   @DisplayName(
-      "Should throw IllegalArgumentException when trying to update HomeClaim with HealthClaimDto")
+      "Should throw InvalidRequestException when trying to update HomeClaim with HealthClaimDto")
   void updateClaim_homeClaimWithHealthDto_shouldThrowException() {
     // Given: Existing HomeClaim
     long claimId = 2L;
@@ -730,9 +785,9 @@ class ClaimServiceImplTest {
     when(claimRepository.findById(claimId)).thenReturn(Optional.of(existingClaim));
 
     // When & Then
-    IllegalArgumentException exception =
+    InvalidRequestException exception =
         assertThrows(
-            IllegalArgumentException.class, () -> claimService.updateClaim(claimId, wrongDto));
+            InvalidRequestException.class, () -> claimService.updateClaim(claimId, wrongDto));
 
     assertThat(exception.getMessage())
         .contains("HomeClaim does not match provided DTO type HealthClaimDto");
@@ -740,7 +795,7 @@ class ClaimServiceImplTest {
 
   @Test
   @DisplayName(
-      "Should throw IllegalArgumentException when trying to update HealthClaim with AutoClaimDto")
+      "Should throw InvalidRequestException when trying to update HealthClaim with AutoClaimDto")
   void updateClaim_healthClaimWithAutoDto_shouldThrowException() {
     // Given: Existing HealthClaim
     long claimId = 3L;
@@ -752,9 +807,9 @@ class ClaimServiceImplTest {
     when(claimRepository.findById(claimId)).thenReturn(Optional.of(existingClaim));
 
     // When & Then
-    IllegalArgumentException exception =
+    InvalidRequestException exception =
         assertThrows(
-            IllegalArgumentException.class, () -> claimService.updateClaim(claimId, wrongDto));
+            InvalidRequestException.class, () -> claimService.updateClaim(claimId, wrongDto));
 
     assertThat(exception.getMessage())
         .contains("HealthClaim does not match provided DTO type AutoClaimDto");
@@ -780,6 +835,38 @@ class ClaimServiceImplTest {
     // Then: Verify the claim was deleted
     verify(claimRepository).findById(claimId);
     verify(claimRepository).delete(existingClaim);
+
+    // And: The deletion is recorded in the outbox with the claim id and leaves a tombstone
+    verify(outboxWriter).append(OutboxEventType.CLAIM_DELETED, claimId, Map.of("id", claimId));
+    verify(tombstoneWriter).record(TombstoneType.CLAIM, claimId);
+
+    // And: The claim is no longer counted in the rollups and frees its duplicate key
+    verify(claimRollupWriter).remove(existingClaim);
+    verify(claimDuplicateIndex).remove(existingClaim);
+  }
+
+  @Test
+  @DisplayName("Should not save a claim that is rejected as a duplicate")
+  void submitClaim_whenRejectedAsDuplicate_shouldNotSave() {
+    // Given: The duplicate check rejects the claim
+    long policyId = 1L;
+    when(policyRepository.findById(policyId))
+        .thenReturn(Optional.of(createPolicy(policyId, PolicyType.AUTO, PolicyStatus.ACTIVE)));
+    doThrow(new BusinessRuleViolationException("The claim is a likely duplicate of claim 7"))
+        .when(claimDuplicateIndex)
+        .check(any(AutoClaim.class));
+    AutoClaimDto autoClaimDto =
+        new AutoClaimDto()
+            .policyId(policyId)
+            .description("Reported twice")
+            .dateOfIncident(LocalDate.now().minusDays(1))
+            .licensePlate("ABC123");
+
+    // When & Then
+    assertThrows(
+        BusinessRuleViolationException.class,
+        () -> claimService.submitClaim(policyId, autoClaimDto));
+    verify(claimRepository, never()).save(any());
   }
 
   @Test
@@ -797,6 +884,7 @@ class ClaimServiceImplTest {
     assertThat(exception.getMessage()).contains("Claim not found with id: " + nonExistentClaimId);
     verify(claimRepository).findById(nonExistentClaimId);
     verify(claimRepository, never()).delete(any());
+    verify(tombstoneWriter, never()).record(any(), any());
   }
 
   @Test
@@ -908,22 +996,21 @@ class ClaimServiceImplTest {
 
     List<Claim> homeClaims = List.of(homeClaim1, homeClaim2);
 
-    HomeClaimDto homeClaimDto1 =
-        new HomeClaimDto().id(1L).typeOfDamage("Water damage").damagedItems("Kitchen cabinets");
+    HomeClaimDto homeClaimDto1 = new HomeClaimDto().id(1L).typeOfDamage("Water damage");
 
-    HomeClaimDto homeClaimDto2 =
-        new HomeClaimDto().id(2L).typeOfDamage("Fire damage").damagedItems("Living room furniture");
+    HomeClaimDto homeClaimDto2 = new HomeClaimDto().id(2L).typeOfDamage("Fire damage");
 
     when(claimRepository.findClaimByClaimType(HomeClaim.CLAIM_TYPE)).thenReturn(homeClaims);
-    when(claimMapper.toDto(homeClaim1)).thenReturn(homeClaimDto1);
-    when(claimMapper.toDto(homeClaim2)).thenReturn(homeClaimDto2);
+    when(claimMapper.toListDto(homeClaim1)).thenReturn(homeClaimDto1);
+    when(claimMapper.toListDto(homeClaim2)).thenReturn(homeClaimDto2);
 
     // When: Requesting all home claims
     List<ClaimDto> result = claimService.getAllClaimsByType(ClaimTypeEnum.HOME_CLAIM_DTO);
 
-    // Then: Verify correct claims are returned
+    // Then: Verify correct claims are returned through the list view mapping
     assertThat(result).hasSize(2).containsExactly(homeClaimDto1, homeClaimDto2);
     verify(claimRepository).findClaimByClaimType(HomeClaim.CLAIM_TYPE);
+    verify(claimMapper, never()).toDto(any(HomeClaim.class));
   }
 
   @Test
@@ -1001,6 +1088,198 @@ class ClaimServiceImplTest {
     assertThat(((AutoClaimDto) result.get(0)).getLicensePlate()).isEqualTo("AUTO001");
   }
 
+  @Test
+  @DisplayName("Should read claim summaries without type specific columns for covered fields")
+  void getAllClaimsByType_withCoveredFields_shouldUseSummaries() {
+    // Given: A home claim summary
+    ClaimSummary summary = mock(ClaimSummary.class);
+    HomeClaimDto homeClaimDto = new HomeClaimDto().id(7L);
+    when(claimRepository.findSummariesByType(HomeClaim.class)).thenReturn(List.of(summary));
+    when(claimMapper.toHomeClaimDto(summary)).thenReturn(homeClaimDto);
+
+    // When: Only common columns are requested
+    List<ClaimDto> result =
+        claimService.getAllClaimsByType(
+            ClaimTypeEnum.HOME_CLAIM_DTO, List.of("claimNumber", "status", "paidAmount"));
+
+    // Then: The summary query is used and the full rows are never loaded
+    assertThat(result).containsExactly(homeClaimDto);
+    verify(claimRepository, never()).findClaimByClaimType(any());
+  }
+
+  @Test
+  @DisplayName("Should load full claims when a type specific field is requested")
+  void getAllClaimsByType_withTypeSpecificField_shouldLoadEntities() {
+    // Given: A home claim entity
+    HomeClaim homeClaim = new HomeClaim();
+    when(claimRepository.findClaimByClaimType(HomeClaim.CLAIM_TYPE)).thenReturn(List.of(homeClaim));
+    when(claimMapper.toListDto(homeClaim)).thenReturn(new HomeClaimDto());
+
+    // When: The damaged items are part of the fieldset
+    List<ClaimDto> result =
+        claimService.getAllClaimsByType(
+            ClaimTypeEnum.HOME_CLAIM_DTO, List.of("claimNumber", "damagedItems"));
+
+    // Then: The entity query is used
+    assertThat(result).hasSize(1);
+    verify(claimRepository, never()).findSummariesByType(any());
+  }
+
+  @Test
+  @DisplayName("Should map policy claim summaries to the DTO type of the policy")
+  void findClaimsByPolicyId_withCoveredFields_shouldMapByPolicyType() {
+    // Given: An auto policy with one claim summary, read with the policy type
+    PolicyClaimSummary summary = mock(PolicyClaimSummary.class);
+    when(summary.getId()).thenReturn(3L);
+    when(summary.getPolicyType()).thenReturn(PolicyType.AUTO);
+    when(claimRepository.findSummariesByPolicyIdJoiningPolicy(1L)).thenReturn(List.of(summary));
+    when(claimMapper.toAutoClaimDto(summary)).thenReturn(new AutoClaimDto().id(3L));
+
+    // When: The claims are requested with a sparse fieldset
+    List<ClaimDto> result = claimService.findClaimsByPolicyId(1L, List.of("status"));
+
+    // Then: The summary is returned as an auto claim without reading the policy
+    assertThat(result).singleElement().isInstanceOf(AutoClaimDto.class);
+    verify(claimRepository, never()).findByPolicyId(anyLong());
+    verify(policyRepository, never()).findById(anyLong());
+  }
+
+  @Test
+  @DisplayName("Should return no claim summaries for a policy without claims")
+  void findClaimsByPolicyId_withCoveredFieldsAndNoClaims_shouldReturnEmptyList() {
+    // Given: The left join returns the single empty row of a home policy without claims
+    PolicyClaimSummary row = mock(PolicyClaimSummary.class);
+    when(row.getId()).thenReturn(null);
+    when(row.getPolicyType()).thenReturn(PolicyType.HOME);
+    when(claimRepository.findSummariesByPolicyIdJoiningPolicy(1L)).thenReturn(List.of(row));
+
+    // When & Then: No claim is mapped
+    assertThat(claimService.findClaimsByPolicyId(1L, List.of("status"))).isEmpty();
+    verify(claimMapper, never()).toHomeClaimDto(any(ClaimSummary.class));
+  }
+
+  @Test
+  @DisplayName("Should return no claim summaries for a policy type without claims")
+  void findClaimsByPolicyId_withCoveredFieldsAndLiabilityPolicy_shouldReturnEmptyList() {
+    // Given: The left join returns the single empty row of a liability policy
+    PolicyClaimSummary row = mock(PolicyClaimSummary.class);
+    when(row.getPolicyType()).thenReturn(PolicyType.LIABILITY);
+    when(claimRepository.findSummariesByPolicyIdJoiningPolicy(1L)).thenReturn(List.of(row));
+
+    // When & Then: No claim is returned instead of failing on the policy type
+    assertThat(claimService.findClaimsByPolicyId(1L, List.of("status"))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should not read claim summaries for a policy that does not exist")
+  void findClaimsByPolicyId_withCoveredFieldsAndUnknownPolicy_shouldThrowException() {
+    // Given: The left join returns no row at all
+    when(claimRepository.findSummariesByPolicyIdJoiningPolicy(99L)).thenReturn(List.of());
+
+    // When & Then: The missing policy is reported
+    assertThrows(
+        ResourceNotFoundException.class,
+        () -> claimService.findClaimsByPolicyId(99L, List.of("status")));
+  }
+
+  @Test
+  @DisplayName("Should fill in damaged items of listed home claims with one query")
+  void includeDamagedItems_shouldLoadDetailsInBulk() {
+    // Given: Two listed home claims, only the first one has damaged items
+    HomeClaim withItems = new HomeClaim();
+    withItems.setId(1L);
+    withItems.setDamagedItems("Roof tiles");
+    HomeClaim withoutItems = new HomeClaim();
+    withoutItems.setId(2L);
+    when(claimRepository.findHomeClaimsWithDetails(List.of(1L, 2L)))
+        .thenReturn(List.of(withItems, withoutItems));
+    List<HomeClaimDto> listed = List.of(new HomeClaimDto().id(1L), new HomeClaimDto().id(2L));
+
+    // When: The damaged items are requested
+    List<HomeClaimDto> result = claimService.includeDamagedItems(listed);
+
+    // Then: Each DTO carries the text of its own claim
+    assertThat(result)
+        .extracting(HomeClaimDto::getDamagedItems)
+        .containsExactly("Roof tiles", null);
+  }
+
+  @Test
+  @DisplayName("Should return the claims of an existing policy from a single query")
+  void findClaimsByPolicyId_whenPolicyHasClaims_shouldReturnClaims() {
+    // Given: The left join returns the two claims of the policy
+    AutoClaim autoClaim = new AutoClaim();
+    HomeClaim homeClaim = new HomeClaim();
+    when(claimRepository.findByPolicyIdJoiningPolicy(1L))
+        .thenReturn(List.of(autoClaim, homeClaim));
+    when(claimMapper.toDto(autoClaim)).thenReturn(new AutoClaimDto().id(10L));
+    when(claimMapper.toListDto(homeClaim)).thenReturn(new HomeClaimDto().id(20L));
+
+    // When: The claims of the policy are requested
+    List<ClaimDto> result = claimService.findClaimsByPolicyId(1L);
+
+    // Then: Both claims are returned without a separate existence check
+    assertThat(result).extracting(ClaimDto::getId).containsExactly(10L, 20L);
+    verify(policyRepository, never()).existsById(anyLong());
+  }
+
+  @Test
+  @DisplayName("Should return an empty list when the policy exists but has no claims")
+  void findClaimsByPolicyId_whenPolicyHasNoClaims_shouldReturnEmptyList() {
+    // Given: The left join returns the single null row of a policy without claims
+    List<Claim> rows = new ArrayList<>();
+    rows.add(null);
+    when(claimRepository.findByPolicyIdJoiningPolicy(1L)).thenReturn(rows);
+
+    // When: The claims of the policy are requested
+    List<ClaimDto> result = claimService.findClaimsByPolicyId(1L);
+
+    // Then: The list is empty
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should throw ResourceNotFoundException when the policy does not exist")
+  void findClaimsByPolicyId_whenPolicyDoesNotExist_shouldThrowException() {
+    // Given: The left join returns no row at all
+    when(claimRepository.findByPolicyIdJoiningPolicy(99L)).thenReturn(List.of());
+
+    // When & Then: The missing policy is reported
+    assertThrows(ResourceNotFoundException.class, () -> claimService.findClaimsByPolicyId(99L));
+  }
+
+  @Test
+  @DisplayName("Should load claims of several policies with one query and group them by policy")
+  void findClaimsByPolicyIds_shouldGroupByPolicy() {
+    // Given: An auto claim on policy 1 and a home claim on policy 2
+    AutoClaim autoClaim = new AutoClaim();
+    HomeClaim homeClaim = new HomeClaim();
+    when(claimRepository.findWithAdjusterByPolicyIdIn(List.of(1L, 2L, 3L)))
+        .thenReturn(List.of(autoClaim, homeClaim));
+    when(claimMapper.toDto(autoClaim)).thenReturn(new AutoClaimDto().id(10L).policyId(1L));
+    when(claimMapper.toListDto(homeClaim)).thenReturn(new HomeClaimDto().id(20L).policyId(2L));
+
+    // When: The claims of three policies are requested
+    Map<Long, List<ClaimDto>> result = claimService.findClaimsByPolicyIds(List.of(1L, 2L, 3L));
+
+    // Then: Each policy with claims has its own entry; home claims use the list mapping
+    assertThat(result).containsOnlyKeys(1L, 2L);
+    assertThat(result.get(1L)).singleElement().extracting(ClaimDto::getId).isEqualTo(10L);
+    assertThat(result.get(2L)).singleElement().extracting(ClaimDto::getId).isEqualTo(20L);
+    verify(claimMapper, never()).toDto(any(HomeClaim.class));
+  }
+
+  @Test
+  @DisplayName("Should not query claims when no policy IDs are given")
+  void findClaimsByPolicyIds_withoutPolicies_shouldNotQuery() {
+    // When: The claims of no policies are requested
+    Map<Long, List<ClaimDto>> result = claimService.findClaimsByPolicyIds(List.of());
+
+    // Then: The result is empty and the repository was not called
+    assertThat(result).isEmpty();
+    verify(claimRepository, never()).findWithAdjusterByPolicyIdIn(any());
+  }
+
   private Policy createPolicy(Long id, PolicyType type, PolicyStatus status) {
     Policy policy = new Policy();
     policy.setId(id);
@@ -1008,4 +1287,57 @@ class ClaimServiceImplTest {
     policy.setStatus(status);
     return policy;
   }
+
+  @Test
+  @DisplayName("Should list the open claims by risk for triage")
+  void getClaimTriage_shouldReadOpenClaimsByRisk() {
+    // Given: One scored open claim
+    AutoClaim claim = new AutoClaim();
+    claim.setRiskScore(70);
+    AutoClaimDto claimDto = new AutoClaimDto();
+    when(claimRepository.findByStatusInOrderByRiskScore(
+            EnumSet.of(ClaimStatus.SUBMITTED, ClaimStatus.IN_REVIEW), Limit.of(10)))
+        .thenReturn(List.of(claim));
+    when(claimMapper.toDto(claim)).thenReturn(claimDto);
+
+    // When: The triage list is requested
+    List<ClaimDto> result = claimService.getClaimTriage(10);
+
+    // Then: The claim is returned
+    assertThat(result).containsExactly(claimDto);
+  }
+
+  @Test
+  @DisplayName("Should read a claim from the archive when it is not in the claims table")
+  void findClaimById_whenArchived_shouldReturnArchivedClaim() {
+    // Given: The claim was moved to the archive
+    AutoClaimDto archived = new AutoClaimDto();
+    archived.setId(42L);
+    when(claimRepository.findById(42L)).thenReturn(Optional.empty());
+    when(archiveReader.findClaim(42L)).thenReturn(Optional.of(archived));
+
+    // When
+    Optional<ClaimDto> result = claimService.findClaimById(42L);
+
+    // Then
+    assertThat(result).contains(archived);
+  }
+
+  @Test
+  @DisplayName("Should not look into the archive for a claim in the claims table")
+  void findClaimById_whenInClaimsTable_shouldNotReadArchive() {
+    // Given
+    AutoClaim claim = new AutoClaim();
+    claim.setId(7L);
+    AutoClaimDto claimDto = new AutoClaimDto();
+    when(claimRepository.findById(7L)).thenReturn(Optional.of(claim));
+    when(claimMapper.toDto(claim)).thenReturn(claimDto);
+
+    // When
+    Optional<ClaimDto> result = claimService.findClaimById(7L);
+
+    // Then
+    assertThat(result).contains(claimDto);
+    verify(archiveReader, never()).findClaim(anyLong());
+  }
 }
@@ -4,19 +4,27 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
@@ -28,13 +36,20 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
 import tech.yildirim.insurance.api.generated.model.AssignAdjusterRequestDto;
 import tech.yildirim.insurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.insurance.api.generated.model.ClaimDeletionsDto;
 import tech.yildirim.insurance.api.generated.model.ClaimDto;
 import tech.yildirim.insurance.api.generated.model.ClaimDto.ClaimTypeEnum;
+import tech.yildirim.insurance.api.generated.model.ClaimRollupDto;
 import tech.yildirim.insurance.api.generated.model.HealthClaimDto;
 import tech.yildirim.insurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.insurance.dummy.claim.report.ClaimReportService;
 import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+import tech.yildirim.insurance.dummy.common.concurrent.SingleFlight;
+import tech.yildirim.insurance.dummy.common.idempotency.IdempotencyStore;
+import tech.yildirim.insurance.dummy.common.idempotency.IdempotentRequests;
 
 @WebMvcTest(ClaimsController.class)
 @DisplayName("Auto Claims Controller Web Layer Tests")
@@ -44,6 +59,10 @@ class ClaimsControllerTest {
 
   @Autowired private ClaimService claimService;
 
+  @Autowired private ClaimReportService claimReportService;
+
+  @Autowired private IdempotencyStore idempotencyStore;
+
   @Autowired private ObjectMapper objectMapper;
 
   /**
@@ -56,6 +75,33 @@ class ClaimsControllerTest {
     public ClaimService claimService() {
       return Mockito.mock(ClaimService.class);
     }
+
+    @Bean
+    public ClaimReportService claimReportService() {
+      return Mockito.mock(ClaimReportService.class);
+    }
+
+    @Bean
+    public IdempotencyStore idempotencyStore() {
+      return Mockito.mock(IdempotencyStore.class);
+    }
+
+    @Bean
+    public IdempotentRequests idempotentRequests(
+        IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
+      return new IdempotentRequests(
+          idempotencyStore,
+          objectMapper,
+          Mockito.mock(PlatformTransactionManager.class),
+          Duration.ofHours(24),
+          Duration.ofMinutes(1),
+          100);
+    }
+
+    @Bean
+    public SingleFlight singleFlight() {
+      return new SingleFlight(new SimpleMeterRegistry());
+    }
   }
 
   @Test
@@ -163,7 +209,8 @@ class ClaimsControllerTest {
             .status(ClaimDto.StatusEnum.IN_REVIEW);
 
     List<ClaimDto> claims = List.of(claim1, claim2);
-    when(claimService.getAllClaimsByType(ClaimTypeEnum.AUTO_CLAIM_DTO)).thenReturn(claims);
+    when(claimService.getAllClaimsByType(eq(ClaimTypeEnum.AUTO_CLAIM_DTO), isNull()))
+        .thenReturn(claims);
 
     // When & Then: Perform GET request and assert the response
     mockMvc
@@ -180,7 +227,8 @@ class ClaimsControllerTest {
   @DisplayName("GET /claims/auto - Should return empty list when no auto claims exist")
   void getAllAutoClaims_whenNoClaims_shouldReturnEmptyList() throws Exception {
     // Given: No auto claims exist
-    when(claimService.getAllClaimsByType(ClaimTypeEnum.AUTO_CLAIM_DTO)).thenReturn(List.of());
+    when(claimService.getAllClaimsByType(eq(ClaimTypeEnum.AUTO_CLAIM_DTO), isNull()))
+        .thenReturn(List.of());
 
     // When & Then: Perform GET request and assert the response
     mockMvc
@@ -504,7 +552,8 @@ class ClaimsControllerTest {
             .status(ClaimDto.StatusEnum.IN_REVIEW);
 
     List<ClaimDto> claims = List.of(claim1, claim2);
-    when(claimService.getAllClaimsByType(ClaimTypeEnum.HEALTH_CLAIM_DTO)).thenReturn(claims);
+    when(claimService.getAllClaimsByType(eq(ClaimTypeEnum.HEALTH_CLAIM_DTO), isNull()))
+        .thenReturn(claims);
 
     // When & Then: Perform GET request and assert the response
     mockMvc
@@ -523,7 +572,8 @@ class ClaimsControllerTest {
   @DisplayName("GET /claims/health - Should return empty list when no health claims exist")
   void getAllHealthClaims_whenNoClaims_shouldReturnEmptyList() throws Exception {
     // Given: No health claims exist
-    when(claimService.getAllClaimsByType(ClaimTypeEnum.HEALTH_CLAIM_DTO)).thenReturn(List.of());
+    when(claimService.getAllClaimsByType(eq(ClaimTypeEnum.HEALTH_CLAIM_DTO), isNull()))
+        .thenReturn(List.of());
 
     // When & Then: Perform GET request and assert the response
     mockMvc
@@ -848,7 +898,8 @@ class ClaimsControllerTest {
             .status(ClaimDto.StatusEnum.IN_REVIEW);
 
     List<ClaimDto> claims = List.of(claim1, claim2);
-    when(claimService.getAllClaimsByType(ClaimTypeEnum.HOME_CLAIM_DTO)).thenReturn(claims);
+    when(claimService.getAllClaimsByType(eq(ClaimTypeEnum.HOME_CLAIM_DTO), isNull()))
+        .thenReturn(claims);
 
     // When & Then: Perform GET request and assert the response
     mockMvc
@@ -863,11 +914,59 @@ class ClaimsControllerTest {
         .andExpect(jsonPath("$[1].typeOfDamage", is("Fire damage")));
   }
 
+  @Test
+  @DisplayName("GET /claims/home?fields= - Should drop unrequested fields but keep the claim type")
+  void getAllHomeClaims_withFields_shouldReturnSparseFieldset() throws Exception {
+    // Given: A home claim with damaged items
+    HomeClaimDto claim =
+        new HomeClaimDto()
+            .id(100L)
+            .claimNumber("HM-2025-001")
+            .damagedItems("Living room carpet, kitchen cabinets")
+            .claimType(ClaimTypeEnum.HOME_CLAIM_DTO)
+            .status(ClaimDto.StatusEnum.SUBMITTED);
+    when(claimService.getAllClaimsByType(
+            ClaimTypeEnum.HOME_CLAIM_DTO, List.of("claimNumber", "status")))
+        .thenReturn(List.of(claim));
+
+    // When & Then: Only the id, the discriminator and the requested fields are returned
+    mockMvc
+        .perform(get("/claims/home").param("fields", "claimNumber", "status"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id", is(100)))
+        .andExpect(jsonPath("$[0].claimType", is("HomeClaimDto")))
+        .andExpect(jsonPath("$[0].claimNumber", is("HM-2025-001")))
+        .andExpect(jsonPath("$[0].status", is("SUBMITTED")))
+        .andExpect(jsonPath("$[0].damagedItems").doesNotExist());
+  }
+
+  @Test
+  @DisplayName("GET /claims/home?expand=damagedItems - Should include the damaged items")
+  void getAllHomeClaims_withExpand_shouldIncludeDamagedItems() throws Exception {
+    // Given: A listed home claim and its damaged items
+    HomeClaimDto listed = new HomeClaimDto().id(100L).claimType(ClaimTypeEnum.HOME_CLAIM_DTO);
+    HomeClaimDto expanded =
+        new HomeClaimDto()
+            .id(100L)
+            .claimType(ClaimTypeEnum.HOME_CLAIM_DTO)
+            .damagedItems("Roof, attic, bedroom walls");
+    when(claimService.getAllClaimsByType(eq(ClaimTypeEnum.HOME_CLAIM_DTO), isNull()))
+        .thenReturn(List.of(listed));
+    when(claimService.includeDamagedItems(List.of(listed))).thenReturn(List.of(expanded));
+
+    // When & Then: The expanded list contains the damaged items
+    mockMvc
+        .perform(get("/claims/home").param("expand", "damagedItems"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].damagedItems", is("Roof, attic, bedroom walls")));
+  }
+
   @Test
   @DisplayName("GET /claims/home - Should return empty list when no home claims exist")
   void getAllHomeClaims_whenNoClaims_shouldReturnEmptyList() throws Exception {
     // Given: No home claims exist
-    when(claimService.getAllClaimsByType(ClaimTypeEnum.HOME_CLAIM_DTO)).thenReturn(List.of());
+    when(claimService.getAllClaimsByType(eq(ClaimTypeEnum.HOME_CLAIM_DTO), isNull()))
+        .thenReturn(List.of());
 
     // When & Then: Perform GET request and assert the response
     mockMvc
@@ -1085,4 +1184,148 @@ class ClaimsControllerTest {
                 .content(objectMapper.writeValueAsString(assignRequest)))
         .andExpect(status().isNotFound());
   }
+
+  @Test
+  @DisplayName("GET /claims/deletions - Should return the ids of deleted claims")
+  void getClaimDeletions_shouldReturnPage() throws Exception {
+    // Given: The service returns one deleted claim
+    ClaimDeletionsDto deletions =
+        new ClaimDeletionsDto().deletedIds(List.of(1004L)).nextCursor("next").hasMore(false);
+    when(claimService.getClaimDeletions(isNull(), isNull(), eq(100))).thenReturn(deletions);
+
+    // When & Then: The default limit is used and the page is returned as is
+    mockMvc
+        .perform(get("/claims/deletions"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.deletedIds[0]", is(1004)))
+        .andExpect(jsonPath("$.nextCursor", is("next")))
+        .andExpect(jsonPath("$.hasMore", is(false)));
+  }
+
+  @Test
+  @DisplayName("GET /claims/report - Should return the claim groups of the month range")
+  void getClaimReport_shouldReturnGroups() throws Exception {
+    // Given: The service reports one group of direct sales
+    ClaimRollupDto group =
+        new ClaimRollupDto()
+            .claimType(ClaimRollupDto.ClaimTypeEnum.HOME)
+            .status(ClaimRollupDto.StatusEnum.IN_REVIEW)
+            .month("2025-06")
+            .agencyId(null)
+            .claimCount(1L)
+            .estimatedAmount(new BigDecimal("2500.00"))
+            .paidAmount(BigDecimal.ZERO);
+    when(claimReportService.getClaimReport(YearMonth.of(2025, 1), YearMonth.of(2025, 12)))
+        .thenReturn(List.of(group));
+
+    // When & Then: The months are parsed and the groups are returned as is
+    mockMvc
+        .perform(get("/claims/report").param("fromMonth", "2025-01").param("toMonth", "2025-12"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].claimType", is("HOME")))
+        .andExpect(jsonPath("$[0].month", is("2025-06")))
+        .andExpect(jsonPath("$[0].claimCount", is(1)))
+        .andExpect(jsonPath("$[0].estimatedAmount", is(2500.00)));
+  }
+
+  @Test
+  @DisplayName("GET /claims/report - Should return 400 for a malformed month")
+  void getClaimReport_withMalformedMonth_shouldReturn400() throws Exception {
+    // When & Then
+    mockMvc
+        .perform(get("/claims/report").param("fromMonth", "2025-13").param("toMonth", "2025-12"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("GET /claims/triage - Should return the riskiest open claims")
+  void getClaimTriage_shouldReturnClaims() throws Exception {
+    // Given: The service returns one scored claim
+    AutoClaimDto claim = new AutoClaimDto().licensePlate("AB-123");
+    claim.setClaimType(ClaimTypeEnum.AUTO_CLAIM_DTO);
+    claim.setRiskScore(70);
+    when(claimService.getClaimTriage(5)).thenReturn(List.of(claim));
+
+    // When & Then
+    mockMvc
+        .perform(get("/claims/triage").param("limit", "5"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].riskScore", is(70)))
+        .andExpect(jsonPath("$[0].licensePlate", is("AB-123")));
+  }
+
+  @Test
+  @DisplayName("GET /claims/triage?fields= - Should accept the fields of any claim type")
+  void getClaimTriage_withFieldsOfMixedClaimTypes_shouldReturnSparseFieldset() throws Exception {
+    // Given: An auto claim ahead of a home claim
+    AutoClaimDto autoClaim = new AutoClaimDto().licensePlate("AB-123");
+    autoClaim.setId(1L);
+    autoClaim.setClaimType(ClaimTypeEnum.AUTO_CLAIM_DTO);
+    HomeClaimDto homeClaim = new HomeClaimDto().damagedItems("Sofa");
+    homeClaim.setId(2L);
+    homeClaim.setClaimType(ClaimTypeEnum.HOME_CLAIM_DTO);
+    when(claimService.getClaimTriage(5)).thenReturn(List.of(autoClaim, homeClaim));
+
+    // When & Then: A field only home claims have is accepted although the first claim is not one
+    mockMvc
+        .perform(get("/claims/triage").param("limit", "5").param("fields", "damagedItems"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].claimType", is("AutoClaimDto")))
+        .andExpect(jsonPath("$[0].licensePlate").doesNotExist())
+        .andExpect(jsonPath("$[1].damagedItems", is("Sofa")));
+  }
+
+  @Test
+  @DisplayName("GET /claims/triage?fields= - Should return 400 for unknown fields on an empty list")
+  void getClaimTriage_withUnknownFieldOnEmptyList_shouldReturnBadRequest() throws Exception {
+    // Given: No open claims
+    when(claimService.getClaimTriage(5)).thenReturn(List.of());
+
+    // When & Then: The field is checked against the declared claim types, not the data
+    mockMvc
+        .perform(get("/claims/triage").param("limit", "5").param("fields", "bogus"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("POST /claims/auto - Should replay the response to a retry with the same key")
+  void createAutoClaim_retryWithIdempotencyKey_shouldReplay() throws Exception {
+    // Given: A new key and a claim the service creates
+    AutoClaimDto inputDto =
+        new AutoClaimDto()
+            .licensePlate("RE-TRY-1")
+            .policyId(4L)
+            .description("Sent twice")
+            .dateOfIncident(LocalDate.of(2025, 3, 1));
+    inputDto.setClaimType(ClaimTypeEnum.AUTO_CLAIM_DTO);
+    AutoClaimDto createdDto =
+        new AutoClaimDto().id(40L).claimNumber("CLM-RETRY").licensePlate("RE-TRY-1");
+    createdDto.setClaimType(ClaimTypeEnum.AUTO_CLAIM_DTO);
+    when(idempotencyStore.tryStart(eq("createAutoClaim:retry-1"), any(), any())).thenReturn(true);
+    Mockito.clearInvocations(claimService);
+    doReturn(createdDto).when(claimService).submitClaim(eq(4L), any(AutoClaimDto.class));
+    String body = objectMapper.writeValueAsString(inputDto);
+
+    // When & Then: The first request creates the claim
+    mockMvc
+        .perform(
+            post("/claims/auto")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+        .andExpect(status().isCreated())
+        .andExpect(header().doesNotExist(IdempotentRequests.REPLAYED_HEADER));
+
+    // And: The retry gets the same claim without creating another one
+    mockMvc
+        .perform(
+            post("/claims/auto")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+        .andExpect(status().isCreated())
+        .andExpect(header().string(IdempotentRequests.REPLAYED_HEADER, "true"))
+        .andExpect(jsonPath("$.claimNumber", is("CLM-RETRY")));
+    verify(claimService, times(1)).submitClaim(eq(4L), any(AutoClaimDto.class));
+  }
 }
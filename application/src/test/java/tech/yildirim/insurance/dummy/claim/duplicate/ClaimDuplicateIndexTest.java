@@ -0,0 +1,169 @@
+package tech.yildirim.insurance.dummy.claim.duplicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.yildirim.insurance.dummy.claim.AutoClaim;
+import tech.yildirim.insurance.dummy.claim.ClaimStatus;
+import tech.yildirim.insurance.dummy.common.Address;
+import tech.yildirim.insurance.dummy.common.BusinessRuleViolationException;
+import tech.yildirim.insurance.dummy.customer.Customer;
+import tech.yildirim.insurance.dummy.policy.Policy;
+import tech.yildirim.insurance.dummy.policy.PolicyStatus;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Claim Duplicate Index Integration Tests")
+class ClaimDuplicateIndexTest {
+
+  private static final LocalDate DAY = LocalDate.of(2025, 6, 15);
+
+  @Autowired private TestEntityManager testEntityManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private Policy policy;
+
+  @BeforeEach
+  void setUp() {
+    Address address = new Address();
+    address.setStreetAndHouseNumber("Musterstrasse 1");
+    address.setCity("Musterstadt");
+    address.setPostalCode("65000");
+    address.setCountry("Germany");
+    Customer customer = new Customer();
+    customer.setFirstName("Dupli");
+    customer.setLastName("Kate");
+    customer.setDateOfBirth(LocalDate.of(1980, 1, 1));
+    customer.setPassword("secret");
+    customer.setEmail("dupli.kate@example.com");
+    customer.setAddress(address);
+    testEntityManager.persist(customer);
+    policy =
+        testEntityManager.persist(
+            new Policy(
+                null,
+                "P-DUPLICATE",
+                LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 12, 31),
+                PolicyType.AUTO,
+                PolicyStatus.ACTIVE,
+                new BigDecimal("500.00"),
+                customer,
+                null,
+                null,
+                null));
+  }
+
+  @Test
+  @DisplayName("Should key the first report of an incident and flag the later ones at startup")
+  void load_shouldCheckUncheckedClaims() {
+    // Given: Two unchecked reports of one accident, one of another and one without an identifier
+    AutoClaim first = persistClaim("AB-123", null);
+    AutoClaim second = persistClaim("ab 123", null);
+    AutoClaim other = persistClaim("XY-999", null);
+    AutoClaim unidentified = persistClaim("-", null);
+
+    // When: The index is loaded
+    index(DuplicateClaimAction.FLAG).load();
+
+    // Then: The first and the other report own their keys, the second is flagged
+    assertThat(column("duplicate_key", first)).isNotNull();
+    assertThat(column("duplicate_key", other)).isNotNull();
+    assertThat(column("duplicate_key", second)).isNull();
+    assertThat(column("duplicate_of_claim_id", second)).isEqualTo(first.getId().toString());
+    assertThat(column("duplicate_key", unidentified)).isNull();
+    assertThat(column("duplicate_of_claim_id", unidentified)).isNull();
+  }
+
+  @Test
+  @DisplayName("Should flag a new claim for an indexed incident")
+  void check_withFlagAction_shouldFlagDuplicate() {
+    // Given: An indexed claim
+    AutoClaim first = persistClaim("AB-123", null);
+    ClaimDuplicateIndex index = index(DuplicateClaimAction.FLAG);
+    index.load();
+
+    // When: Another report of the accident and a report of a new one are checked
+    AutoClaim duplicate = newClaim("AB 123", "Main Street");
+    index.check(duplicate);
+    AutoClaim original = newClaim("XY-999", null);
+    index.check(original);
+
+    // Then: Only the other report is flagged
+    assertThat(duplicate.getDuplicateOfClaimId()).isEqualTo(first.getId());
+    assertThat(duplicate.getDuplicateKey()).isNull();
+    assertThat(original.getDuplicateOfClaimId()).isNull();
+    assertThat(original.getDuplicateKey()).hasSize(64);
+  }
+
+  @Test
+  @DisplayName("Should reject a new claim for an indexed incident if duplicates are rejected")
+  void check_withRejectAction_shouldThrow() {
+    // Given: An indexed claim
+    AutoClaim first = persistClaim("AB-123", null);
+    ClaimDuplicateIndex index = index(DuplicateClaimAction.REJECT);
+    index.load();
+
+    // When & Then
+    assertThatThrownBy(() -> index.check(newClaim("AB-123", null)))
+        .isInstanceOf(BusinessRuleViolationException.class)
+        .hasMessageContaining(first.getId().toString());
+  }
+
+  @Test
+  @DisplayName("Should keep the key of a claim whose identifier did not change")
+  void check_whenUpdatingIndexedClaim_shouldKeepKey() {
+    // Given: An indexed claim
+    AutoClaim first = persistClaim("AB-123", null);
+    ClaimDuplicateIndex index = index(DuplicateClaimAction.REJECT);
+    index.load();
+    testEntityManager.refresh(first);
+
+    // When: It is checked again after an update that kept the plate
+    first.setDescription("Rear bumper as well");
+    index.check(first);
+
+    // Then: It is not a duplicate of itself
+    assertThat(first.getDuplicateKey()).hasSize(64);
+    assertThat(first.getDuplicateOfClaimId()).isNull();
+  }
+
+  private ClaimDuplicateIndex index(DuplicateClaimAction action) {
+    return new ClaimDuplicateIndex(jdbcTemplate, transactionManager, action);
+  }
+
+  private String column(String column, AutoClaim claim) {
+    return jdbcTemplate.queryForObject(
+        "SELECT " + column + " FROM claims WHERE id = ?", String.class, claim.getId());
+  }
+
+  private AutoClaim newClaim(String licensePlate, String accidentLocation) {
+    AutoClaim claim = new AutoClaim();
+    claim.setLicensePlate(licensePlate);
+    claim.setAccidentLocation(accidentLocation);
+    claim.setDateOfIncident(DAY);
+    claim.setPolicy(policy);
+    return claim;
+  }
+
+  private AutoClaim persistClaim(String licensePlate, String accidentLocation) {
+    AutoClaim claim = newClaim(licensePlate, accidentLocation);
+    claim.setClaimNumber("CLM-DUP-" + System.nanoTime());
+    claim.setDescription("Fender bender");
+    claim.setStatus(ClaimStatus.SUBMITTED);
+    return testEntityManager.persistAndFlush(claim);
+  }
+}
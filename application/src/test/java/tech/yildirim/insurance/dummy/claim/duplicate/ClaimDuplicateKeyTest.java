@@ -0,0 +1,72 @@
+package tech.yildirim.insurance.dummy.claim.duplicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.yildirim.insurance.dummy.claim.AutoClaim;
+import tech.yildirim.insurance.dummy.claim.HealthClaim;
+import tech.yildirim.insurance.dummy.claim.HomeClaim;
+
+@DisplayName("Claim Duplicate Key Unit Tests")
+class ClaimDuplicateKeyTest {
+
+  private static final LocalDate DAY = LocalDate.of(2025, 6, 15);
+
+  @Test
+  @DisplayName("Should give the same key to plates that differ in case, spaces and dashes")
+  void of_withSamePlateWrittenDifferently_shouldMatch() {
+    // When
+    String key = autoKey(1L, DAY, "AB-123", null);
+
+    // Then
+    assertThat(key).hasSize(64).isEqualTo(autoKey(1L, DAY, " ab 123", "Somewhere else"));
+  }
+
+  @Test
+  @DisplayName("Should give different keys to other policies, days and plates")
+  void of_withOtherIncident_shouldDiffer() {
+    // Given
+    String key = autoKey(1L, DAY, "AB-123", null);
+
+    // When & Then
+    assertThat(autoKey(2L, DAY, "AB-123", null)).isNotEqualTo(key);
+    assertThat(autoKey(1L, DAY.plusDays(1), "AB-123", null)).isNotEqualTo(key);
+    assertThat(autoKey(1L, DAY, "AB-124", null)).isNotEqualTo(key);
+  }
+
+  @Test
+  @DisplayName("Should compare the accident location word by word if there is no plate")
+  void of_withoutPlate_shouldUseLocation() {
+    // When & Then
+    assertThat(autoKey(1L, DAY, null, "Highway 101, Mile 45"))
+        .isEqualTo(autoKey(1L, DAY, "", "highway 101 mile 45."))
+        .isNotEqualTo(autoKey(1L, DAY, null, "Highway 101, Mile 46"));
+  }
+
+  @Test
+  @DisplayName("Should use the type of damage of home and the procedure code of health claims")
+  void of_withHomeAndHealthClaims_shouldUseTheirIdentifiers() {
+    // When & Then
+    assertThat(ClaimDuplicateKey.of(HomeClaim.CLAIM_TYPE, 1L, DAY, "AB-123", null, "Water", null))
+        .isEqualTo(ClaimDuplicateKey.of(HomeClaim.CLAIM_TYPE, 1L, DAY, null, null, "water", null));
+    assertThat(ClaimDuplicateKey.of(HealthClaim.CLAIM_TYPE, 1L, DAY, null, null, null, "p-100"))
+        .isEqualTo(ClaimDuplicateKey.of(HealthClaim.CLAIM_TYPE, 1L, DAY, null, null, null, "P100"));
+  }
+
+  @Test
+  @DisplayName("Should give no key to a claim without an identifier")
+  void of_withoutIdentifier_shouldBeNull() {
+    // When & Then
+    assertThat(autoKey(1L, DAY, " - ", null)).isNull();
+    assertThat(ClaimDuplicateKey.of(HealthClaim.CLAIM_TYPE, 1L, DAY, "AB-123", null, null, null))
+        .isNull();
+  }
+
+  private static String autoKey(
+      long policyId, LocalDate dateOfIncident, String licensePlate, String accidentLocation) {
+    return ClaimDuplicateKey.of(
+        AutoClaim.CLAIM_TYPE, policyId, dateOfIncident, licensePlate, accidentLocation, null, null);
+  }
+}
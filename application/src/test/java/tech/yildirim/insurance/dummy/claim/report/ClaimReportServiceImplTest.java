@@ -0,0 +1,59 @@
+package tech.yildirim.insurance.dummy.claim.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tech.yildirim.insurance.api.generated.model.ClaimRollupDto;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Claim Report Service Unit Tests")
+class ClaimReportServiceImplTest {
+
+  @Mock private ClaimRollupRepository claimRollupRepository;
+  @Mock private ClaimRollupMapper claimRollupMapper;
+
+  @InjectMocks private ClaimReportServiceImpl claimReportService;
+
+  @Test
+  @DisplayName("Should read the rollups from the first day of the first to the last month")
+  void getClaimReport_shouldReadRollupsOfMonthRange() {
+    // Given: One rollup in the range
+    List<ClaimRollup> rollups = List.of(new ClaimRollup());
+    List<ClaimRollupDto> dtos = List.of(new ClaimRollupDto());
+    when(claimRollupRepository.findByIncidentMonthBetween(
+            LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 1)))
+        .thenReturn(rollups);
+    when(claimRollupMapper.toDtoList(rollups)).thenReturn(dtos);
+
+    // When: The first quarter is reported
+    List<ClaimRollupDto> result =
+        claimReportService.getClaimReport(YearMonth.of(2025, 1), YearMonth.of(2025, 3));
+
+    // Then: The mapped rollups are returned
+    assertThat(result).isEqualTo(dtos);
+  }
+
+  @Test
+  @DisplayName("Should reject a month range that ends before it starts")
+  void getClaimReport_whenRangeInverted_shouldThrow() {
+    // When & Then
+    assertThatThrownBy(
+            () -> claimReportService.getClaimReport(YearMonth.of(2025, 3), YearMonth.of(2025, 1)))
+        .isInstanceOf(InvalidRequestException.class);
+    verify(claimRollupRepository, never()).findByIncidentMonthBetween(any(), any());
+  }
+}
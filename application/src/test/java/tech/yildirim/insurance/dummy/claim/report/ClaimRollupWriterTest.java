@@ -0,0 +1,220 @@
+package tech.yildirim.insurance.dummy.claim.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tech.yildirim.insurance.dummy.agency.Agency;
+import tech.yildirim.insurance.dummy.claim.AutoClaim;
+import tech.yildirim.insurance.dummy.claim.Claim;
+import tech.yildirim.insurance.dummy.claim.ClaimStatus;
+import tech.yildirim.insurance.dummy.common.Address;
+import tech.yildirim.insurance.dummy.customer.Customer;
+import tech.yildirim.insurance.dummy.policy.Policy;
+import tech.yildirim.insurance.dummy.policy.PolicyStatus;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Claim Rollup Writer Integration Tests")
+class ClaimRollupWriterTest {
+
+  private static final LocalDate JUNE = LocalDate.of(2025, 6, 1);
+  private static final LocalDate JULY = LocalDate.of(2025, 7, 1);
+
+  /** Recomputes the rollups from the claims, the way the V9 migration backfills them. */
+  private static final String RECOMPUTED_ROLLUPS =
+      "SELECT c.claim_type, c.status, CAST(DATE_TRUNC('MONTH', c.date_of_incident) AS DATE) AS m,"
+          + " COALESCE(p.agency_id, 0) AS a, COUNT(*) AS n,"
+          + " CAST(COALESCE(SUM(c.estimated_amount), 0) AS NUMERIC(15, 2)) AS e,"
+          + " CAST(COALESCE(SUM(c.paid_amount), 0) AS NUMERIC(15, 2)) AS p"
+          + " FROM claims c JOIN policies p ON p.id = c.policy_id"
+          + " GROUP BY c.claim_type, c.status, m, a ORDER BY c.claim_type, c.status, m, a";
+
+  private static final String STORED_ROLLUPS =
+      "SELECT claim_type, status, incident_month AS m, agency_id AS a, claim_count AS n,"
+          + " estimated_amount AS e, paid_amount AS p FROM claim_rollups WHERE claim_count > 0"
+          + " ORDER BY claim_type, status, m, a";
+
+  @Autowired private TestEntityManager testEntityManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private ClaimRollupRepository claimRollupRepository;
+
+  private ClaimRollupWriter writer;
+  private Agency agency;
+  private Policy agencyPolicy;
+  private Policy directPolicy;
+
+  @BeforeEach
+  void setUp() {
+    writer = new ClaimRollupWriter(jdbcTemplate);
+
+    Address address = new Address();
+    address.setStreetAndHouseNumber("Musterstrasse 1");
+    address.setCity("Musterstadt");
+    address.setPostalCode("65000");
+    address.setCountry("Germany");
+    Customer customer = new Customer();
+    customer.setFirstName("Roll");
+    customer.setLastName("Up");
+    customer.setDateOfBirth(LocalDate.of(1980, 1, 1));
+    customer.setPassword("secret");
+    customer.setEmail("roll.up@example.com");
+    customer.setAddress(address);
+    testEntityManager.persist(customer);
+
+    agency = new Agency();
+    agency.setAgencyCode("AG-ROLL");
+    agency.setName("Rollup Agency");
+    agency.setContactPerson("Agnes Agent");
+    agency.setContactEmail("agnes@example.com");
+    testEntityManager.persist(agency);
+
+    agencyPolicy = persistPolicy("P-AGENCY", customer, agency);
+    directPolicy = persistPolicy("P-DIRECT", customer, null);
+  }
+
+  @Test
+  @DisplayName("Should group new claims by type, status, month and agency")
+  void add_shouldCountClaimsPerGroup() {
+    // When: Two June claims of the agency and one July claim sold directly are added
+    add(persistClaim(agencyPolicy, JUNE.plusDays(3), "100.00", null));
+    add(persistClaim(agencyPolicy, JUNE.plusDays(20), "250.50", "200.00"));
+    add(persistClaim(directPolicy, JULY.plusDays(1), null, null));
+
+    // Then: The agency's June group holds both claims and their sums
+    ClaimRollup june = rollup(JUNE, agency.getId());
+    assertThat(june.getClaimCount()).isEqualTo(2);
+    assertThat(june.getEstimatedAmount()).isEqualByComparingTo("350.50");
+    assertThat(june.getPaidAmount()).isEqualByComparingTo("200.00");
+
+    // And: The direct sale has its own group, with missing amounts counted as 0
+    ClaimRollup july = rollup(JULY, ClaimRollupKey.NO_AGENCY);
+    assertThat(july.getClaimCount()).isEqualTo(1);
+    assertThat(july.getEstimatedAmount()).isEqualByComparingTo("0");
+    assertRollupsMatchClaims();
+  }
+
+  @Test
+  @DisplayName("Should move a changed claim to its new group and adjust changed amounts")
+  void replace_shouldFollowTheClaim() {
+    // Given: Two counted claims
+    AutoClaim moved = persistClaim(agencyPolicy, JUNE, "100.00", null);
+    AutoClaim repriced = persistClaim(agencyPolicy, JUNE, "300.00", null);
+    add(moved);
+    add(repriced);
+
+    // When: One claim changes its status and month, the other only its estimate
+    ClaimRollupEntry movedBefore = writer.snapshot(moved);
+    moved.setStatus(ClaimStatus.IN_REVIEW);
+    moved.setDateOfIncident(JULY.plusDays(4));
+    writer.replace(movedBefore, moved);
+    ClaimRollupEntry repricedBefore = writer.snapshot(repriced);
+    repriced.setEstimatedAmount(new BigDecimal("450.00"));
+    writer.replace(repricedBefore, repriced);
+    testEntityManager.flush();
+
+    // Then: The groups reflect the claims as they are now
+    assertThat(rollup(JUNE, agency.getId()).getEstimatedAmount()).isEqualByComparingTo("450.00");
+    assertThat(rollup(JUNE, agency.getId()).getClaimCount()).isEqualTo(1);
+    assertRollupsMatchClaims();
+  }
+
+  @Test
+  @DisplayName("Should drop removed claims from the report")
+  void remove_shouldEmptyTheGroup() {
+    // Given: A counted claim
+    AutoClaim claim = persistClaim(directPolicy, JUNE, "100.00", null);
+    add(claim);
+
+    // When: The claim is deleted
+    writer.remove(claim);
+    testEntityManager.remove(claim);
+    testEntityManager.flush();
+
+    // Then: Its group is empty and no longer reported
+    assertThat(rollup(JUNE, ClaimRollupKey.NO_AGENCY).getClaimCount()).isZero();
+    assertThat(claimRollupRepository.findByIncidentMonthBetween(JUNE, JULY)).isEmpty();
+    assertRollupsMatchClaims();
+  }
+
+  @Test
+  @DisplayName("Should move all claims of a policy to its new agency")
+  void moveClaimsOfPolicy_shouldMoveEveryGroup() {
+    // Given: Claims in two months on a policy sold directly
+    add(persistClaim(directPolicy, JUNE, "100.00", null));
+    add(persistClaim(directPolicy, JULY, "200.00", "50.00"));
+
+    // When: The policy is handed over to the agency
+    directPolicy.setAgency(agency);
+    testEntityManager.flush();
+    writer.moveClaimsOfPolicy(directPolicy.getId(), null, agency.getId());
+
+    // Then: Both months now count for the agency
+    assertThat(rollup(JUNE, agency.getId()).getClaimCount()).isEqualTo(1);
+    assertThat(rollup(JULY, agency.getId()).getPaidAmount()).isEqualByComparingTo("50.00");
+    assertThat(rollup(JULY, ClaimRollupKey.NO_AGENCY).getClaimCount()).isZero();
+    assertRollupsMatchClaims();
+  }
+
+  private void add(Claim claim) {
+    writer.add(claim);
+  }
+
+  private ClaimRollup rollup(LocalDate month, long agencyId) {
+    // The writer bypasses the persistence context, so the rollups are read fresh
+    testEntityManager.clear();
+    return claimRollupRepository
+        .findById(
+            new ClaimRollupKey(AutoClaim.CLAIM_TYPE, ClaimStatus.SUBMITTED, month, agencyId))
+        .orElseThrow();
+  }
+
+  private void assertRollupsMatchClaims() {
+    testEntityManager.flush();
+    testEntityManager.clear();
+    List<Map<String, Object>> stored = jdbcTemplate.queryForList(STORED_ROLLUPS);
+    List<Map<String, Object>> recomputed = jdbcTemplate.queryForList(RECOMPUTED_ROLLUPS);
+    assertThat(stored.toString()).isEqualTo(recomputed.toString());
+  }
+
+  private Policy persistPolicy(String number, Customer customer, Agency policyAgency) {
+    return testEntityManager.persist(
+        new Policy(
+            null,
+            number,
+            LocalDate.of(2025, 1, 1),
+            LocalDate.of(2025, 12, 31),
+            PolicyType.AUTO,
+            PolicyStatus.ACTIVE,
+            new BigDecimal("100.00"),
+            customer,
+            policyAgency,
+            null,
+            null));
+  }
+
+  private AutoClaim persistClaim(
+      Policy policy, LocalDate dateOfIncident, String estimatedAmount, String paidAmount) {
+    AutoClaim claim = new AutoClaim();
+    claim.setClaimNumber("CLM-" + policy.getPolicyNumber() + "-" + System.nanoTime());
+    claim.setDescription("Fender bender");
+    claim.setLicensePlate("F-AB-123");
+    claim.setDateOfIncident(dateOfIncident);
+    claim.setStatus(ClaimStatus.SUBMITTED);
+    claim.setEstimatedAmount(estimatedAmount == null ? null : new BigDecimal(estimatedAmount));
+    claim.setPaidAmount(paidAmount == null ? null : new BigDecimal(paidAmount));
+    claim.setPolicy(policy);
+    return testEntityManager.persistAndFlush(claim);
+  }
+}
@@ -0,0 +1,172 @@
+package tech.yildirim.insurance.dummy.claim.risk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.yildirim.insurance.dummy.claim.AutoClaim;
+import tech.yildirim.insurance.dummy.claim.ClaimStatus;
+import tech.yildirim.insurance.dummy.common.Address;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseRepository;
+import tech.yildirim.insurance.dummy.customer.Customer;
+import tech.yildirim.insurance.dummy.policy.Policy;
+import tech.yildirim.insurance.dummy.policy.PolicyStatus;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Claim Risk Rescore Job Integration Tests")
+class ClaimRiskRescoreJobTest {
+
+  @Autowired private TestEntityManager testEntityManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private JobLeaseRepository jobLeaseRepository;
+
+  private ClaimRiskScorer scorer;
+  private ClaimRiskRescoreJob job;
+  private Policy policy;
+
+  @BeforeEach
+  void setUp() {
+    // A chunk size of two makes the re-score take several chunks
+    scorer = new ClaimRiskScorer(Duration.ofDays(90));
+    job =
+        new ClaimRiskRescoreJob(
+            scorer,
+            new JobLeaseManager(jobLeaseRepository),
+            jdbcTemplate,
+            transactionManager,
+            2,
+            Duration.ofMinutes(1));
+
+    Address address = new Address();
+    address.setStreetAndHouseNumber("Musterstrasse 1");
+    address.setCity("Musterstadt");
+    address.setPostalCode("65000");
+    address.setCountry("Germany");
+    Customer customer = new Customer();
+    customer.setFirstName("Risa");
+    customer.setLastName("Score");
+    customer.setDateOfBirth(LocalDate.of(1980, 1, 1));
+    customer.setPassword("secret");
+    customer.setEmail("risa.score@example.com");
+    customer.setAddress(address);
+    testEntityManager.persist(customer);
+    policy =
+        testEntityManager.persist(
+            new Policy(
+                null,
+                "P-RISK",
+                LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 12, 31),
+                PolicyType.AUTO,
+                PolicyStatus.ACTIVE,
+                new BigDecimal("500.00"),
+                customer,
+                null,
+                null,
+                null));
+  }
+
+  @Test
+  @DisplayName("Should re-score the open claims from the rebuilt signals")
+  void runFor_shouldRescoreOpenClaims() {
+    // Given: Three open claims sharing a plate and a closed one
+    AutoClaim first = persistClaim("AB-123", ClaimStatus.SUBMITTED);
+    AutoClaim second = persistClaim("AB-123", ClaimStatus.IN_REVIEW);
+    AutoClaim third = persistClaim("XY-999", ClaimStatus.SUBMITTED);
+    AutoClaim closed = persistClaim("AB-123", ClaimStatus.PAID);
+
+    // When: The job runs
+    Optional<Long> rescored = job.runFor(LocalDate.now());
+
+    // Then: All open claims were re-scored over two chunks, the closed one kept its score
+    assertThat(rescored).contains(3L);
+    // 3 other claims on the policy (30) + the plate on two other claims (15)
+    assertThat(riskScore(first)).isEqualTo(45);
+    assertThat(riskScore(second)).isEqualTo(45);
+    assertThat(riskScore(third)).isEqualTo(30);
+    assertThat(riskScore(closed)).isNull();
+
+    // And: New claims are scored against the rebuilt signals
+    assertThat(scorer.scoreNewClaim(newClaim("AB-123"))).isEqualTo(55);
+  }
+
+  @Test
+  @DisplayName("Should read only the claims a window before today or the oldest open claim")
+  void runFor_shouldReadClaimsOfTheWindow() {
+    // Given: An open claim reported 150 days ago, a paid claim 60 days before it with the same
+    // plate, and a paid claim with the same plate two years ago
+    AutoClaim open = persistClaim("AB-123", ClaimStatus.IN_REVIEW);
+    AutoClaim neighbour = persistClaim("AB-123", ClaimStatus.PAID);
+    AutoClaim old = persistClaim("AB-123", ClaimStatus.PAID);
+    reportDaysAgo(open, 150);
+    reportDaysAgo(neighbour, 210);
+    reportDaysAgo(old, 730);
+
+    // When: The job runs
+    assertThat(job.runFor(LocalDate.now())).contains(1L);
+
+    // Then: The open claim is scored against its neighbour only: 1 other claim (10) + plate (15)
+    assertThat(riskScore(open)).isEqualTo(25);
+
+    // And: New claims are compared with the window before today only
+    assertThat(scorer.scoreNewClaim(newClaim("AB-123"))).isZero();
+  }
+
+  @Test
+  @DisplayName("Should read the claims of the window over the reporting date index")
+  void readClaims_shouldUseReportingDateIndex() {
+    // When: The plan of the rebuild query is explained
+    String plan =
+        jdbcTemplate.queryForObject(
+            "EXPLAIN " + ClaimRiskRescoreJob.SELECT_CLAIMS_REPORTED_FROM,
+            String.class,
+            OffsetDateTime.now().minusDays(90));
+
+    // Then: The claims are read over the index instead of a table scan
+    assertThat(plan).containsIgnoringCase("idx_claims_date_reported");
+  }
+
+  private Integer riskScore(AutoClaim claim) {
+    return jdbcTemplate.queryForObject(
+        "SELECT risk_score FROM claims WHERE id = ?", Integer.class, claim.getId());
+  }
+
+  private AutoClaim newClaim(String licensePlate) {
+    AutoClaim claim = new AutoClaim();
+    claim.setLicensePlate(licensePlate);
+    claim.setPolicy(policy);
+    return claim;
+  }
+
+  private AutoClaim persistClaim(String licensePlate, ClaimStatus status) {
+    AutoClaim claim = newClaim(licensePlate);
+    claim.setClaimNumber("CLM-RISK-" + System.nanoTime());
+    claim.setDescription("Fender bender");
+    claim.setDateOfIncident(LocalDate.now());
+    claim.setStatus(status);
+    return testEntityManager.persistAndFlush(claim);
+  }
+
+  private void reportDaysAgo(AutoClaim claim, int days) {
+    jdbcTemplate.update(
+        "UPDATE claims SET date_reported = ? WHERE id = ?",
+        OffsetDateTime.now().minusDays(days),
+        claim.getId());
+  }
+}
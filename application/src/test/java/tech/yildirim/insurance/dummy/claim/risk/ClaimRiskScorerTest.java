@@ -0,0 +1,158 @@
+package tech.yildirim.insurance.dummy.claim.risk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.yildirim.insurance.dummy.claim.AutoClaim;
+import tech.yildirim.insurance.dummy.claim.HealthClaim;
+import tech.yildirim.insurance.dummy.policy.Policy;
+
+@DisplayName("Claim Risk Scorer Unit Tests")
+class ClaimRiskScorerTest {
+
+  private final ClaimRiskScorer scorer = new ClaimRiskScorer(Duration.ofDays(90));
+
+  @Test
+  @DisplayName("Should score a first, small claim as riskless")
+  void scoreNewClaim_forFirstSmallClaim_shouldBeZero() {
+    // When & Then
+    assertThat(scorer.scoreNewClaim(autoClaim(policy(1L), "AB-123", "VIN1", "100.00")))
+        .isZero();
+  }
+
+  @Test
+  @DisplayName("Should add points for earlier claims, a high estimate and a repeated plate")
+  void scoreNewClaim_withSignals_shouldAddPoints() {
+    // Given: Two earlier claims on the policy, one with the same plate written differently
+    Policy policy = policy(1L);
+    scorer.scoreNewClaim(autoClaim(policy, "ab-123 ", "VIN1", "100.00"));
+    scorer.scoreNewClaim(autoClaim(policy, "CD-456", "VIN2", "100.00"));
+
+    // When: A claim with the plate and twice the premium is scored
+    int score = scorer.scoreNewClaim(autoClaim(policy, "AB-123", "VIN3", "1000.00"));
+
+    // Then: 2 earlier claims (20) + estimate at 2x the premium (20) + repeated plate (15)
+    assertThat(score).isEqualTo(55);
+  }
+
+  @Test
+  @DisplayName("Should count repeated procedure codes and providers across policies")
+  void scoreNewClaim_withRepeatedHealthIdentifiers_shouldAddPoints() {
+    // Given: A health claim on another policy at the same provider for the same procedure
+    scorer.scoreNewClaim(healthClaim(policy(1L), "P-100", "City Clinic"));
+
+    // When: A similar claim on a new policy is scored
+    int score = scorer.scoreNewClaim(healthClaim(policy(2L), "P-100", "city clinic"));
+
+    // Then: Both identifiers are repeated
+    assertThat(score).isEqualTo(30);
+  }
+
+  @Test
+  @DisplayName("Should leave the claim itself out when re-scoring counted claims")
+  void rescore_shouldNotCountTheClaimItself() {
+    // Given: Rebuilt signals with two claims on the same policy and plate
+    ClaimRiskInput first = input(1L, LocalDate.of(2025, 6, 1), "AB-123");
+    ClaimRiskInput second = input(1L, LocalDate.of(2025, 7, 1), "AB-123");
+    ClaimRiskSignals rebuilt = new ClaimRiskSignals();
+    rebuilt.record(first);
+    rebuilt.record(second);
+
+    // When & Then: The earlier claim also sees the later one, but neither itself
+    assertThat(scorer.rescore(rebuilt, first)).isEqualTo(25);
+    assertThat(scorer.rescore(rebuilt, second)).isEqualTo(25);
+  }
+
+  @Test
+  @DisplayName("Should ignore claims outside the window")
+  void rescore_outsideWindow_shouldNotCount() {
+    // Given: Two claims on the same policy half a year apart
+    ClaimRiskInput first = input(1L, LocalDate.of(2025, 1, 1), null);
+    ClaimRiskInput second = input(1L, LocalDate.of(2025, 7, 1), null);
+    ClaimRiskSignals rebuilt = new ClaimRiskSignals();
+    rebuilt.record(first);
+    rebuilt.record(second);
+
+    // When & Then
+    assertThat(scorer.rescore(rebuilt, second)).isZero();
+  }
+
+  @Test
+  @DisplayName("Should count claims committed during a rebuild in the rebuilt signals once")
+  void swap_shouldKeepClaimsCommittedDuringRebuild() {
+    // Given: A rebuild that read one claim, which is also committed while the rebuild runs
+    Policy policy = policy(1L);
+    AutoClaim read = autoClaim(policy, "AB-123", null, "100.00");
+    read.setId(10L);
+    ClaimRiskScorer.Rebuild rebuild = scorer.startRebuild();
+    rebuild.record(10L, ClaimRiskInput.of(read));
+    scorer.scoreNewClaim(read);
+
+    // And: Another claim that is committed after the rebuild read the claims
+    AutoClaim committed = autoClaim(policy, "CD-456", null, "100.00");
+    committed.setId(11L);
+    scorer.scoreNewClaim(committed);
+
+    // When: The rebuilt signals are put in use
+    scorer.swap(rebuild, LocalDate.now());
+
+    // Then: Both claims count once: 2 earlier claims (20) + repeated plate (15)
+    assertThat(scorer.scoreNewClaim(autoClaim(policy, "AB-123", null, "100.00"))).isEqualTo(35);
+  }
+
+  @Test
+  @DisplayName("Should stop counting claims in a rebuild that ended without a swap")
+  void endRebuild_shouldStopCountingClaims() {
+    // Given: A rebuild that failed
+    ClaimRiskScorer.Rebuild rebuild = scorer.startRebuild();
+    scorer.endRebuild(rebuild);
+
+    // When: A claim is committed afterwards
+    scorer.scoreNewClaim(autoClaim(policy(1L), "AB-123", null, "100.00"));
+
+    // Then: Only the current signals count it
+    assertThat(rebuild.signals().policyCount()).isZero();
+  }
+
+  private static ClaimRiskInput input(long policyId, LocalDate reportedOn, String licensePlate) {
+    return new ClaimRiskInput(
+        policyId,
+        reportedOn,
+        new BigDecimal("100.00"),
+        new BigDecimal("500.00"),
+        licensePlate,
+        null,
+        null,
+        null);
+  }
+
+  private static Policy policy(long id) {
+    Policy policy = new Policy();
+    policy.setId(id);
+    policy.setPremium(new BigDecimal("500.00"));
+    return policy;
+  }
+
+  private static AutoClaim autoClaim(
+      Policy policy, String licensePlate, String vehicleVin, String estimatedAmount) {
+    AutoClaim claim = new AutoClaim();
+    claim.setPolicy(policy);
+    claim.setLicensePlate(licensePlate);
+    claim.setVehicleVin(vehicleVin);
+    claim.setEstimatedAmount(new BigDecimal(estimatedAmount));
+    return claim;
+  }
+
+  private static HealthClaim healthClaim(
+      Policy policy, String procedureCode, String medicalProvider) {
+    HealthClaim claim = new HealthClaim();
+    claim.setPolicy(policy);
+    claim.setProcedureCode(procedureCode);
+    claim.setMedicalProvider(medicalProvider);
+    return claim;
+  }
+}
@@ -0,0 +1,49 @@
+package tech.yildirim.insurance.dummy.claim.risk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Sliding Window Counter Unit Tests")
+class SlidingWindowCounterTest {
+
+  private static final LocalDate DAY = LocalDate.of(2025, 6, 15);
+
+  private final SlidingWindowCounter<String> counter = new SlidingWindowCounter<>();
+
+  @Test
+  @DisplayName("Should count the events of a key within the range, bounds included")
+  void count_shouldCountEventsInRange() {
+    // Given: Events out of order, on and around the range
+    counter.record("AB-123", DAY);
+    counter.record("AB-123", DAY.minusDays(10));
+    counter.record("AB-123", DAY.plusDays(10));
+    counter.record("AB-123", DAY.minusDays(11));
+    counter.record("AB-123", DAY);
+    counter.record("XY-999", DAY);
+
+    // When & Then: Only the events of the key within the range are counted
+    assertThat(counter.count("AB-123", DAY.minusDays(10), DAY.plusDays(10))).isEqualTo(4);
+    assertThat(counter.count("AB-123", DAY, DAY)).isEqualTo(2);
+    assertThat(counter.count("AB-123", DAY.plusDays(11), DAY.plusDays(20))).isZero();
+    assertThat(counter.count("unknown", DAY, DAY)).isZero();
+  }
+
+  @Test
+  @DisplayName("Should drop old events and keys left without events")
+  void evictBefore_shouldDropOldEvents() {
+    // Given: One key with old and new events, one with old events only
+    counter.record("AB-123", DAY.minusDays(30));
+    counter.record("AB-123", DAY);
+    counter.record("XY-999", DAY.minusDays(30));
+
+    // When: The events before the day are evicted
+    counter.evictBefore(DAY);
+
+    // Then: Only the recent event is left
+    assertThat(counter.keyCount()).isEqualTo(1);
+    assertThat(counter.count("AB-123", LocalDate.MIN, LocalDate.MAX)).isEqualTo(1);
+  }
+}
@@ -0,0 +1,23 @@
+package tech.yildirim.insurance.dummy.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Hashes Unit Tests")
+class HashesTest {
+
+  @Test
+  @DisplayName("Should compute the SHA-256 hash in lower case hex")
+  void sha256Hex_shouldMatchKnownHash() {
+    // When: The test vector of FIPS 180-2 is hashed
+    String hash = Hashes.sha256Hex("abc".getBytes(StandardCharsets.UTF_8));
+
+    // Then
+    assertThat(hash)
+        .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    assertThat(Hashes.sha256("abc".getBytes(StandardCharsets.UTF_8))).hasSize(32);
+  }
+}
@@ -0,0 +1,155 @@
+package tech.yildirim.insurance.dummy.common.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Single Flight Unit Tests")
+class SingleFlightTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private SingleFlight singleFlight;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    singleFlight = new SingleFlight(meterRegistry);
+    executor = Executors.newFixedThreadPool(5);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Should share one load between concurrent callers and count the waiters")
+  void load_shouldCoalesceConcurrentCallers() throws Exception {
+    // Given a load that blocks until it is released
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+    Future<Optional<String>> leader =
+        executor.submit(
+            () ->
+                singleFlight.load(
+                    "policy",
+                    1L,
+                    () -> {
+                      loads.incrementAndGet();
+                      await(release);
+                      return Optional.of("policy 1");
+                    }));
+    waitUntil(() -> loads.get() == 1);
+
+    // When four more callers ask for the same key while it is running
+    List<Future<Optional<String>>> waiters = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      waiters.add(
+          executor.submit(
+              () ->
+                  singleFlight.load(
+                      "policy",
+                      1L,
+                      () -> {
+                        loads.incrementAndGet();
+                        return Optional.of("second load");
+                      })));
+    }
+    waitUntil(() -> coalesced("policy") == 4);
+    release.countDown();
+
+    // Then all of them get the leader's result from a single load
+    assertThat(leader.get(5, TimeUnit.SECONDS)).contains("policy 1");
+    for (Future<Optional<String>> waiter : waiters) {
+      assertThat(waiter.get(5, TimeUnit.SECONDS)).contains("policy 1");
+    }
+    assertThat(loads).hasValue(1);
+    assertThat(coalesced("policy")).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("Should pass a failed load on to the waiting callers")
+  void load_whenLoadFails_shouldFailWaiters() throws Exception {
+    // Given a running load that will fail
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    Future<Object> leader =
+        executor.submit(
+            () ->
+                singleFlight.load(
+                    "claim",
+                    7L,
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      throw new IllegalStateException("database down");
+                    }));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    Future<Object> waiter = executor.submit(() -> singleFlight.load("claim", 7L, () -> "unused"));
+    waitUntil(() -> coalesced("claim") == 1);
+
+    // When the load fails
+    release.countDown();
+
+    // Then both callers see the failure, and the next caller loads again
+    assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+        .hasRootCauseMessage("database down");
+    assertThat(singleFlight.load("claim", 7L, () -> "reloaded")).isEqualTo("reloaded");
+  }
+
+  @Test
+  @DisplayName("Should not coalesce sequential calls or keys of different groups")
+  void load_withoutOverlap_shouldLoadEachTime() {
+    // Given
+    AtomicInteger loads = new AtomicInteger();
+
+    // When
+    singleFlight.load("customer", 1L, loads::incrementAndGet);
+    singleFlight.load("customer", 1L, loads::incrementAndGet);
+    singleFlight.load("policy", 1L, loads::incrementAndGet);
+
+    // Then
+    assertThat(loads).hasValue(3);
+    assertThat(meterRegistry.find(SingleFlight.COALESCED_METRIC).counter()).isNull();
+  }
+
+  private double coalesced(String group) {
+    Counter counter = meterRegistry.find(SingleFlight.COALESCED_METRIC).tag("key", group).counter();
+    return counter == null ? 0 : counter.count();
+  }
+
+  private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      assertThat(System.nanoTime()).as("waited too long").isLessThan(deadline);
+      Thread.sleep(5);
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package tech.yildirim.insurance.dummy.common.delta;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+
+@DisplayName("Delta Cursor Unit Tests")
+class DeltaCursorTest {
+
+  private static final ZonedDateTime UPDATED_AT =
+      ZonedDateTime.of(2026, 3, 1, 12, 0, 0, 123_456_000, ZoneOffset.UTC);
+
+  @Test
+  @DisplayName("Should decode an encoded cursor to the same position")
+  void encode_shouldRoundTrip() {
+    // Given: A position after a changed record and a tombstone
+    DeltaCursor cursor =
+        DeltaCursor.start(null, null)
+            .afterUpdate(UPDATED_AT, 42L)
+            .afterDeletion(UPDATED_AT.plusSeconds(5), 7L);
+
+    // When: It is encoded and read back
+    DeltaCursor decoded = DeltaCursor.start(cursor.encode(), null);
+
+    // Then: Nothing is lost, down to the sub-second part of the timestamps
+    assertThat(decoded).isEqualTo(cursor);
+    assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+  }
+
+  @Test
+  @DisplayName("Should start a new sync at the given time, including records changed at it")
+  void start_withUpdatedSince_shouldStartBeforeFirstRecord() {
+    // When: A sync starts at a time given with an offset
+    DeltaCursor cursor =
+        DeltaCursor.start(null, OffsetDateTime.of(2026, 3, 1, 14, 0, 0, 0, ZoneOffset.ofHours(2)));
+
+    // Then: Both positions start at that instant, before any id
+    assertThat(cursor.updatedAt()).isEqualTo(UPDATED_AT.withNano(0));
+    assertThat(cursor.id()).isZero();
+    assertThat(cursor.deletedAt()).isEqualTo(UPDATED_AT.withNano(0));
+    assertThat(cursor.deletionId()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should reject a cursor combined with a start time")
+  void start_withCursorAndUpdatedSince_shouldThrow() {
+    // Given: A valid cursor
+    String cursor = DeltaCursor.start(null, null).encode();
+
+    // When & Then
+    assertThatThrownBy(() -> DeltaCursor.start(cursor, OffsetDateTime.now()))
+        .isInstanceOf(InvalidRequestException.class);
+  }
+
+  @Test
+  @DisplayName("Should reject a malformed cursor")
+  void start_withMalformedCursor_shouldThrow() {
+    // When & Then: Neither invalid Base64 nor a wrong structure is accepted
+    assertThatThrownBy(() -> DeltaCursor.start("not a cursor!", null))
+        .isInstanceOf(InvalidRequestException.class);
+    assertThatThrownBy(() -> DeltaCursor.start("MToy", null))
+        .isInstanceOf(InvalidRequestException.class);
+  }
+}
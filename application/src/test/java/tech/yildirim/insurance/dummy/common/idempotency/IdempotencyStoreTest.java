@@ -0,0 +1,92 @@
+package tech.yildirim.insurance.dummy.common.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Idempotency Store Integration Tests")
+class IdempotencyStoreTest {
+
+  // Microseconds, like the column
+  private static final ZonedDateTime NOW = ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private IdempotencyStore store;
+
+  @BeforeEach
+  void setUp() {
+    store = new IdempotencyStore(jdbcTemplate);
+  }
+
+  @Test
+  @DisplayName("Should let only the first request with a key start")
+  void tryStart_withTakenKey_shouldFail() {
+    // When & Then
+    assertThat(store.tryStart("createPolicy:a", "hash", NOW.plusMinutes(1))).isTrue();
+    assertThat(store.tryStart("createPolicy:a", "hash", NOW.plusMinutes(1))).isFalse();
+    assertThat(store.find("createPolicy:a"))
+        .hasValueSatisfying(request -> assertThat(request.isCompleted()).isFalse());
+  }
+
+  @Test
+  @DisplayName("Should store and read the response of a completed request")
+  void complete_shouldStoreResponse() {
+    // Given: A started request
+    store.tryStart("createPolicy:a", "hash", NOW.plusMinutes(1));
+
+    // When: Its response is stored
+    store.complete("createPolicy:a", new StoredRequest("hash", 201, "{\"id\":7}", NOW.plusDays(1)));
+
+    // Then
+    StoredRequest stored = store.find("createPolicy:a").orElseThrow();
+    assertThat(stored.isCompleted()).isTrue();
+    assertThat(stored.responseStatus()).isEqualTo(201);
+    assertThat(stored.responseBody()).isEqualTo("{\"id\":7}");
+    assertThat(stored.expiresAt().toInstant()).isEqualTo(NOW.plusDays(1).toInstant());
+  }
+
+  @Test
+  @DisplayName("Should take over expired requests only")
+  void tryTakeOver_shouldRequireExpiry() {
+    // Given: One expired and one current request
+    store.tryStart("createPolicy:expired", "old", NOW.minusMinutes(1));
+    store.tryStart("createPolicy:current", "old", NOW.plusMinutes(1));
+
+    // When & Then
+    assertThat(store.tryTakeOver("createPolicy:expired", "new", NOW, NOW.plusMinutes(1))).isTrue();
+    assertThat(store.find("createPolicy:expired").orElseThrow().requestHash()).isEqualTo("new");
+    assertThat(store.tryTakeOver("createPolicy:current", "new", NOW, NOW.plusMinutes(1)))
+        .isFalse();
+  }
+
+  @Test
+  @DisplayName("Should forget abandoned and expired requests but keep completed ones")
+  void abandonAndPurge_shouldDeleteRequests() {
+    // Given: An abandoned, an expired and a completed request
+    store.tryStart("createPolicy:failed", "hash", NOW.plusMinutes(1));
+    store.tryStart("createPolicy:expired", "hash", NOW.minusMinutes(1));
+    store.tryStart("createPolicy:done", "hash", NOW.plusMinutes(1));
+    store.complete("createPolicy:done", new StoredRequest("hash", 201, null, NOW.plusDays(1)));
+
+    // When
+    store.abandon("createPolicy:failed");
+    store.abandon("createPolicy:done");
+    store.purgeExpired();
+
+    // Then
+    assertThat(store.find("createPolicy:failed")).isEmpty();
+    assertThat(store.find("createPolicy:expired")).isEmpty();
+    assertThat(store.find("createPolicy:done")).isPresent();
+  }
+}
@@ -0,0 +1,254 @@
+package tech.yildirim.insurance.dummy.common.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.yildirim.insurance.dummy.common.ConflictException;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Idempotent Requests Unit Tests")
+class IdempotentRequestsTest {
+
+  private static final Map<String, String> REQUEST = Map.of("policyNumber", "P-1");
+  private static final Map<String, String> RESPONSE = Map.of("id", "7");
+
+  @Mock private IdempotencyStore idempotencyStore;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final AtomicInteger executions = new AtomicInteger();
+  private IdempotentRequests idempotentRequests;
+
+  @BeforeEach
+  void setUp() {
+    idempotentRequests =
+        new IdempotentRequests(
+            idempotencyStore,
+            objectMapper,
+            transactionManager,
+            Duration.ofHours(24),
+            Duration.ofSeconds(5),
+            100);
+  }
+
+  @Test
+  @DisplayName("Should process a request without a key as usual")
+  void execute_withoutKey_shouldProcess() {
+    // When
+    ResponseEntity<Map> response = execute(null, REQUEST);
+
+    // Then
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(executions).hasValue(1);
+    verifyNoInteractions(idempotencyStore);
+  }
+
+  @Test
+  @DisplayName("Should store the response and replay it to a retry from memory")
+  void execute_retry_shouldReplayStoredResponse() {
+    // Given: The key is new
+    when(idempotencyStore.tryStart(eq("createPolicy:key-1"), anyString(), any()))
+        .thenReturn(true);
+
+    // When: The request is sent twice
+    ResponseEntity<Map> first = execute("key-1", REQUEST);
+    ResponseEntity<Map> retry = execute("key-1", REQUEST);
+
+    // Then: It was processed once and its response stored
+    assertThat(executions).hasValue(1);
+    ArgumentCaptor<StoredRequest> stored = ArgumentCaptor.forClass(StoredRequest.class);
+    verify(idempotencyStore).complete(eq("createPolicy:key-1"), stored.capture());
+    assertThat(stored.getValue().responseStatus()).isEqualTo(201);
+
+    // And: The retry got the same response, marked as replayed
+    assertThat(first.getHeaders().containsKey(IdempotentRequests.REPLAYED_HEADER)).isFalse();
+    assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(retry.getBody()).isEqualTo(RESPONSE);
+    assertThat(retry.getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER)).isEqualTo("true");
+  }
+
+  @Test
+  @DisplayName("Should replay a response stored by another node")
+  void execute_withCompletedKeyInStore_shouldReplay() throws Exception {
+    // Given: The request was completed on another node
+    when(idempotencyStore.tryStart(eq("createPolicy:key-1"), anyString(), any()))
+        .thenReturn(false);
+    when(idempotencyStore.find("createPolicy:key-1"))
+        .thenReturn(
+            Optional.of(
+                new StoredRequest(
+                    hashOf(REQUEST),
+                    201,
+                    objectMapper.writeValueAsString(RESPONSE),
+                    ZonedDateTime.now().plusHours(1))));
+
+    // When
+    ResponseEntity<Map> response = execute("key-1", REQUEST);
+
+    // Then
+    assertThat(executions).hasValue(0);
+    assertThat(response.getBody()).isEqualTo(RESPONSE);
+  }
+
+  @Test
+  @DisplayName("Should refuse a key that was used for a different request")
+  void execute_withKeyOfOtherRequest_shouldThrow() {
+    // Given: The key was used for another request
+    when(idempotencyStore.tryStart(eq("createPolicy:key-1"), anyString(), any()))
+        .thenReturn(true);
+    execute("key-1", REQUEST);
+
+    // When & Then
+    assertThatThrownBy(() -> execute("key-1", Map.of("policyNumber", "P-2")))
+        .isInstanceOf(InvalidRequestException.class);
+    assertThat(executions).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Should refuse a retry while another node processes the request")
+  void execute_whileInProgressElsewhere_shouldThrow() {
+    // Given: Another node registered the request a moment ago
+    when(idempotencyStore.tryStart(eq("createPolicy:key-1"), anyString(), any()))
+        .thenReturn(false);
+    when(idempotencyStore.find("createPolicy:key-1"))
+        .thenReturn(
+            Optional.of(
+                new StoredRequest(
+                    hashOf(REQUEST), null, null, ZonedDateTime.now().plusMinutes(1))));
+
+    // When & Then
+    assertThatThrownBy(() -> execute("key-1", REQUEST)).isInstanceOf(ConflictException.class);
+    assertThat(executions).hasValue(0);
+  }
+
+  @Test
+  @DisplayName("Should take over a request whose node stopped processing it")
+  void execute_withStaleKey_shouldTakeOver() {
+    // Given: The request was registered by a node that did not complete it in time
+    when(idempotencyStore.tryStart(eq("createPolicy:key-1"), anyString(), any()))
+        .thenReturn(false);
+    when(idempotencyStore.find("createPolicy:key-1"))
+        .thenReturn(
+            Optional.of(
+                new StoredRequest(
+                    hashOf(REQUEST), null, null, ZonedDateTime.now().minusMinutes(1))));
+    when(idempotencyStore.tryTakeOver(eq("createPolicy:key-1"), anyString(), any(), any()))
+        .thenReturn(true);
+
+    // When
+    execute("key-1", REQUEST);
+
+    // Then
+    assertThat(executions).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Should free the key when the request fails")
+  void execute_whenActionFails_shouldAbandonKey() {
+    // Given: The key is new
+    when(idempotencyStore.tryStart(eq("createPolicy:key-1"), anyString(), any()))
+        .thenReturn(true);
+
+    // When & Then: The failure is passed on and the key can be used again
+    assertThatThrownBy(
+            () ->
+                idempotentRequests.execute(
+                    "createPolicy",
+                    "key-1",
+                    REQUEST,
+                    Map.class,
+                    () -> {
+                      throw new InvalidRequestException("Customer not found");
+                    }))
+        .isInstanceOf(InvalidRequestException.class);
+    verify(idempotencyStore).abandon("createPolicy:key-1");
+    verify(idempotencyStore, never()).complete(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should process concurrent duplicates on one node once")
+  void execute_concurrentDuplicates_shouldBeCoalesced() throws Exception {
+    // Given: The first request blocks until the second one has arrived
+    when(idempotencyStore.tryStart(eq("createPolicy:key-1"), anyString(), any()))
+        .thenReturn(true);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<ResponseEntity<Map>> first =
+        CompletableFuture.supplyAsync(
+            () ->
+                idempotentRequests.execute(
+                    "createPolicy",
+                    "key-1",
+                    REQUEST,
+                    Map.class,
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      executions.incrementAndGet();
+                      return new ResponseEntity<>(RESPONSE, HttpStatus.CREATED);
+                    }));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    // When: The duplicate arrives while the first request is processed
+    CompletableFuture<ResponseEntity<Map>> duplicate =
+        CompletableFuture.supplyAsync(() -> execute("key-1", REQUEST));
+    Thread.sleep(100);
+    release.countDown();
+
+    // Then: Both get the response of the single execution
+    assertThat(first.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(RESPONSE);
+    assertThat(duplicate.get(5, TimeUnit.SECONDS).getBody()).isEqualTo(RESPONSE);
+    assertThat(executions).hasValue(1);
+  }
+
+  private ResponseEntity<Map> execute(String idempotencyKey, Map<String, String> request) {
+    return idempotentRequests.execute(
+        "createPolicy",
+        idempotencyKey,
+        request,
+        Map.class,
+        () -> {
+          executions.incrementAndGet();
+          return new ResponseEntity<>(RESPONSE, HttpStatus.CREATED);
+        });
+  }
+
+  private String hashOf(Map<String, String> request) {
+    return idempotentRequests.hash(request);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package tech.yildirim.insurance.dummy.common.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Replay Cache Unit Tests")
+class ReplayCacheTest {
+
+  private static final ZonedDateTime NOW = ZonedDateTime.parse("2026-01-01T12:00:00Z");
+
+  @Test
+  @DisplayName("Should return a cached request until it expires")
+  void get_shouldHonourExpiry() {
+    // Given: A request that expires in an hour
+    ReplayCache cache = new ReplayCache(10);
+    StoredRequest request = completed(NOW.plusHours(1));
+    cache.put("createPolicy:a", request, NOW);
+
+    // When & Then
+    assertThat(cache.get("createPolicy:a", NOW.plusMinutes(59))).isEqualTo(request);
+    assertThat(cache.get("createPolicy:a", NOW.plusHours(1))).isNull();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should evict the oldest requests when full")
+  void put_whenFull_shouldEvictOldest() {
+    // Given: A cache for two requests
+    ReplayCache cache = new ReplayCache(2);
+
+    // When: Three requests are added
+    cache.put("createPolicy:a", completed(NOW.plusHours(1)), NOW);
+    cache.put("createPolicy:b", completed(NOW.plusHours(1)), NOW);
+    cache.put("createPolicy:c", completed(NOW.plusHours(1)), NOW);
+
+    // Then: The first one is gone
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get("createPolicy:a", NOW)).isNull();
+    assertThat(cache.get("createPolicy:c", NOW)).isNotNull();
+  }
+
+  private static StoredRequest completed(ZonedDateTime expiresAt) {
+    return new StoredRequest("hash", 201, "{}", expiresAt);
+  }
+}
@@ -0,0 +1,80 @@
+package tech.yildirim.insurance.dummy.common.importing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+
+@DisplayName("CSV Record Reader Unit Tests")
+class CsvRecordReaderTest {
+
+  @Test
+  @DisplayName("Should read quoted values with commas, quotes and line breaks")
+  void next_shouldReadQuotedValues() throws IOException {
+    // Given: A file with a byte order mark, CRLF line ends and a blank line
+    String csv =
+        "\uFEFFname,city\r\n"
+            + "\"Doe, Jane\",Berlin\r\n"
+            + "\r\n"
+            + "\"Say \"\"hi\"\"\",\"Line\nbreak\"\r\n"
+            + "Plain,Hamburg";
+
+    try (CsvRecordReader reader = new CsvRecordReader(new StringReader(csv))) {
+      // When
+      ImportRecord first = reader.next();
+      ImportRecord second = reader.next();
+      ImportRecord third = reader.next();
+
+      // Then: Rows keep the line they start on
+      assertThat(first.line()).isEqualTo(2);
+      assertThat(first.text("name")).isEqualTo("Doe, Jane");
+      assertThat(first.text("city")).isEqualTo("Berlin");
+      assertThat(second.line()).isEqualTo(4);
+      assertThat(second.text("name")).isEqualTo("Say \"hi\"");
+      assertThat(second.text("city")).isEqualTo("Line\nbreak");
+      assertThat(third.line()).isEqualTo(6);
+      assertThat(third.text("city")).isEqualTo("Hamburg");
+      assertThat(reader.next()).isNull();
+    }
+  }
+
+  @Test
+  @DisplayName("Should report rows with the wrong number of values and unclosed quotes")
+  void next_withMalformedRows_shouldReturnMalformedRecords() throws IOException {
+    // Given
+    String csv = "name,city\nOnly one value\nGood,Row\n\"Unclosed,Row\nMore";
+
+    try (CsvRecordReader reader = new CsvRecordReader(new StringReader(csv))) {
+      // When
+      ImportRecord wrongCount = reader.next();
+      ImportRecord good = reader.next();
+      ImportRecord unclosed = reader.next();
+
+      // Then: The accessors of a malformed row throw its error
+      assertThatThrownBy(() -> wrongCount.text("name"))
+          .isInstanceOf(InvalidRequestException.class)
+          .hasMessage("The row has 1 values, the header 2 columns");
+      assertThat(good.text("city")).isEqualTo("Row");
+      assertThat(unclosed.line()).isEqualTo(4);
+      assertThatThrownBy(() -> unclosed.text("name")).hasMessage("A quoted value is not closed");
+      assertThat(reader.next()).isNull();
+    }
+  }
+
+  @Test
+  @DisplayName("Should name the required columns that are missing from the header")
+  void requireColumns_shouldNameMissingColumns() throws IOException {
+    try (CsvRecordReader reader = new CsvRecordReader(new StringReader("a, b\n1,2"))) {
+      // When & Then
+      reader.requireColumns(List.of("a", "b"));
+      assertThatThrownBy(() -> reader.requireColumns(List.of("a", "c", "d")))
+          .isInstanceOf(InvalidRequestException.class)
+          .hasMessage("The CSV header is missing the columns [c, d]");
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package tech.yildirim.insurance.dummy.common.importing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("NDJSON Record Reader Unit Tests")
+class NdjsonRecordReaderTest {
+
+  @Test
+  @DisplayName("Should flatten nested objects and continue after a malformed line")
+  void next_shouldFlattenObjectsAndSkipMalformedLines() throws IOException {
+    // Given
+    String ndjson =
+        """
+        {"id": 7, "address": {"city": "Berlin", "postalCode": "10115"}, "note": null}
+        [1, 2]
+
+        {"id": 8, "active": true}
+        """;
+
+    try (NdjsonRecordReader reader =
+        new NdjsonRecordReader(new StringReader(ndjson), new ObjectMapper())) {
+      // When
+      ImportRecord first = reader.next();
+      ImportRecord array = reader.next();
+      ImportRecord second = reader.next();
+
+      // Then
+      assertThat(first.line()).isEqualTo(1);
+      assertThat(first.requiredLong("id")).isEqualTo(7);
+      assertThat(first.text("address.city")).isEqualTo("Berlin");
+      assertThat(first.text("note")).isNull();
+      assertThat(array.line()).isEqualTo(2);
+      assertThatThrownBy(() -> array.text("id"))
+          .hasMessage("The line is not a JSON object: [1, 2]");
+      assertThat(second.line()).isEqualTo(4);
+      assertThat(second.text("active")).isEqualTo("true");
+      assertThat(reader.next()).isNull();
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package tech.yildirim.insurance.dummy.common.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Log Sampling Turbo Filter Unit Tests")
+class LogSamplingTurboFilterTest {
+
+  private final LoggerContext loggerContext = new LoggerContext();
+  private LogSamplingTurboFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    filter = new LogSamplingTurboFilter();
+    filter.setContext(loggerContext);
+    filter.setLoggerPrefix("tech.yildirim");
+    filter.setMessagePrefix("Request to find");
+    filter.setSampleRate(4);
+    filter.start();
+  }
+
+  @Test
+  @DisplayName("Should keep one of every N matching INFO lines")
+  void decide_whenMessageMatches_shouldSample() {
+    // Given: A service logger inside the sampled package
+    Logger logger = loggerContext.getLogger("tech.yildirim.insurance.dummy.claim.ClaimServiceImpl");
+
+    // When: The same lookup line is logged eight times
+    List<FilterReply> replies = decideRepeatedly(logger, Level.INFO, "Request to find claim {}", 8);
+
+    // Then: Only the first and fifth line pass
+    assertThat(replies)
+        .containsExactly(
+            FilterReply.NEUTRAL,
+            FilterReply.DENY,
+            FilterReply.DENY,
+            FilterReply.DENY,
+            FilterReply.NEUTRAL,
+            FilterReply.DENY,
+            FilterReply.DENY,
+            FilterReply.DENY);
+  }
+
+  @Test
+  @DisplayName("Should sample each logger independently")
+  void decide_whenDifferentLoggers_shouldKeepSeparateCounters() {
+    Logger claims = loggerContext.getLogger("tech.yildirim.insurance.dummy.claim.ClaimServiceImpl");
+    Logger policies =
+        loggerContext.getLogger("tech.yildirim.insurance.dummy.policy.PolicyServiceImpl");
+
+    assertThat(filter.decide(null, claims, Level.INFO, "Request to find claim", null, null))
+        .isEqualTo(FilterReply.NEUTRAL);
+    assertThat(filter.decide(null, policies, Level.INFO, "Request to find policy", null, null))
+        .isEqualTo(FilterReply.NEUTRAL);
+  }
+
+  @Test
+  @DisplayName("Should never sample warnings, other messages or other loggers")
+  void decide_whenEventIsNotEligible_shouldStayNeutral() {
+    Logger serviceLogger = loggerContext.getLogger("tech.yildirim.insurance.dummy.SomeService");
+    Logger foreignLogger = loggerContext.getLogger("org.hibernate.SQL");
+
+    assertThat(decideRepeatedly(serviceLogger, Level.WARN, "Request to find x", 5))
+        .containsOnly(FilterReply.NEUTRAL);
+    assertThat(decideRepeatedly(serviceLogger, Level.INFO, "Successfully created x", 5))
+        .containsOnly(FilterReply.NEUTRAL);
+    assertThat(decideRepeatedly(foreignLogger, Level.INFO, "Request to find x", 5))
+        .containsOnly(FilterReply.NEUTRAL);
+  }
+
+  @Test
+  @DisplayName("Should not start without a message prefix")
+  void start_withoutMessagePrefix_shouldNotStart() {
+    LogSamplingTurboFilter unconfigured = new LogSamplingTurboFilter();
+    unconfigured.setContext(loggerContext);
+
+    unconfigured.start();
+
+    assertThat(unconfigured.isStarted()).isFalse();
+  }
+
+  private List<FilterReply> decideRepeatedly(Logger logger, Level level, String format, int times) {
+    List<FilterReply> replies = new ArrayList<>();
+    for (int i = 0; i < times; i++) {
+      replies.add(filter.decide(null, logger, level, format, null, null));
+    }
+    return replies;
+  }
+}
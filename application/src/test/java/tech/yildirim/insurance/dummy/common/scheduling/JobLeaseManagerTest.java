@@ -0,0 +1,70 @@
+package tech.yildirim.insurance.dummy.common.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Job Lease Manager Integration Tests")
+class JobLeaseManagerTest {
+
+  private static final String JOB = "test-job";
+  private static final Duration LEASE = Duration.ofMinutes(5);
+
+  @Autowired private TestEntityManager testEntityManager;
+
+  @Autowired private JobLeaseRepository jobLeaseRepository;
+
+  private JobLeaseManager nodeA;
+  private JobLeaseManager nodeB;
+
+  @BeforeEach
+  void setUp() {
+    nodeA = new JobLeaseManager(jobLeaseRepository, "node-a");
+    nodeB = new JobLeaseManager(jobLeaseRepository, "node-b");
+  }
+
+  @Test
+  @DisplayName("Should grant a lease to one node only until it is released")
+  void tryAcquire_whenHeldByOtherNode_shouldFailUntilReleased() {
+    // When: Node A acquires the lease first
+    boolean acquiredByA = nodeA.tryAcquire(JOB, LEASE);
+
+    // Then: Node B cannot get it, but node A can renew it
+    assertThat(acquiredByA).isTrue();
+    assertThat(nodeB.tryAcquire(JOB, LEASE)).isFalse();
+    assertThat(nodeA.tryAcquire(JOB, LEASE)).isTrue();
+
+    // When: Node A releases the lease
+    nodeA.release(JOB);
+
+    // Then: Node B gets it
+    assertThat(nodeB.tryAcquire(JOB, LEASE)).isTrue();
+    testEntityManager.clear();
+    assertThat(jobLeaseRepository.findById(JOB))
+        .get()
+        .extracting(JobLease::getOwner)
+        .isEqualTo("node-b");
+  }
+
+  @Test
+  @DisplayName("Should let another node take over an expired lease")
+  void tryAcquire_whenLeaseExpired_shouldTakeOver() {
+    // Given: Node A's lease ran out a minute ago without being released
+    testEntityManager.persistAndFlush(
+        new JobLease(JOB, "node-a", ZonedDateTime.now().minusMinutes(1)));
+
+    // When & Then: Node B takes it over and node A can no longer renew it
+    assertThat(nodeB.tryAcquire(JOB, LEASE)).isTrue();
+    assertThat(nodeA.tryAcquire(JOB, LEASE)).isFalse();
+  }
+}
@@ -16,6 +16,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ContextConfiguration;
@@ -24,6 +25,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import tech.yildirim.insurance.dummy.common.BusinessException;
+import tech.yildirim.insurance.dummy.common.BusinessRuleViolationException;
 import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
 
 /**
@@ -56,6 +59,11 @@ class GlobalExceptionHandlerTest {
     public ResponseEntity<Void> testNotFound() {
       throw new ResourceNotFoundException("The requested dummy resource was not found");
     }
+
+    @GetMapping("/test/rule-violation")
+    public ResponseEntity<Void> testRuleViolation() {
+      throw new BusinessRuleViolationException("The dummy resource is not active");
+    }
   }
 
   @Test
@@ -90,4 +98,26 @@ class GlobalExceptionHandlerTest {
         .andExpect(jsonPath("$.message", is("The requested dummy resource was not found")))
         .andExpect(jsonPath("$.timestamp", notNullValue()));
   }
+
+  @Test
+  @DisplayName("Should handle BusinessRuleViolationException and return 400 with structured error")
+  void whenBusinessRuleViolated_shouldReturn400BadRequest() throws Exception {
+    mockMvc
+        .perform(get("/test/rule-violation"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.status", is(400)))
+        .andExpect(jsonPath("$.error", is("Bad Request")))
+        .andExpect(jsonPath("$.message", is("The dummy resource is not active")))
+        .andExpect(jsonPath("$.path", is("/test/rule-violation")))
+        .andExpect(jsonPath("$.timestamp", notNullValue()));
+  }
+
+  @Test
+  @DisplayName("Should not capture a stack trace for business exceptions")
+  void businessExceptions_shouldNotCaptureStackTrace() {
+    BusinessException exception = new ResourceNotFoundException("Policy not found with id: 1");
+
+    assertEquals(0, exception.getStackTrace().length);
+    assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+  }
 }
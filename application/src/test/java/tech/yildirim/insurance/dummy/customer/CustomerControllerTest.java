@@ -3,14 +3,19 @@ package tech.yildirim.insurance.dummy.customer;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -22,11 +27,22 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import tech.yildirim.insurance.api.generated.model.AddressDto;
+import tech.yildirim.insurance.api.generated.model.ClaimDto.ClaimTypeEnum;
+import tech.yildirim.insurance.api.generated.model.CustomerDeltaDto;
 import tech.yildirim.insurance.api.generated.model.CustomerDto;
+import tech.yildirim.insurance.api.generated.model.CustomerOverviewDto;
+import tech.yildirim.insurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.insurance.api.generated.model.ImportErrorDto;
+import tech.yildirim.insurance.api.generated.model.ImportResultDto;
 import tech.yildirim.insurance.api.generated.model.PolicyDto;
+import tech.yildirim.insurance.api.generated.model.PolicyOverviewDto;
 import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+import tech.yildirim.insurance.dummy.common.concurrent.SingleFlight;
+import tech.yildirim.insurance.dummy.common.importing.ImportFormat;
+import tech.yildirim.insurance.dummy.customer.importing.CustomerImportService;
 import tech.yildirim.insurance.dummy.policy.PolicyService;
 
 @WebMvcTest(CustomerController.class)
@@ -39,6 +55,8 @@ class CustomerControllerTest {
 
   @Autowired private PolicyService policyService;
 
+  @Autowired private CustomerImportService customerImportService;
+
   @Autowired private ObjectMapper objectMapper;
 
   /**
@@ -57,6 +75,16 @@ class CustomerControllerTest {
     public PolicyService policyService() {
       return Mockito.mock(PolicyService.class);
     }
+
+    @Bean
+    public CustomerImportService customerImportService() {
+      return Mockito.mock(CustomerImportService.class);
+    }
+
+    @Bean
+    public SingleFlight singleFlight() {
+      return new SingleFlight(new SimpleMeterRegistry());
+    }
   }
 
   @Test
@@ -156,7 +184,7 @@ class CustomerControllerTest {
     // Given: The policy service will return a list of policies
     long customerId = 1L;
     List<PolicyDto> policies = List.of(new PolicyDto().id(101L));
-    when(policyService.findPoliciesByCustomerId(customerId)).thenReturn(policies);
+    when(policyService.findPoliciesByCustomerId(eq(customerId), isNull())).thenReturn(policies);
 
     // When & Then
     mockMvc.perform(get("/customers/{id}/policies", customerId))
@@ -170,11 +198,112 @@ class CustomerControllerTest {
   void getPoliciesByCustomerId_whenCustomerNotExists_shouldReturnNotFound() throws Exception {
     // Given: The policy service will throw an exception
     long nonExistentCustomerId = 99L;
-    when(policyService.findPoliciesByCustomerId(nonExistentCustomerId))
+    when(policyService.findPoliciesByCustomerId(eq(nonExistentCustomerId), isNull()))
         .thenThrow(new ResourceNotFoundException("Customer not found"));
 
     // When & Then
     mockMvc.perform(get("/customers/{id}/policies", nonExistentCustomerId))
         .andExpect(status().isNotFound());
   }
+
+  @Test
+  @DisplayName("GET /customers/{id}/overview - Should return customer with policies and claims")
+  void getCustomerOverview_whenCustomerExists_shouldReturnTree() throws Exception {
+    // Given: The service returns an overview with one policy and one home claim
+    HomeClaimDto claim = new HomeClaimDto();
+    claim.setId(1002L);
+    claim.setClaimType(ClaimTypeEnum.HOME_CLAIM_DTO);
+    CustomerOverviewDto overview =
+        new CustomerOverviewDto()
+            .customer(new CustomerDto().id(1L).firstName("Max"))
+            .policies(
+                List.of(
+                    new PolicyOverviewDto()
+                        .policy(new PolicyDto().id(102L))
+                        .claims(List.of(claim))));
+    when(customerService.getCustomerOverview(1L)).thenReturn(Optional.of(overview));
+
+    // When & Then: The nested tree is returned, claims keep their type discriminator
+    mockMvc
+        .perform(get("/customers/{id}/overview", 1L))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.customer.firstName", is("Max")))
+        .andExpect(jsonPath("$.policies[0].policy.id", is(102)))
+        .andExpect(jsonPath("$.policies[0].claims[0].id", is(1002)))
+        .andExpect(jsonPath("$.policies[0].claims[0].claimType", is("HomeClaimDto")));
+  }
+
+  @Test
+  @DisplayName("GET /customers/{id}/overview - Should return 404 when customer does not exist")
+  void getCustomerOverview_whenCustomerNotExists_shouldReturnNotFound() throws Exception {
+    // Given: The service does not find the customer
+    when(customerService.getCustomerOverview(99L)).thenReturn(Optional.empty());
+
+    // When & Then
+    mockMvc.perform(get("/customers/{id}/overview", 99L)).andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("GET /customers/delta - Should return the changed and deleted customers")
+  void getCustomerDelta_shouldReturnPage() throws Exception {
+    // Given: The service returns one changed and one deleted customer
+    CustomerDeltaDto delta =
+        new CustomerDeltaDto()
+            .items(List.of(new CustomerDto().id(1L)))
+            .deletedIds(List.of(3L))
+            .nextCursor("next")
+            .hasMore(false);
+    when(customerService.getCustomerDelta(isNull(), eq("previous"), eq(50))).thenReturn(delta);
+
+    // When & Then: The page is returned as is, not mistaken for /customers/{id}
+    mockMvc
+        .perform(get("/customers/delta").param("cursor", "previous").param("limit", "50"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].id", is(1)))
+        .andExpect(jsonPath("$.deletedIds[0]", is(3)))
+        .andExpect(jsonPath("$.nextCursor", is("next")))
+        .andExpect(jsonPath("$.hasMore", is(false)));
+  }
+
+  @Test
+  @DisplayName("GET /customers/delta - Should return 400 for a limit above the maximum")
+  void getCustomerDelta_withLimitTooHigh_shouldReturnBadRequest() throws Exception {
+    // When & Then
+    mockMvc
+        .perform(get("/customers/delta").param("limit", "1001"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("POST /customers/import - Should import the uploaded file and return the result")
+  void importCustomers_shouldReturnResult() throws Exception {
+    // Given: The format defaults to CSV
+    MockMultipartFile file =
+        new MockMultipartFile(
+            "file",
+            "customers.csv",
+            "text/csv",
+            "firstName,lastName,dateOfBirth,email".getBytes());
+    when(customerImportService.importCustomers(eq(ImportFormat.CSV), any(InputStream.class)))
+        .thenReturn(
+            new ImportResultDto()
+                .processed(2L)
+                .imported(1L)
+                .rejected(1L)
+                .errors(
+                    List.of(
+                        new ImportErrorDto()
+                            .line(3L)
+                            .message("The email was already imported from line 2")))
+                .errorsTruncated(false));
+
+    // When & Then
+    mockMvc
+        .perform(multipart("/customers/import").file(file))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported", is(1)))
+        .andExpect(jsonPath("$.errors[0].line", is(3)))
+        .andExpect(
+            jsonPath("$.errors[0].message", is("The email was already imported from line 2")));
+  }
 }
@@ -0,0 +1,46 @@
+package tech.yildirim.insurance.dummy.customer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Customer Email Hash Backfill Integration Tests")
+class CustomerEmailHashBackfillTest {
+
+  @Autowired private TestEntityManager testEntityManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Test
+  @DisplayName("Should hash the emails of customers stored without a hash")
+  void backfill_shouldHashUnhashedEmails() {
+    // Given: A customer saved through JPA, whose hash is then removed as in data from before it
+    Customer customer = new Customer();
+    customer.setFirstName("Jane");
+    customer.setLastName("Doe");
+    customer.setDateOfBirth(LocalDate.of(1990, 10, 25));
+    customer.setEmail(" Jane.Doe@Example.com");
+    testEntityManager.persistAndFlush(customer);
+    assertThat(customer.getEmailHash()).isEqualTo(CustomerEmail.hash("jane.doe@example.com"));
+    jdbcTemplate.update("UPDATE customers SET email_hash = NULL");
+
+    // When
+    new CustomerEmailHashBackfill(jdbcTemplate, transactionManager).backfill();
+
+    // Then: The hash is the one of the normalised email
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT email_hash FROM customers WHERE id = ?", Long.class, customer.getId()))
+        .isEqualTo(CustomerEmail.hash("jane.doe@example.com"));
+  }
+}
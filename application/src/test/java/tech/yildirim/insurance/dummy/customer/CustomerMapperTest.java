@@ -29,6 +29,7 @@ class CustomerMapperTest {
             addressEntity,
             "password123",
             "jonh.doe@example.com",
+            null,
             ZonedDateTime.now(),
             ZonedDateTime.now());
 
@@ -91,6 +92,7 @@ class CustomerMapperTest {
             existingAddress,
             "old-hashed-password",
             "john.doe@example.com",
+            null,
             ZonedDateTime.now().minusDays(10),
             ZonedDateTime.now().minusDays(5));
 
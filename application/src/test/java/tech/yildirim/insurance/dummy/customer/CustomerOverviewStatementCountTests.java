@@ -0,0 +1,75 @@
+package tech.yildirim.insurance.dummy.customer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Optional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tech.yildirim.insurance.api.generated.model.ClaimDto;
+import tech.yildirim.insurance.api.generated.model.CustomerOverviewDto;
+import tech.yildirim.insurance.api.generated.model.PolicyOverviewDto;
+
+/**
+ * Counts the JDBC statements of the customer overview against the sample data, in which customer
+ * 2 has two policies with three claims handled by two different adjusters.
+ */
+// The outbox relay is disabled, its polling statements would be counted as well
+@SpringBootTest(
+    properties = {
+      "spring.jpa.properties.hibernate.generate_statistics=true",
+      "insurance.outbox.relay.cron=-"
+    })
+@DisplayName("Customer Overview Statement Count Tests")
+class CustomerOverviewStatementCountTests {
+
+  @Autowired private CustomerService customerService;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  @DisplayName("Should build the overview with three statements")
+  void getCustomerOverview_shouldUseThreeStatements() {
+    // When: The overview of the sample customer is built
+    Optional<CustomerOverviewDto> overview = customerService.getCustomerOverview(2L);
+
+    // Then: Customer, policies and claims (with their adjusters) took one statement each
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    assertThat(overview).isPresent();
+    assertThat(overview.get().getPolicies())
+        .extracting(policy -> policy.getPolicy().getId())
+        .containsExactlyInAnyOrder(103L, 104L);
+    assertThat(overview.get().getPolicies())
+        .flatExtracting(PolicyOverviewDto::getClaims)
+        .extracting(ClaimDto::getId)
+        .containsExactlyInAnyOrder(1001L, 1003L, 1004L);
+    assertThat(overview.get().getPolicies())
+        .flatExtracting(PolicyOverviewDto::getClaims)
+        .extracting(ClaimDto::getAssignedAdjusterName)
+        .containsOnlyOnce("Jürgen Weber", "Anke Huber");
+  }
+
+  @Test
+  @DisplayName("Should stop after the customer lookup when the customer does not exist")
+  void getCustomerOverview_whenCustomerDoesNotExist_shouldUseOneStatement() {
+    // When: The overview of an unknown customer is requested
+    Optional<CustomerOverviewDto> overview = customerService.getCustomerOverview(999L);
+
+    // Then: Only the customer lookup was executed
+    assertThat(overview).isEmpty();
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+}
@@ -11,6 +11,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,7 +22,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import tech.yildirim.insurance.api.generated.model.AutoClaimDto;
+import tech.yildirim.insurance.api.generated.model.CustomerDeltaDto;
 import tech.yildirim.insurance.api.generated.model.CustomerDto;
+import tech.yildirim.insurance.api.generated.model.CustomerOverviewDto;
+import tech.yildirim.insurance.api.generated.model.PolicyDto;
+import tech.yildirim.insurance.dummy.claim.ClaimService;
+import tech.yildirim.insurance.dummy.common.delta.DeltaWindow;
+import tech.yildirim.insurance.dummy.common.delta.Tombstone;
+import tech.yildirim.insurance.dummy.common.delta.TombstoneRepository;
+import tech.yildirim.insurance.dummy.common.delta.TombstoneType;
+import tech.yildirim.insurance.dummy.common.delta.TombstoneWriter;
+import tech.yildirim.insurance.dummy.policy.Policy;
+import tech.yildirim.insurance.dummy.policy.PolicyMapper;
+import tech.yildirim.insurance.dummy.policy.PolicyRepository;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Customer Service Unit Tests")
@@ -28,6 +46,18 @@ class CustomerServiceImplTest {
 
   @Mock private CustomerMapper customerMapper;
 
+  @Mock private PolicyRepository policyRepository;
+
+  @Mock private PolicyMapper policyMapper;
+
+  @Mock private ClaimService claimService;
+
+  @Mock private TombstoneWriter tombstoneWriter;
+
+  @Mock private TombstoneRepository tombstoneRepository;
+
+  @Mock private DeltaWindow deltaWindow;
+
   @InjectMocks private CustomerServiceImpl customerService;
 
   @Test
@@ -113,9 +143,10 @@ class CustomerServiceImplTest {
     // When: The service method is called
     boolean wasDeleted = customerService.deleteCustomerById(customerId);
 
-    // Then: The method should return true and call deleteById
+    // Then: The method should return true, call deleteById and leave a tombstone
     assertTrue(wasDeleted);
     verify(customerRepository, times(1)).deleteById(customerId);
+    verify(tombstoneWriter).record(TombstoneType.CUSTOMER, customerId);
   }
 
   @Test
@@ -131,5 +162,95 @@ class CustomerServiceImplTest {
     // Then: The method should return false and NOT call deleteById
     assertFalse(wasDeleted);
     verify(customerRepository, never()).deleteById(anyLong());
+    verify(tombstoneWriter, never()).record(any(), anyLong());
+  }
+
+  @Test
+  @DisplayName("Should assemble the customer overview from customer, policies and claims")
+  void getCustomerOverview_whenCustomerExists_shouldGroupClaimsByPolicy() {
+    // Given: A customer with two policies, only the first of which has a claim
+    Customer customer = new Customer();
+    customer.setId(1L);
+    Policy withClaims = new Policy();
+    withClaims.setId(101L);
+    Policy withoutClaims = new Policy();
+    withoutClaims.setId(102L);
+    AutoClaimDto claimDto = new AutoClaimDto();
+    claimDto.setId(1001L);
+    claimDto.setPolicyId(101L);
+
+    when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+    when(customerMapper.toDto(customer)).thenReturn(new CustomerDto().id(1L));
+    when(policyRepository.findByCustomerId(1L)).thenReturn(List.of(withClaims, withoutClaims));
+    when(policyMapper.toDto(withClaims)).thenReturn(new PolicyDto().id(101L));
+    when(policyMapper.toDto(withoutClaims)).thenReturn(new PolicyDto().id(102L));
+    when(claimService.findClaimsByPolicyIds(List.of(101L, 102L)))
+        .thenReturn(Map.of(101L, List.of(claimDto)));
+
+    // When: The overview is requested
+    Optional<CustomerOverviewDto> result = customerService.getCustomerOverview(1L);
+
+    // Then: Each policy carries its own claims, in the order of the policies
+    assertThat(result).isPresent();
+    assertThat(result.get().getCustomer().getId()).isEqualTo(1L);
+    assertThat(result.get().getPolicies()).hasSize(2);
+    assertThat(result.get().getPolicies().get(0).getPolicy().getId()).isEqualTo(101L);
+    assertThat(result.get().getPolicies().get(0).getClaims()).containsExactly(claimDto);
+    assertThat(result.get().getPolicies().get(1).getPolicy().getId()).isEqualTo(102L);
+    assertThat(result.get().getPolicies().get(1).getClaims()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should return empty overview without further queries when customer not found")
+  void getCustomerOverview_whenCustomerDoesNotExist_shouldReturnEmpty() {
+    // Given: The repository will not find the customer
+    when(customerRepository.findById(99L)).thenReturn(Optional.empty());
+
+    // When: The overview is requested
+    Optional<CustomerOverviewDto> result = customerService.getCustomerOverview(99L);
+
+    // Then: The result is empty and neither policies nor claims were loaded
+    assertThat(result).isNotPresent();
+    verify(policyRepository, never()).findByCustomerId(anyLong());
+    verify(claimService, never()).findClaimsByPolicyIds(any());
+  }
+
+  @Test
+  @DisplayName("Should return changed and deleted customers and continue after them")
+  void getCustomerDelta_shouldPageChangesAndDeletions() {
+    // Given: Two changed customers and one tombstone, read with a page size of one
+    ZonedDateTime since = ZonedDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    ZonedDateTime until = since.plusDays(1);
+    Customer first = new Customer();
+    first.setId(7L);
+    first.setUpdatedAt(since.plusHours(1));
+    Customer second = new Customer();
+    second.setId(8L);
+    second.setUpdatedAt(since.plusHours(2));
+    Tombstone tombstone = new Tombstone(TombstoneType.CUSTOMER, 55L, since.plusHours(3));
+    tombstone.setId(3L);
+    when(deltaWindow.settledUntil()).thenReturn(until);
+    when(customerRepository.findUpdatedAfter(since, 0L, until, Limit.of(2)))
+        .thenReturn(List.of(first, second));
+    when(tombstoneRepository.findDeletedAfter(
+            TombstoneType.CUSTOMER, since, 0L, until, Limit.of(2)))
+        .thenReturn(List.of(tombstone));
+    CustomerDto firstDto = new CustomerDto().id(7L);
+    when(customerMapper.toDtoList(List.of(first))).thenReturn(List.of(firstDto));
+
+    // When: The first page is read
+    CustomerDeltaDto page =
+        customerService.getCustomerDelta(since.toOffsetDateTime(), null, 1);
+
+    // Then: It holds the first customer and the deletion, and there is more
+    assertThat(page.getItems()).containsExactly(firstDto);
+    assertThat(page.getDeletedIds()).containsExactly(55L);
+    assertThat(page.getHasMore()).isTrue();
+
+    // And: The next page starts after the first customer and after the tombstone
+    customerService.getCustomerDelta(null, page.getNextCursor(), 1);
+    verify(customerRepository).findUpdatedAfter(since.plusHours(1), 7L, until, Limit.of(2));
+    verify(tombstoneRepository)
+        .findDeletedAfter(TombstoneType.CUSTOMER, since.plusHours(3), 3L, until, Limit.of(2));
   }
 }
@@ -0,0 +1,110 @@
+package tech.yildirim.insurance.dummy.customer.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import tech.yildirim.insurance.api.generated.model.ImportResultDto;
+import tech.yildirim.insurance.dummy.common.importing.ImportFormat;
+
+/**
+ * Measures the throughput of a CSV customer import into an in-memory H2 database with the Flyway
+ * schema and sample data. One in a hundred rows repeats an email of the file. The score is
+ * reported in rows per second; see the README for how to run it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(CustomerImportBenchmark.ROWS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CustomerImportBenchmark {
+
+  static final int ROWS = 100_000;
+
+  private JdbcTemplate jdbcTemplate;
+  private CustomerImportServiceImpl importService;
+  private long sampleCustomers;
+  private byte[] file;
+
+  @Setup
+  public void setUp() {
+    JdbcDataSource dataSource = new JdbcDataSource();
+    dataSource.setURL("jdbc:h2:mem:customer-import-benchmark;DB_CLOSE_DELAY=-1");
+    Flyway.configure().dataSource(dataSource).load().migrate();
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    importService =
+        new CustomerImportServiceImpl(
+            jdbcTemplate,
+            new DataSourceTransactionManager(dataSource),
+            new ObjectMapper(),
+            1000,
+            1000);
+    sampleCustomers = jdbcTemplate.queryForObject("SELECT MAX(id) FROM customers", Long.class);
+
+    // A fixed seed keeps the names, birth dates and duplicates stable between runs
+    Random random = new Random(42);
+    LocalDate earliestBirth = LocalDate.of(1940, 1, 1);
+    StringBuilder csv =
+        new StringBuilder(
+            "firstName,lastName,dateOfBirth,email,address.streetAndHouseNumber,"
+                + "address.postalCode,address.city,address.country\n");
+    for (int i = 0; i < ROWS; i++) {
+      int person = random.nextInt(100) == 0 && i > 0 ? random.nextInt(i) : i;
+      csv.append("First")
+          .append(person)
+          .append(",Last")
+          .append(person)
+          .append(',')
+          .append(earliestBirth.plusDays(person % 20_000))
+          .append(",First.Last")
+          .append(person)
+          .append("@Example.com,Main Street ")
+          .append(person % 500)
+          .append(',')
+          .append(String.format("%05d", person % 100_000))
+          .append(",Berlin,Germany\n");
+    }
+    file = csv.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** Removes the customers of the previous invocation, so every invocation imports all rows. */
+  @Setup(Level.Invocation)
+  public void removeImportedCustomers() {
+    jdbcTemplate.update("DELETE FROM customers WHERE id > ?", sampleCustomers);
+  }
+
+  @Benchmark
+  public ImportResultDto importCsv() {
+    return importService.importCustomers(ImportFormat.CSV, new ByteArrayInputStream(file));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(CustomerImportBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
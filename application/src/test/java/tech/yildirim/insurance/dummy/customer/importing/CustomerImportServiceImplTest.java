@@ -0,0 +1,171 @@
+package tech.yildirim.insurance.dummy.customer.importing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.yildirim.insurance.api.generated.model.ImportErrorDto;
+import tech.yildirim.insurance.api.generated.model.ImportResultDto;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+import tech.yildirim.insurance.dummy.common.importing.ImportFormat;
+import tech.yildirim.insurance.dummy.customer.Customer;
+import tech.yildirim.insurance.dummy.customer.CustomerEmail;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Customer Import Service Integration Tests")
+class CustomerImportServiceImplTest {
+
+  @Autowired private TestEntityManager testEntityManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private CustomerImportServiceImpl customerImportService;
+  private Customer existing;
+
+  @BeforeEach
+  void setUp() {
+    // A chunk size of two spreads the rows over several chunks
+    customerImportService =
+        new CustomerImportServiceImpl(jdbcTemplate, transactionManager, new ObjectMapper(), 2, 3);
+
+    existing = new Customer();
+    existing.setFirstName("Ina");
+    existing.setLastName("Port");
+    existing.setDateOfBirth(LocalDate.of(1985, 5, 5));
+    existing.setEmail("Ina.Port@Example.com");
+    testEntityManager.persist(existing);
+    testEntityManager.flush();
+  }
+
+  @Test
+  @DisplayName("Should normalise emails and reject the emails of customers and earlier rows")
+  void importCustomers_withCsv_shouldDeduplicateByEmail() {
+    // Given: Two new customers, one of them twice (in another chunk), an existing customer in
+    // another spelling and a duplicate within a chunk
+    String csv =
+        String.join(
+            "\n",
+            "firstName,lastName,dateOfBirth,email,address.city",
+            "Jane,Doe,1990-10-25, Jane.Doe@Example.com ,Berlin",
+            "John,Doe,1989-01-02,john.doe@example.com,",
+            "Jane,Doe,1990-10-25,jane.doe@example.com,Berlin",
+            "Ina,Port,1985-05-05,INA.PORT@example.com,",
+            "Max,Muster,1970-07-07,max@example.com,",
+            "Max,Muster,1970-07-07,MAX@example.com,");
+    // And: H2 has fixed CURRENT_TIMESTAMP for the rest of the transaction before the import starts
+    jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", OffsetDateTime.class);
+    OffsetDateTime importStarted = OffsetDateTime.now();
+
+    // When
+    ImportResultDto result = customerImportService.importCustomers(ImportFormat.CSV, input(csv));
+
+    // Then: Only the first three errors are listed
+    assertThat(result.getProcessed()).isEqualTo(6);
+    assertThat(result.getImported()).isEqualTo(3);
+    assertThat(result.getRejected()).isEqualTo(3);
+    assertThat(result.getErrorsTruncated()).isFalse();
+    List<Map<String, Object>> imported =
+        jdbcTemplate.queryForList(
+            "SELECT id, email, email_hash, city FROM customers WHERE id <> ? ORDER BY id",
+            existing.getId());
+    assertThat(result.getErrors())
+        .extracting(ImportErrorDto::getLine, ImportErrorDto::getMessage)
+        .containsExactly(
+            tuple(
+                4L, "A customer with this email already exists: " + imported.get(0).get("ID")),
+            tuple(5L, "A customer with this email already exists: " + existing.getId()),
+            tuple(7L, "The email was already imported from line 6"));
+
+    // And: The emails are stored normalised, with their hash
+    assertThat(imported)
+        .extracting(row -> row.get("EMAIL"), row -> row.get("EMAIL_HASH"), row -> row.get("CITY"))
+        .containsExactly(
+            tuple(
+                "jane.doe@example.com", CustomerEmail.hash("jane.doe@example.com"), "Berlin"),
+            tuple("john.doe@example.com", CustomerEmail.hash("john.doe@example.com"), null),
+            tuple("max@example.com", CustomerEmail.hash("max@example.com"), null));
+
+    // And: They are stamped when their chunk is written, not with the transaction's timestamp
+    assertThat(
+            jdbcTemplate.queryForList(
+                "SELECT created_at FROM customers WHERE id <> ?",
+                OffsetDateTime.class,
+                existing.getId()))
+        .allSatisfy(createdAt -> assertThat(createdAt).isAfterOrEqualTo(importStarted));
+  }
+
+  @Test
+  @DisplayName("Should import NDJSON rows with an address and report invalid fields")
+  void importCustomers_withNdjson_shouldImportAddressAndReportInvalidFields() {
+    // Given
+    String ndjson =
+        String.join(
+            "\n",
+            "{\"firstName\": \"Eva\", \"lastName\": \"Lind\", \"dateOfBirth\": \"1995-03-03\","
+                + " \"email\": \"eva@example.com\", \"address\": {\"streetAndHouseNumber\":"
+                + " \"Main St 1\", \"postalCode\": \"10115\", \"city\": \"Berlin\","
+                + " \"country\": \"Germany\"}}",
+            "{\"firstName\": \"No\", \"lastName\": \"At\", \"dateOfBirth\": \"1995-03-03\","
+                + " \"email\": \"no.at.example.com\"}",
+            "{\"firstName\": \"" + "x".repeat(256) + "\", \"lastName\": \"Long\","
+                + " \"dateOfBirth\": \"1995-03-03\", \"email\": \"long@example.com\"}",
+            "{\"firstName\": \"No\", \"lastName\": \"Date\", \"email\": \"date@example.com\"}");
+
+    // When
+    ImportResultDto result =
+        customerImportService.importCustomers(ImportFormat.NDJSON, input(ndjson));
+
+    // Then
+    assertThat(result.getImported()).isEqualTo(1);
+    assertThat(result.getErrors())
+        .extracting(ImportErrorDto::getLine, ImportErrorDto::getMessage)
+        .containsExactly(
+            tuple(2L, "email is not a valid address: no.at.example.com"),
+            tuple(3L, "firstName is longer than 255 characters"),
+            tuple(4L, "dateOfBirth is required"));
+    Map<String, Object> customer =
+        jdbcTemplate.queryForMap(
+            "SELECT street_and_house_number, postal_code, city, country, password"
+                + " FROM customers WHERE email = 'eva@example.com'");
+    assertThat(customer)
+        .containsEntry("STREET_AND_HOUSE_NUMBER", "Main St 1")
+        .containsEntry("POSTAL_CODE", "10115")
+        .containsEntry("CITY", "Berlin")
+        .containsEntry("COUNTRY", "Germany")
+        .containsEntry("PASSWORD", null);
+  }
+
+  @Test
+  @DisplayName("Should refuse a CSV file that lacks a required column")
+  void importCustomers_withMissingColumn_shouldThrow() {
+    // Given
+    String csv = "firstName,lastName,dateOfBirth\nJane,Doe,1990-10-25";
+
+    // When & Then
+    assertThatThrownBy(() -> customerImportService.importCustomers(ImportFormat.CSV, input(csv)))
+        .isInstanceOf(InvalidRequestException.class)
+        .hasMessageContaining("email");
+  }
+
+  private static InputStream input(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,107 @@
+package tech.yildirim.insurance.dummy.export;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import tech.yildirim.insurance.api.generated.model.ExportFileDto;
+import tech.yildirim.insurance.api.generated.model.ExportRunDto;
+import tech.yildirim.insurance.dummy.common.BusinessRuleViolationException;
+
+@WebMvcTest(DataExportController.class)
+@DisplayName("Data Export Controller Web Layer Tests")
+class DataExportControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private DataExportService dataExportService;
+
+  @TestConfiguration
+  static class ControllerTestConfig {
+    @Bean
+    public DataExportService dataExportService() {
+      return Mockito.mock(DataExportService.class);
+    }
+  }
+
+  @Test
+  @DisplayName("POST /exports - Should start an export and return 202")
+  void startDataExport_shouldReturnAccepted() throws Exception {
+    // Given
+    when(dataExportService.startExport())
+        .thenReturn(
+            new ExportRunDto()
+                .id(3L)
+                .status(ExportRunDto.StatusEnum.RUNNING)
+                .directory("/data/exports/export-3"));
+
+    // When & Then
+    mockMvc
+        .perform(post("/exports"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.id", is(3)))
+        .andExpect(jsonPath("$.status", is("RUNNING")));
+  }
+
+  @Test
+  @DisplayName("POST /exports - Should return 400 while another export is in progress")
+  void startDataExport_whenBusy_shouldReturnBadRequest() throws Exception {
+    // Given
+    when(dataExportService.startExport())
+        .thenThrow(new BusinessRuleViolationException("Another export is in progress"));
+
+    // When & Then
+    mockMvc.perform(post("/exports")).andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("GET /exports/{id} - Should return the run with its files")
+  void getDataExport_shouldReturnRun() throws Exception {
+    // Given
+    ExportFileDto file =
+        new ExportFileDto()
+            .entity(ExportFileDto.EntityEnum.POLICIES)
+            .fileName("policies-1-100000.icol")
+            .firstId(1L)
+            .lastId(100000L)
+            .rowCount(99998L)
+            .sizeBytes(1234567L);
+    when(dataExportService.findExport(3L))
+        .thenReturn(
+            Optional.of(
+                new ExportRunDto()
+                    .id(3L)
+                    .status(ExportRunDto.StatusEnum.COMPLETED)
+                    .files(List.of(file))));
+
+    // When & Then
+    mockMvc
+        .perform(get("/exports/3"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status", is("COMPLETED")))
+        .andExpect(jsonPath("$.files[0].entity", is("POLICIES")))
+        .andExpect(jsonPath("$.files[0].fileName", is("policies-1-100000.icol")));
+  }
+
+  @Test
+  @DisplayName("GET /exports/{id} - Should return 404 for an unknown export")
+  void getDataExport_whenMissing_shouldReturnNotFound() throws Exception {
+    // Given
+    when(dataExportService.findExport(99L)).thenReturn(Optional.empty());
+
+    // When & Then
+    mockMvc.perform(get("/exports/99")).andExpect(status().isNotFound());
+  }
+}
@@ -0,0 +1,253 @@
+package tech.yildirim.insurance.dummy.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseRepository;
+import tech.yildirim.insurance.dummy.export.columnar.ColumnarFileReader;
+
+/**
+ * The export threads read through their own connections, so the rows of these tests are committed
+ * rather than rolled back, and removed after each test.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Data Export Engine Integration Tests")
+class DataExportEngineTest {
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private ExportRunRepository exportRunRepository;
+  @Autowired private JobLeaseRepository jobLeaseRepository;
+
+  @TempDir private Path directory;
+
+  private JobLeaseManager jobLeaseManager;
+  private DataExportEngine engine;
+  private long customerId;
+  private final List<Long> policyIds = new ArrayList<>();
+  private long claimId;
+
+  @BeforeEach
+  void setUp() {
+    // Ranges of two ids, row groups of two rows and two threads
+    jobLeaseManager = new JobLeaseManager(jobLeaseRepository);
+    engine =
+        new DataExportEngine(
+            exportRunRepository, jobLeaseManager, jdbcTemplate, 2, 2, 2, Duration.ofMinutes(1));
+
+    jdbcTemplate.update(
+        "INSERT INTO customers (first_name, last_name, date_of_birth, email, created_at,"
+            + " updated_at) VALUES ('Ex', 'Port', DATE '1980-01-01', 'ex.port@example.com',"
+            + " CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+    customerId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM customers", Long.class);
+    String[][] policies = {{"AUTO", "ACTIVE"}, {"HOME", "PENDING"}, {"HEALTH", "EXPIRED"}};
+    for (int i = 0; i < policies.length; i++) {
+      jdbcTemplate.update(
+          "INSERT INTO policies (policy_number, start_date, end_date, type, status, premium,"
+              + " customer_id, created_at, updated_at) VALUES (?, DATE '2026-01-01',"
+              + " DATE '2026-12-31', ?, ?, 100, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+          "EXP-" + i,
+          policies[i][0],
+          policies[i][1],
+          customerId);
+      policyIds.add(jdbcTemplate.queryForObject("SELECT MAX(id) FROM policies", Long.class));
+    }
+    jdbcTemplate.update(
+        "INSERT INTO claims (claim_type, claim_number, description, date_of_incident, status,"
+            + " estimated_amount, policy_id, date_reported, license_plate)"
+            + " VALUES ('AUTO', 'CLM-EXP', 'Dent', DATE '2026-02-01', 'SUBMITTED', 1234.5, ?,"
+            + " CURRENT_TIMESTAMP, 'B-XY 123')",
+        policyIds.getFirst());
+    claimId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM claims", Long.class);
+  }
+
+  @AfterEach
+  void tearDown() {
+    engine.shutdown();
+    jdbcTemplate.update("DELETE FROM claims WHERE id = ?", claimId);
+    jdbcTemplate.update("DELETE FROM policies WHERE customer_id = ?", customerId);
+    jdbcTemplate.update("DELETE FROM customers WHERE id = ?", customerId);
+    jdbcTemplate.update("DELETE FROM archived_claims");
+    jdbcTemplate.update("DELETE FROM archived_policies");
+    jdbcTemplate.update("DELETE FROM export_files");
+    jdbcTemplate.update("DELETE FROM export_runs");
+    jobLeaseRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Should write one file per entity and id range and record it on the run")
+  void process_shouldExportEveryRangeOfEveryEntity() throws IOException {
+    // Given
+    ExportRun run = startRun(directory.resolve("export"));
+    long firstPolicyId = policyIds.getFirst();
+
+    // When
+    ExportRun finished = engine.process(run.getId());
+
+    // Then: The policies take two files, the claim one
+    assertThat(finished.getStatus()).isEqualTo(ExportRunStatus.COMPLETED);
+    assertThat(finished.getFinishedAt()).isNotNull();
+    assertThat(exportRunRepository.findById(run.getId()).orElseThrow().getStatus())
+        .isEqualTo(ExportRunStatus.COMPLETED);
+    String policiesFile = "policies-" + firstPolicyId + "-" + (firstPolicyId + 1) + ".icol";
+    assertThat(finished.getFiles())
+        .extracting(ExportFile::getEntity, ExportFile::getFileName, ExportFile::getRowCount)
+        .containsExactly(
+            tuple(ExportEntity.POLICIES, policiesFile, 2L),
+            tuple(
+                ExportEntity.POLICIES,
+                "policies-" + (firstPolicyId + 2) + "-" + (firstPolicyId + 2) + ".icol",
+                1L),
+            tuple(
+                ExportEntity.CLAIMS, "claims-" + claimId + "-" + claimId + ".icol", 1L));
+    try (Stream<Path> files = Files.list(directory.resolve("export"))) {
+      assertThat(files.map(file -> file.getFileName().toString()))
+          .hasSize(3)
+          .noneMatch(name -> name.endsWith(".part"));
+    }
+
+    // And: The files hold the rows with dictionary-encoded enums
+    List<Object[]> policies =
+        ColumnarFileReader.open(directory.resolve("export").resolve(policiesFile)).rows();
+    assertThat(policies.get(0)).hasSize(ExportEntity.POLICIES.columns().size());
+    assertThat(policies.get(0))
+        .startsWith(
+            firstPolicyId,
+            "EXP-0",
+            "AUTO",
+            "ACTIVE",
+            LocalDate.of(2026, 1, 1),
+            LocalDate.of(2026, 12, 31),
+            new BigDecimal("100.00"),
+            customerId,
+            null);
+    assertThat(policies.get(0)[9]).isInstanceOf(OffsetDateTime.class);
+    assertThat(policies.get(1)).contains("HOME", "PENDING");
+    Object[] claim =
+        ColumnarFileReader.open(
+                directory.resolve("export").resolve("claims-" + claimId + "-" + claimId + ".icol"))
+            .rows()
+            .getFirst();
+    assertThat(claim)
+        .startsWith(claimId, "AUTO", "CLM-EXP", "SUBMITTED", LocalDate.of(2026, 2, 1))
+        .contains(new BigDecimal("1234.50"))
+        .doesNotContain("Dent", "B-XY 123");
+
+    // And: The lease was released
+    assertThat(jobLeaseManager.tryAcquire(DataExportEngine.LEASE_NAME, Duration.ofMinutes(1)))
+        .isTrue();
+  }
+
+  @Test
+  @DisplayName("Should write the archived claims and policies to files of their own")
+  void process_shouldExportArchivedRecords() throws IOException {
+    // Given: An archived policy and an archived claim of it
+    jdbcTemplate.update(
+        "INSERT INTO archived_policies (id, policy_number, status, end_date, premium, customer_id,"
+            + " archived_at, payload) VALUES (900001, 'EXP-ARC', 'EXPIRED', DATE '2023-12-31', 90,"
+            + " ?, CURRENT_TIMESTAMP, X'00')",
+        customerId);
+    jdbcTemplate.update(
+        "INSERT INTO archived_claims (id, claim_type, claim_number, status, date_of_incident,"
+            + " estimated_amount, paid_amount, policy_id, archived_at, payload) VALUES (900002,"
+            + " 'HOME', 'CLM-ARC', 'PAID', DATE '2023-05-01', 500, 450.25, 900001,"
+            + " CURRENT_TIMESTAMP, X'00')");
+    ExportRun run = startRun(directory.resolve("export"));
+
+    // When
+    ExportRun finished = engine.process(run.getId());
+
+    // Then: The archive tables get files next to the hot ones
+    assertThat(finished.getStatus()).isEqualTo(ExportRunStatus.COMPLETED);
+    assertThat(finished.getFiles())
+        .filteredOn(
+            file ->
+                file.getEntity() == ExportEntity.ARCHIVED_POLICIES
+                    || file.getEntity() == ExportEntity.ARCHIVED_CLAIMS)
+        .extracting(ExportFile::getEntity, ExportFile::getFileName, ExportFile::getRowCount)
+        .containsExactly(
+            tuple(ExportEntity.ARCHIVED_POLICIES, "archived_policies-900001-900001.icol", 1L),
+            tuple(ExportEntity.ARCHIVED_CLAIMS, "archived_claims-900002-900002.icol", 1L));
+
+    // And: The files hold the columns of the archive tables, without the payload
+    Object[] policy =
+        ColumnarFileReader.open(
+                directory.resolve("export").resolve("archived_policies-900001-900001.icol"))
+            .rows()
+            .getFirst();
+    assertThat(policy)
+        .hasSize(ExportEntity.ARCHIVED_POLICIES.columns().size())
+        .startsWith(
+            900001L,
+            "EXP-ARC",
+            "EXPIRED",
+            LocalDate.of(2023, 12, 31),
+            new BigDecimal("90.00"),
+            customerId,
+            null);
+    Object[] claim =
+        ColumnarFileReader.open(
+                directory.resolve("export").resolve("archived_claims-900002-900002.icol"))
+            .rows()
+            .getFirst();
+    assertThat(claim)
+        .startsWith(
+            900002L,
+            "HOME",
+            "CLM-ARC",
+            "PAID",
+            LocalDate.of(2023, 5, 1),
+            new BigDecimal("500.00"),
+            new BigDecimal("450.25"),
+            900001L);
+    assertThat(claim[8]).isInstanceOf(OffsetDateTime.class);
+  }
+
+  @Test
+  @DisplayName("Should mark the run as failed if its directory cannot be created")
+  void process_withUnwritableDirectory_shouldFail() throws IOException {
+    // Given: The directory path is taken by a file
+    Path taken = Files.createFile(directory.resolve("taken"));
+    ExportRun run = startRun(taken.resolve("export"));
+
+    // When
+    ExportRun finished = engine.process(run.getId());
+
+    // Then
+    assertThat(finished.getStatus()).isEqualTo(ExportRunStatus.FAILED);
+    assertThat(finished.getFailureReason()).isNotBlank();
+    assertThat(finished.getFiles()).isEmpty();
+  }
+
+  private ExportRun startRun(Path runDirectory) {
+    assertThat(jobLeaseManager.tryAcquire(DataExportEngine.LEASE_NAME, Duration.ofMinutes(1)))
+        .isTrue();
+    ExportRun run = new ExportRun(ZonedDateTime.now());
+    run.setDirectory(runDirectory.toString());
+    return exportRunRepository.save(run);
+  }
+}
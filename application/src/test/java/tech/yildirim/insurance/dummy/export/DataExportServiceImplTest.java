@@ -0,0 +1,119 @@
+package tech.yildirim.insurance.dummy.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tech.yildirim.insurance.api.generated.model.ExportRunDto;
+import tech.yildirim.insurance.dummy.common.BusinessRuleViolationException;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Data Export Service Unit Tests")
+class DataExportServiceImplTest {
+
+  private static final Path DIRECTORY = Path.of("/var/exports");
+
+  @Mock private ExportRunRepository exportRunRepository;
+  @Mock private ExportRunMapper exportRunMapper;
+  @Mock private DataExportEngine dataExportEngine;
+  @Mock private JobLeaseManager jobLeaseManager;
+
+  private DataExportServiceImpl dataExportService;
+
+  @BeforeEach
+  void setUp() {
+    // Runs the submitted work in the calling thread
+    dataExportService =
+        new DataExportServiceImpl(
+            exportRunRepository,
+            exportRunMapper,
+            dataExportEngine,
+            jobLeaseManager,
+            Runnable::run,
+            DIRECTORY,
+            Duration.ofMinutes(30));
+  }
+
+  @Test
+  @DisplayName("Should save a running run with its own directory and hand it over to the engine")
+  void startExport_shouldSaveAndProcessRun() {
+    // Given: The lease is free
+    when(jobLeaseManager.tryAcquire(eq(DataExportEngine.LEASE_NAME), any(Duration.class)))
+        .thenReturn(true);
+    when(exportRunRepository.save(any(ExportRun.class)))
+        .thenAnswer(
+            invocation -> {
+              ExportRun run = invocation.getArgument(0);
+              run.setId(7L);
+              return run;
+            });
+    ExportRunDto runDto = new ExportRunDto().id(7L);
+    when(exportRunMapper.toDto(any(ExportRun.class))).thenReturn(runDto);
+
+    // When
+    ExportRunDto result = dataExportService.startExport();
+
+    // Then
+    assertThat(result).isEqualTo(runDto);
+    ArgumentCaptor<ExportRun> run = ArgumentCaptor.forClass(ExportRun.class);
+    verify(exportRunMapper).toDto(run.capture());
+    assertThat(run.getValue().getStatus()).isEqualTo(ExportRunStatus.RUNNING);
+    assertThat(run.getValue().getDirectory()).isEqualTo(DIRECTORY.resolve("export-7").toString());
+    verify(dataExportEngine).process(7L);
+  }
+
+  @Test
+  @DisplayName("Should reject a start while another export holds the lease")
+  void startExport_whenLeaseHeld_shouldThrow() {
+    // Given
+    when(jobLeaseManager.tryAcquire(eq(DataExportEngine.LEASE_NAME), any(Duration.class)))
+        .thenReturn(false);
+
+    // When & Then
+    assertThatThrownBy(() -> dataExportService.startExport())
+        .isInstanceOf(BusinessRuleViolationException.class)
+        .hasMessage("Another export is in progress");
+    verify(exportRunRepository, never()).save(any());
+  }
+
+  @Test
+  @DisplayName("Should release the lease if the run cannot be saved")
+  void startExport_whenSaveFails_shouldReleaseLease() {
+    // Given
+    when(jobLeaseManager.tryAcquire(eq(DataExportEngine.LEASE_NAME), any(Duration.class)))
+        .thenReturn(true);
+    when(exportRunRepository.save(any(ExportRun.class)))
+        .thenThrow(new IllegalStateException("Database down"));
+
+    // When & Then
+    assertThatThrownBy(() -> dataExportService.startExport())
+        .isInstanceOf(IllegalStateException.class);
+    verify(jobLeaseManager).release(DataExportEngine.LEASE_NAME);
+    verify(dataExportEngine, never()).process(any());
+  }
+
+  @Test
+  @DisplayName("Should return empty for an unknown export")
+  void findExport_whenMissing_shouldReturnEmpty() {
+    // Given
+    when(exportRunRepository.findById(99L)).thenReturn(Optional.empty());
+
+    // When & Then
+    assertThat(dataExportService.findExport(99L)).isEmpty();
+  }
+}
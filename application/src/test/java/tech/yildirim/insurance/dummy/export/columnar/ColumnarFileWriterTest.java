@@ -0,0 +1,122 @@
+package tech.yildirim.insurance.dummy.export.columnar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("Columnar File Writer Unit Tests")
+class ColumnarFileWriterTest {
+
+  private static final List<Column> COLUMNS =
+      List.of(
+          Column.longColumn("id"),
+          Column.enumColumn("status", List.of("OPEN", "CLOSED")),
+          Column.decimalColumn("amount", 2),
+          Column.dateColumn("day"),
+          Column.timestampColumn("at"),
+          Column.stringColumn("note"));
+
+  @TempDir private Path directory;
+
+  @Test
+  @DisplayName("Should read back every value and null across several row groups")
+  void write_shouldRoundTripValuesAcrossRowGroups() throws IOException {
+    // Given: Five rows in row groups of two, with descending ids and nulls in every column
+    Path file = directory.resolve("values.icol");
+    OffsetDateTime at = OffsetDateTime.of(2026, 1, 2, 3, 4, 5, 123_456_000, ZoneOffset.UTC);
+    Object[][] rows = {
+      {9L, "OPEN", new BigDecimal("12.5"), LocalDate.of(2026, 1, 1), at, "Grüße"},
+      {7L, "CLOSED", new BigDecimal("-0.01"), LocalDate.of(1969, 12, 31), at.minusDays(1), ""},
+      {null, null, null, null, null, null},
+      {Long.MIN_VALUE, "OPEN", new BigDecimal("99999999.99"), null, at, "x"},
+      {Long.MAX_VALUE, "CLOSED", BigDecimal.ZERO, LocalDate.of(2026, 1, 1), null, null}
+    };
+
+    // When
+    try (ColumnarFileWriter writer =
+        new ColumnarFileWriter(Files.newOutputStream(file), COLUMNS, 2)) {
+      for (Object[] row : rows) {
+        writer.write(row);
+      }
+      assertThat(writer.rowCount()).isEqualTo(5);
+    }
+
+    // Then: Decimals keep the scale of their column
+    ColumnarFileReader reader = ColumnarFileReader.open(file);
+    assertThat(reader.columns()).isEqualTo(COLUMNS);
+    assertThat(reader.rowCount()).isEqualTo(5);
+    List<Object[]> read = reader.rows();
+    assertThat(read).hasSize(5);
+    assertThat(read.get(0))
+        .containsExactly(
+            9L, "OPEN", new BigDecimal("12.50"), LocalDate.of(2026, 1, 1), at, "Grüße");
+    assertThat(read.get(1))
+        .containsExactly(
+            7L,
+            "CLOSED",
+            new BigDecimal("-0.01"),
+            LocalDate.of(1969, 12, 31),
+            at.minusDays(1),
+            "");
+    assertThat(read.get(2)).containsOnlyNulls();
+    assertThat(read.get(3))
+        .containsExactly(
+            Long.MIN_VALUE, "OPEN", new BigDecimal("99999999.99"), null, at, "x");
+    assertThat(read.get(4))
+        .containsExactly(
+            Long.MAX_VALUE, "CLOSED", new BigDecimal("0.00"), LocalDate.of(2026, 1, 1), null, null);
+  }
+
+  @Test
+  @DisplayName("Should store ascending ids and dictionary values in a fraction of their size")
+  void write_shouldCompressRepetitiveColumns() throws IOException {
+    // Given
+    Path file = directory.resolve("compressed.icol");
+    List<Column> columns =
+        List.of(Column.longColumn("id"), Column.enumColumn("status", List.of("OPEN", "CLOSED")));
+
+    // When: 100,000 rows, i.e. 1.6 MB as two plain 64-bit columns
+    try (ColumnarFileWriter writer =
+        new ColumnarFileWriter(Files.newOutputStream(file), columns, 65_536)) {
+      for (long id = 1; id <= 100_000; id++) {
+        writer.write(id, id % 10 == 0 ? "CLOSED" : "OPEN");
+      }
+    }
+
+    // Then
+    assertThat(Files.size(file)).isLessThan(50_000);
+    List<Object[]> rows = ColumnarFileReader.open(file).rows();
+    assertThat(rows.get(99_999)).containsExactly(100_000L, "CLOSED");
+  }
+
+  @Test
+  @DisplayName("Should refuse values that do not fit their column")
+  void write_withMisfitValues_shouldThrow() throws IOException {
+    Path file = directory.resolve("misfit.icol");
+    try (ColumnarFileWriter writer =
+        new ColumnarFileWriter(Files.newOutputStream(file), COLUMNS, 2)) {
+      // When & Then
+      assertThatThrownBy(() -> writer.write(1L, "PENDING", null, null, null, null))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Value PENDING does not fit column status: not in the dictionary");
+      assertThatThrownBy(
+              () -> writer.write(1L, null, new BigDecimal("0.001"), null, null, null))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageStartingWith("Value 0.001 does not fit column amount");
+      assertThatThrownBy(() -> writer.write(1L))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("The row has 1 values, the file 6 columns");
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import tech.yildirim.insurance.api.generated.model.ChangeEventDto;
+import tech.yildirim.insurance.api.generated.model.ChangeFeedDto;
+
+@WebMvcTest(ChangeFeedController.class)
+@DisplayName("Change Feed Controller Web Layer Tests")
+class ChangeFeedControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ChangeFeedService changeFeedService;
+
+  @TestConfiguration
+  static class ControllerTestConfig {
+    @Bean
+    public ChangeFeedService changeFeedService() {
+      return Mockito.mock(ChangeFeedService.class);
+    }
+  }
+
+  @Test
+  @DisplayName("GET /changes - Should return the changes after the given sequence")
+  void getChanges_shouldReturnFeed() throws Exception {
+    // Given: One change after sequence 41
+    ChangeEventDto event =
+        new ChangeEventDto()
+            .sequence(42L)
+            .aggregateType(ChangeEventDto.AggregateTypeEnum.POLICY)
+            .aggregateId(101L)
+            .eventType(ChangeEventDto.EventTypeEnum.POLICY_UPDATED)
+            .payload(Map.of("id", 101));
+    when(changeFeedService.getChanges(41L, 10, Duration.ofSeconds(20)))
+        .thenReturn(new ChangeFeedDto().events(List.of(event)).nextSince(42L));
+
+    // When & Then
+    mockMvc
+        .perform(get("/changes").param("since", "41").param("limit", "10").param("wait", "20"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.nextSince", is(42)))
+        .andExpect(jsonPath("$.events[0].eventType", is("POLICY_UPDATED")))
+        .andExpect(jsonPath("$.events[0].payload.id", is(101)));
+  }
+
+  @Test
+  @DisplayName("GET /changes - Should read from the start without waiting by default")
+  void getChanges_withoutParameters_shouldUseDefaults() throws Exception {
+    // Given: An empty feed
+    when(changeFeedService.getChanges(0L, 100, Duration.ZERO))
+        .thenReturn(new ChangeFeedDto().events(List.of()).nextSince(0L));
+
+    // When & Then
+    mockMvc
+        .perform(get("/changes"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.nextSince", is(0)));
+  }
+
+  @Test
+  @DisplayName("GET /changes - Should reject a wait time above 30 seconds with 400")
+  void getChanges_withTooLongWait_shouldReturnBadRequest() throws Exception {
+    // When & Then
+    mockMvc
+        .perform(get("/changes").param("wait", "31"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.details.wait", is("must be less than or equal to 30")));
+    verify(changeFeedService, never())
+        .getChanges(anyLong(), anyInt(), eq(Duration.ofSeconds(31)));
+  }
+}
@@ -0,0 +1,51 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tech.yildirim.insurance.api.generated.model.ChangeEventDto;
+import tech.yildirim.insurance.api.generated.model.ChangeFeedDto;
+import tech.yildirim.insurance.api.generated.model.PolicyDto;
+import tech.yildirim.insurance.dummy.policy.PolicyService;
+
+/** Runs against the Flyway-migrated schema and sample data. */
+@SpringBootTest
+@DisplayName("Change Feed Integration Tests")
+class ChangeFeedIntegrationTests {
+
+  @Autowired private PolicyService policyService;
+  @Autowired private OutboxRelay outboxRelay;
+  @Autowired private OutboxEventRepository outboxEventRepository;
+  @Autowired private ChangeFeedService changeFeedService;
+
+  @Test
+  @DisplayName("Should publish a policy change to the change feed after it is committed")
+  void updatePolicy_shouldAppearInChangeFeed() {
+    // Given: A reader that has seen everything published so far
+    long since = outboxEventRepository.findLastSequence();
+    PolicyDto policy = policyService.findPolicyById(102L).orElseThrow();
+
+    // When: The policy is saved and the relay runs
+    policyService.updatePolicy(102L, policy);
+    outboxRelay.relayPending();
+
+    // Then: The reader gets the change with the policy as payload
+    ChangeFeedDto feed = changeFeedService.getChanges(since, 100, Duration.ofSeconds(5));
+    assertThat(feed.getEvents())
+        .filteredOn(event -> event.getAggregateId() == 102L)
+        .singleElement()
+        .satisfies(
+            event -> {
+              assertThat(event.getEventType())
+                  .isEqualTo(ChangeEventDto.EventTypeEnum.POLICY_UPDATED);
+              assertThat(event.getSequence()).isGreaterThan(since);
+              assertThat(event.getPayload().toString())
+                  .contains("\"policyNumber\":\"" + policy.getPolicyNumber() + "\"");
+            });
+    assertThat(feed.getNextSince()).isEqualTo(feed.getEvents().getLast().getSequence());
+  }
+}
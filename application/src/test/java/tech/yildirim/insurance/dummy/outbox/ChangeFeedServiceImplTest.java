@@ -0,0 +1,102 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import tech.yildirim.insurance.api.generated.model.ChangeEventDto;
+import tech.yildirim.insurance.api.generated.model.ChangeFeedDto;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Change Feed Service Unit Tests")
+class ChangeFeedServiceImplTest {
+
+  @Mock private OutboxEventRepository outboxEventRepository;
+
+  private final ChangeFeedNotifier notifier = new ChangeFeedNotifier();
+  private ChangeFeedServiceImpl changeFeedService;
+
+  @BeforeEach
+  void setUp() {
+    // A long poll interval makes the tests depend on the notifier, not on re-polling
+    changeFeedService =
+        new ChangeFeedServiceImpl(
+            outboxEventRepository,
+            Mappers.getMapper(OutboxEventMapper.class),
+            notifier,
+            Duration.ofMinutes(1));
+  }
+
+  @Test
+  @DisplayName("Should return published events without waiting")
+  void getChanges_whenEventsExist_shouldReturnThem() {
+    // Given: Two events after the requested position
+    when(outboxEventRepository.findPublishedAfter(5L, Limit.of(100)))
+        .thenReturn(List.of(event(6L), event(7L)));
+
+    // When: The feed is read
+    ChangeFeedDto feed = changeFeedService.getChanges(5L, 100, Duration.ofSeconds(30));
+
+    // Then: The events are returned with the position of the last one
+    assertThat(feed.getEvents()).extracting(ChangeEventDto::getSequence).containsExactly(6L, 7L);
+    assertThat(feed.getNextSince()).isEqualTo(7L);
+  }
+
+  @Test
+  @DisplayName("Should return an empty page at the same position when nothing is published")
+  void getChanges_whenNothingPublished_shouldReturnEmptyAfterWait() {
+    // Given: No events after the requested position
+    when(outboxEventRepository.findPublishedAfter(eq(5L), any(Limit.class))).thenReturn(List.of());
+
+    // When: The feed is read with a short wait
+    ChangeFeedDto feed = changeFeedService.getChanges(5L, 100, Duration.ofMillis(50));
+
+    // Then: The reader keeps its position
+    assertThat(feed.getEvents()).isEmpty();
+    assertThat(feed.getNextSince()).isEqualTo(5L);
+  }
+
+  @Test
+  @DisplayName("Should wake up a long poll as soon as events are published")
+  void getChanges_whenEventsArePublishedWhileWaiting_shouldReturnThem() throws Exception {
+    // Given: Nothing is published at first, then an event
+    when(outboxEventRepository.findPublishedAfter(eq(5L), any(Limit.class)))
+        .thenReturn(List.of())
+        .thenReturn(List.of(event(6L)));
+
+    // When: A reader long-polls and the relay publishes meanwhile
+    CompletableFuture<ChangeFeedDto> poll =
+        CompletableFuture.supplyAsync(
+            () -> changeFeedService.getChanges(5L, 100, Duration.ofSeconds(30)));
+    Thread.sleep(100);
+    notifier.signalPublished();
+
+    // Then: The reader gets the event long before its wait time is up
+    ChangeFeedDto feed = poll.get(5, TimeUnit.SECONDS);
+    assertThat(feed.getEvents()).extracting(ChangeEventDto::getSequence).containsExactly(6L);
+    verify(outboxEventRepository, times(2)).findPublishedAfter(eq(5L), any(Limit.class));
+  }
+
+  private static OutboxEvent event(long sequence) {
+    OutboxEvent event =
+        new OutboxEvent(OutboxEventType.POLICY_UPDATED, 101L, "{}", ZonedDateTime.now());
+    event.setSequence(sequence);
+    return event;
+  }
+}
@@ -0,0 +1,44 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.yildirim.insurance.api.generated.model.ChangeEventDto;
+
+@DisplayName("File Outbox Sink Unit Tests")
+class FileOutboxSinkTest {
+
+  @TempDir private Path directory;
+
+  @Test
+  @DisplayName("Should append each event as one JSON line")
+  void publish_shouldAppendNdjson() throws Exception {
+    // Given: A sink writing to a file in a directory that does not exist yet
+    Path file = directory.resolve("outbox/events.ndjson");
+    FileOutboxSink sink = new FileOutboxSink(file, new ObjectMapper());
+
+    // When: Two batches are published
+    sink.publish(List.of(event(1L), event(2L)));
+    sink.publish(List.of(event(3L)));
+
+    // Then: The file holds one line per event, in order
+    List<String> lines = Files.readAllLines(file);
+    assertThat(lines).hasSize(3);
+    assertThat(lines.get(0)).contains("\"sequence\":1").contains("\"eventType\":\"CLAIM_UPDATED\"");
+    assertThat(lines.get(2)).contains("\"sequence\":3");
+  }
+
+  private static ChangeEventDto event(long sequence) {
+    return new ChangeEventDto()
+        .sequence(sequence)
+        .aggregateType(ChangeEventDto.AggregateTypeEnum.CLAIM)
+        .aggregateId(1001L)
+        .eventType(ChangeEventDto.EventTypeEnum.CLAIM_UPDATED);
+  }
+}
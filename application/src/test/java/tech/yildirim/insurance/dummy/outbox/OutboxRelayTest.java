@@ -0,0 +1,122 @@
+package tech.yildirim.insurance.dummy.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.yildirim.insurance.api.generated.model.ChangeEventDto;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseRepository;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Outbox Relay Integration Tests")
+class OutboxRelayTest {
+
+  @Autowired private OutboxEventRepository outboxEventRepository;
+  @Autowired private JobLeaseRepository jobLeaseRepository;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private final InMemoryOutboxSink sink = new InMemoryOutboxSink(100);
+  private final ChangeFeedNotifier notifier = new ChangeFeedNotifier();
+  private OutboxRelay relay;
+
+  @BeforeEach
+  void setUp() {
+    // A batch size of two makes the relay publish in several batches
+    relay =
+        new OutboxRelay(
+            outboxEventRepository,
+            Mappers.getMapper(OutboxEventMapper.class),
+            sink,
+            notifier,
+            new JobLeaseManager(jobLeaseRepository),
+            transactionManager,
+            2,
+            Duration.ofMinutes(1));
+  }
+
+  @Test
+  @DisplayName("Should publish pending events in write order and number them without gaps")
+  void relayPending_shouldPublishAndNumberEvents() {
+    // Given: Three unpublished events
+    OutboxEvent submitted = append(OutboxEventType.CLAIM_SUBMITTED, 1001L);
+    OutboxEvent created = append(OutboxEventType.POLICY_CREATED, 101L);
+    OutboxEvent deleted = append(OutboxEventType.CLAIM_DELETED, 1001L);
+
+    // When: The relay runs
+    long published = relay.relayPending();
+
+    // Then: All events reached the sink in the order they were written, with their payload
+    assertThat(published).isEqualTo(3);
+    assertThat(sink.events())
+        .extracting(ChangeEventDto::getSequence, ChangeEventDto::getEventType)
+        .containsExactly(
+            tuple(1L, ChangeEventDto.EventTypeEnum.CLAIM_SUBMITTED),
+            tuple(2L, ChangeEventDto.EventTypeEnum.POLICY_CREATED),
+            tuple(3L, ChangeEventDto.EventTypeEnum.CLAIM_DELETED));
+    assertThat(sink.events().getFirst().getAggregateType())
+        .isEqualTo(ChangeEventDto.AggregateTypeEnum.CLAIM);
+    assertThat(sink.events().getFirst().getPayload().toString()).isEqualTo("{\"id\":1001}");
+
+    // And: The events are numbered, so the next run has nothing left to publish
+    assertThat(submitted.getSequence()).isEqualTo(1L);
+    assertThat(created.getSequence()).isEqualTo(2L);
+    assertThat(deleted.getSequence()).isEqualTo(3L);
+    assertThat(deleted.getPublishedAt()).isNotNull();
+    assertThat(outboxEventRepository.findUnpublished(Limit.of(10))).isEmpty();
+    assertThat(relay.relayPending()).isZero();
+
+    // And: Long-polling readers were woken up once per batch
+    assertThat(notifier.generation()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should continue the sequence of earlier batches")
+  void relayPending_shouldContinueSequence() {
+    // Given: A published event and a new one
+    append(OutboxEventType.POLICY_CREATED, 101L);
+    relay.relayPending();
+    OutboxEvent updated = append(OutboxEventType.POLICY_UPDATED, 101L);
+
+    // When: The relay runs again
+    relay.relayPending();
+
+    // Then: The new event follows the last published one
+    assertThat(updated.getSequence()).isEqualTo(2L);
+    assertThat(outboxEventRepository.findPublishedAfter(1L, Limit.of(10)))
+        .containsExactly(updated);
+  }
+
+  @Test
+  @DisplayName("Should not publish while another node holds the lease")
+  void relayPending_whenLeaseHeldElsewhere_shouldSkip() {
+    // Given: A pending event and another node relaying
+    OutboxEvent event = append(OutboxEventType.CLAIM_UPDATED, 1001L);
+    new JobLeaseManager(jobLeaseRepository)
+        .tryAcquire(OutboxRelay.LEASE_NAME, Duration.ofMinutes(1));
+
+    // When: The relay runs on this node
+    long published = relay.relayPending();
+
+    // Then: Nothing was published
+    assertThat(published).isZero();
+    assertThat(sink.events()).isEmpty();
+    assertThat(event.getSequence()).isNull();
+  }
+
+  private OutboxEvent append(OutboxEventType type, Long aggregateId) {
+    return outboxEventRepository.save(
+        new OutboxEvent(type, aggregateId, "{\"id\":" + aggregateId + "}", ZonedDateTime.now()));
+  }
+}
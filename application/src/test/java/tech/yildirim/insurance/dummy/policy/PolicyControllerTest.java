@@ -1,18 +1,29 @@
 package tech.yildirim.insurance.dummy.policy;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
@@ -25,21 +36,39 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
 import tech.yildirim.insurance.api.generated.model.AutoClaimDto;
 import tech.yildirim.insurance.api.generated.model.ClaimDto;
 import tech.yildirim.insurance.api.generated.model.HealthClaimDto;
 import tech.yildirim.insurance.api.generated.model.HomeClaimDto;
+import tech.yildirim.insurance.api.generated.model.ImportErrorDto;
+import tech.yildirim.insurance.api.generated.model.ImportResultDto;
 import tech.yildirim.insurance.api.generated.model.PolicyConditionsDto;
 import tech.yildirim.insurance.api.generated.model.PolicyDto;
+import tech.yildirim.insurance.api.generated.model.PremiumQuoteDto;
+import tech.yildirim.insurance.api.generated.model.PremiumQuoteRequestDto;
+import tech.yildirim.insurance.api.generated.model.RenewalRequestDto;
+import tech.yildirim.insurance.api.generated.model.RenewalRunDto;
 import tech.yildirim.insurance.dummy.claim.ClaimService;
+import tech.yildirim.insurance.dummy.common.BusinessRuleViolationException;
 import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+import tech.yildirim.insurance.dummy.common.concurrent.SingleFlight;
+import tech.yildirim.insurance.dummy.common.idempotency.IdempotencyStore;
+import tech.yildirim.insurance.dummy.common.idempotency.IdempotentRequests;
+import tech.yildirim.insurance.dummy.common.importing.ImportFormat;
 import tech.yildirim.insurance.dummy.policy.condition.PolicyConditionsService;
+import tech.yildirim.insurance.dummy.policy.importing.PolicyImportService;
+import tech.yildirim.insurance.dummy.policy.rating.RatingService;
+import tech.yildirim.insurance.dummy.policy.renewal.PolicyRenewalService;
 
 @WebMvcTest(PolicyController.class)
 @DisplayName("Policy Controller Web Layer Tests")
 class PolicyControllerTest {
 
+  private static final MediaType CBOR = MediaType.valueOf("application/cbor");
+
   @Autowired private MockMvc mockMvc;
 
   @Autowired private PolicyService policyService;
@@ -48,6 +77,14 @@ class PolicyControllerTest {
 
   @Autowired private ClaimService claimService;
 
+  @Autowired private PolicyRenewalService policyRenewalService;
+
+  @Autowired private RatingService ratingService;
+
+  @Autowired private PolicyImportService policyImportService;
+
+  @Autowired private IdempotencyStore idempotencyStore;
+
   @Autowired private ObjectMapper objectMapper;
 
   @TestConfiguration
@@ -66,6 +103,43 @@ class PolicyControllerTest {
     public PolicyConditionsService policyConditionsService() {
       return Mockito.mock(PolicyConditionsService.class);
     }
+
+    @Bean
+    public PolicyRenewalService policyRenewalService() {
+      return Mockito.mock(PolicyRenewalService.class);
+    }
+
+    @Bean
+    public RatingService ratingService() {
+      return Mockito.mock(RatingService.class);
+    }
+
+    @Bean
+    public PolicyImportService policyImportService() {
+      return Mockito.mock(PolicyImportService.class);
+    }
+
+    @Bean
+    public IdempotencyStore idempotencyStore() {
+      return Mockito.mock(IdempotencyStore.class);
+    }
+
+    @Bean
+    public IdempotentRequests idempotentRequests(
+        IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
+      return new IdempotentRequests(
+          idempotencyStore,
+          objectMapper,
+          Mockito.mock(PlatformTransactionManager.class),
+          Duration.ofHours(24),
+          Duration.ofMinutes(1),
+          100);
+    }
+
+    @Bean
+    public SingleFlight singleFlight() {
+      return new SingleFlight(new SimpleMeterRegistry());
+    }
   }
 
   @Test
@@ -94,6 +168,81 @@ class PolicyControllerTest {
     mockMvc.perform(get("/policies/{id}", 99L)).andExpect(status().isNotFound());
   }
 
+  @Test
+  @DisplayName("GET /policies - Should return CBOR when the client accepts application/cbor")
+  void getAllPolicies_whenCborAccepted_shouldReturnCbor() throws Exception {
+    // Given: Two policies are available
+    when(policyService.findAllPolicies(isNull()))
+        .thenReturn(
+            List.of(
+                new PolicyDto().id(1L).policyNumber("POL-1"),
+                new PolicyDto().id(2L).policyNumber("POL-2")));
+
+    // When: The list is requested in the binary representation
+    byte[] body =
+        mockMvc
+            .perform(get("/policies").accept(CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(CBOR))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+    // Then: The body decodes to the same policies
+    JsonNode policies = new CBORMapper().readTree(body);
+    assertThat(policies).hasSize(2);
+    assertThat(policies.get(1).get("policyNumber").asText()).isEqualTo("POL-2");
+  }
+
+  @Test
+  @DisplayName("GET /policies - Should keep returning JSON by default")
+  void getAllPolicies_withoutAcceptHeader_shouldReturnJson() throws Exception {
+    when(policyService.findAllPolicies(isNull())).thenReturn(List.of(new PolicyDto().id(1L)));
+
+    mockMvc
+        .perform(get("/policies"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$", hasSize(1)));
+  }
+
+  @Test
+  @DisplayName("GET /policies?fields= - Should return only the requested fields and the id")
+  void getAllPolicies_withFields_shouldReturnSparseFieldset() throws Exception {
+    // Given: A fully populated policy
+    List<String> fields = List.of("policyNumber", "status");
+    when(policyService.findAllPolicies(fields))
+        .thenReturn(
+            List.of(
+                new PolicyDto()
+                    .id(1L)
+                    .policyNumber("POL-1")
+                    .status(PolicyDto.StatusEnum.ACTIVE)
+                    .premium(BigDecimal.TEN)
+                    .customerId(5L)));
+
+    // When & Then: Only the id and the requested fields are serialized
+    mockMvc
+        .perform(get("/policies").param("fields", "policyNumber,status"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id", is(1)))
+        .andExpect(jsonPath("$[0].policyNumber", is("POL-1")))
+        .andExpect(jsonPath("$[0].status", is("ACTIVE")))
+        .andExpect(jsonPath("$[0].premium").doesNotExist())
+        .andExpect(jsonPath("$[0].customerId").doesNotExist());
+  }
+
+  @Test
+  @DisplayName("GET /policies/{id}?fields= - Should return 400 Bad Request for unknown fields")
+  void getPolicyById_withUnknownField_shouldReturnBadRequest() throws Exception {
+    when(policyService.findPolicyById(1L)).thenReturn(Optional.of(new PolicyDto().id(1L)));
+
+    mockMvc
+        .perform(get("/policies/{id}", 1L).param("fields", "premium,secretNotes"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", containsString("secretNotes")));
+  }
+
   @Test
   @DisplayName("POST /policies - Should return 201 Created for a valid request")
   void createPolicy_withValidData_shouldReturnCreated() throws Exception {
@@ -126,6 +275,30 @@ class PolicyControllerTest {
         .andExpect(jsonPath("$.status", is("PENDING")));
   }
 
+  @Test
+  @DisplayName("POST /policies - Should return 409 while a request with the same key is processed")
+  void createPolicy_whileSameKeyInProgress_shouldReturnConflict() throws Exception {
+    // Given: Another node holds the key
+    PolicyDto inputDto =
+        new PolicyDto()
+            .customerId(1L)
+            .startDate(LocalDate.now())
+            .endDate(LocalDate.now().plusYears(1))
+            .premium(new BigDecimal("100.00"))
+            .type(PolicyDto.TypeEnum.HEALTH);
+    when(idempotencyStore.tryStart(eq("createPolicy:busy-1"), any(), any())).thenReturn(false);
+    when(idempotencyStore.find("createPolicy:busy-1")).thenReturn(Optional.empty());
+
+    // When & Then
+    mockMvc
+        .perform(
+            post("/policies")
+                .header("Idempotency-Key", "busy-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(inputDto)))
+        .andExpect(status().isConflict());
+  }
+
   @Test
   @DisplayName("POST /policies - Should return 404 Not Found when customer does not exist")
   void createPolicy_forNonExistentCustomer_shouldReturnNotFound() throws Exception {
@@ -180,7 +353,7 @@ class PolicyControllerTest {
             .typeOfDamage("Water damage");
 
     List<ClaimDto> allClaims = List.of(autoClaim1, autoClaim2, homeClaim);
-    when(claimService.findClaimsByPolicyId(policyId)).thenReturn(allClaims);
+    when(claimService.findClaimsByPolicyId(eq(policyId), isNull())).thenReturn(allClaims);
 
     // When & Then
     mockMvc
@@ -204,7 +377,7 @@ class PolicyControllerTest {
     HomeClaimDto homeClaim = new HomeClaimDto().id(1L).claimNumber("HOME-001").policyId(policyId);
 
     List<ClaimDto> allClaims = List.of(homeClaim);
-    when(claimService.findClaimsByPolicyId(policyId)).thenReturn(allClaims);
+    when(claimService.findClaimsByPolicyId(eq(policyId), isNull())).thenReturn(allClaims);
 
     // When & Then
     mockMvc
@@ -238,7 +411,7 @@ class PolicyControllerTest {
     AutoClaimDto autoClaim = new AutoClaimDto().id(3L).claimNumber("AUTO-001").policyId(policyId);
 
     List<ClaimDto> allClaims = List.of(homeClaim1, homeClaim2, autoClaim);
-    when(claimService.findClaimsByPolicyId(policyId)).thenReturn(allClaims);
+    when(claimService.findClaimsByPolicyId(eq(policyId), isNull())).thenReturn(allClaims);
 
     // When & Then
     mockMvc
@@ -252,6 +425,40 @@ class PolicyControllerTest {
         .andExpect(jsonPath("$[1].claimNumber", is("HOME-002")));
   }
 
+  @Test
+  @DisplayName("GET /policies/{policyId}/auto-claims?fields= - Should reject home claim fields")
+  void getAutoClaimsByPolicyId_withHomeClaimField_shouldReturnBadRequest() throws Exception {
+    // Given: The policy has a home claim ahead of an auto claim
+    List<String> fields = List.of("damagedItems");
+    when(claimService.findClaimsByPolicyId(1L, fields))
+        .thenReturn(
+            List.of(
+                new HomeClaimDto().id(1L).damagedItems("Sofa"),
+                new AutoClaimDto().id(2L).licensePlate("AB-123")));
+
+    // When & Then: The field is checked against the auto claim type the endpoint returns
+    mockMvc
+        .perform(get("/policies/{policyId}/auto-claims", 1L).param("fields", "damagedItems"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", containsString("damagedItems")));
+  }
+
+  @Test
+  @DisplayName("GET /policies/{policyId}/home-claims?fields= - Should check fields of an empty list")
+  void getHomeClaimsByPolicyId_withFieldsOnEmptyList_shouldValidateFields() throws Exception {
+    // Given: The policy has no claims
+    when(claimService.findClaimsByPolicyId(eq(1L), any())).thenReturn(List.of());
+
+    // When & Then: Known fields are accepted and unknown fields are rejected
+    mockMvc
+        .perform(get("/policies/{policyId}/home-claims", 1L).param("fields", "damagedItems"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(0)));
+    mockMvc
+        .perform(get("/policies/{policyId}/home-claims", 1L).param("fields", "bogus"))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   @DisplayName("GET /policies/{policyId}/health-claims - Should return health claims for policy")
   void getHealthClaimsByPolicyId_shouldReturnHealthClaims() throws Exception {
@@ -277,7 +484,7 @@ class PolicyControllerTest {
     AutoClaimDto autoClaim = new AutoClaimDto().id(3L).claimNumber("AUTO-001").policyId(policyId);
 
     List<ClaimDto> allClaims = List.of(healthClaim1, healthClaim2, autoClaim);
-    when(claimService.findClaimsByPolicyId(policyId)).thenReturn(allClaims);
+    when(claimService.findClaimsByPolicyId(eq(policyId), isNull())).thenReturn(allClaims);
 
     // When & Then
     mockMvc
@@ -300,7 +507,7 @@ class PolicyControllerTest {
     AutoClaimDto autoClaim = new AutoClaimDto().id(1L).claimNumber("AUTO-001").policyId(policyId);
 
     List<ClaimDto> allClaims = List.of(autoClaim);
-    when(claimService.findClaimsByPolicyId(policyId)).thenReturn(allClaims);
+    when(claimService.findClaimsByPolicyId(eq(policyId), isNull())).thenReturn(allClaims);
 
     // When & Then
     mockMvc
@@ -350,4 +557,122 @@ class PolicyControllerTest {
         .andExpect(status().isOk())
         .andExpect(jsonPath("$.freeCancellationDays", is(30)));
   }
+
+  @Test
+  @DisplayName("POST /policies/renewals - Should start a renewal run and return 202 ACCEPTED")
+  void startPolicyRenewal_shouldReturn202Accepted() throws Exception {
+    // Given: The service starts a run for the requested window
+    RenewalRequestDto requestDto =
+        new RenewalRequestDto()
+            .expiringFrom(LocalDate.of(2026, 1, 1))
+            .expiringTo(LocalDate.of(2026, 1, 31));
+    RenewalRunDto runDto = new RenewalRunDto().id(7L).status(RenewalRunDto.StatusEnum.RUNNING);
+    when(policyRenewalService.startRenewal(any(RenewalRequestDto.class))).thenReturn(runDto);
+
+    // When & Then
+    mockMvc
+        .perform(
+            post("/policies/renewals")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto)))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.id", is(7)))
+        .andExpect(jsonPath("$.status", is("RUNNING")));
+  }
+
+  @Test
+  @DisplayName("GET /policies/renewals/{id} - Should return 404 NOT FOUND for an unknown run")
+  void getPolicyRenewal_whenNotFound_shouldReturn404() throws Exception {
+    // Given: The run does not exist
+    when(policyRenewalService.findRenewalRun(99L)).thenReturn(Optional.empty());
+
+    // When & Then
+    mockMvc.perform(get("/policies/renewals/{id}", 99L)).andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("POST /policies/renewals/{id}/resume - Should return 400 for a completed run")
+  void resumePolicyRenewal_whenCompleted_shouldReturn400() throws Exception {
+    // Given: The run has already completed
+    when(policyRenewalService.resumeRenewal(7L))
+        .thenThrow(new BusinessRuleViolationException("Renewal run 7 has already completed"));
+
+    // When & Then
+    mockMvc
+        .perform(post("/policies/renewals/{id}/resume", 7L))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("POST /policies/quotes - Should return one quote per risk with 200 OK")
+  void quotePremiums_shouldReturnQuotes() throws Exception {
+    // Given: Two risks and their quotes
+    List<PremiumQuoteRequestDto> requests =
+        List.of(
+            new PremiumQuoteRequestDto()
+                .type(PremiumQuoteRequestDto.TypeEnum.AUTO)
+                .dateOfBirth(LocalDate.of(1985, 4, 12))
+                .postalCode("80331"),
+            new PremiumQuoteRequestDto()
+                .type(PremiumQuoteRequestDto.TypeEnum.HOME)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .postalCode("10115")
+                .claimCount(1));
+    when(ratingService.quotePremiums(any()))
+        .thenReturn(
+            List.of(
+                new PremiumQuoteDto().premium(new BigDecimal("562.50")),
+                new PremiumQuoteDto().premium(new BigDecimal("414.00"))));
+
+    // When & Then
+    mockMvc
+        .perform(
+            post("/policies/quotes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[0].premium", is(562.50)))
+        .andExpect(jsonPath("$[1].premium", is(414.00)));
+  }
+
+  @Test
+  @DisplayName("POST /policies/import - Should import the uploaded file and return the result")
+  void importPolicies_shouldReturnResult() throws Exception {
+    // Given
+    MockMultipartFile file =
+        new MockMultipartFile(
+            "file",
+            "policies.ndjson",
+            "application/x-ndjson",
+            "{\"customerId\": 1}".getBytes());
+    when(policyImportService.importPolicies(eq(ImportFormat.NDJSON), any(InputStream.class)))
+        .thenReturn(
+            new ImportResultDto()
+                .processed(1L)
+                .imported(0L)
+                .rejected(1L)
+                .errors(List.of(new ImportErrorDto().line(1L).message("type is required")))
+                .errorsTruncated(false));
+
+    // When & Then
+    mockMvc
+        .perform(multipart("/policies/import").file(file).param("format", "ndjson"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rejected", is(1)))
+        .andExpect(jsonPath("$.errors[0].line", is(1)))
+        .andExpect(jsonPath("$.errors[0].message", is("type is required")));
+  }
+
+  @Test
+  @DisplayName("POST /policies/import - Should return 400 Bad Request for an unknown format")
+  void importPolicies_withUnknownFormat_shouldReturnBadRequest() throws Exception {
+    // Given
+    MockMultipartFile file = new MockMultipartFile("file", "policies.xml", "text/xml", new byte[1]);
+
+    // When & Then
+    mockMvc
+        .perform(multipart("/policies/import").file(file).param("format", "xml"))
+        .andExpect(status().isBadRequest());
+  }
 }
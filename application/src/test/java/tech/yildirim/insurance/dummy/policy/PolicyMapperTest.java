@@ -82,4 +82,37 @@ class PolicyMapperTest {
     assertThat(policyEntity.getCustomer())
         .isNull();
   }
+
+  @Test
+  @DisplayName("Should keep the rated premium when updating an entity from a DTO")
+  void shouldKeepPremiumWhenUpdatingFromDto() {
+    // Given: A rated policy and an update with another premium
+    Policy policyEntity =
+        new Policy(
+            1L,
+            "POL-TEST-001",
+            LocalDate.of(2025, 1, 1),
+            LocalDate.of(2025, 12, 31),
+            PolicyType.AUTO,
+            PolicyStatus.ACTIVE,
+            new BigDecimal("1200.50"),
+            testCustomer,
+            null,
+            null,
+            null);
+    PolicyDto policyDto =
+        new PolicyDto()
+            .startDate(LocalDate.of(2025, 1, 1))
+            .endDate(LocalDate.of(2026, 6, 30))
+            .type(PolicyDto.TypeEnum.AUTO)
+            .status(PolicyDto.StatusEnum.ACTIVE)
+            .premium(new BigDecimal("1.00"));
+
+    // When: Updating the entity
+    policyMapper.updatePolicyFromDto(policyDto, policyEntity);
+
+    // Then: The other fields are updated, the premium is not
+    assertThat(policyEntity.getEndDate()).isEqualTo(LocalDate.of(2026, 6, 30));
+    assertThat(policyEntity.getPremium()).isEqualByComparingTo("1200.50");
+  }
 }
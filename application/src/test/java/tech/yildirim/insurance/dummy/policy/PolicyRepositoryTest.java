@@ -4,6 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 import tech.yildirim.insurance.dummy.common.Address;
 import tech.yildirim.insurance.dummy.customer.Customer;
@@ -86,6 +90,7 @@ class PolicyRepositoryTest {
             "pass1",
             "john.doe@example.com",
             null,
+            null,
             null);
     Customer customer2 =
         new Customer(
@@ -97,6 +102,7 @@ class PolicyRepositoryTest {
             "pass2",
             "jane.smith@example.com",
             null,
+            null,
             null);
     testEntityManager.persist(customer1);
     testEntityManager.persist(customer2);
@@ -160,5 +166,101 @@ class PolicyRepositoryTest {
     // Then: Exactly one policy should be found
     assertThat(foundPolicies).hasSize(1);
     assertThat(foundPolicies.getFirst().getPolicyNumber()).isEqualTo("P003");
+
+    // When: Reading the summaries of customer1, whose policies have no agency
+    List<PolicySummary> summaries =
+        policyRepository.findSummariesByCustomerIdJoiningCustomer(customer1.getId());
+
+    // Then: The missing agency must not filter the rows out
+    assertThat(summaries)
+        .extracting(PolicySummary::getPolicyNumber)
+        .containsExactlyInAnyOrder("P001", "P002");
+    assertThat(summaries).allSatisfy(summary -> assertThat(summary.getAgencyId()).isNull());
+    assertThat(summaries)
+        .allSatisfy(summary -> assertThat(summary.getCustomerId()).isEqualTo(customer1.getId()));
+  }
+
+  @Test
+  @DisplayName("Should tell a missing customer apart from a customer without policies")
+  void shouldFindPoliciesByCustomerIdJoiningCustomer() {
+    // Given: A customer without any policy
+    Customer customer = new Customer();
+    customer.setFirstName("No");
+    customer.setLastName("Policies");
+    customer.setDateOfBirth(LocalDate.of(1990, 1, 1));
+    customer.setPassword("secret");
+    customer.setEmail("no.policies@example.com");
+    testEntityManager.persistAndFlush(customer);
+
+    // When & Then: The customer yields a single null element and a single empty summary
+    assertThat(policyRepository.findByCustomerIdJoiningCustomer(customer.getId()))
+        .containsExactly((Policy) null);
+    assertThat(policyRepository.findSummariesByCustomerIdJoiningCustomer(customer.getId()))
+        .singleElement()
+        .satisfies(summary -> assertThat(summary.getId()).isNull());
+
+    // And: An unknown customer yields no rows at all
+    assertThat(policyRepository.findByCustomerIdJoiningCustomer(-1L)).isEmpty();
+    assertThat(policyRepository.findSummariesByCustomerIdJoiningCustomer(-1L)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should page through policies changed at the same time without skipping any")
+  void shouldFindUpdatedAfterKeysetPosition() {
+    // Given: Three policies whose last update happened at the same instant
+    Customer customer = new Customer();
+    customer.setFirstName("Delta");
+    customer.setLastName("Reader");
+    customer.setDateOfBirth(LocalDate.of(1990, 1, 1));
+    customer.setPassword("secret");
+    customer.setEmail("delta.reader@example.com");
+    testEntityManager.persist(customer);
+    List<Policy> policies = new ArrayList<>();
+    for (String number : List.of("D001", "D002", "D003")) {
+      policies.add(
+          testEntityManager.persist(
+              new Policy(
+                  null,
+                  number,
+                  LocalDate.now(),
+                  LocalDate.now().plusYears(1),
+                  PolicyType.AUTO,
+                  PolicyStatus.ACTIVE,
+                  BigDecimal.TEN,
+                  customer,
+                  null,
+                  null,
+                  null)));
+    }
+    testEntityManager.flush();
+    ZonedDateTime updatedAt = ZonedDateTime.of(2026, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+    testEntityManager
+        .getEntityManager()
+        .createQuery("UPDATE Policy p SET p.updatedAt = :updatedAt WHERE p.customer = :customer")
+        .setParameter("updatedAt", updatedAt)
+        .setParameter("customer", customer)
+        .executeUpdate();
+    testEntityManager.clear();
+    ZonedDateTime until = updatedAt.plusMinutes(1);
+
+    // When: The first page of two is read from just before the update
+    List<Policy> firstPage =
+        policyRepository.findUpdatedAfter(updatedAt.minusSeconds(1), 0L, until, Limit.of(2));
+
+    // Then: It holds the first two policies in id order
+    assertThat(firstPage)
+        .extracting(Policy::getId)
+        .containsExactly(policies.get(0).getId(), policies.get(1).getId());
+
+    // When: The next page is read after the last policy of the first one
+    List<Policy> secondPage =
+        policyRepository.findUpdatedAfter(updatedAt, firstPage.get(1).getId(), until, Limit.of(2));
+
+    // Then: Only the remaining policy with the same update time is returned
+    assertThat(secondPage).extracting(Policy::getId).containsExactly(policies.get(2).getId());
+
+    // And: Changes at or after the upper bound are held back
+    assertThat(policyRepository.findUpdatedAfter(updatedAt, 0L, updatedAt, Limit.of(10)))
+        .isEmpty();
   }
 }
@@ -4,11 +4,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
@@ -18,10 +23,19 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import tech.yildirim.insurance.api.generated.model.PolicyDeltaDto;
 import tech.yildirim.insurance.api.generated.model.PolicyDto;
+import tech.yildirim.insurance.dummy.agency.Agency;
+import tech.yildirim.insurance.dummy.archive.ArchiveReader;
+import tech.yildirim.insurance.dummy.claim.report.ClaimRollupWriter;
 import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+import tech.yildirim.insurance.dummy.common.delta.DeltaWindow;
 import tech.yildirim.insurance.dummy.customer.Customer;
 import tech.yildirim.insurance.dummy.customer.CustomerRepository;
+import tech.yildirim.insurance.dummy.outbox.OutboxEventType;
+import tech.yildirim.insurance.dummy.outbox.OutboxWriter;
+import tech.yildirim.insurance.dummy.policy.rating.RatingService;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Policy Service Unit Tests")
@@ -33,6 +47,16 @@ class PolicyServiceImplTest {
 
   @Mock private PolicyMapper policyMapper;
 
+  @Mock private RatingService ratingService;
+
+  @Mock private OutboxWriter outboxWriter;
+
+  @Mock private DeltaWindow deltaWindow;
+
+  @Mock private ClaimRollupWriter claimRollupWriter;
+
+  @Mock private ArchiveReader archiveReader;
+
   @InjectMocks private PolicyServiceImpl policyService;
 
   @Test
@@ -49,6 +73,7 @@ class PolicyServiceImplTest {
     existingCustomer.setId(customerId);
 
     Policy policyToSave = new Policy();
+    policyToSave.setType(PolicyType.AUTO);
     Policy savedPolicy = new Policy();
     savedPolicy.setId(101L);
     savedPolicy.setPolicyNumber("POL-generated-123");
@@ -59,6 +84,8 @@ class PolicyServiceImplTest {
 
     when(customerRepository.findById(customerId)).thenReturn(Optional.of(existingCustomer));
     when(policyMapper.toEntity(inputDto)).thenReturn(policyToSave);
+    when(ratingService.ratePolicy(PolicyType.AUTO, existingCustomer, null))
+        .thenReturn(new BigDecimal("517.50"));
     when(policyRepository.save(any(Policy.class))).thenReturn(savedPolicy);
     when(policyMapper.toDto(savedPolicy)).thenReturn(finalDto);
 
@@ -77,6 +104,12 @@ class PolicyServiceImplTest {
     Policy capturedPolicy = policyArgumentCaptor.getValue();
     assertThat(capturedPolicy.getCustomer()).isEqualTo(existingCustomer);
     assertThat(capturedPolicy.getStatus()).isEqualTo(PolicyStatus.PENDING);
+
+    // And: The premium was rated instead of taken from the request
+    assertThat(capturedPolicy.getPremium()).isEqualByComparingTo("517.50");
+
+    // And: The new policy is recorded in the outbox
+    verify(outboxWriter).append(OutboxEventType.POLICY_CREATED, 101L, finalDto);
   }
 
   @Test
@@ -132,6 +165,32 @@ class PolicyServiceImplTest {
     // And: Verify the correct methods were called
     verify(policyMapper).updatePolicyFromDto(updateDto, existingPolicy);
     verify(policyRepository).save(existingPolicy);
+
+    // And: The agency did not change, so the claim rollups stay where they are
+    verify(claimRollupWriter, never()).moveClaimsOfPolicy(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should move the claim rollups when the agency is removed from a policy")
+  void updatePolicy_whenAgencyRemoved_shouldMoveClaimRollups() {
+    // Given: A policy sold by an agency and a DTO without agency
+    long policyId = 1L;
+    Agency agency = new Agency();
+    agency.setId(7L);
+    Policy existingPolicy = new Policy();
+    existingPolicy.setId(policyId);
+    existingPolicy.setAgency(agency);
+    PolicyDto updateDto = new PolicyDto().status(PolicyDto.StatusEnum.ACTIVE);
+
+    when(policyRepository.findById(policyId)).thenReturn(Optional.of(existingPolicy));
+    when(policyMapper.toDto(existingPolicy)).thenReturn(new PolicyDto().id(policyId));
+
+    // When: The update method is called
+    policyService.updatePolicy(policyId, updateDto);
+
+    // Then: The policy's claims are moved from the agency to the direct sales
+    assertThat(existingPolicy.getAgency()).isNull();
+    verify(claimRollupWriter).moveClaimsOfPolicy(policyId, 7L, null);
   }
 
   @Test
@@ -147,8 +206,7 @@ class PolicyServiceImplTest {
     List<PolicyDto> dtoList = List.of(dto1);
 
     // --- Mocking ---
-    when(customerRepository.existsById(customerId)).thenReturn(true);
-    when(policyRepository.findByCustomerId(customerId)).thenReturn(policies);
+    when(policyRepository.findByCustomerIdJoiningCustomer(customerId)).thenReturn(policies);
     when(policyMapper.toDtoList(policies)).thenReturn(dtoList);
 
     // When: The service method is called
@@ -164,7 +222,8 @@ class PolicyServiceImplTest {
   void findPoliciesByCustomerId_whenCustomerDoesNotExist_shouldThrowException() {
     // Given: A non-existent customer ID
     long nonExistentCustomerId = 99L;
-    when(customerRepository.existsById(nonExistentCustomerId)).thenReturn(false);
+    when(policyRepository.findByCustomerIdJoiningCustomer(nonExistentCustomerId))
+        .thenReturn(List.of());
 
     // When & Then: Assert that an exception is thrown
     assertThrows(
@@ -173,7 +232,108 @@ class PolicyServiceImplTest {
           policyService.findPoliciesByCustomerId(nonExistentCustomerId);
         });
 
-    // And: Verify that the policy repository was never queried
-    verify(policyRepository, never()).findByCustomerId(anyLong());
+    // And: Verify that no policies were mapped
+    verify(policyMapper, never()).toDtoList(any());
+  }
+
+  @Test
+  @DisplayName("Should return an empty list when the customer exists but has no policies")
+  void findPoliciesByCustomerId_whenCustomerHasNoPolicies_shouldReturnEmptyList() {
+    // Given: The left join returns the single null row of a customer without policies
+    List<Policy> rows = new ArrayList<>();
+    rows.add(null);
+    when(policyRepository.findByCustomerIdJoiningCustomer(1L)).thenReturn(rows);
+    when(policyMapper.toDtoList(List.of())).thenReturn(List.of());
+
+    // When: The service method is called
+    List<PolicyDto> result = policyService.findPoliciesByCustomerId(1L);
+
+    // Then: The customer is found and the list is empty
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should read policy summaries when the requested fields are covered")
+  void findAllPolicies_withCoveredFields_shouldUseSummaries() {
+    // Given: A summary row and its mapped DTO
+    PolicySummary summary = mock(PolicySummary.class);
+    List<PolicySummary> summaries = List.of(summary);
+    List<PolicyDto> dtoList = List.of(new PolicyDto().id(1L).policyNumber("POL-1"));
+    when(policyRepository.findAllSummaries()).thenReturn(summaries);
+    when(policyMapper.summariesToDtoList(summaries)).thenReturn(dtoList);
+
+    // When: Only the number and status are requested
+    List<PolicyDto> result = policyService.findAllPolicies(List.of("policyNumber", "status"));
+
+    // Then: The projection is used instead of loading entities
+    assertThat(result).isSameAs(dtoList);
+    verify(policyRepository, never()).findAll();
+  }
+
+  @Test
+  @DisplayName("Should load full policies when no fields are requested")
+  void findAllPolicies_withoutFields_shouldLoadEntities() {
+    // Given: Policies stored in the repository
+    List<Policy> policies = List.of(new Policy());
+    when(policyRepository.findAll()).thenReturn(policies);
+    when(policyMapper.toDtoList(policies)).thenReturn(List.of(new PolicyDto()));
+
+    // When: No sparse fieldset is given
+    List<PolicyDto> result = policyService.findAllPolicies((List<String>) null);
+
+    // Then: The entities are loaded as before
+    assertThat(result).hasSize(1);
+    verify(policyRepository, never()).findAllSummaries();
+  }
+
+  @Test
+  @DisplayName("Should not read summaries for a customer that does not exist")
+  void findPoliciesByCustomerId_withFieldsAndUnknownCustomer_shouldThrowException() {
+    when(policyRepository.findSummariesByCustomerIdJoiningCustomer(99L)).thenReturn(List.of());
+
+    assertThrows(
+        ResourceNotFoundException.class,
+        () -> policyService.findPoliciesByCustomerId(99L, List.of("status")));
+
+    verify(policyMapper, never()).summariesToDtoList(any());
+  }
+
+  @Test
+  @DisplayName("Should read the policy delta from the beginning without cursor or start time")
+  void getPolicyDelta_withoutCursor_shouldStartAtBeginning() {
+    // Given: One changed policy that fits into the page
+    ZonedDateTime beginning = Instant.EPOCH.atZone(ZoneOffset.UTC);
+    ZonedDateTime until = ZonedDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    Policy policy = new Policy();
+    policy.setId(101L);
+    policy.setUpdatedAt(until.minusHours(1));
+    when(deltaWindow.settledUntil()).thenReturn(until);
+    when(policyRepository.findUpdatedAfter(beginning, 0L, until, Limit.of(101)))
+        .thenReturn(List.of(policy));
+    when(policyMapper.toDtoList(List.of(policy))).thenReturn(List.of(new PolicyDto().id(101L)));
+
+    // When: The delta is read without cursor and start time
+    PolicyDeltaDto page = policyService.getPolicyDelta(null, null, 100);
+
+    // Then: The policy is returned, nothing more is available and the cursor continues after it
+    assertThat(page.getItems()).extracting(PolicyDto::getId).containsExactly(101L);
+    assertThat(page.getHasMore()).isFalse();
+    policyService.getPolicyDelta(null, page.getNextCursor(), 100);
+    verify(policyRepository).findUpdatedAfter(until.minusHours(1), 101L, until, Limit.of(101));
+  }
+
+  @Test
+  @DisplayName("Should read a policy from the archive when it is not in the policies table")
+  void findPolicyById_whenArchived_shouldReturnArchivedPolicy() {
+    // Given: The policy was moved to the archive
+    PolicyDto archived = new PolicyDto().id(42L).status(PolicyDto.StatusEnum.EXPIRED);
+    when(policyRepository.findById(42L)).thenReturn(Optional.empty());
+    when(archiveReader.findPolicy(42L)).thenReturn(Optional.of(archived));
+
+    // When
+    Optional<PolicyDto> result = policyService.findPolicyById(42L);
+
+    // Then
+    assertThat(result).contains(archived);
   }
 }
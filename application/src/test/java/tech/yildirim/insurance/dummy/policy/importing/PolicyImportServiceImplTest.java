@@ -0,0 +1,189 @@
+package tech.yildirim.insurance.dummy.policy.importing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.yildirim.insurance.api.generated.model.ImportErrorDto;
+import tech.yildirim.insurance.api.generated.model.ImportResultDto;
+import tech.yildirim.insurance.dummy.agency.Agency;
+import tech.yildirim.insurance.dummy.agency.AgencyRepository;
+import tech.yildirim.insurance.dummy.claim.ClaimRepository;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+import tech.yildirim.insurance.dummy.common.importing.ImportFormat;
+import tech.yildirim.insurance.dummy.customer.Customer;
+import tech.yildirim.insurance.dummy.customer.CustomerRepository;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+import tech.yildirim.insurance.dummy.policy.rating.RatingDimension;
+import tech.yildirim.insurance.dummy.policy.rating.RatingEngine;
+import tech.yildirim.insurance.dummy.policy.rating.RatingTables;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Policy Import Service Integration Tests")
+class PolicyImportServiceImplTest {
+
+  @Autowired private TestEntityManager testEntityManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private AgencyRepository agencyRepository;
+  @Autowired private ClaimRepository claimRepository;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private PolicyImportServiceImpl policyImportService;
+  private Customer customer;
+  private Agency agency;
+
+  @BeforeEach
+  void setUp() {
+    // Every policy type costs 100.00, whatever the customer
+    Map<RatingDimension, Map<String, BigDecimal>> definition =
+        new EnumMap<>(RatingDimension.class);
+    Map<String, BigDecimal> basePremiums = new HashMap<>();
+    for (PolicyType type : PolicyType.values()) {
+      basePremiums.put(type.name(), new BigDecimal("100"));
+    }
+    definition.put(RatingDimension.BASE_PREMIUM, basePremiums);
+    RatingEngine ratingEngine = new RatingEngine();
+    ratingEngine.swap(RatingTables.compile(definition));
+
+    // A chunk size of two spreads the rows over several chunks
+    policyImportService =
+        new PolicyImportServiceImpl(
+            customerRepository,
+            agencyRepository,
+            claimRepository,
+            ratingEngine,
+            jdbcTemplate,
+            transactionManager,
+            new ObjectMapper(),
+            2,
+            3);
+
+    customer = new Customer();
+    customer.setFirstName("Ina");
+    customer.setLastName("Port");
+    customer.setDateOfBirth(LocalDate.of(1985, 5, 5));
+    customer.setEmail("ina.port@example.com");
+    testEntityManager.persist(customer);
+    agency = new Agency();
+    agency.setAgencyCode("AG-IMPORT");
+    agency.setName("Import Agency");
+    agency.setContactPerson("Ian Port");
+    agency.setContactEmail("agency@example.com");
+    testEntityManager.persist(agency);
+    testEntityManager.flush();
+  }
+
+  @Test
+  @DisplayName("Should import the valid CSV rows and report the others with their line")
+  void importPolicies_withCsv_shouldImportValidRowsAndReportErrors() {
+    // Given: A file with two valid rows and four invalid ones
+    String csv =
+        String.join(
+            "\n",
+            "customerId,agencyId,type,startDate,endDate",
+            customer.getId() + "," + agency.getId() + ",AUTO,2026-01-01,2026-12-31",
+            customer.getId() + ",,home,2026-02-01,2027-01-31",
+            "999999,,AUTO,2026-01-01,2026-12-31",
+            customer.getId() + ",999999,AUTO,2026-01-01,2026-12-31",
+            customer.getId() + ",,AUTO,01.01.2026,2026-12-31",
+            customer.getId() + ",,AUTO,2026-12-31,2026-01-01");
+    // And: H2 has fixed CURRENT_TIMESTAMP for the rest of the transaction before the import starts
+    jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", OffsetDateTime.class);
+    OffsetDateTime importStarted = OffsetDateTime.now();
+
+    // When
+    ImportResultDto result = policyImportService.importPolicies(ImportFormat.CSV, input(csv));
+
+    // Then: The counts add up and only the first three errors are listed
+    assertThat(result.getProcessed()).isEqualTo(6);
+    assertThat(result.getImported()).isEqualTo(2);
+    assertThat(result.getRejected()).isEqualTo(4);
+    assertThat(result.getErrorsTruncated()).isTrue();
+    assertThat(result.getErrors())
+        .extracting(ImportErrorDto::getLine, ImportErrorDto::getMessage)
+        .containsExactly(
+            tuple(4L, "Customer not found with id: 999999"),
+            tuple(5L, "Agency not found with id: 999999"),
+            tuple(6L, "startDate is not a date (yyyy-MM-dd): 01.01.2026"));
+
+    // And: The policies were stored like policies created one by one
+    List<Map<String, Object>> policies =
+        jdbcTemplate.queryForList(
+            "SELECT policy_number, type, status, premium, agency_id FROM policies ORDER BY id");
+    assertThat(policies).hasSize(2);
+    assertThat(policies)
+        .allSatisfy(
+            policy -> {
+              assertThat(policy.get("STATUS")).isEqualTo("PENDING");
+              assertThat((BigDecimal) policy.get("PREMIUM")).isEqualByComparingTo("100.00");
+            });
+    assertThat(policies.get(0).get("AGENCY_ID")).isEqualTo(agency.getId());
+    assertThat(policies.get(1).get("TYPE")).isEqualTo("HOME");
+    assertThat(policies.get(0).get("POLICY_NUMBER"))
+        .isNotEqualTo(policies.get(1).get("POLICY_NUMBER"));
+
+    // And: They are stamped when their chunk is written, not with the transaction's timestamp
+    assertThat(jdbcTemplate.queryForList("SELECT created_at FROM policies", OffsetDateTime.class))
+        .allSatisfy(createdAt -> assertThat(createdAt).isAfterOrEqualTo(importStarted));
+  }
+
+  @Test
+  @DisplayName("Should import NDJSON rows and skip a malformed line")
+  void importPolicies_withNdjson_shouldSkipMalformedLines() {
+    // Given
+    String ndjson =
+        String.join(
+            "\n",
+            "{\"customerId\": " + customer.getId() + ", \"type\": \"HEALTH\","
+                + " \"startDate\": \"2026-03-01\", \"endDate\": \"2027-02-28\"}",
+            "{\"customerId\": " + customer.getId() + ", \"type\": ",
+            "",
+            "{\"customerId\": " + customer.getId() + ", \"type\": \"AUTO\"}");
+
+    // When
+    ImportResultDto result = policyImportService.importPolicies(ImportFormat.NDJSON, input(ndjson));
+
+    // Then
+    assertThat(result.getImported()).isEqualTo(1);
+    assertThat(result.getErrors()).extracting(ImportErrorDto::getLine).containsExactly(2L, 4L);
+    assertThat(result.getErrors().get(1).getMessage()).isEqualTo("startDate is required");
+  }
+
+  @Test
+  @DisplayName("Should refuse a CSV file that lacks a required column")
+  void importPolicies_withMissingColumn_shouldThrow() {
+    // Given
+    String csv = "customerId,type,startDate\n" + customer.getId() + ",AUTO,2026-01-01";
+
+    // When & Then
+    assertThatThrownBy(() -> policyImportService.importPolicies(ImportFormat.CSV, input(csv)))
+        .isInstanceOf(InvalidRequestException.class)
+        .hasMessageContaining("endDate");
+  }
+
+  private static InputStream input(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,149 @@
+package tech.yildirim.insurance.dummy.policy.lifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import tech.yildirim.insurance.dummy.common.Address;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseRepository;
+import tech.yildirim.insurance.dummy.customer.Customer;
+import tech.yildirim.insurance.dummy.policy.Policy;
+import tech.yildirim.insurance.dummy.policy.PolicyRepository;
+import tech.yildirim.insurance.dummy.policy.PolicyStatus;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Policy Lifecycle Job Integration Tests")
+class PolicyLifecycleJobTest {
+
+  private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+
+  @Autowired private TestEntityManager testEntityManager;
+
+  @Autowired private PolicyRepository policyRepository;
+
+  @Autowired private JobLeaseRepository jobLeaseRepository;
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private PolicyLifecycleJob job;
+  private Customer customer;
+
+  @BeforeEach
+  void setUp() {
+    // A chunk size of one makes every transition take several chunks
+    job =
+        new PolicyLifecycleJob(
+            policyRepository,
+            new JobLeaseManager(jobLeaseRepository),
+            meterRegistry,
+            1,
+            Duration.ofMinutes(1));
+
+    Address address = new Address();
+    address.setStreetAndHouseNumber("Musterstrasse 1");
+    address.setCity("Musterstadt");
+    address.setPostalCode("65000");
+    address.setCountry("Germany");
+    customer = new Customer();
+    customer.setFirstName("Life");
+    customer.setLastName("Cycle");
+    customer.setDateOfBirth(LocalDate.of(1980, 1, 1));
+    customer.setPassword("secret");
+    customer.setEmail("life.cycle@example.com");
+    customer.setAddress(address);
+    testEntityManager.persist(customer);
+  }
+
+  @Test
+  @DisplayName("Should expire lapsed policies and activate started ones")
+  void runFor_shouldApplyDueTransitions() {
+    // Given: Policies in every combination of status and term
+    Long lapsedActive = persistPolicy("P-1", PolicyStatus.ACTIVE, -365, -1);
+    Long lapsedPending = persistPolicy("P-2", PolicyStatus.PENDING, -365, -1);
+    Long startedPending = persistPolicy("P-3", PolicyStatus.PENDING, 0, 365);
+    Long futurePending = persistPolicy("P-4", PolicyStatus.PENDING, 1, 365);
+    Long runningActive = persistPolicy("P-5", PolicyStatus.ACTIVE, -30, 335);
+    Long lapsedCancelled = persistPolicy("P-6", PolicyStatus.CANCELLED, -365, -1);
+    testEntityManager.flush();
+
+    // When: The job runs
+    Optional<PolicyLifecycleJob.Result> result = job.runFor(TODAY);
+
+    // Then: Only the due policies changed their status
+    assertThat(result).contains(new PolicyLifecycleJob.Result(2, 1));
+    testEntityManager.clear();
+    assertThat(statusOf(lapsedActive)).isEqualTo(PolicyStatus.EXPIRED);
+    assertThat(statusOf(lapsedPending)).isEqualTo(PolicyStatus.EXPIRED);
+    assertThat(statusOf(startedPending)).isEqualTo(PolicyStatus.ACTIVE);
+    assertThat(statusOf(futurePending)).isEqualTo(PolicyStatus.PENDING);
+    assertThat(statusOf(runningActive)).isEqualTo(PolicyStatus.ACTIVE);
+    assertThat(statusOf(lapsedCancelled)).isEqualTo(PolicyStatus.CANCELLED);
+
+    // And: The transitions are published as metrics
+    assertThat(transitions("expired")).isEqualTo(2.0);
+    assertThat(transitions("activated")).isEqualTo(1.0);
+
+    // And: A second run finds nothing left to do
+    assertThat(job.runFor(TODAY)).contains(new PolicyLifecycleJob.Result(0, 0));
+  }
+
+  @Test
+  @DisplayName("Should skip the run while another node holds the lease")
+  void runFor_whenLeaseHeldElsewhere_shouldNotUpdate() {
+    // Given: A lapsed policy and another node holding the lease
+    Long lapsedActive = persistPolicy("P-7", PolicyStatus.ACTIVE, -365, -1);
+    testEntityManager.flush();
+    new JobLeaseManager(jobLeaseRepository)
+        .tryAcquire(PolicyLifecycleJob.LEASE_NAME, Duration.ofMinutes(1));
+
+    // When: The job runs on this node
+    Optional<PolicyLifecycleJob.Result> result = job.runFor(TODAY);
+
+    // Then: Nothing was done
+    assertThat(result).isEmpty();
+    testEntityManager.clear();
+    assertThat(statusOf(lapsedActive)).isEqualTo(PolicyStatus.ACTIVE);
+  }
+
+  private Long persistPolicy(String number, PolicyStatus status, int startOffset, int endOffset) {
+    Policy policy =
+        new Policy(
+            null,
+            number,
+            TODAY.plusDays(startOffset),
+            TODAY.plusDays(endOffset),
+            PolicyType.AUTO,
+            status,
+            BigDecimal.TEN,
+            customer,
+            null,
+            null,
+            null);
+    return testEntityManager.persist(policy).getId();
+  }
+
+  private PolicyStatus statusOf(Long policyId) {
+    return testEntityManager.find(Policy.class, policyId).getStatus();
+  }
+
+  private double transitions(String transition) {
+    return meterRegistry
+        .get(PolicyLifecycleJob.TRANSITIONS_METRIC)
+        .tag("transition", transition)
+        .counter()
+        .count();
+  }
+}
@@ -0,0 +1,76 @@
+package tech.yildirim.insurance.dummy.policy.rating;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+/**
+ * Measures the batch-quote throughput of the {@link RatingEngine} on a single thread. The score is
+ * reported in quotes per second; see the README for how to run it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(RatingEngineBenchmark.BATCH_SIZE)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RatingEngineBenchmark {
+
+  static final int BATCH_SIZE = 100_000;
+
+  private static final LocalDate EFFECTIVE_DATE = LocalDate.of(2026, 1, 1);
+
+  private RatingEngine engine;
+  private List<RatingRequest> requests;
+
+  @Setup
+  public void setUp() {
+    engine = new RatingEngine();
+    engine.swap(RatingTables.compile(RatingTablesTest.sampleDefinition()));
+
+    // A fixed seed keeps the mix of types, ages, regions and claim counts stable between runs
+    Random random = new Random(42);
+    PolicyType[] types = PolicyType.values();
+    requests = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      requests.add(
+          new RatingRequest(
+              types[random.nextInt(types.length)],
+              EFFECTIVE_DATE.minusDays(random.nextInt(18 * 365, 90 * 365)),
+              String.format("%05d", random.nextInt(100_000)),
+              random.nextInt(5),
+              EFFECTIVE_DATE));
+    }
+  }
+
+  @Benchmark
+  public List<BigDecimal> quoteBatch() {
+    return engine.quote(requests);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(RatingEngineBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,67 @@
+package tech.yildirim.insurance.dummy.policy.rating;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+@DisplayName("Rating Engine Unit Tests")
+class RatingEngineTest {
+
+  private static final RatingRequest REQUEST =
+      new RatingRequest(
+          PolicyType.AUTO, LocalDate.of(1985, 6, 30), "80331", 0, LocalDate.of(2026, 1, 1));
+
+  private final RatingEngine engine = new RatingEngine();
+
+  @Test
+  @DisplayName("Should compute the age at the effective date")
+  void quote_shouldUseAgeAtEffectiveDate() {
+    // Given: The sample tables
+    engine.swap(RatingTables.compile(RatingTablesTest.sampleDefinition()));
+
+    // When: The same customer is quoted just before and after turning 25
+    RatingRequest at24 =
+        new RatingRequest(
+            PolicyType.AUTO, LocalDate.of(2001, 6, 30), "50667", 0, LocalDate.of(2026, 6, 29));
+    RatingRequest at25 =
+        new RatingRequest(
+            PolicyType.AUTO, LocalDate.of(2001, 6, 30), "50667", 0, LocalDate.of(2026, 6, 30));
+
+    // Then: The age band changes on the birthday
+    assertThat(engine.quote(at24)).isEqualByComparingTo("720.00");
+    assertThat(engine.quote(at25)).isEqualByComparingTo("540.00");
+    assertThat(engine.quote(at25).scale()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should price a batch in request order and use swapped tables afterwards")
+  void quote_shouldUseCurrentTables() {
+    // Given: The sample tables
+    engine.swap(RatingTables.compile(RatingTablesTest.sampleDefinition()));
+    assertThat(engine.quote(List.of(REQUEST, REQUEST)))
+        .containsExactly(new BigDecimal("562.50"), new BigDecimal("562.50"));
+
+    // When: Tables with a higher auto base premium are swapped in
+    Map<RatingDimension, Map<String, BigDecimal>> raised = RatingTablesTest.sampleDefinition();
+    raised.get(RatingDimension.BASE_PREMIUM).put("AUTO", new BigDecimal("500.00"));
+    engine.swap(RatingTables.compile(raised));
+
+    // Then: The next quote uses them
+    assertThat(engine.quote(REQUEST)).isEqualByComparingTo("625.00");
+  }
+
+  @Test
+  @DisplayName("Should refuse to quote before any tables are loaded")
+  void quote_withoutTables_shouldThrow() {
+    // When & Then
+    assertThatThrownBy(() -> engine.quote(REQUEST)).isInstanceOf(IllegalStateException.class);
+    assertThat(engine.currentTables()).isEmpty();
+  }
+}
@@ -0,0 +1,119 @@
+package tech.yildirim.insurance.dummy.policy.rating;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import tech.yildirim.insurance.api.generated.model.RatingTablesDto;
+import tech.yildirim.insurance.dummy.claim.ClaimRepository;
+import tech.yildirim.insurance.dummy.common.Address;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+import tech.yildirim.insurance.dummy.customer.Customer;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Rating Service Unit Tests")
+class RatingServiceImplTest {
+
+  @Mock private RatingFactorRepository ratingFactorRepository;
+  @Mock private RatingEngine ratingEngine;
+  @Mock private ClaimRepository claimRepository;
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  @InjectMocks private RatingServiceImpl ratingService;
+
+  @Test
+  @DisplayName("Should store valid tables and publish them for use after commit")
+  void updateRatingTables_shouldStoreAndPublish() {
+    // Given: A complete set of tables
+    RatingTables tables = RatingTables.compile(RatingTablesTest.sampleDefinition());
+    RatingTablesDto dto =
+        new RatingTablesDto()
+            .basePremiums(tables.definition().get(RatingDimension.BASE_PREMIUM))
+            .ageFactors(tables.definition().get(RatingDimension.AGE))
+            .regionFactors(tables.definition().get(RatingDimension.REGION))
+            .claimFactors(tables.definition().get(RatingDimension.CLAIMS));
+
+    // When: The tables are updated
+    RatingTablesDto result = ratingService.updateRatingTables(dto);
+
+    // Then: The old rows are replaced by one row per entry
+    ArgumentCaptor<List<RatingFactor>> saved = ArgumentCaptor.captor();
+    verify(ratingFactorRepository).deleteAllInBatch();
+    verify(ratingFactorRepository).saveAll(saved.capture());
+    assertThat(saved.getValue()).hasSize(15);
+    assertThat(result.getAgeFactors()).containsOnlyKeys("18", "25", "30", "70");
+
+    // And: The engine only gets the tables through the after-commit event
+    verify(eventPublisher).publishEvent(any(RatingTablesUpdatedEvent.class));
+    verify(ratingEngine, never()).swap(any());
+  }
+
+  @Test
+  @DisplayName("Should reject invalid tables without touching the stored ones")
+  void updateRatingTables_withInvalidTables_shouldThrow() {
+    // Given: Tables without any base premium
+    RatingTablesDto dto = new RatingTablesDto();
+
+    // When & Then
+    assertThatThrownBy(() -> ratingService.updateRatingTables(dto))
+        .isInstanceOf(InvalidRequestException.class);
+    verify(ratingFactorRepository, never()).deleteAllInBatch();
+    verify(eventPublisher, never()).publishEvent(any());
+  }
+
+  @Test
+  @DisplayName("Should leave the engine empty when no tables are stored")
+  void loadRatingTables_withoutRows_shouldNotSwap() {
+    // Given: An empty rating_factors table
+    when(ratingFactorRepository.findAll()).thenReturn(List.of());
+
+    // When: The tables are loaded
+    ratingService.loadRatingTables();
+
+    // Then: Nothing is swapped in, and the tables are reported as missing
+    verify(ratingEngine, never()).swap(any());
+    assertThatThrownBy(() -> ratingService.getRatingTables())
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  @DisplayName("Should rate a policy from the customer's age, postal code and claims")
+  void ratePolicy_shouldUseCustomerRisk() {
+    // Given: A customer with two claims
+    Address address = new Address();
+    address.setPostalCode("80331");
+    Customer customer = new Customer();
+    customer.setId(1L);
+    customer.setDateOfBirth(LocalDate.of(1985, 5, 15));
+    customer.setAddress(address);
+    LocalDate startDate = LocalDate.of(2026, 1, 1);
+    RatingRequest expected =
+        new RatingRequest(PolicyType.HOME, customer.getDateOfBirth(), "80331", 2, startDate);
+    when(claimRepository.countNotRejectedByCustomerId(1L)).thenReturn(2L);
+    when(ratingEngine.quote(expected)).thenReturn(new BigDecimal("396.75"));
+
+    // When: A home policy is rated
+    BigDecimal premium = ratingService.ratePolicy(PolicyType.HOME, customer, startDate);
+
+    // Then: The engine priced the customer's risk
+    assertThat(premium).isEqualByComparingTo("396.75");
+    verify(ratingEngine, never()).quote(anyList());
+  }
+}
@@ -0,0 +1,53 @@
+package tech.yildirim.insurance.dummy.policy.rating;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tech.yildirim.insurance.api.generated.model.RatingTablesDto;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+/** Runs against the rating tables seeded by the Flyway migrations. */
+@SpringBootTest
+@DisplayName("Rating Tables Integration Tests")
+class RatingTablesIntegrationTests {
+
+  private static final RatingRequest REQUEST =
+      new RatingRequest(
+          PolicyType.AUTO, LocalDate.of(1985, 6, 30), "80331", 0, LocalDate.of(2026, 1, 1));
+
+  @Autowired private RatingService ratingService;
+
+  @Autowired private RatingEngine ratingEngine;
+
+  @Test
+  @DisplayName("Should load the stored tables at startup and swap in updated ones on commit")
+  void updateRatingTables_shouldTakeEffectAfterCommit() {
+    // Given: The seeded tables are in use
+    RatingTablesDto seeded = ratingService.getRatingTables();
+    assertThat(seeded.getBasePremiums().get("AUTO")).isEqualByComparingTo("450.00");
+    assertThat(ratingEngine.quote(REQUEST)).isEqualByComparingTo("562.50");
+
+    try {
+      // When: The auto base premium is raised
+      RatingTablesDto raised =
+          new RatingTablesDto()
+              .basePremiums(seeded.getBasePremiums())
+              .ageFactors(seeded.getAgeFactors())
+              .regionFactors(seeded.getRegionFactors())
+              .claimFactors(seeded.getClaimFactors());
+      raised.putBasePremiumsItem("AUTO", new BigDecimal("500.00"));
+      ratingService.updateRatingTables(raised);
+
+      // Then: Quotes use the new tables
+      assertThat(ratingEngine.quote(REQUEST)).isEqualByComparingTo("625.00");
+    } finally {
+      seeded.putBasePremiumsItem("AUTO", new BigDecimal("450.00"));
+      ratingService.updateRatingTables(seeded);
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package tech.yildirim.insurance.dummy.policy.rating;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+
+@DisplayName("Rating Tables Unit Tests")
+class RatingTablesTest {
+
+  /** The sample rating tables of the V6 migration, in a reduced form. */
+  static Map<RatingDimension, Map<String, BigDecimal>> sampleDefinition() {
+    Map<RatingDimension, Map<String, BigDecimal>> definition =
+        new EnumMap<>(RatingDimension.class);
+    definition.put(
+        RatingDimension.BASE_PREMIUM,
+        new HashMap<>(
+            Map.of(
+                "AUTO", new BigDecimal("450.00"),
+                "HOME", new BigDecimal("300.00"),
+                "HEALTH", new BigDecimal("900.00"),
+                "LIABILITY", new BigDecimal("80.00"))));
+    definition.put(
+        RatingDimension.AGE,
+        new HashMap<>(
+            Map.of(
+                "18", new BigDecimal("1.6"),
+                "25", new BigDecimal("1.2"),
+                "30", new BigDecimal("1.0"),
+                "70", new BigDecimal("1.35"))));
+    definition.put(
+        RatingDimension.REGION,
+        new HashMap<>(
+            Map.of(
+                "1", new BigDecimal("1.10"),
+                "10", new BigDecimal("1.20"),
+                "8", new BigDecimal("1.15"),
+                "80", new BigDecimal("1.25"))));
+    definition.put(
+        RatingDimension.CLAIMS,
+        new HashMap<>(
+            Map.of(
+                "0", new BigDecimal("1.0"),
+                "1", new BigDecimal("1.15"),
+                "3", new BigDecimal("1.6"))));
+    return definition;
+  }
+
+  private final RatingTables tables = RatingTables.compile(sampleDefinition());
+
+  @Test
+  @DisplayName("Should multiply the base premium with the age, region and claim factors")
+  void premiumCents_shouldApplyAllFactors() {
+    // Then: Each dimension contributes its factor
+    assertThat(tables.premiumCents(PolicyType.AUTO, 40, "80331", 0)).isEqualTo(56_250);
+    assertThat(tables.premiumCents(PolicyType.HOME, 36, "10115", 1)).isEqualTo(41_400);
+    assertThat(tables.premiumCents(PolicyType.AUTO, 20, "81000", 0)).isEqualTo(82_800);
+  }
+
+  @Test
+  @DisplayName("Should apply each band until the next one starts")
+  void premiumCents_shouldResolveBands() {
+    // Then: Age 29 is in the band starting at 25, 100 in the last band, 16 before the first one
+    assertThat(tables.premiumCents(PolicyType.LIABILITY, 29, "50667", 0)).isEqualTo(9_600);
+    assertThat(tables.premiumCents(PolicyType.LIABILITY, 100, "50667", 0)).isEqualTo(10_800);
+    assertThat(tables.premiumCents(PolicyType.LIABILITY, 16, "50667", 0)).isEqualTo(8_000);
+
+    // And: Two claims fall in the band of one claim, ten in the highest band
+    assertThat(tables.premiumCents(PolicyType.LIABILITY, 40, "50667", 2)).isEqualTo(9_200);
+    assertThat(tables.premiumCents(PolicyType.LIABILITY, 40, "50667", 10)).isEqualTo(12_800);
+  }
+
+  @Test
+  @DisplayName("Should use a neutral region factor for unknown or malformed postal codes")
+  void premiumCents_withUnknownPostalCode_shouldUseFactorOne() {
+    // Then: Only codes starting with two digits are looked up
+    for (String postalCode : new String[] {null, "", "8", "D-80331", "50667"}) {
+      assertThat(tables.premiumCents(PolicyType.HEALTH, 40, postalCode, 0))
+          .as(postalCode)
+          .isEqualTo(90_000);
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep the validated definition sorted by band")
+  void definition_shouldBeSortedAndImmutable() {
+    // Then: Numeric bands are in numeric order and the maps cannot be modified
+    assertThat(tables.definition().get(RatingDimension.AGE).keySet())
+        .containsExactly("18", "25", "30", "70");
+    assertThat(tables.definition().get(RatingDimension.REGION).keySet())
+        .containsExactly("1", "10", "8", "80");
+    assertThatThrownBy(() -> tables.definition().get(RatingDimension.AGE).clear())
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  @DisplayName("Should reject incomplete or invalid tables")
+  void compile_withInvalidTables_shouldThrow() {
+    // Given: Tables with a missing base premium, a bad band and a non-positive factor
+    Map<RatingDimension, Map<String, BigDecimal>> missingType = sampleDefinition();
+    missingType.get(RatingDimension.BASE_PREMIUM).remove("LIABILITY");
+    Map<RatingDimension, Map<String, BigDecimal>> badBand = sampleDefinition();
+    badBand.get(RatingDimension.REGION).put("803", BigDecimal.ONE);
+    Map<RatingDimension, Map<String, BigDecimal>> zeroFactor = sampleDefinition();
+    zeroFactor.get(RatingDimension.CLAIMS).put("2", BigDecimal.ZERO);
+
+    // When & Then
+    for (var definition : List.of(missingType, badBand, zeroFactor)) {
+      assertThatThrownBy(() -> RatingTables.compile(definition))
+          .isInstanceOf(InvalidRequestException.class);
+    }
+  }
+}
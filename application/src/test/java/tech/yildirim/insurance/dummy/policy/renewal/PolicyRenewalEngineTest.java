@@ -0,0 +1,227 @@
+package tech.yildirim.insurance.dummy.policy.renewal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.yildirim.insurance.dummy.claim.AutoClaim;
+import tech.yildirim.insurance.dummy.claim.ClaimStatus;
+import tech.yildirim.insurance.dummy.common.Address;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseRepository;
+import tech.yildirim.insurance.dummy.customer.Customer;
+import tech.yildirim.insurance.dummy.policy.Policy;
+import tech.yildirim.insurance.dummy.policy.PolicyRepository;
+import tech.yildirim.insurance.dummy.policy.PolicyStatus;
+import tech.yildirim.insurance.dummy.policy.PolicyType;
+import tech.yildirim.insurance.dummy.policy.condition.PolicyConditions;
+import tech.yildirim.insurance.dummy.policy.condition.PolicyConditionsRepository;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Policy Renewal Engine Integration Tests")
+class PolicyRenewalEngineTest {
+
+  private static final LocalDate WINDOW_FROM = LocalDate.of(2025, 12, 1);
+  private static final LocalDate WINDOW_TO = LocalDate.of(2025, 12, 31);
+
+  @Autowired private TestEntityManager testEntityManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Autowired private RenewalRunRepository renewalRunRepository;
+  @Autowired private PolicyRenewalRepository policyRenewalRepository;
+  @Autowired private PolicyConditionsRepository policyConditionsRepository;
+  @Autowired private PolicyRepository policyRepository;
+  @Autowired private JobLeaseRepository jobLeaseRepository;
+
+  private JobLeaseManager jobLeaseManager;
+  private PolicyRenewalEngine engine;
+  private Customer customer;
+
+  @BeforeEach
+  void setUp() {
+    // A chunk size of two makes a run take several chunks
+    jobLeaseManager = new JobLeaseManager(jobLeaseRepository);
+    engine =
+        new PolicyRenewalEngine(
+            renewalRunRepository,
+            policyRenewalRepository,
+            policyConditionsRepository,
+            new RenewalPricer(new BigDecimal("0.10"), 3),
+            jobLeaseManager,
+            jdbcTemplate,
+            transactionManager,
+            2,
+            2,
+            Duration.ofMinutes(1));
+
+    Address address = new Address();
+    address.setStreetAndHouseNumber("Musterstrasse 1");
+    address.setCity("Musterstadt");
+    address.setPostalCode("65000");
+    address.setCountry("Germany");
+    customer = new Customer();
+    customer.setFirstName("Re");
+    customer.setLastName("Newal");
+    customer.setDateOfBirth(LocalDate.of(1980, 1, 1));
+    customer.setPassword("secret");
+    customer.setEmail("re.newal@example.com");
+    customer.setAddress(address);
+    testEntityManager.persist(customer);
+  }
+
+  @AfterEach
+  void tearDown() {
+    engine.shutdown();
+  }
+
+  @Test
+  @DisplayName("Should renew every expiring policy priced from its claim history")
+  void process_shouldRenewExpiringPolicies() {
+    // Given: Expiring policies with different claim histories, and policies outside the run
+    persistConditions();
+    Policy noClaims = persistPolicy("P-1", PolicyStatus.ACTIVE, WINDOW_TO);
+    Policy oneClaim = persistPolicy("P-2", PolicyStatus.ACTIVE, WINDOW_FROM);
+    Policy manyClaims = persistPolicy("P-3", PolicyStatus.ACTIVE, WINDOW_TO);
+    Policy rejectedClaim = persistPolicy("P-4", PolicyStatus.ACTIVE, WINDOW_TO);
+    persistPolicy("P-5", PolicyStatus.ACTIVE, WINDOW_TO.plusDays(1));
+    persistPolicy("P-6", PolicyStatus.CANCELLED, WINDOW_TO);
+    persistClaim(oneClaim, ClaimStatus.APPROVED);
+    for (int i = 0; i < 5; i++) {
+      persistClaim(manyClaims, ClaimStatus.PAID);
+    }
+    persistClaim(rejectedClaim, ClaimStatus.REJECTED);
+    RenewalRun run = persistRun();
+
+    // When: The run is processed
+    RenewalRun finished = engine.process(run.getId());
+
+    // Then: The run completed with its checkpoint on the last candidate
+    assertThat(finished.getStatus()).isEqualTo(RenewalRunStatus.COMPLETED);
+    assertThat(finished.getRenewedCount()).isEqualTo(4);
+    assertThat(finished.getLastPolicyId()).isEqualTo(rejectedClaim.getId());
+    assertThat(finished.getFinishedAt()).isNotNull();
+
+    // And: Each candidate got a follow-up policy with the bonus or a capped surcharge
+    assertThat(renewalOf(noClaims).getPremium()).isEqualByComparingTo("95.00");
+    assertThat(renewalOf(oneClaim).getPremium()).isEqualByComparingTo("110.00");
+    assertThat(renewalOf(manyClaims).getPremium()).isEqualByComparingTo("130.00");
+    assertThat(renewalOf(rejectedClaim).getPremium()).isEqualByComparingTo("95.00");
+    assertThat(policyRenewalRepository.count()).isEqualTo(4);
+
+    // And: The follow-up policy is pending and covers the next term
+    Policy renewed = renewalOf(noClaims);
+    assertThat(renewed.getStatus()).isEqualTo(PolicyStatus.PENDING);
+    assertThat(renewed.getStartDate()).isEqualTo(LocalDate.of(2026, 1, 1));
+    assertThat(renewed.getEndDate()).isEqualTo(LocalDate.of(2026, 12, 31));
+    assertThat(renewed.getType()).isEqualTo(PolicyType.AUTO);
+    assertThat(renewed.getCustomer().getId()).isEqualTo(customer.getId());
+
+    // And: The lease is free for the next run
+    assertThat(jobLeaseManager.tryAcquire(PolicyRenewalEngine.LEASE_NAME, Duration.ofMinutes(1)))
+        .isTrue();
+  }
+
+  @Test
+  @DisplayName("Should resume after the checkpoint and never renew a policy twice")
+  void process_shouldContinueAfterCheckpoint() {
+    // Given: A run whose first candidate was processed before it was interrupted
+    persistConditions();
+    Policy processed = persistPolicy("P-1", PolicyStatus.ACTIVE, WINDOW_TO);
+    Policy remaining = persistPolicy("P-2", PolicyStatus.ACTIVE, WINDOW_TO);
+    RenewalRun run = persistRun();
+    run.setLastPolicyId(processed.getId());
+    testEntityManager.flush();
+
+    // When: The run is resumed
+    RenewalRun finished = engine.process(run.getId());
+
+    // Then: Only the policy after the checkpoint was renewed
+    assertThat(finished.getRenewedCount()).isEqualTo(1);
+    assertThat(policyRenewalRepository.findById(processed.getId())).isEmpty();
+    assertThat(policyRenewalRepository.findById(remaining.getId())).isPresent();
+
+    // And: A new run over the same window skips the policy that already has a renewal
+    RenewalRun secondRun = engine.process(persistRun().getId());
+    assertThat(secondRun.getRenewedCount()).isEqualTo(1);
+    assertThat(policyRenewalRepository.findById(processed.getId())).isPresent();
+    assertThat(policyRenewalRepository.count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should mark the run as failed and release the lease when it cannot proceed")
+  void process_whenConditionsMissing_shouldFail() {
+    // Given: An expiring policy but no policy conditions to price it with
+    persistPolicy("P-1", PolicyStatus.ACTIVE, WINDOW_TO);
+    RenewalRun run = persistRun();
+
+    // When: The run is processed
+    RenewalRun finished = engine.process(run.getId());
+
+    // Then: The run failed without renewing anything and can be resumed later
+    assertThat(finished.getStatus()).isEqualTo(RenewalRunStatus.FAILED);
+    assertThat(finished.getFailureReason()).contains("PolicyConditions");
+    assertThat(finished.getRenewedCount()).isZero();
+    assertThat(policyRenewalRepository.count()).isZero();
+    assertThat(jobLeaseManager.tryAcquire(PolicyRenewalEngine.LEASE_NAME, Duration.ofMinutes(1)))
+        .isTrue();
+  }
+
+  private void persistConditions() {
+    testEntityManager.persist(
+        new PolicyConditions(1L, 14, new BigDecimal("0.05"), new ArrayList<>()));
+  }
+
+  private Policy persistPolicy(String number, PolicyStatus status, LocalDate endDate) {
+    Policy policy =
+        new Policy(
+            null,
+            number,
+            endDate.minusYears(1).plusDays(1),
+            endDate,
+            PolicyType.AUTO,
+            status,
+            new BigDecimal("100.00"),
+            customer,
+            null,
+            null,
+            null);
+    return testEntityManager.persist(policy);
+  }
+
+  private void persistClaim(Policy policy, ClaimStatus status) {
+    AutoClaim claim = new AutoClaim();
+    claim.setClaimNumber("CLM-" + policy.getPolicyNumber() + "-" + System.nanoTime());
+    claim.setDescription("Fender bender");
+    claim.setLicensePlate("F-AB-123");
+    claim.setDateOfIncident(policy.getStartDate());
+    claim.setStatus(status);
+    claim.setPolicy(policy);
+    testEntityManager.persist(claim);
+  }
+
+  private RenewalRun persistRun() {
+    RenewalRun run = new RenewalRun(WINDOW_FROM, WINDOW_TO, ZonedDateTime.now());
+    return testEntityManager.persistAndFlush(run);
+  }
+
+  private Policy renewalOf(Policy policy) {
+    String renewedNumber =
+        policyRenewalRepository.findById(policy.getId()).orElseThrow().getRenewedPolicyNumber();
+    return policyRepository.findByPolicyNumber(renewedNumber).orElseThrow();
+  }
+}
@@ -0,0 +1,158 @@
+package tech.yildirim.insurance.dummy.policy.renewal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tech.yildirim.insurance.api.generated.model.RenewalRequestDto;
+import tech.yildirim.insurance.api.generated.model.RenewalRunDto;
+import tech.yildirim.insurance.dummy.common.BusinessRuleViolationException;
+import tech.yildirim.insurance.dummy.common.InvalidRequestException;
+import tech.yildirim.insurance.dummy.common.ResourceNotFoundException;
+import tech.yildirim.insurance.dummy.common.scheduling.JobLeaseManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Policy Renewal Service Unit Tests")
+class PolicyRenewalServiceImplTest {
+
+  private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+  private static final LocalDate TO = LocalDate.of(2026, 1, 31);
+
+  @Mock private RenewalRunRepository renewalRunRepository;
+  @Mock private RenewalRunMapper renewalRunMapper;
+  @Mock private PolicyRenewalEngine policyRenewalEngine;
+  @Mock private JobLeaseManager jobLeaseManager;
+
+  private PolicyRenewalServiceImpl policyRenewalService;
+
+  @BeforeEach
+  void setUp() {
+    // Runs the submitted work in the calling thread
+    policyRenewalService =
+        new PolicyRenewalServiceImpl(
+            renewalRunRepository,
+            renewalRunMapper,
+            policyRenewalEngine,
+            jobLeaseManager,
+            Runnable::run,
+            Duration.ofMinutes(10));
+  }
+
+  @Test
+  @DisplayName("Should save a running run and hand it over to the engine")
+  void startRenewal_shouldSaveAndProcessRun() {
+    // Given: The lease is free
+    when(jobLeaseManager.tryAcquire(eq(PolicyRenewalEngine.LEASE_NAME), any(Duration.class)))
+        .thenReturn(true);
+    when(renewalRunRepository.save(any(RenewalRun.class)))
+        .thenAnswer(
+            invocation -> {
+              RenewalRun run = invocation.getArgument(0);
+              run.setId(7L);
+              return run;
+            });
+    RenewalRunDto runDto = new RenewalRunDto().id(7L);
+    when(renewalRunMapper.toDto(any(RenewalRun.class))).thenReturn(runDto);
+
+    // When: A run is started
+    RenewalRunDto result =
+        policyRenewalService.startRenewal(
+            new RenewalRequestDto().expiringFrom(FROM).expiringTo(TO));
+
+    // Then: The run is processed
+    assertThat(result).isEqualTo(runDto);
+    verify(policyRenewalEngine).process(7L);
+  }
+
+  @Test
+  @DisplayName("Should reject a start while another run holds the lease")
+  void startRenewal_whenLeaseHeld_shouldThrow() {
+    // Given: Another run holds the lease
+    when(jobLeaseManager.tryAcquire(eq(PolicyRenewalEngine.LEASE_NAME), any(Duration.class)))
+        .thenReturn(false);
+
+    // When & Then
+    assertThatThrownBy(
+            () ->
+                policyRenewalService.startRenewal(
+                    new RenewalRequestDto().expiringFrom(FROM).expiringTo(TO)))
+        .isInstanceOf(BusinessRuleViolationException.class);
+    verify(renewalRunRepository, never()).save(any());
+  }
+
+  @Test
+  @DisplayName("Should reject a window that ends before it starts")
+  void startRenewal_whenWindowInverted_shouldThrow() {
+    // When & Then
+    assertThatThrownBy(
+            () ->
+                policyRenewalService.startRenewal(
+                    new RenewalRequestDto().expiringFrom(TO).expiringTo(FROM)))
+        .isInstanceOf(InvalidRequestException.class);
+    verify(jobLeaseManager, never()).tryAcquire(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should resume a failed run from its checkpoint")
+  void resumeRenewal_whenFailed_shouldProcessRunAgain() {
+    // Given: A failed run with a checkpoint
+    RenewalRun run = new RenewalRun(FROM, TO, ZonedDateTime.now());
+    run.setId(7L);
+    run.setStatus(RenewalRunStatus.FAILED);
+    run.setLastPolicyId(500L);
+    run.setFailureReason("Connection reset");
+    when(renewalRunRepository.findById(7L)).thenReturn(Optional.of(run));
+    when(jobLeaseManager.tryAcquire(eq(PolicyRenewalEngine.LEASE_NAME), any(Duration.class)))
+        .thenReturn(true);
+    when(renewalRunRepository.save(run)).thenReturn(run);
+
+    // When: The run is resumed
+    policyRenewalService.resumeRenewal(7L);
+
+    // Then: It is running again with its checkpoint kept
+    assertThat(run.getStatus()).isEqualTo(RenewalRunStatus.RUNNING);
+    assertThat(run.getFailureReason()).isNull();
+    assertThat(run.getLastPolicyId()).isEqualTo(500L);
+    verify(policyRenewalEngine).process(7L);
+  }
+
+  @Test
+  @DisplayName("Should not resume a completed run")
+  void resumeRenewal_whenCompleted_shouldThrow() {
+    // Given: A completed run
+    RenewalRun run = new RenewalRun(FROM, TO, ZonedDateTime.now());
+    run.setStatus(RenewalRunStatus.COMPLETED);
+    when(renewalRunRepository.findById(7L)).thenReturn(Optional.of(run));
+
+    // When & Then
+    assertThatThrownBy(() -> policyRenewalService.resumeRenewal(7L))
+        .isInstanceOf(BusinessRuleViolationException.class);
+    verify(policyRenewalEngine, never()).process(anyLong());
+  }
+
+  @Test
+  @DisplayName("Should report an unknown run as not found")
+  void resumeRenewal_whenNotFound_shouldThrow() {
+    // Given: The run does not exist
+    when(renewalRunRepository.findById(99L)).thenReturn(Optional.empty());
+
+    // When & Then
+    assertThatThrownBy(() -> policyRenewalService.resumeRenewal(99L))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+}
@@ -0,0 +1,46 @@
+package tech.yildirim.insurance.dummy.policy.renewal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Renewal Pricer Unit Tests")
+class RenewalPricerTest {
+
+  private static final BigDecimal NO_CLAIM_BONUS = new BigDecimal("0.05");
+
+  private final RenewalPricer pricer = new RenewalPricer(new BigDecimal("0.10"), 3);
+
+  @Test
+  @DisplayName("Should grant the no-claim bonus when there were no claims")
+  void price_withoutClaims_shouldApplyBonus() {
+    // When: A policy without claims is priced
+    BigDecimal premium = pricer.price(new BigDecimal("250.00"), 0, NO_CLAIM_BONUS);
+
+    // Then: The premium is reduced by the bonus
+    assertThat(premium).isEqualByComparingTo("237.50");
+  }
+
+  @Test
+  @DisplayName("Should add a surcharge per claim")
+  void price_withClaims_shouldApplySurcharge() {
+    // When: A policy with two claims is priced
+    BigDecimal premium = pricer.price(new BigDecimal("250.00"), 2, NO_CLAIM_BONUS);
+
+    // Then: Each claim adds ten percent
+    assertThat(premium).isEqualByComparingTo("300.00");
+  }
+
+  @Test
+  @DisplayName("Should cap the surcharge and round to cents")
+  void price_withManyClaims_shouldCapSurcharge() {
+    // When: A policy with more claims than the cap is priced
+    BigDecimal premium = pricer.price(new BigDecimal("99.99"), 7, NO_CLAIM_BONUS);
+
+    // Then: Only three claims are charged and the result is rounded half up
+    assertThat(premium).isEqualByComparingTo("129.99");
+    assertThat(premium.scale()).isEqualTo(2);
+  }
+}